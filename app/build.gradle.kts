@@ -1,5 +1,6 @@
 plugins {
     alias(libs.plugins.android.application)
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -13,7 +14,13 @@ android {
         versionCode = 1
         versionName = "1.0"
 
-        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     buildTypes {
@@ -24,7 +31,16 @@ android {
                 "proguard-rules.pro"
             )
         }
+        // Release-like build for the microbenchmarks in src/androidTest/java/com/gymlog/benchmark.
+        // Run with: ./gradlew :app:connectedBenchmarkAndroidTest -PtestBuildType=benchmark
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+            isDebuggable = false
+        }
     }
+    testBuildType = (project.findProperty("testBuildType") as String?) ?: "debug"
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_1_8
         targetCompatibility = JavaVersion.VERSION_1_8
@@ -34,6 +50,17 @@ android {
         viewBinding = true
     }
 
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+        }
+    }
+
+    // The exported schemas, read by MigrationTestHelper in the migration tests.
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+
 }
 
 dependencies {
@@ -43,9 +70,27 @@ dependencies {
     implementation(libs.activity)
     implementation(libs.constraintlayout)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.test.core)
+    testImplementation(libs.paging.testing)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.benchmark.junit4)
+    androidTestImplementation(libs.room.testing)
 
     implementation(libs.room.runtime)
     annotationProcessor( libs.room.compiler)
+
+    implementation(libs.paging.runtime)
+    implementation(libs.paging.guava)
+    implementation(libs.lifecycle.viewmodel.ktx)
+
+    // Installs the baseline profile generated by :macrobenchmark, so startup code is compiled ahead of time.
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
+}
+
+// Writes the generated profile to src/main/generated/baselineProfiles, where it is committed, for every variant.
+baselineProfile {
+    mergeIntoMain = true
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.gymlog;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.GymLogRepository;
+import com.gymlog.database.TestGymLogs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ScrollJankBenchmark flings the history list of MainActivity through 5,000 records and collects the
+ * duration of every frame with FrameMetrics. It logs the p50, p90 and p99 frame times and the share of
+ * frames that missed the display's frame deadline, and reports them as instrumentation status values
+ * so they can be collected from the am instrument output.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScrollJankBenchmark {
+
+//  The name of the app database, which MainActivity always uses. Seeded rows are removed directly after the run.
+    private static final String APP_DATABASE = "GymLogDatabase";
+//  A user ID no real account has, so the seeded history is never mixed with real records.
+    private static final int USER_ID = 987_654;
+    private static final int HISTORY_SIZE = 5_000;
+    private static final int FLINGS = 12;
+    private static final int FLING_VELOCITY = 12_000;
+    private static final long FLING_SETTLE_MS = 1_200;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private SharedPreferences preferences;
+    private int previousUserId;
+
+    @Before
+    public void seedHistory() throws Exception {
+        GymLogRepository.getRepository((Application) context.getApplicationContext())
+                .importGymLogs(TestGymLogs.history(HISTORY_SIZE, USER_ID), null).get();
+        preferences = context.getSharedPreferences(context.getString(R.string.preference_file_key), Context.MODE_PRIVATE);
+        previousUserId = preferences.getInt(context.getString(R.string.preference_userId_key), -1);
+        preferences.edit().putInt(context.getString(R.string.preference_userId_key), USER_ID).commit();
+    }
+
+    @After
+    public void removeHistory() {
+        preferences.edit().putInt(context.getString(R.string.preference_userId_key), previousUserId).commit();
+        try (SQLiteDatabase db = SQLiteDatabase.openDatabase(context.getDatabasePath(APP_DATABASE).getPath(), null,
+                SQLiteDatabase.OPEN_READWRITE)) {
+            db.execSQL("DELETE FROM gymLogTable WHERE userId = " + USER_ID);
+        }
+    }
+
+    @Test
+    public void flingHistory_frameTimes() {
+        List<Long> frameNanos = Collections.synchronizedList(new ArrayList<>());
+        HandlerThread metricsThread = new HandlerThread("frame-metrics");
+        metricsThread.start();
+        Window.OnFrameMetricsAvailableListener listener =
+                (window, metrics, dropped) -> frameNanos.add(metrics.getMetric(FrameMetrics.TOTAL_DURATION));
+        float[] refreshRate = new float[1];
+
+        try (ActivityScenario<MainActivity> scenario =
+                     ActivityScenario.launch(MainActivity.mainActivityIntentFactory(context, USER_ID))) {
+            scenario.onActivity(activity -> {
+                refreshRate[0] = activity.getDisplay().getRefreshRate();
+                activity.getWindow().addOnFrameMetricsAvailableListener(listener, new Handler(metricsThread.getLooper()));
+            });
+            SystemClock.sleep(FLING_SETTLE_MS);
+            for (int i = 0; i < FLINGS; i++) {
+                int velocity = i < FLINGS - 2 ? FLING_VELOCITY : -FLING_VELOCITY;
+                scenario.onActivity(activity -> {
+                    RecyclerView recyclerView = activity.findViewById(R.id.logDisplayRecyclerView);
+                    recyclerView.fling(0, velocity);
+                });
+                SystemClock.sleep(FLING_SETTLE_MS);
+            }
+            scenario.onActivity(activity -> activity.getWindow().removeOnFrameMetricsAvailableListener(listener));
+        } finally {
+            metricsThread.quitSafely();
+        }
+
+        List<Long> frames;
+        synchronized (frameNanos) {
+            frames = new ArrayList<>(frameNanos);
+        }
+        assertTrue("No frames were rendered while scrolling", !frames.isEmpty());
+        Collections.sort(frames);
+        long deadline = (long) (TimeUnit.SECONDS.toNanos(1) / refreshRate[0]);
+        int janky = 0;
+        for (long frame : frames) {
+            if (frame > deadline) {
+                janky++;
+            }
+        }
+
+        Bundle results = new Bundle();
+        results.putInt("frames", frames.size());
+        results.putDouble("frameP50Ms", percentileMs(frames, 50));
+        results.putDouble("frameP90Ms", percentileMs(frames, 90));
+        results.putDouble("frameP99Ms", percentileMs(frames, 99));
+        results.putDouble("jankPercent", 100.0 * janky / frames.size());
+        Log.i(MainActivity.TAG, "Scroll jank over " + HISTORY_SIZE + " records: " + results);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+    }
+
+    /**
+     * Returns a percentile of sorted frame durations.
+     * @param sortedNanos the frame durations in nanoseconds, sorted ascending
+     * @param percentile  the percentile, between 0 and 100
+     * @return the duration at the percentile in milliseconds
+     */
+    private static double percentileMs(List<Long> sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.size() - 1, sortedNanos.size() * percentile / 100);
+        return sortedNanos.get(index) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,175 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.analytics.HistoryAnalytics;
+import com.gymlog.analytics.HistorySnapshot;
+import com.gymlog.analytics.HistorySnapshotLoader;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * AnalyticsBenchmark compares {@link HistoryAnalytics} over a primitive snapshot with the same analytics over
+ * a list of GymLogs, on a 1M-set history. The analyze cases run on the common fork-join pool and on a pool of
+ * one thread, which separates the gain of the columns from the gain of the threads; the baseline groups the
+ * GymLogs by exercise name in hash maps and collects their local dates in a sorted set, as code over the list
+ * would. The load cases time reading the history from the database into either form.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AnalyticsBenchmark {
+
+    private static final String TEST_DB = "analytics-benchmark";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 1_000_000;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private List<GymLog> history;
+    private HistorySnapshot snapshot;
+    private ForkJoinPool oneThread;
+    private GymLogDatabase database;
+
+    @Before
+    public void createHistory() {
+        history = TestGymLogs.history(ROWS, USER_ID);
+        Map<String, Integer> exerciseIds = new HashMap<>();
+        HistorySnapshot.Builder builder = new HistorySnapshot.Builder(ROWS);
+        for (int i = history.size() - 1; i >= 0; i--) {
+            GymLog gymLog = history.get(i);
+            Integer exerciseId = exerciseIds.computeIfAbsent(gymLog.getExercise(), name -> exerciseIds.size() + 1);
+            gymLog.setExerciseId(exerciseId);
+            builder.add(gymLog.getDateMillis(), gymLog.getZoneOffset(), exerciseId, gymLog.getWeight(), gymLog.getReps());
+        }
+        snapshot = builder.build();
+        oneThread = new ForkJoinPool(1);
+    }
+
+    @After
+    public void deleteDatabase() {
+        oneThread.shutdown();
+        if (database != null) {
+            database.close();
+            context.deleteDatabase(TEST_DB);
+        }
+    }
+
+    @Test
+    public void analyze_columnsParallel() {
+        BenchmarkState state = benchmarkRule.getState();
+        HistoryAnalytics analytics = new HistoryAnalytics(ForkJoinPool.commonPool());
+        while (state.keepRunning()) {
+            analytics.analyze(snapshot);
+        }
+    }
+
+    @Test
+    public void analyze_columnsOneThread() {
+        BenchmarkState state = benchmarkRule.getState();
+        HistoryAnalytics analytics = new HistoryAnalytics(oneThread);
+        while (state.keepRunning()) {
+            analytics.analyze(snapshot);
+        }
+    }
+
+    @Test
+    public void analyze_objectListBaseline() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            analyzeList(history);
+        }
+    }
+
+    @Test
+    public void load_snapshot() {
+        fillDatabase();
+        BenchmarkState state = benchmarkRule.getState();
+        HistorySnapshotLoader loader = new HistorySnapshotLoader(database.gymLogDAO(), database.archiveDAO());
+        while (state.keepRunning()) {
+            loader.load(USER_ID);
+        }
+    }
+
+    @Test
+    public void load_objectList() {
+        fillDatabase();
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.getRecordsByUserId(USER_ID);
+        }
+    }
+
+    /**
+     * Creates the database of the load cases and inserts the history. The list and snapshot are dropped
+     * first, so the loads do not run short of memory.
+     */
+    private void fillDatabase() {
+        snapshot = null;
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        database.gymLogDAO().insertAll(history);
+        history = null;
+    }
+
+    /**
+     * Computes the analytics the way code over a list of GymLogs does: totals, best estimated one-rep max
+     * and trend sums per exercise name in hash maps, and the local dates of every set in a sorted set for the
+     * streaks.
+     * @param gymLogs the history
+     * @return the longest streak, so the work is not optimised away
+     */
+    private static int analyzeList(List<GymLog> gymLogs) {
+        Map<String, double[]> totals = new HashMap<>();
+        TreeSet<LocalDate> days = new TreeSet<>();
+        long origin = gymLogs.get(gymLogs.size() - 1).getDateMillis();
+        for (GymLog gymLog : gymLogs) {
+            double[] exercise = totals.computeIfAbsent(gymLog.getExercise(), name -> new double[8]);
+            double estimate = gymLog.getReps() <= 1 ? gymLog.getWeight() * gymLog.getReps()
+                    : gymLog.getWeight() * (1 + gymLog.getReps() / 30.0);
+            double day = (gymLog.getDateMillis() - origin) / 86_400_000.0;
+            exercise[0]++;
+            exercise[1] += gymLog.getReps();
+            exercise[2] += gymLog.getWeight() * gymLog.getReps();
+            exercise[3] = Math.max(exercise[3], estimate);
+            exercise[4] += day;
+            exercise[5] += estimate;
+            exercise[6] += day * day;
+            exercise[7] += day * estimate;
+            days.add(gymLog.getDate().toLocalDate());
+        }
+        int longest = 0;
+        int run = 0;
+        LocalDate previous = null;
+        for (LocalDate day : days) {
+            run = previous != null && day.equals(previous.plusDays(1)) ? run + 1 : 1;
+            longest = Math.max(longest, run);
+            previous = day;
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,124 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.ChangeLogDAO;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.ChangeLogEntry;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ChangeLogBenchmark measures how a consumer finds the GymLog changes made since its last pass, on a 100k-row history
+ * with {@link #DELTA} new records per pass. The change log case reads and acknowledges the new entries through
+ * {@link ChangeLogDAO}; the baseline rereads the user's whole history, which is what a consumer without the log has
+ * to do. The insert cases show what the log trigger adds to a write with and without a registered consumer.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ChangeLogBenchmark {
+
+    private static final String TEST_DB = "change-log-benchmark";
+    private static final String CONSUMER = "benchmark";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 100_000;
+    private static final int DELTA = 50;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private int next = ROWS;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        database.gymLogDAO().insertAll(TestGymLogs.history(ROWS, USER_ID));
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void changeLogPass() {
+        BenchmarkState state = benchmarkRule.getState();
+        ChangeLogDAO dao = database.changeLogDAO();
+        dao.register(CONSUMER);
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            insertDelta();
+            state.resumeTiming();
+            List<ChangeLogEntry> changes = dao.getChanges(CONSUMER, DELTA * 2);
+            if (changes.size() != DELTA) {
+                throw new AssertionError("Expected " + DELTA + " changes but got " + changes.size());
+            }
+            dao.acknowledge(CONSUMER, changes.get(changes.size() - 1).getSeq());
+        }
+    }
+
+    @Test
+    public void rescanBaseline() {
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            insertDelta();
+            state.resumeTiming();
+            if (dao.getRecordsByUserId(USER_ID).size() < ROWS) {
+                throw new AssertionError("Expected the whole history");
+            }
+        }
+    }
+
+    @Test
+    public void insert_withoutConsumer() {
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.insert(TestGymLogs.create(next++, USER_ID));
+        }
+    }
+
+    @Test
+    public void insert_withConsumer() {
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        database.changeLogDAO().register(CONSUMER);
+        while (state.keepRunning()) {
+            dao.insert(TestGymLogs.create(next++, USER_ID));
+        }
+    }
+
+    /**
+     * Inserts {@link #DELTA} new records in one transaction.
+     */
+    private void insertDelta() {
+        List<GymLog> delta = new ArrayList<>(DELTA);
+        for (int i = 0; i < DELTA; i++) {
+            delta.add(TestGymLogs.create(next++, USER_ID));
+        }
+        database.gymLogDAO().insertAll(delta);
+    }
+}
@@ -0,0 +1,139 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.TestGymLogs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseLayoutBenchmark compares the GymLog table with exercise names on every row, as before version 7,
+ * with the current table that stores exercise IDs from the exercise dictionary.
+ * Both databases hold the same 100k records. The size of each file is logged once, and the benchmarks time
+ * the per-exercise summary of a user grouped by name and by ID.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExerciseLayoutBenchmark {
+
+    private static final String NORMALIZED_DB = "exercise-layout-normalized";
+    private static final String TEXT_DB = "exercise-layout-text";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 100_000;
+//  The number of exercises in TestGymLogs.
+    private static final int EXERCISES = 8;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private SQLiteDatabase textDatabase;
+
+    @Before
+    public void createDatabases() {
+        context.deleteDatabase(NORMALIZED_DB);
+        context.deleteDatabase(TEXT_DB);
+        database = GymLogDatabase.databaseBuilder(context, NORMALIZED_DB).build();
+        database.gymLogDAO().insertAll(TestGymLogs.history(ROWS, USER_ID));
+
+        textDatabase = context.openOrCreateDatabase(TEXT_DB, Context.MODE_PRIVATE, null);
+        textDatabase.execSQL("CREATE TABLE `gymLogTable` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `exercise` TEXT, `weight` REAL NOT NULL, `reps` INTEGER NOT NULL, `date` INTEGER NOT NULL, `zoneOffset` INTEGER NOT NULL DEFAULT 0, `userId` INTEGER NOT NULL, `version` INTEGER NOT NULL DEFAULT 0)");
+        textDatabase.execSQL("CREATE INDEX `index_gymLogTable_userId_date_id` ON `gymLogTable` (`userId` ASC, `date` DESC, `id` DESC)");
+        textDatabase.execSQL("CREATE INDEX `index_gymLogTable_userId_exercise_date_id` ON `gymLogTable` (`userId` ASC, `exercise` ASC, `date` DESC, `id` DESC)");
+        textDatabase.execSQL("CREATE INDEX `index_gymLogTable_date` ON `gymLogTable` (`date`)");
+        textDatabase.execSQL("ATTACH DATABASE ? AS normalized", new Object[]{context.getDatabasePath(NORMALIZED_DB).getPath()});
+        textDatabase.execSQL("INSERT INTO `gymLogTable` SELECT g.id, e.name, g.weight, g.reps, g.date, g.zoneOffset, g.userId, g.version" +
+                " FROM normalized.gymLogTable g JOIN normalized.exerciseTable e ON e.id = g.exerciseId");
+        textDatabase.execSQL("DETACH DATABASE normalized");
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+//      The triggers filled the change log and rollups of the normalized file; only the layout of the GymLog table
+//      is compared.
+        db.execSQL("DELETE FROM `" + GymLogDatabase.CHANGE_LOG_TABLE + "`");
+        db.execSQL("DELETE FROM `" + GymLogDatabase.EXERCISE_ROLLUP_TABLE + "`");
+        db.execSQL("VACUUM");
+        textDatabase.execSQL("VACUUM");
+        long normalizedBytes = size(db.query("PRAGMA page_count"), db.query("PRAGMA page_size"));
+        long textBytes = size(textDatabase.rawQuery("PRAGMA page_count", null), textDatabase.rawQuery("PRAGMA page_size", null));
+        Log.i(MainActivity.TAG, String.format("%d rows: %d KB with exercise names, %d KB with exercise IDs (%.1f%% smaller)",
+                ROWS, textBytes / 1024, normalizedBytes / 1024, 100.0 * (textBytes - normalizedBytes) / textBytes));
+    }
+
+    @After
+    public void deleteDatabases() {
+        database.close();
+        textDatabase.close();
+        context.deleteDatabase(NORMALIZED_DB);
+        context.deleteDatabase(TEXT_DB);
+    }
+
+    @Test
+    public void groupByExerciseName() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            try (Cursor cursor = textDatabase.rawQuery("SELECT exercise, COUNT(*), MAX(weight) FROM gymLogTable" +
+                    " WHERE userId = ? GROUP BY exercise", new String[]{String.valueOf(USER_ID)})) {
+                checkGroups(cursor);
+            }
+        }
+    }
+
+    @Test
+    public void groupByExerciseId() {
+        BenchmarkState state = benchmarkRule.getState();
+        SupportSQLiteDatabase db = database.getOpenHelper().getReadableDatabase();
+        while (state.keepRunning()) {
+            try (Cursor cursor = db.query("SELECT e.name, s.sets, s.heaviest FROM (SELECT exerciseId, COUNT(*) AS sets," +
+                    " MAX(weight) AS heaviest FROM gymLogTable WHERE userId = ? GROUP BY exerciseId) s" +
+                    " JOIN exerciseTable e ON e.id = s.exerciseId", new Object[]{USER_ID})) {
+                checkGroups(cursor);
+            }
+        }
+    }
+
+    /**
+     * Reads every group of a summary query and checks that there is one per exercise.
+     * @param cursor the result of the summary query
+     */
+    private static void checkGroups(Cursor cursor) {
+        int groups = 0;
+        while (cursor.moveToNext()) {
+            groups++;
+        }
+        if (groups != EXERCISES) {
+            throw new AssertionError("Expected " + EXERCISES + " exercises but got " + groups);
+        }
+    }
+
+    /**
+     * Computes the size of a database file from its page count and page size, and closes both cursors.
+     * @param pageCount the result of PRAGMA page_count
+     * @param pageSize  the result of PRAGMA page_size
+     * @return the size of the database in bytes
+     */
+    private static long size(Cursor pageCount, Cursor pageSize) {
+        try (Cursor count = pageCount; Cursor size = pageSize) {
+            count.moveToFirst();
+            size.moveToFirst();
+            return count.getLong(0) * size.getLong(0);
+        }
+    }
+}
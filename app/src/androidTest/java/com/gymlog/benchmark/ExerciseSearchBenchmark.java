@@ -0,0 +1,97 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.GymLogRepository;
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.Exercise;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseSearchBenchmark measures the exercise typeahead on a 100k-row history and a dictionary of 2k exercises.
+ * The FTS case runs {@link GymLogRepository#suggestExercises}, whose search and ranking run on the read executor;
+ * the baseline finds the user's exercises containing the typed text with LIKE, which scans the history, and ranks
+ * them by set count in SQL.
+ * A typeahead is meant to answer in under 5 ms, well inside one keystroke.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExerciseSearchBenchmark {
+
+    private static final String TEST_DB = "exercise-search-benchmark";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 100_000;
+    private static final int CATALOG = 2_000;
+    private static final String TYPED = "pre";
+    private static final int SUGGESTIONS = 5;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private GymLogRepository repository;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        database.gymLogDAO().insertAll(TestGymLogs.history(ROWS, USER_ID));
+        database.runInTransaction(() -> {
+            for (int i = 0; i < CATALOG; i++) {
+                database.exerciseDAO().insert(new Exercise("Variation " + i + (i % 2 == 0 ? " Press" : " Curl")));
+            }
+        });
+        repository = new GymLogRepository(database);
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void ftsTypeahead() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            List<String> names = repository.suggestExercises(USER_ID, TYPED, SUGGESTIONS).join();
+            if (names.size() != SUGGESTIONS) {
+                throw new AssertionError("Expected " + SUGGESTIONS + " suggestions but got " + names);
+            }
+        }
+    }
+
+    @Test
+    public void likeScanBaseline() {
+        BenchmarkState state = benchmarkRule.getState();
+        SupportSQLiteDatabase db = database.getOpenHelper().getReadableDatabase();
+        while (state.keepRunning()) {
+            try (Cursor cursor = db.query("SELECT e.name FROM " + GymLogDatabase.GYM_LOG_TABLE + " g JOIN " + GymLogDatabase.EXERCISE_TABLE +
+                    " e ON e.id = g.exerciseId WHERE g.userId = ? AND e.name LIKE ? GROUP BY g.exerciseId ORDER BY COUNT(*) DESC LIMIT ?",
+                    new Object[]{USER_ID, "%" + TYPED + "%", SUGGESTIONS})) {
+                if (!cursor.moveToFirst()) {
+                    throw new AssertionError("Expected suggestions for " + TYPED);
+                }
+            }
+        }
+    }
+}
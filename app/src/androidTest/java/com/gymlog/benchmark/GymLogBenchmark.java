@@ -0,0 +1,47 @@
+package com.gymlog.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogBenchmark measures {@link GymLog#hashCode} and {@link GymLog#equals}, which the list diffing
+ * and any hash-based collection of GymLog records call once per item.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GymLogBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final GymLog log = TestGymLogs.create(7, 1);
+    private final GymLog sameLog = TestGymLogs.create(7, 1);
+
+    @Test
+    public void hashCode_() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            log.hashCode();
+        }
+    }
+
+    @Test
+    public void equals_equalRecords() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            if (!log.equals(sameLog)) {
+                throw new AssertionError();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogDaoBenchmark measures {@link GymLogDAO#insert} and {@link GymLogDAO#getRecordsByUserId}
+ * on a database file holding 1k, 10k and 100k records of the benchmarked user.
+ * The last-week case reads the newest seven days, one record per hour, and should not grow with the history.
+ */
+@RunWith(Parameterized.class)
+public class GymLogDaoBenchmark {
+
+    private static final String TEST_DB = "gymlog-dao-benchmark";
+    private static final int USER_ID = 1;
+//  The newest week of a history of hourly records.
+    private static final long WEEK_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final int WEEK_RECORDS = 7 * 24;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private final int rows;
+    private GymLogDatabase database;
+    private GymLogDAO dao;
+
+    /**
+     * Returns the history sizes the benchmarks run with.
+     * @return one parameter array per history size
+     */
+    @Parameterized.Parameters(name = "rows={0}")
+    public static Collection<Object[]> sizes() {
+        return Arrays.asList(new Object[][]{{1_000}, {10_000}, {100_000}});
+    }
+
+    /**
+     * Constructs a new GymLogDaoBenchmark.
+     * @param rows the number of records in the user's history
+     */
+    public GymLogDaoBenchmark(int rows) {
+        this.rows = rows;
+    }
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        dao = database.gymLogDAO();
+        dao.insertAll(TestGymLogs.history(rows, USER_ID));
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void insert() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = rows;
+        while (state.keepRunning()) {
+            dao.insert(TestGymLogs.create(i++, USER_ID));
+        }
+    }
+
+    @Test
+    public void getRecordsByUserId() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            List<GymLog> logs = dao.getRecordsByUserId(USER_ID);
+            if (logs.size() < rows) {
+                throw new AssertionError("Expected " + rows + " records but got " + logs.size());
+            }
+        }
+    }
+
+    @Test
+    public void getRecordsByUserIdLastWeek() {
+        BenchmarkState state = benchmarkRule.getState();
+        long newest = TestGymLogs.create(0, USER_ID).getDateMillis();
+        while (state.keepRunning()) {
+            List<GymLog> logs = dao.getRecordsByUserIdBetween(USER_ID, newest - WEEK_MILLIS + 1, newest + 1);
+            if (logs.size() != Math.min(rows, WEEK_RECORDS)) {
+                throw new AssertionError("Expected one week of records but got " + logs.size());
+            }
+        }
+    }
+}
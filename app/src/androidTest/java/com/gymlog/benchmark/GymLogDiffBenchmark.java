@@ -0,0 +1,134 @@
+package com.gymlog.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.viewHolders.GymLogAdapter;
+import com.gymlog.viewHolders.GymLogItem;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogDiffBenchmark measures DiffUtil with {@link GymLogAdapter.GymLogDiff} when a list of records is
+ * reloaded from the database: every record is a new instance, one new record is added on top and every
+ * hundredth record has been edited.
+ */
+@RunWith(Parameterized.class)
+public class GymLogDiffBenchmark {
+
+    private static final int USER_ID = 1;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private final GymLogAdapter.GymLogDiff diff = new GymLogAdapter.GymLogDiff();
+    private List<GymLogItem> oldList;
+    private List<GymLogItem> newList;
+
+    /**
+     * Returns the list sizes the benchmark runs with.
+     * @return one parameter array per list size
+     */
+    @Parameterized.Parameters(name = "size={0}")
+    public static Collection<Object[]> sizes() {
+        return Arrays.asList(new Object[][]{{300}, {1_000}, {5_000}, {20_000}});
+    }
+
+    /**
+     * Constructs a new GymLogDiffBenchmark.
+     * @param size the number of records in the old list
+     */
+    public GymLogDiffBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void createLists() {
+        oldList = new ArrayList<>(size);
+        newList = new ArrayList<>(size + 1);
+        DateTimeFormatter dateFormat = GymLogItem.dateFormat(Locale.getDefault());
+        GymLog added = TestGymLogs.create(0, USER_ID);
+        added.setDate(added.getDate().plusHours(1));
+        added.setId(size + 1);
+        newList.add(new GymLogItem(added, dateFormat));
+        for (int i = 0; i < size; i++) {
+            GymLog loaded = TestGymLogs.create(i, USER_ID);
+            loaded.setId(size - i);
+            oldList.add(new GymLogItem(loaded, dateFormat));
+            GymLog reloaded = TestGymLogs.create(i, USER_ID);
+            reloaded.setId(size - i);
+            if (i % 100 == 0) {
+                reloaded.setReps(reloaded.getReps() + 1);
+                reloaded.setVersion(1);
+            }
+            newList.add(new GymLogItem(reloaded, dateFormat));
+        }
+    }
+
+    @Test
+    public void calculateDiff() {
+        BenchmarkState state = benchmarkRule.getState();
+        DiffUtil.Callback callback = new ListCallback(oldList, newList, diff);
+        while (state.keepRunning()) {
+            DiffUtil.calculateDiff(callback);
+        }
+    }
+
+    /**
+     * ListCallback adapts an ItemCallback to the two lists being compared, as AsyncListDiffer does.
+     */
+    private static final class ListCallback extends DiffUtil.Callback {
+        private final List<GymLogItem> oldList;
+        private final List<GymLogItem> newList;
+        private final DiffUtil.ItemCallback<GymLogItem> itemCallback;
+
+        ListCallback(List<GymLogItem> oldList, List<GymLogItem> newList, DiffUtil.ItemCallback<GymLogItem> itemCallback) {
+            this.oldList = oldList;
+            this.newList = newList;
+            this.itemCallback = itemCallback;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldList.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newList.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return itemCallback.areItemsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            return itemCallback.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+        }
+
+        @Override
+        public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+            return itemCallback.getChangePayload(oldList.get(oldItemPosition), newList.get(newItemPosition));
+        }
+    }
+}
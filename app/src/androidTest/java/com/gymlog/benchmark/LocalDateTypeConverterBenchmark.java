@@ -0,0 +1,96 @@
+package com.gymlog.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gymlog.database.typeConverters.LocalDateTypeConverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * LocalDateTypeConverterBenchmark measures the date conversions done for every GymLog row read or written.
+ * The readRow and writeRow cases are what a row costs now, with the stored offset and the cached zone rules.
+ * The legacy cases repeat the conversions the converter made before, looking up the default zone and
+ * building a ZonedDateTime per row, as a baseline.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LocalDateTypeConverterBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final LocalDateTypeConverter converter = new LocalDateTypeConverter();
+    private final LocalDateTime date = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    public void readRow() {
+        BenchmarkState state = benchmarkRule.getState();
+        int offset = LocalDateTypeConverter.offsetSecondsOf(date);
+        long millis = LocalDateTypeConverter.toEpochMilli(date, offset);
+        while (state.keepRunning()) {
+            LocalDateTypeConverter.toLocalDateTime(millis, offset);
+        }
+    }
+
+    @Test
+    public void writeRow() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LocalDateTypeConverter.toEpochMilli(date, LocalDateTypeConverter.offsetSecondsOf(date));
+        }
+    }
+
+    @Test
+    public void newRow() {
+        BenchmarkState state = benchmarkRule.getState();
+        long millis = System.currentTimeMillis();
+        while (state.keepRunning()) {
+            LocalDateTypeConverter.offsetSecondsAt(millis);
+        }
+    }
+
+    @Test
+    public void dateToLong() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            converter.convertDateToLong(date);
+        }
+    }
+
+    @Test
+    public void longToDate() {
+        BenchmarkState state = benchmarkRule.getState();
+        long millis = converter.convertDateToLong(date);
+        while (state.keepRunning()) {
+            converter.convertLongToDate(millis);
+        }
+    }
+
+    @Test
+    public void legacyReadRow() {
+        BenchmarkState state = benchmarkRule.getState();
+        long millis = converter.convertDateToLong(date);
+        while (state.keepRunning()) {
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        }
+    }
+
+    @Test
+    public void legacyWriteRow() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            ZonedDateTime.of(date, ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+}
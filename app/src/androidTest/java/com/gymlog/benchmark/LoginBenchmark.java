@@ -0,0 +1,115 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.credentials.Credentials;
+import com.gymlog.credentials.LoginResult;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.GymLogRepository;
+import com.gymlog.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * LoginBenchmark shows that a login never runs the password hash on the UI thread.
+ * The main thread case times only what {@link GymLogRepository#logIn} costs the thread that calls it, as
+ * LoginActivity does, and fails if any call takes more than a frame; the hash itself would take
+ * {@link Credentials#TARGET_HASH_MILLIS}. Credentials also refuses to derive a hash on any thread but its own,
+ * so a login that succeeds here could not have hashed on the UI thread. The end to end case measures the
+ * whole login, which the user waits for with the login button disabled.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LoginBenchmark {
+
+    private static final String TEST_DB = "login-benchmark";
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "benchmark1";
+    private static final long FRAME_MILLIS = 16;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private GymLogRepository repository;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        repository = new GymLogRepository(database);
+        database.userDAO().insert(new User(USERNAME, Credentials.hash(PASSWORD.toCharArray()).join()));
+//      Calibrates the hasher, so no measured login pays for it.
+        assertEquals(LoginResult.Status.SUCCESS, repository.logIn(USERNAME, PASSWORD.toCharArray()).join().getStatus());
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    @UiThreadTest
+    public void logIn_mainThreadCost() {
+        assertTrue(Looper.getMainLooper().isCurrentThread());
+        BenchmarkState state = benchmarkRule.getState();
+        long maxNanos = 0;
+        while (state.keepRunning()) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            CompletableFuture<LoginResult> login = repository.logIn(USERNAME, PASSWORD.toCharArray());
+            maxNanos = Math.max(maxNanos, SystemClock.elapsedRealtimeNanos() - start);
+            state.pauseTiming();
+            assertEquals(LoginResult.Status.SUCCESS, login.join().getStatus());
+            state.resumeTiming();
+        }
+        Log.i(MainActivity.TAG, String.format("Slowest login call on the main thread: %.3f ms", maxNanos / 1_000_000.0));
+        assertTrue("A login blocked the main thread for " + TimeUnit.NANOSECONDS.toMillis(maxNanos) + " ms",
+                maxNanos < TimeUnit.MILLISECONDS.toNanos(FRAME_MILLIS));
+    }
+
+    @Test
+    public void logIn_endToEnd() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LoginResult result = repository.logIn(USERNAME, PASSWORD.toCharArray()).join();
+            if (result.getStatus() != LoginResult.Status.SUCCESS) {
+                throw new AssertionError("Expected a successful login but got " + result.getStatus());
+            }
+        }
+    }
+
+    @Test
+    public void logIn_unknownUserTakesAsLong() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LoginResult result = repository.logIn("nobody", PASSWORD.toCharArray()).join();
+            if (result.getStatus() != LoginResult.Status.UNKNOWN_USER) {
+                throw new AssertionError("Expected an unknown user but got " + result.getStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.RollupDAO;
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * RollupBenchmark measures a 52-point progression chart of one exercise on a 100k-row history, over the last
+ * year and over the whole history. The rollup cases read the series through {@link RollupDAO#getSeries}; the
+ * baseline reads the user's whole history and buckets the sets of the exercise in Java, which is what a chart
+ * without the rollups has to do. The backfill case times rebuilding the rollups of the whole history.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RollupBenchmark {
+
+    private static final String TEST_DB = "rollup-benchmark";
+    private static final String EXERCISE = "Squat";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 100_000;
+    private static final int POINTS = 52;
+    private static final long TO = LocalDateTime.of(2026, 1, 2, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long YEAR = TO - LocalDateTime.of(2025, 1, 2, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long HISTORY = ROWS * 3_600_000L;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        database.gymLogDAO().insertAll(TestGymLogs.history(ROWS, USER_ID));
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void series_lastYear() {
+        BenchmarkState state = benchmarkRule.getState();
+        RollupDAO dao = database.rollupDAO();
+        while (state.keepRunning()) {
+            dao.getSeries(USER_ID, EXERCISE, TO - YEAR, TO, POINTS);
+        }
+    }
+
+    @Test
+    public void series_wholeHistory() {
+        BenchmarkState state = benchmarkRule.getState();
+        RollupDAO dao = database.rollupDAO();
+        while (state.keepRunning()) {
+            dao.getSeries(USER_ID, EXERCISE, TO - HISTORY, TO, POINTS);
+        }
+    }
+
+    @Test
+    public void rescanBaseline_lastYear() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            bucketInJava(TO - YEAR, TO);
+        }
+    }
+
+    @Test
+    public void rescanBaseline_wholeHistory() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            bucketInJava(TO - HISTORY, TO);
+        }
+    }
+
+    @Test
+    public void backfill_wholeHistory() {
+        BenchmarkState state = benchmarkRule.getState();
+        RollupDAO dao = database.rollupDAO();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            dao.scheduleBackfill();
+            state.resumeTiming();
+            while (dao.backfillStep()) {
+                // Each step is its own transaction, as in GymLogRepository.backfillRollups.
+            }
+        }
+    }
+
+    /**
+     * Builds the chart the way it was built without rollups: reads every record of the user and sums the
+     * sets of the exercise into {@link #POINTS} slices of a range.
+     * @param fromMillis the start of the range in UTC epoch milliseconds
+     * @param toMillis   the end of the range in UTC epoch milliseconds
+     * @return the volume of each slice
+     */
+    private double[] bucketInJava(long fromMillis, long toMillis) {
+        List<GymLog> logs = database.gymLogDAO().getRecordsByUserId(USER_ID);
+        double[] volume = new double[POINTS];
+        long range = toMillis - fromMillis;
+        for (GymLog log : logs) {
+            long offset = log.getDateMillis() - fromMillis;
+            if (EXERCISE.equals(log.getExercise()) && offset >= 0 && offset < range) {
+                volume[(int) (offset * POINTS / range)] += log.getWeight() * log.getReps();
+            }
+        }
+        return volume;
+    }
+}
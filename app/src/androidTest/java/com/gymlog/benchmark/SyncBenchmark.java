@@ -0,0 +1,147 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.TestGymLogs;
+import com.gymlog.database.entities.User;
+import com.gymlog.sync.MockSyncServer;
+import com.gymlog.sync.RetryPolicy;
+import com.gymlog.sync.SyncEngine;
+import com.gymlog.sync.SyncReport;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncBenchmark uploads a history of {@link #HISTORY_SIZE} GymLogs from one database to a {@link MockSyncServer}
+ * with a round trip latency, and downloads it into a second database, once per batch size.
+ * It logs changes per second and bytes per change of both directions, and the p50 and p99 latency of GymLog
+ * inserts made on the write executor while the upload runs, so the batch size can be tuned.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SyncBenchmark {
+
+    private static final String SOURCE_DB = "sync-benchmark-source";
+    private static final String TARGET_DB = "sync-benchmark-target";
+    private static final int HISTORY_SIZE = 100_000;
+    private static final int[] BATCH_SIZES = {50, 250, 1_000};
+    private static final long ROUND_TRIP_MILLIS = 20;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @After
+    public void deleteDatabases() {
+        context.deleteDatabase(SOURCE_DB);
+        context.deleteDatabase(TARGET_DB);
+    }
+
+    @Test
+    public void syncHistory_byBatchSize() throws Exception {
+        for (int batchSize : BATCH_SIZES) {
+            context.deleteDatabase(SOURCE_DB);
+            context.deleteDatabase(TARGET_DB);
+            GymLogDatabase source = GymLogDatabase.databaseBuilder(context, SOURCE_DB).build();
+            GymLogDatabase target = GymLogDatabase.databaseBuilder(context, TARGET_DB).build();
+            try {
+                source.userDAO().insert(new User("benchmark", "benchmark1"));
+                int userId = source.userDAO().findUserByUserName("benchmark").getId();
+                source.gymLogDAO().insertAll(TestGymLogs.history(HISTORY_SIZE, userId));
+                MockSyncServer server = new MockSyncServer();
+                server.setLatencyMillis(ROUND_TRIP_MILLIS);
+
+                CompletableFuture<SyncReport> upload = engine(source, server, batchSize).sync();
+                long[] inserts = measureInserts(source, userId, upload);
+                SyncReport uploaded = upload.get();
+                SyncReport downloaded = engine(target, server, batchSize).sync().get();
+
+                Log.i(MainActivity.TAG, String.format("Batch %d upload: %s, %.1f bytes per change", batchSize, uploaded,
+                        uploaded.getBytesUploaded() / (double) (uploaded.getUsersUploaded() + uploaded.getLogsUploaded())));
+                Log.i(MainActivity.TAG, String.format("Batch %d download: %s, %.1f bytes per change", batchSize, downloaded,
+                        downloaded.getBytesDownloaded() / (double) (downloaded.getUsersDownloaded() + downloaded.getLogsDownloaded())));
+                Log.i(MainActivity.TAG, String.format("Batch %d: %d inserts during the upload, p50 %.2f ms, p99 %.2f ms",
+                        batchSize, inserts.length, percentile(inserts, 50), percentile(inserts, 99)));
+                assertTrue(uploaded.getLogsUploaded() >= HISTORY_SIZE);
+                assertTrue(downloaded.getLogsDownloaded() >= HISTORY_SIZE);
+                assertTrue("No insert completed during the upload", inserts.length > 0);
+            } finally {
+                source.close();
+                target.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a sync engine that writes on the transaction executor of the database, which runs its tasks one at
+     * a time on the write executor of the app, like the repository's.
+     * @param database  the database to sync
+     * @param server    the server to sync with
+     * @param batchSize the number of changes per call
+     * @return the engine
+     */
+    private static SyncEngine engine(GymLogDatabase database, MockSyncServer server, int batchSize) {
+        return new SyncEngine(database.syncDAO(), database.getTransactionExecutor(), server, batchSize,
+                RetryPolicy.DEFAULT);
+    }
+
+    /**
+     * Inserts GymLogs one at a time through the write executor until a sync completes,
+     * measuring each insert from submission to completion.
+     * @param database the database being synced
+     * @param userId   the ID of the user owning the records
+     * @param sync     the running sync
+     * @return the latency of every insert in nanoseconds
+     */
+    private static long[] measureInserts(GymLogDatabase database, int userId, CompletableFuture<SyncReport> sync)
+            throws Exception {
+        GymLogDAO dao = database.gymLogDAO();
+        List<Long> latencies = new ArrayList<>();
+        for (int i = HISTORY_SIZE; !sync.isDone(); i++) {
+            int next = i;
+            long start = SystemClock.elapsedRealtimeNanos();
+            CompletableFuture.runAsync(() -> dao.insert(TestGymLogs.create(next, userId)), database.getTransactionExecutor()).get();
+            latencies.add(SystemClock.elapsedRealtimeNanos() - start);
+            SystemClock.sleep(ROUND_TRIP_MILLIS);
+        }
+        long[] result = new long[latencies.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = latencies.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the given percentile of a set of latencies.
+     * @param latencies the latencies in nanoseconds
+     * @param percent   the percentile, between 0 and 100
+     * @return the latency at that percentile in milliseconds, or 0 if there are none
+     */
+    private static double percentile(long[] latencies, int percent) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percent / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
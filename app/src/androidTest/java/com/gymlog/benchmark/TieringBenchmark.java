@@ -0,0 +1,164 @@
+package com.gymlog.benchmark;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.database.ArchiveDAO;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.TestGymLogs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * TieringBenchmark measures reads of a 100k-row history, about eleven years of hourly sets, with every record
+ * in the GymLog table and with every month before 2025 archived: a one-month date range and a page deep in
+ * the history, which have to decode blocks, and the first page, which should not. The archive case times
+ * moving the whole history into blocks, and the size case logs the space the database uses before and after.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TieringBenchmark {
+
+    private static final String TEST_DB = "tiering-benchmark";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 50;
+    private static final long CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+//  After the newest record, so every month is archived.
+    private static final long END = LocalDateTime.of(2026, 3, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+//  A month in the middle of the archived history.
+    private static final long FROM = LocalDateTime.of(2019, 3, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long TO = LocalDateTime.of(2019, 4, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        database.gymLogDAO().insertAll(TestGymLogs.history(ROWS, USER_ID));
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void range_hot() {
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.getRecordsByUserIdBetween(USER_ID, FROM, TO);
+        }
+    }
+
+    @Test
+    public void range_archived() {
+        archiveBefore(CUTOFF);
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.getRecordsByUserIdBetween(USER_ID, FROM, TO);
+        }
+    }
+
+    @Test
+    public void deepPage_hot() {
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.getPageByUserIdBefore(USER_ID, TO, Integer.MAX_VALUE, PAGE_SIZE);
+        }
+    }
+
+    @Test
+    public void deepPage_archived() {
+        archiveBefore(CUTOFF);
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.getPageByUserIdBefore(USER_ID, TO, Integer.MAX_VALUE, PAGE_SIZE);
+        }
+    }
+
+    @Test
+    public void firstPage_archived() {
+        archiveBefore(CUTOFF);
+        BenchmarkState state = benchmarkRule.getState();
+        GymLogDAO dao = database.gymLogDAO();
+        while (state.keepRunning()) {
+            dao.getPageByUserId(USER_ID, PAGE_SIZE);
+        }
+    }
+
+    @Test
+    public void archive_wholeHistory() {
+        BenchmarkState state = benchmarkRule.getState();
+        ArchiveDAO dao = database.archiveDAO();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            for (int month : dao.getArchivedMonths(USER_ID)) {
+                dao.restoreMonth(USER_ID, month);
+            }
+            state.resumeTiming();
+            archiveBefore(END);
+        }
+    }
+
+    @Test
+    public void archive_reducesUsedSpace() {
+        ArchiveDAO dao = database.archiveDAO();
+        long before = dao.getUsedBytes();
+        long start = System.nanoTime();
+        int rows = archiveBefore(CUTOFF);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long after = dao.getUsedBytes();
+        long archivedBytes = dao.getArchivedBytes();
+        Log.i(MainActivity.TAG, String.format(Locale.US, "Tiering of %d rows: archived months=%d rows=%d, blocks=%d bytes,"
+                        + " used %d -> %d bytes, %d ms, %.1f block bytes per record", ROWS, dao.getArchivedMonths(USER_ID).size(),
+                rows, archivedBytes, before, after, elapsedMillis, archivedBytes / (double) rows));
+
+        assertTrue(rows > ROWS / 2);
+        assertTrue("Archiving saved no space: used " + before + " -> " + after + " bytes", after < before);
+    }
+
+    /**
+     * Archives every month of the user that ends before a cutoff, one transaction per month.
+     * @param cutoffMillis the cutoff in UTC epoch milliseconds
+     * @return the number of records archived
+     */
+    private int archiveBefore(long cutoffMillis) {
+        ArchiveDAO dao = database.archiveDAO();
+        int rows = 0;
+        for (int month : dao.getColdMonths(USER_ID, cutoffMillis)) {
+            rows += Math.max(0, dao.archiveMonth(USER_ID, month));
+        }
+        return rows;
+    }
+}
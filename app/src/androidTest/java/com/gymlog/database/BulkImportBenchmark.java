@@ -0,0 +1,112 @@
+package com.gymlog.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * BulkImportBenchmark compares the throughput of {@link GymLogRepository#importGymLogs} on 100k records
+ * with inserting records one task and one transaction at a time, as insertGymLog does, and logs both in rows per second.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BulkImportBenchmark {
+
+    private static final String TEST_DB = "bulk-import-benchmark";
+    private static final int USER_ID = 1;
+    private static final int BULK_ROWS = 100_000;
+    private static final int SINGLE_ROWS = 2_000;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private GymLogRepository repository;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        repository = new GymLogRepository(database);
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void bulkImport_throughput() throws Exception {
+        List<GymLog> logs = TestGymLogs.history(BULK_ROWS, USER_ID);
+        AtomicInteger lastProgress = new AtomicInteger();
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        int imported = repository.importGymLogs(logs, (done, total) -> lastProgress.set(done)).get();
+        long bulkNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        assertEquals(BULK_ROWS, imported);
+        assertEquals(BULK_ROWS, lastProgress.get());
+        assertEquals(BULK_ROWS, countRows());
+        Log.i(MainActivity.TAG, String.format("Bulk import of %d rows: %d ms, %.0f rows/s",
+                BULK_ROWS, TimeUnit.NANOSECONDS.toMillis(bulkNanos), rowsPerSecond(BULK_ROWS, bulkNanos)));
+    }
+
+    @Test
+    public void singleInserts_throughput() throws Exception {
+        GymLogDAO dao = database.gymLogDAO();
+        List<GymLog> logs = TestGymLogs.history(SINGLE_ROWS, USER_ID);
+        Future<?> last = null;
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (GymLog log : logs) {
+            last = GymLogDatabase.databaseWriteExecutor.submit(() -> dao.insert(log));
+        }
+        last.get();
+        long singleNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        assertEquals(SINGLE_ROWS, countRows());
+        Log.i(MainActivity.TAG, String.format("Single inserts of %d rows: %d ms, %.0f rows/s",
+                SINGLE_ROWS, TimeUnit.NANOSECONDS.toMillis(singleNanos), rowsPerSecond(SINGLE_ROWS, singleNanos)));
+    }
+
+    /**
+     * Counts the GymLog rows in the test database.
+     * @return the number of rows
+     */
+    private int countRows() {
+        try (Cursor cursor = database.query("SELECT COUNT(*) FROM " + GymLogDatabase.GYM_LOG_TABLE, null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    /**
+     * Converts a row count and a duration into a throughput.
+     * @param rows  the number of rows written
+     * @param nanos the time it took in nanoseconds
+     * @return the throughput in rows per second
+     */
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,119 @@
+package com.gymlog.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.dataTransfer.GymLogCsvImporter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * CsvImportBenchmark imports a 500k-row CSV history through {@link GymLogRepository#importLogsFromCsv}
+ * and logs the throughput and the peak heap growth sampled after every batch.
+ * The behavior of the importer is checked by GymLogCsvImporterTest.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CsvImportBenchmark {
+
+    private static final String TEST_DB = "csv-import-benchmark";
+    private static final int USER_ID = 1;
+    private static final int ROWS = 500_000;
+//  The heap may grow by at most this much during the import; the whole file as GymLog objects would need far more.
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private GymLogRepository repository;
+    private File csv;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        repository = new GymLogRepository(database);
+        csv = new File(context.getCacheDir(), "csv-import-benchmark.csv");
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+        csv.delete();
+    }
+
+    @Test
+    public void importLargeCsv_boundedHeap() throws Exception {
+        writeCsv(csv, ROWS);
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong peak = new AtomicLong(baseline);
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        GymLogCsvImporter.Result result = repository.importLogsFromCsv(USER_ID, new FileInputStream(csv),
+                (done, total) -> peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max)).get();
+        long nanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        assertEquals(ROWS, result.getRead());
+        assertEquals(ROWS, result.getImported());
+        assertEquals(ROWS, countRows());
+        long growth = peak.get() - baseline;
+        Log.i(MainActivity.TAG, String.format("CSV import of %d rows: %d ms, %.0f rows/s, peak heap growth %d KB",
+                ROWS, TimeUnit.NANOSECONDS.toMillis(nanos), ROWS / (nanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                growth / 1024));
+        assertTrue("Heap grew by " + growth + " bytes", growth < MAX_HEAP_GROWTH_BYTES);
+    }
+
+    /**
+     * Writes a CSV history file in the export format with distinct dates one minute apart.
+     * @param file the file to write
+     * @param rows the number of data rows
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeCsv(File file, int rows) throws IOException {
+        LocalDateTime first = LocalDateTime.of(2020, 1, 1, 6, 0);
+        try (Writer writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("id,exercise,weight,reps,date,userId\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(i + 1 + ",Exercise " + (i % 20) + "," + (20 + i % 200) + ".5," + (1 + i % 12) + ","
+                        + first.plusMinutes(i) + "," + USER_ID + "\n");
+            }
+        }
+    }
+
+    /**
+     * Counts the GymLog rows in the test database.
+     * @return the number of rows
+     */
+    private int countRows() {
+        try (Cursor cursor = database.query("SELECT COUNT(*) FROM " + GymLogDatabase.GYM_LOG_TABLE, null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
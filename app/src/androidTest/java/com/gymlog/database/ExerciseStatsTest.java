@@ -0,0 +1,95 @@
+package com.gymlog.database;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.entities.ExerciseStats;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseStatsTest checks that the triggers in {@link GymLogTriggers} keep the ExerciseStats table equal
+ * to the aggregates of the GymLog table through inserts, bulk inserts, replaced rows, edits and deletes.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExerciseStatsTest {
+
+    private static final String TEST_DB = "exercise-stats-test";
+    private static final int USER_ID = 1;
+    private static final double DELTA = 1e-9;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+    private GymLogDAO gymLogDAO;
+    private ExerciseStatsDAO statsDAO;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        gymLogDAO = database.gymLogDAO();
+        statsDAO = database.exerciseStatsDAO();
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void insert_updatesRunningStats() {
+        gymLogDAO.insert(new GymLog("Squat", 100, 5, USER_ID));
+        gymLogDAO.insertAll(Arrays.asList(new GymLog("Squat", 120, 1, USER_ID), new GymLog("Bench", 60, 8, USER_ID)));
+
+        ExerciseStats squat = statsDAO.getStats(USER_ID, "Squat");
+        assertEquals(120, squat.getMaxWeight(), DELTA);
+        assertEquals(100 * (1 + 5 / 30.0), squat.getBestEstimatedOneRepMax(), DELTA);
+        assertEquals(620, squat.getTotalVolume(), DELTA);
+        assertEquals(2, squat.getSetCount());
+        assertEquals(6, squat.getTotalReps());
+        assertEquals(2, statsDAO.getStatsByUserId(USER_ID).size());
+    }
+
+    @Test
+    public void editReplaceAndDelete_recomputeStats() {
+        gymLogDAO.insert(new GymLog("Squat", 100, 5, USER_ID));
+        gymLogDAO.insert(new GymLog("Squat", 140, 2, USER_ID));
+        List<GymLog> logs = gymLogDAO.getRecordsByUserId(USER_ID);
+        GymLog heaviest = logs.get(0).getWeight() == 140 ? logs.get(0) : logs.get(1);
+
+        heaviest.setWeight(90);
+        gymLogDAO.insert(heaviest);
+        ExerciseStats squat = statsDAO.getStats(USER_ID, "Squat");
+        assertEquals(100, squat.getMaxWeight(), DELTA);
+        assertEquals(2, squat.getSetCount());
+
+        database.getOpenHelper().getWritableDatabase().execSQL("INSERT INTO " + GymLogDatabase.EXERCISE_TABLE +
+                " (name) VALUES ('Front Squat')");
+        database.getOpenHelper().getWritableDatabase().execSQL("UPDATE " + GymLogDatabase.GYM_LOG_TABLE +
+                " SET exerciseId = (SELECT id FROM " + GymLogDatabase.EXERCISE_TABLE + " WHERE name = 'Front Squat')" +
+                " WHERE id = " + heaviest.getId());
+        assertEquals(1, statsDAO.getStats(USER_ID, "Squat").getSetCount());
+        assertEquals(90, statsDAO.getStats(USER_ID, "Front Squat").getMaxWeight(), DELTA);
+
+        database.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE +
+                " WHERE exerciseId = (SELECT id FROM " + GymLogDatabase.EXERCISE_TABLE + " WHERE name = 'Squat')");
+        assertNull(statsDAO.getStats(USER_ID, "Squat"));
+        assertEquals(1, statsDAO.getStatsByUserId(USER_ID).size());
+    }
+}
@@ -0,0 +1,126 @@
+package com.gymlog.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ReadWriteContentionBenchmark measures the latency of history page reads on the read executor,
+ * first on an idle database and then while a writer inserts records as fast as the write executor allows.
+ * It logs p50 and p99 for both runs so the effect of writes on read latency can be compared.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReadWriteContentionBenchmark {
+
+    private static final String TEST_DB = "read-write-contention-benchmark";
+    private static final int USER_ID = 1;
+    private static final int HISTORY_SIZE = 20_000;
+    private static final int READS = 1_000;
+    private static final int PAGE_SIZE = 50;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private GymLogDatabase database;
+
+    @Before
+    public void createDatabase() {
+        context.deleteDatabase(TEST_DB);
+        database = GymLogDatabase.databaseBuilder(context, TEST_DB).build();
+        GymLogDAO dao = database.gymLogDAO();
+        database.runInTransaction(() -> {
+            for (int i = 0; i < HISTORY_SIZE; i++) {
+                dao.insert(TestGymLogs.create(i, USER_ID));
+            }
+        });
+    }
+
+    @After
+    public void deleteDatabase() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void readLatency_withConcurrentWrites() throws Exception {
+        long[] idle = measureReads();
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger writes = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            GymLogDAO dao = database.gymLogDAO();
+            int i = HISTORY_SIZE;
+            while (writing.get()) {
+                int next = i++;
+                Future<?> insert = GymLogDatabase.databaseWriteExecutor.submit(() -> dao.insert(TestGymLogs.create(next, USER_ID)));
+                try {
+                    insert.get();
+                    writes.incrementAndGet();
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        writer.start();
+        long[] contended;
+        try {
+            contended = measureReads();
+        } finally {
+            writing.set(false);
+            writer.join();
+        }
+
+        Log.i(MainActivity.TAG, String.format("Page reads idle: p50 %.2f ms, p99 %.2f ms", percentile(idle, 50), percentile(idle, 99)));
+        Log.i(MainActivity.TAG, String.format("Page reads during %d writes: p50 %.2f ms, p99 %.2f ms",
+                writes.get(), percentile(contended, 50), percentile(contended, 99)));
+        assertTrue("The writer made no progress", writes.get() > 0);
+    }
+
+    /**
+     * Reads the newest page of the history {@link #READS} times through the read executor,
+     * measuring each read from submission to completion.
+     * @return the latency of every read in nanoseconds
+     */
+    private long[] measureReads() throws Exception {
+        GymLogDAO dao = database.gymLogDAO();
+        long[] latencies = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            GymLogDatabase.databaseReadExecutor.submit(() -> dao.getPageByUserId(USER_ID, PAGE_SIZE)).get();
+            latencies[i] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        return latencies;
+    }
+
+    /**
+     * Returns the given percentile of a set of latencies.
+     * @param latencies the latencies in nanoseconds
+     * @param percent   the percentile, between 0 and 100
+     * @return the latency at that percentile in milliseconds
+     */
+    private static double percentile(long[] latencies, int percent) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percent / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
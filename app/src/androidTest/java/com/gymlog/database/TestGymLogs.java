@@ -0,0 +1,47 @@
+package com.gymlog.database;
+
+import com.gymlog.database.entities.GymLog;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * TestGymLogs generates deterministic synthetic GymLog histories for instrumented tests and benchmarks.
+ */
+public final class TestGymLogs {
+
+    private static final String[] EXERCISES = {"Bench Press", "Squat", "Deadlift", "Overhead Press", "Barbell Row", "Pull Up", "Dip", "Lunge"};
+
+    private TestGymLogs() {
+    }
+
+    /**
+     * Creates the i-th synthetic GymLog of a history. Each record is one hour older than the previous one.
+     * @param i      the position of the record in the history, 0 being the newest
+     * @param userId the ID of the user owning the record
+     * @return a new, not yet inserted GymLog
+     */
+    public static GymLog create(int i, int userId) {
+        GymLog log = new GymLog(EXERCISES[i % EXERCISES.length], 20 + (i % 40) * 2.5, 1 + i % 12, userId);
+        log.setDate(LocalDateTime.of(2026, 1, 1, 12, 0).minusHours(i));
+        return log;
+    }
+
+    /**
+     * Creates a synthetic history for a single user.
+     * @param count  the number of records
+     * @param userId the ID of the user owning the records
+     * @return a list of count new, not yet inserted GymLog records, newest first
+     */
+    public static List<GymLog> history(int count, int userId) {
+        List<GymLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logs.add(create(i, userId));
+        }
+        return logs;
+    }
+}
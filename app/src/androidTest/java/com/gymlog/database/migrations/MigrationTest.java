@@ -0,0 +1,75 @@
+package com.gymlog.database.migrations;
+
+import android.database.Cursor;
+
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.database.GymLogDatabase;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * MigrationTest upgrades a database one version at a time with Room's MigrationTestHelper, which runs the step
+ * from {@link GymLogMigrations#ALL} or the auto migration declared on the database, and validates the tables,
+ * indices and foreign keys each step leaves against the schema exported to app/schemas for the version it
+ * migrates to, not only against the current entities.
+ * A version bump without its exported schema, or without a migration, fails here.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(InstrumentationRegistry.getInstrumentation(),
+            GymLogDatabase.class);
+
+    @Test
+    public void everyStep_matchesItsExportedSchema() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        db.execSQL("INSERT INTO usertable (username, password, isAdmin) VALUES ('admin1', 'admin1', 1)");
+        db.execSQL("INSERT INTO gymLogTable (exercise, weight, reps, date, userId) VALUES ('Squat', 100.0, 5, 1760000000000, 1)");
+        db.close();
+
+        for (int version = 2; version <= GymLogDatabase.VERSION; version++) {
+            helper.runMigrationsAndValidate(TEST_DB, version, true, GymLogMigrations.ALL).close();
+        }
+    }
+
+    @Test
+    public void eachStep_migratesAnEmptyDatabaseOfItsStartVersion() throws IOException {
+        for (int version = 1; version < GymLogDatabase.VERSION; version++) {
+            helper.createDatabase(TEST_DB, version).close();
+            helper.runMigrationsAndValidate(TEST_DB, version + 1, true, GymLogMigrations.ALL).close();
+            InstrumentationRegistry.getInstrumentation().getTargetContext().deleteDatabase(TEST_DB);
+        }
+    }
+
+    @Test
+    public void autoMigrations_keepTheTriggersOfTheGymLogTable() throws IOException {
+//      The start and end version of each auto migration, and the number of GymLog triggers at its end version.
+        int[][] steps = {{5, 6, 5}, {13, 14, 15}};
+        for (int[] step : steps) {
+            helper.createDatabase(TEST_DB, step[0]).close();
+            try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, step[1], true, GymLogMigrations.ALL);
+                 Cursor cursor = db.query("SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND tbl_name = '"
+                         + GymLogDatabase.GYM_LOG_TABLE + "'")) {
+                cursor.moveToFirst();
+                assertEquals("Triggers of the GymLog table after " + step[0] + " -> " + step[1], step[2], cursor.getInt(0));
+            }
+            InstrumentationRegistry.getInstrumentation().getTargetContext().deleteDatabase(TEST_DB);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.gymlog.database.migrations;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gymlog.MainActivity;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.entities.ExerciseRollup;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * MigrationTimingTest upgrades a version 1 database holding 100k GymLog rows one version at a time, through
+ * the migrations in {@link GymLogMigrations#ALL} and the auto migrations of the database, and logs how long
+ * each step takes, Room's check of the schema it leaves included.
+ * Room then opens the result, which validates the migrated schema against the current entities, and the
+ * rollup backfill scheduled by the rollup migration is run to the end and timed.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTimingTest {
+
+    private static final String TEST_DB = "migration-timing-test";
+    private static final int ROWS = 100_000;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(InstrumentationRegistry.getInstrumentation(),
+            GymLogDatabase.class);
+
+    @After
+    public void deleteDatabase() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migrateAllVersions_keepsEveryRow() {
+        VersionOneDatabase.create(context, TEST_DB, ROWS).close();
+        for (int version = 2; version <= GymLogDatabase.VERSION; version++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            helper.runMigrationsAndValidate(TEST_DB, version, true, GymLogMigrations.ALL).close();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(SystemClock.elapsedRealtimeNanos() - start);
+            Log.i(MainActivity.TAG, String.format("Migration %d -> %d on %d rows took %d ms",
+                    version - 1, version, ROWS, elapsedMs));
+        }
+
+        GymLogDatabase migrated = Room.databaseBuilder(context, GymLogDatabase.class, TEST_DB)
+                .addMigrations(GymLogMigrations.ALL)
+                .build();
+        try {
+            assertEquals(ROWS, queryInt(migrated, "SELECT COUNT(*) FROM " + GymLogDatabase.GYM_LOG_TABLE));
+            assertEquals("Every migrated set is counted in the exercise stats",
+                    ROWS, queryInt(migrated, "SELECT SUM(setCount) FROM " + GymLogDatabase.EXERCISE_STATS_TABLE));
+            assertEquals("Every plain text password is replaced with its hash", 0, queryInt(migrated,
+                    "SELECT COUNT(*) FROM " + GymLogDatabase.USER_TABLE + " WHERE passwordHash NOT LIKE 'pbkdf2-sha256$%'"));
+            assertEquals("Nothing is queued for upload before a sync client registers", 0, queryInt(migrated,
+                    "SELECT COUNT(*) FROM " + GymLogDatabase.SYNC_PENDING_TABLE));
+            assertEquals("The rebuilt GymLog table keeps its triggers", 16, queryInt(migrated,
+                    "SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND tbl_name = '" + GymLogDatabase.GYM_LOG_TABLE + "'"));
+            long start = SystemClock.elapsedRealtimeNanos();
+            int steps = 0;
+            while (migrated.rollupDAO().backfillStep()) {
+                steps++;
+            }
+            Log.i(MainActivity.TAG, String.format("Rollup backfill of %d rows took %d steps and %d ms", ROWS, steps,
+                    TimeUnit.NANOSECONDS.toMillis(SystemClock.elapsedRealtimeNanos() - start)));
+            for (int period = ExerciseRollup.DAY; period <= ExerciseRollup.MONTH; period++) {
+                assertEquals("Every migrated set is counted once in the backfilled rollups", ROWS, queryInt(migrated,
+                        "SELECT SUM(setCount) FROM " + GymLogDatabase.EXERCISE_ROLLUP_TABLE + " WHERE period = " + period));
+            }
+            migrated.syncDAO().register(1);
+            assertEquals("Registering queues every existing row for its first upload", ROWS + queryInt(migrated,
+                    "SELECT COUNT(*) FROM " + GymLogDatabase.USER_TABLE), queryInt(migrated,
+                    "SELECT COUNT(*) FROM " + GymLogDatabase.SYNC_PENDING_TABLE));
+        } finally {
+            migrated.close();
+        }
+    }
+
+    /**
+     * Runs a query that returns a single integer.
+     * @param database the database to query
+     * @param sql      the query
+     * @return the integer in the first column of the first row
+     */
+    private static int queryInt(GymLogDatabase database, String sql) {
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
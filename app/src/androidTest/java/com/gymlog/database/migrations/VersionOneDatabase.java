@@ -0,0 +1,89 @@
+package com.gymlog.database.migrations;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * VersionOneDatabase creates a GymLogDatabase file exactly as version 1 of the app left it, filled with
+ * a synthetic history, so every migration in {@link GymLogMigrations} can be run against realistic data.
+ * The DDL is the schema Room generated for version 1 and must never change.
+ */
+final class VersionOneDatabase {
+
+    private static final String CREATE_GYM_LOG_TABLE = "CREATE TABLE IF NOT EXISTS `gymLogTable` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `exercise` TEXT, `weight` REAL NOT NULL, `reps` INTEGER NOT NULL, `date` INTEGER, `userId` INTEGER NOT NULL)";
+    private static final String CREATE_USER_TABLE = "CREATE TABLE IF NOT EXISTS `usertable` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `username` TEXT, `password` TEXT, `isAdmin` INTEGER NOT NULL)";
+    private static final String[] EXERCISES = {"Bench Press", "Squat", "Deadlift", "Overhead Press", "Barbell Row", "Pull Up", "Dip", "Lunge"};
+    static final int USERS = 4;
+
+    private VersionOneDatabase() {
+    }
+
+    /**
+     * Creates a version 1 database with the given number of GymLog rows spread over {@link #USERS} users.
+     * Rows are spaced one hour apart going back from now, so the history spans several years.
+     * @param context the context used to locate the database file
+     * @param name    the name of the database file, deleted first if it exists
+     * @param rows    the number of GymLog rows to insert
+     * @return an open helper for the new database, at version 1
+     */
+    static SupportSQLiteOpenHelper create(Context context, String name, int rows) {
+        context.deleteDatabase(name);
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration.builder(context)
+                .name(name)
+                .callback(new SupportSQLiteOpenHelper.Callback(1) {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        db.execSQL(CREATE_GYM_LOG_TABLE);
+                        db.execSQL(CREATE_USER_TABLE);
+                    }
+
+                    @Override
+                    public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                    }
+                })
+                .build();
+        SupportSQLiteOpenHelper helper = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        fill(helper.getWritableDatabase(), rows);
+        return helper;
+    }
+
+    /**
+     * Inserts the users and the synthetic history in a single transaction.
+     * @param db   the version 1 database
+     * @param rows the number of GymLog rows to insert
+     */
+    private static void fill(SupportSQLiteDatabase db, int rows) {
+        long now = System.currentTimeMillis();
+        long step = TimeUnit.HOURS.toMillis(1);
+        db.beginTransaction();
+        try {
+            for (int user = 1; user <= USERS; user++) {
+                db.execSQL("INSERT INTO usertable (username, password, isAdmin) VALUES (?, ?, ?)",
+                        new Object[]{"user" + user, "user" + user, user == 1 ? 1 : 0});
+            }
+            SupportSQLiteStatement insert = db.compileStatement(
+                    "INSERT INTO gymLogTable (exercise, weight, reps, date, userId) VALUES (?, ?, ?, ?, ?)");
+            for (int i = 0; i < rows; i++) {
+                insert.bindString(1, EXERCISES[i % EXERCISES.length]);
+                insert.bindDouble(2, 20 + (i % 40) * 2.5);
+                insert.bindLong(3, 1 + i % 12);
+                insert.bindLong(4, now - i * step);
+                insert.bindLong(5, 1 + i % USERS);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gymlog;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.gymlog.database.GymLogRepository;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogApplication starts the work the first screen needs as soon as the process starts, off the main thread:
+ * building the repository, opening the database and loading the newest records of the last logged-in user.
+ * The main thread only schedules it, so it does not delay the first frame. Once the cache is warm, any pending
+ * backfill of the progression rollups resumes in the background.
+ */
+public class GymLogApplication extends Application {
+
+    /**
+     * Called when the process starts. Prewarms the repository on the database read executor, then resumes
+     * the rollup backfill on the writer executor.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        GymLogRepository.prewarm(this, this::getLastLoggedInUserId)
+                .thenRun(() -> GymLogRepository.getRepository(this).backfillRollups());
+    }
+
+    /**
+     * Reads the ID of the last logged-in user from the preferences MainActivity saves it to.
+     * Loads the preferences file on first use, so it must not be called on the main thread.
+     * @return the ID of the user, or -1 if nobody is logged in
+     */
+    private int getLastLoggedInUserId() {
+        SharedPreferences sharedPreferences = getSharedPreferences(getString(R.string.preference_file_key),
+                Context.MODE_PRIVATE);
+        return sharedPreferences.getInt(getString(R.string.preference_userId_key), -1);
+    }
+}
@@ -3,13 +3,12 @@ package com.gymlog;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
 import android.view.View;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.lifecycle.LiveData;
 
 import com.gymlog.database.GymLogRepository;
-import com.gymlog.database.entities.User;
 import com.gymlog.databinding.ActivityLoginBinding;
 
 /**
@@ -46,8 +45,8 @@ public class LoginActivity extends AppCompatActivity {
     }
 
     /**
-     * Verifies the user credentials. Checks if the username is not empty and
-     * compares the entered password with the stored password for the user.
+     * Verifies the user credentials. Checks if the username is not empty and verifies the entered password
+     * against the stored hash in the background; the UI thread only reads the fields and shows the outcome.
      * If the credentials are correct, navigates to the main activity.
      */
     private void verifyUser() {
@@ -56,21 +55,33 @@ public class LoginActivity extends AppCompatActivity {
             toastMaker("Username should not be blank");
             return;
         }
-        LiveData<User> userObserver = repository.getUserByUserName(username);
-        userObserver.observe(this, user -> {
-            if (user != null) {
-                String password = binding.passwordLoginEditText.getText().toString();
-                if (password.equals(user.getPassword())) {
-                    startActivity(MainActivity.mainActivityIntentFactory(getApplicationContext(), user.getId()));
-                } else {
+        Editable passwordText = binding.passwordLoginEditText.getText();
+        char[] password = new char[passwordText.length()];
+        passwordText.getChars(0, password.length, password, 0);
+        binding.loginButton.setEnabled(false);
+        repository.logIn(username, password).whenCompleteAsync((result, e) -> {
+            if (isDestroyed()) {
+                return;
+            }
+            binding.loginButton.setEnabled(true);
+            if (e != null) {
+                toastMaker("Could not log in, please try again");
+                return;
+            }
+            switch (result.getStatus()) {
+                case SUCCESS:
+                    startActivity(MainActivity.mainActivityIntentFactory(getApplicationContext(), result.getUser().getId()));
+                    break;
+                case WRONG_PASSWORD:
                     toastMaker("Invalid password");
                     binding.passwordLoginEditText.setSelection(0);
-                }
-            } else {
-                toastMaker(String.format("User %s not found", username));
-                binding.userNameLoginEditText.setSelection(0);
+                    break;
+                case UNKNOWN_USER:
+                    toastMaker(String.format("User %s not found", username));
+                    binding.userNameLoginEditText.setSelection(0);
+                    break;
             }
-        });
+        }, getMainExecutor());
     }
 
     /**
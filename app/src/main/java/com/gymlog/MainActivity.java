@@ -5,12 +5,15 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.view.View;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.LiveData;
@@ -18,13 +21,20 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.gymlog.dataTransfer.GymLogFields;
 import com.gymlog.database.GymLogRepository;
 import com.gymlog.database.entities.GymLog;
 import com.gymlog.database.entities.User;
 import com.gymlog.databinding.ActivityMainBinding;
+import com.gymlog.viewHolders.ExerciseSuggestionAdapter;
 import com.gymlog.viewHolders.GymLogAdapter;
 import com.gymlog.viewHolders.GymLogViewModel;
-import java.util.ArrayList;
+
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+
+import kotlin.Unit;
+import kotlin.jvm.functions.Function0;
 
 /**
  * Author: Rahim Siddiq
@@ -47,6 +57,8 @@ public class MainActivity extends AppCompatActivity {
     int mReps = 0;
     private int loggedInUserId = -1;
     private User user;
+//  Reports the screen fully drawn on the first update of the list that has items, then removes itself.
+    private Function0<Unit> fullyDrawnListener;
 
     /**
      * Called when the activity is starting. Initializes the activity, sets the content view,
@@ -70,8 +82,21 @@ public class MainActivity extends AppCompatActivity {
         repository = GymLogRepository.getRepository(getApplication());
         loginUser(savedInstanceState);
 
-        gymLogViewModel.getAllLogsById(loggedInUserId).observe(this, gymlogs -> {
-            adapter.submitList(gymlogs);
+//      The screen is fully drawn once the first page of the history is shown. Without a logged-in user the login
+//      screen is shown instead, so nothing is reported.
+        if (loggedInUserId != LOGGED_OUT) {
+            fullyDrawnListener = () -> {
+                if (adapter.getItemCount() > 0) {
+                    reportFullyDrawn();
+                    adapter.removeOnPagesUpdatedListener(fullyDrawnListener);
+                }
+                return Unit.INSTANCE;
+            };
+            adapter.addOnPagesUpdatedListener(fullyDrawnListener);
+        }
+
+        gymLogViewModel.getPagedLogsById(loggedInUserId).observe(this, gymlogs -> {
+            adapter.submitData(getLifecycle(), gymlogs);
         });
 
         // User is not logged in at this point, go to login screen
@@ -80,6 +105,7 @@ public class MainActivity extends AppCompatActivity {
             startActivity(intent);
         }
         updateSharedPreference();
+        setUpExerciseSuggestions();
 
         binding.logButton.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -90,6 +116,37 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Suggests exercises the user has logged before while the exercise name is typed.
+     * The text is passed to the ViewModel on every change, which searches once typing pauses.
+     */
+    private void setUpExerciseSuggestions() {
+        ExerciseSuggestionAdapter suggestionAdapter = new ExerciseSuggestionAdapter(this);
+        binding.exerciseInputEditText.setAdapter(suggestionAdapter);
+        binding.exerciseInputEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                gymLogViewModel.setExerciseText(s.toString());
+            }
+        });
+        gymLogViewModel.getExerciseSuggestions(loggedInUserId).observe(this, suggestions -> {
+            suggestionAdapter.setSuggestions(suggestions);
+            boolean picked = suggestions.size() == 1
+                    && suggestions.get(0).equalsIgnoreCase(binding.exerciseInputEditText.getText().toString().trim());
+            if (!suggestions.isEmpty() && !picked && binding.exerciseInputEditText.hasFocus()) {
+                binding.exerciseInputEditText.showDropDown();
+            }
+        });
+    }
+
     /**
      * Logs in the user by retrieving their ID from SharedPreferences or savedInstanceState.
      * Observes changes to the user and updates the UI accordingly.
@@ -237,35 +294,42 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * @deprecated This method is deprecated and may be removed in future versions.
-     * Updates the display with all GymLog records for the logged-in user.
+     * Prints the database diagnostics after the state of the activity, for
+     * {@code adb shell dumpsys activity com.gymlog/.MainActivity}.
+     * @param prefix the prefix of every line
+     * @param fd     the raw file descriptor of the dump
+     * @param writer the writer the state is printed to
+     * @param args   the arguments of the dump command
      */
-    @Deprecated
-    private void updateDisplay() {
-        ArrayList<GymLog> allLogs = repository.getAllLogsByUserId(loggedInUserId);
-        if (allLogs.isEmpty()) {
-        }
-        StringBuilder sb = new StringBuilder();
-        for (GymLog log : allLogs) {
-            sb.append(log);
+    @Override
+    public void dump(@NonNull String prefix, @Nullable FileDescriptor fd, @NonNull PrintWriter writer, @Nullable String[] args) {
+        super.dump(prefix, fd, writer, args);
+        if (repository != null) {
+            repository.getDiagnostics().dump(writer);
         }
     }
 
     /**
      * Retrieves input data from the user interface and assigns it to member variables.
-     * Parses the weight and repetitions input as numbers, handling any parsing errors.
+     * Validates the input with the same rules used for imported files, handling any errors.
+     * An invalid exercise name is cleared so that no record is inserted.
      */
     private void getInformationFromDisplay() {
-        mExercise = binding.exerciseInputEditText.getText().toString();
         try {
-            mWeight = Double.parseDouble(binding.weightInputEditText.getText().toString());
-        } catch (NumberFormatException e) {
+            mExercise = GymLogFields.parseExercise(binding.exerciseInputEditText.getText().toString());
+        } catch (IllegalArgumentException e) {
+            mExercise = "";
+            Log.d(TAG, "Error reading value from Exercise edit text");
+        }
+        try {
+            mWeight = GymLogFields.parseWeight(binding.weightInputEditText.getText().toString());
+        } catch (IllegalArgumentException e) {
             Log.d(TAG, "Error reading value from Weight edit text");
         }
         try {
-            mReps = Integer.parseInt(binding.repInputEditText.getText().toString());
-        } catch (NumberFormatException e) {
+            mReps = GymLogFields.parseReps(binding.repInputEditText.getText().toString());
+        } catch (IllegalArgumentException e) {
             Log.d(TAG, "Error reading value from Reps edit text");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.gymlog.analytics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * AnalyticsReport is what {@link HistoryAnalytics} found in one history: the analytics of each exercise, the
+ * totals of all sets, and the training streaks, runs of consecutive local days with at least one set.
+ */
+public final class AnalyticsReport {
+
+    private final List<ExerciseAnalytics> exercises;
+    private final int setCount;
+    private final double totalVolume;
+    private final int trainingDays;
+    private final int longestStreakDays;
+//  The epoch day the longest streak ended on, the latest one if several are as long.
+    private final int longestStreakEndDay;
+    private final int latestStreakDays;
+    private final int latestStreakEndDay;
+
+    /**
+     * Constructs a new AnalyticsReport.
+     * @param exercises           the analytics of each exercise with at least one set
+     * @param setCount            the number of sets
+     * @param totalVolume         the sum of weight * reps over all sets
+     * @param trainingDays        the number of distinct local days with a set
+     * @param longestStreakDays   the length of the longest streak
+     * @param longestStreakEndDay the epoch day the longest streak ended on
+     * @param latestStreakDays    the length of the streak ending on the last training day
+     * @param latestStreakEndDay  the last training day
+     */
+    AnalyticsReport(List<ExerciseAnalytics> exercises, int setCount, double totalVolume, int trainingDays,
+                    int longestStreakDays, int longestStreakEndDay, int latestStreakDays, int latestStreakEndDay) {
+        this.exercises = Collections.unmodifiableList(exercises);
+        this.setCount = setCount;
+        this.totalVolume = totalVolume;
+        this.trainingDays = trainingDays;
+        this.longestStreakDays = longestStreakDays;
+        this.longestStreakEndDay = longestStreakEndDay;
+        this.latestStreakDays = latestStreakDays;
+        this.latestStreakEndDay = latestStreakEndDay;
+    }
+
+    /**
+     * Returns the analytics of each exercise with at least one set.
+     * @return an unmodifiable list ordered by exercise ID
+     */
+    public List<ExerciseAnalytics> getExercises() {
+        return exercises;
+    }
+
+    /**
+     * Returns the number of sets.
+     * @return the set count
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the sum of weight * reps over all sets.
+     * @return the total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * Returns the number of distinct local days with at least one set.
+     * @return the training days
+     */
+    public int getTrainingDays() {
+        return trainingDays;
+    }
+
+    /**
+     * Returns the length of the longest run of consecutive training days.
+     * @return the number of days, 0 for an empty history
+     */
+    public int getLongestStreakDays() {
+        return longestStreakDays;
+    }
+
+    /**
+     * Returns the last day of the longest streak, the latest one if several are as long.
+     * @return the local date, or null for an empty history
+     */
+    @Nullable
+    public LocalDate getLongestStreakEnd() {
+        return longestStreakDays == 0 ? null : LocalDate.ofEpochDay(longestStreakEndDay);
+    }
+
+    /**
+     * Returns the length of the run of consecutive training days ending on the last one. It is the current
+     * streak if the last training day is today or yesterday.
+     * @return the number of days, 0 for an empty history
+     */
+    public int getLatestStreakDays() {
+        return latestStreakDays;
+    }
+
+    /**
+     * Returns the last training day.
+     * @return the local date, or null for an empty history
+     */
+    @Nullable
+    public LocalDate getLatestStreakEnd() {
+        return latestStreakDays == 0 ? null : LocalDate.ofEpochDay(latestStreakEndDay);
+    }
+
+    /**
+     * Returns a one-line summary of the report.
+     * @return the summary
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "sets=%d exercises=%d volume=%.1f, training days=%d, longest streak=%d ending %s," +
+                        " latest streak=%d ending %s",
+                setCount, exercises.size(), totalVolume, trainingDays, longestStreakDays, getLongestStreakEnd(),
+                latestStreakDays, getLatestStreakEnd());
+    }
+}
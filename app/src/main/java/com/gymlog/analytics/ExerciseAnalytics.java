@@ -0,0 +1,134 @@
+package com.gymlog.analytics;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseAnalytics is what {@link HistoryAnalytics} found for one exercise of a history: its volume, its best
+ * estimated one-rep max (Epley, as the exercise stats compute it) and when it was set, and the trend of the
+ * estimated one-rep max over time, the slope of a least-squares line through the estimate of every set.
+ */
+public final class ExerciseAnalytics {
+
+    private static final double DAYS_PER_WEEK = 7;
+
+    private final int exerciseId;
+//  The name of the exercise, filled in by the caller from the exercise dictionary.
+    @Nullable
+    private String exercise;
+    private final int setCount;
+    private final long totalReps;
+    private final double totalVolume;
+    private final double maxWeight;
+    private final double bestEstimatedOneRepMax;
+    private final long bestDateMillis;
+//  The slope of the estimated one-rep max, per day.
+    private final double trendPerDay;
+
+    /**
+     * Constructs a new ExerciseAnalytics.
+     * @param exerciseId             the ID of the exercise
+     * @param setCount               the number of sets
+     * @param totalReps              the sum of reps
+     * @param totalVolume            the sum of weight * reps
+     * @param maxWeight              the heaviest weight of any set
+     * @param bestEstimatedOneRepMax the best estimated one-rep max of any set
+     * @param bestDateMillis         the date of the first set with that estimate
+     * @param trendPerDay            the slope of the estimated one-rep max per day
+     */
+    ExerciseAnalytics(int exerciseId, int setCount, long totalReps, double totalVolume, double maxWeight,
+                      double bestEstimatedOneRepMax, long bestDateMillis, double trendPerDay) {
+        this.exerciseId = exerciseId;
+        this.setCount = setCount;
+        this.totalReps = totalReps;
+        this.totalVolume = totalVolume;
+        this.maxWeight = maxWeight;
+        this.bestEstimatedOneRepMax = bestEstimatedOneRepMax;
+        this.bestDateMillis = bestDateMillis;
+        this.trendPerDay = trendPerDay;
+    }
+
+    /**
+     * Returns the ID of the exercise.
+     * @return the exercise ID
+     */
+    public int getExerciseId() {
+        return exerciseId;
+    }
+
+    /**
+     * Returns the name of the exercise.
+     * @return the name, or null if it was not filled in
+     */
+    @Nullable
+    public String getExercise() {
+        return exercise;
+    }
+
+    /**
+     * Sets the name of the exercise.
+     * @param exercise the name
+     */
+    public void setExercise(@Nullable String exercise) {
+        this.exercise = exercise;
+    }
+
+    /**
+     * Returns the number of sets of the exercise.
+     * @return the set count
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the sum of reps over all sets.
+     * @return the total reps
+     */
+    public long getTotalReps() {
+        return totalReps;
+    }
+
+    /**
+     * Returns the sum of weight * reps over all sets.
+     * @return the total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * Returns the heaviest weight of any set.
+     * @return the maximum weight
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the best estimated one-rep max of any set.
+     * @return the estimated one-rep max
+     */
+    public double getBestEstimatedOneRepMax() {
+        return bestEstimatedOneRepMax;
+    }
+
+    /**
+     * Returns when the best estimated one-rep max was first reached.
+     * @return the date of the set in UTC epoch milliseconds
+     */
+    public long getBestDateMillis() {
+        return bestDateMillis;
+    }
+
+    /**
+     * Returns how fast the estimated one-rep max changes: the slope of the least-squares line through the
+     * estimate of every set against its date.
+     * @return the change per week, 0 if all sets are on the same instant
+     */
+    public double getTrendPerWeek() {
+        return trendPerDay * DAYS_PER_WEEK;
+    }
+}
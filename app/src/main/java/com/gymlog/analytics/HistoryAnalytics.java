@@ -0,0 +1,345 @@
+package com.gymlog.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * HistoryAnalytics computes the volume, best estimated one-rep max and its trend of every exercise, and the
+ * training streaks, of a {@link HistorySnapshot} with fork-join parallelism.
+ * The sets are split into ranges of {@link #THRESHOLD} sets, each range is summarised by one task with totals
+ * in arrays indexed by exercise ID, and the summaries of neighbouring ranges are combined up the tree:
+ * sums are added, the trend is combined from the means and co-moments of the two ranges, which stays exact
+ * where sums of squares of dates would cancel, and streaks are joined across the boundary of two ranges.
+ * The result does not depend on the number of threads, apart from the rounding of the sums.
+ */
+public final class HistoryAnalytics {
+
+//  The number of sets a task summarises without splitting, enough to outweigh the cost of a task.
+    static final int THRESHOLD = 16_384;
+    private static final double DAY_MILLIS = 86_400_000.0;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new HistoryAnalytics.
+     * @param pool the pool the tasks run in, e.g. ForkJoinPool.commonPool()
+     */
+    public HistoryAnalytics(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Analyses a history. Blocks until the tasks are done; must not be called on the UI thread.
+     * @param snapshot the history
+     * @return the analytics of the history
+     */
+    public AnalyticsReport analyze(HistorySnapshot snapshot) {
+        if (snapshot.size() == 0) {
+            return new AnalyticsReport(new ArrayList<>(), 0, 0, 0, 0, 0, 0, 0);
+        }
+        Totals totals = pool.invoke(new TotalsTask(snapshot, snapshot.dateAt(0), 0, snapshot.size()));
+        int[] days = snapshot.days();
+        if (!isSorted(days)) {
+//          Local days go back when a set is logged in a time zone further behind UTC than the previous one.
+            days = days.clone();
+            Arrays.sort(days);
+        }
+        Streaks streaks = pool.invoke(new StreakTask(days, 0, days.length));
+
+        List<ExerciseAnalytics> exercises = new ArrayList<>();
+        double totalVolume = 0;
+        for (int id = 0; id < totals.setCount.length; id++) {
+            if (totals.setCount[id] == 0) {
+                continue;
+            }
+            totalVolume += totals.volume[id];
+            exercises.add(new ExerciseAnalytics(id, totals.setCount[id], totals.reps[id], totals.volume[id],
+                    totals.maxWeight[id], totals.bestEstimate[id], totals.bestDate[id],
+                    totals.dateMoment[id] > 0 ? totals.coMoment[id] / totals.dateMoment[id] : 0));
+        }
+        return new AnalyticsReport(exercises, snapshot.size(), totalVolume, streaks.distinct, streaks.best,
+                streaks.bestEnd, streaks.suffix, streaks.last);
+    }
+
+    /**
+     * Computes the Epley estimated one-rep max of a set, as the exercise stats do.
+     * @param weight the weight
+     * @param reps   the reps
+     * @return the estimated one-rep max
+     */
+    static double estimatedOneRepMax(double weight, int reps) {
+        return reps <= 1 ? weight * reps : weight * (1 + reps / 30.0);
+    }
+
+    /**
+     * Checks whether a column is in ascending order.
+     * @param values the column
+     * @return true if no value is smaller than the one before it
+     */
+    private static boolean isSorted(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] < values[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The per-exercise totals of a range of sets, in arrays indexed by exercise ID.
+     */
+    private static final class Totals {
+        final int[] setCount;
+        final long[] reps;
+        final double[] volume;
+        final double[] maxWeight;
+        final double[] bestEstimate;
+        final long[] bestDate;
+//      The mean date in days since the first set, the mean estimate, the sum of squared deviations of the
+//      date and the sum of products of the deviations of date and estimate, for the least-squares slope.
+        final double[] meanDay;
+        final double[] meanEstimate;
+        final double[] dateMoment;
+        final double[] coMoment;
+
+        Totals(int exerciseIdBound) {
+            setCount = new int[exerciseIdBound];
+            reps = new long[exerciseIdBound];
+            volume = new double[exerciseIdBound];
+            maxWeight = new double[exerciseIdBound];
+            bestEstimate = new double[exerciseIdBound];
+            bestDate = new long[exerciseIdBound];
+            meanDay = new double[exerciseIdBound];
+            meanEstimate = new double[exerciseIdBound];
+            dateMoment = new double[exerciseIdBound];
+            coMoment = new double[exerciseIdBound];
+            Arrays.fill(maxWeight, Double.NEGATIVE_INFINITY);
+            Arrays.fill(bestEstimate, Double.NEGATIVE_INFINITY);
+        }
+
+        /**
+         * Adds the totals of the range after this one. On equal estimates the earlier set is kept.
+         * @param later the totals of the next range
+         */
+        void combine(Totals later) {
+            for (int id = 0; id < setCount.length; id++) {
+                int n = later.setCount[id];
+                if (n == 0) {
+                    continue;
+                }
+                int m = setCount[id];
+                if (m == 0) {
+                    meanDay[id] = later.meanDay[id];
+                    meanEstimate[id] = later.meanEstimate[id];
+                    dateMoment[id] = later.dateMoment[id];
+                    coMoment[id] = later.coMoment[id];
+                } else {
+                    double total = m + n;
+                    double dx = later.meanDay[id] - meanDay[id];
+                    double dy = later.meanEstimate[id] - meanEstimate[id];
+                    meanDay[id] += dx * n / total;
+                    meanEstimate[id] += dy * n / total;
+                    dateMoment[id] += later.dateMoment[id] + dx * dx * m * n / total;
+                    coMoment[id] += later.coMoment[id] + dx * dy * m * n / total;
+                }
+                setCount[id] = m + n;
+                reps[id] += later.reps[id];
+                volume[id] += later.volume[id];
+                maxWeight[id] = Math.max(maxWeight[id], later.maxWeight[id]);
+                if (later.bestEstimate[id] > bestEstimate[id]) {
+                    bestEstimate[id] = later.bestEstimate[id];
+                    bestDate[id] = later.bestDate[id];
+                }
+            }
+        }
+    }
+
+    /**
+     * Summarises the sets of a range, splitting it in halves until a half is at most {@link #THRESHOLD} sets.
+     */
+    private static final class TotalsTask extends RecursiveTask<Totals> {
+        private final HistorySnapshot snapshot;
+        private final long originMillis;
+        private final int from;
+        private final int to;
+
+        TotalsTask(HistorySnapshot snapshot, long originMillis, int from, int to) {
+            this.snapshot = snapshot;
+            this.originMillis = originMillis;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= THRESHOLD) {
+                return summarise();
+            }
+            int middle = (from + to) >>> 1;
+            TotalsTask earlier = new TotalsTask(snapshot, originMillis, from, middle);
+            earlier.fork();
+            Totals later = new TotalsTask(snapshot, originMillis, middle, to).compute();
+            Totals totals = earlier.join();
+            totals.combine(later);
+            return totals;
+        }
+
+        /**
+         * Summarises the range in one pass over its columns.
+         * @return the totals of the range
+         */
+        private Totals summarise() {
+            Totals totals = new Totals(snapshot.getExerciseIdBound());
+            long[] dates = snapshot.dates();
+            int[] exerciseIds = snapshot.exerciseIds();
+            float[] weights = snapshot.weights();
+            short[] reps = snapshot.reps();
+            for (int i = from; i < to; i++) {
+                int id = exerciseIds[i];
+                double weight = weights[i];
+                int r = reps[i];
+                double estimate = estimatedOneRepMax(weight, r);
+                double day = (dates[i] - originMillis) / DAY_MILLIS;
+                int n = ++totals.setCount[id];
+                totals.reps[id] += r;
+                totals.volume[id] += weight * r;
+                if (weight > totals.maxWeight[id]) {
+                    totals.maxWeight[id] = weight;
+                }
+                if (estimate > totals.bestEstimate[id]) {
+                    totals.bestEstimate[id] = estimate;
+                    totals.bestDate[id] = dates[i];
+                }
+//              Welford's update of the means and co-moments.
+                double dx = day - totals.meanDay[id];
+                totals.meanDay[id] += dx / n;
+                totals.meanEstimate[id] += (estimate - totals.meanEstimate[id]) / n;
+                totals.dateMoment[id] += dx * (day - totals.meanDay[id]);
+                totals.coMoment[id] += dx * (estimate - totals.meanEstimate[id]);
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * The streaks of a non-empty range of sorted days: enough to join them with the streaks of a neighbouring range.
+     */
+    private static final class Streaks {
+        int first;
+        int last;
+        int distinct;
+//      The length of the run starting on the first day and of the run ending on the last day.
+        int prefix;
+        int suffix;
+        int best;
+        int bestEnd;
+//      Whether every day of the range is in one run.
+        boolean whole;
+
+        /**
+         * Joins the streaks of the range after this one.
+         * @param later the streaks of the next range
+         * @return the streaks of both ranges
+         */
+        Streaks join(Streaks later) {
+            int gap = later.first - last;
+            boolean touching = gap <= 1;
+//          The run across the boundary; a day in both ranges is counted once.
+            int joined = touching ? suffix + later.prefix - (gap == 0 ? 1 : 0) : 0;
+            Streaks both = new Streaks();
+            both.first = first;
+            both.last = later.last;
+            both.distinct = distinct + later.distinct - (gap == 0 ? 1 : 0);
+            both.prefix = whole && touching ? joined : prefix;
+            both.suffix = later.whole && touching ? joined : later.suffix;
+            both.whole = whole && later.whole && touching;
+//          On equal lengths the later streak is kept.
+            both.best = best;
+            both.bestEnd = bestEnd;
+            if (touching && joined >= both.best) {
+                both.best = joined;
+                both.bestEnd = later.whole ? later.last : later.first + later.prefix - 1;
+            }
+            if (later.best >= both.best) {
+                both.best = later.best;
+                both.bestEnd = later.bestEnd;
+            }
+            return both;
+        }
+    }
+
+    /**
+     * Finds the streaks of a range of sorted days, splitting it in halves until a half is at most
+     * {@link #THRESHOLD} days.
+     */
+    private static final class StreakTask extends RecursiveTask<Streaks> {
+        private final int[] days;
+        private final int from;
+        private final int to;
+
+        StreakTask(int[] days, int from, int to) {
+            this.days = days;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Streaks compute() {
+            if (to - from <= THRESHOLD) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            StreakTask earlier = new StreakTask(days, from, middle);
+            earlier.fork();
+            Streaks later = new StreakTask(days, middle, to).compute();
+            return earlier.join().join(later);
+        }
+
+        /**
+         * Finds the streaks of the range in one pass.
+         * @return the streaks of the range
+         */
+        private Streaks scan() {
+            Streaks streaks = new Streaks();
+            streaks.first = days[from];
+            streaks.last = days[to - 1];
+            streaks.distinct = 1;
+            streaks.prefix = -1;
+            streaks.best = 1;
+            streaks.bestEnd = days[from];
+            int run = 1;
+            for (int i = from + 1; i < to; i++) {
+                int day = days[i];
+                int previous = days[i - 1];
+                if (day == previous) {
+                    continue;
+                }
+                streaks.distinct++;
+                if (day == previous + 1) {
+                    run++;
+                } else {
+                    if (streaks.prefix < 0) {
+                        streaks.prefix = run;
+                    }
+                    run = 1;
+                }
+                if (run >= streaks.best) {
+                    streaks.best = run;
+                    streaks.bestEnd = day;
+                }
+            }
+            streaks.whole = streaks.prefix < 0;
+            if (streaks.whole) {
+                streaks.prefix = run;
+            }
+            streaks.suffix = run;
+            return streaks;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.gymlog.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * HistorySnapshot is the history of one user held as one primitive array per column, oldest first: the date,
+ * local day, exercise ID, weight and reps of each set at the same index. A million sets take about 22 MB,
+ * against several times that as GymLog objects with their names and dates, and a pass over a column reads
+ * memory in order without following a pointer per set.
+ * Weights are stored as floats, exact for weights in steps of a quarter below 4,000,000 and within a hundredth
+ * of any other below 100,000, and reps as shorts, outside whose range counts are clamped.
+ * A snapshot is not changed once built and can be read from any number of threads.
+ */
+public final class HistorySnapshot {
+
+    private final int size;
+//  The date of each set in UTC epoch milliseconds.
+    private final long[] dates;
+//  The epoch day of each set in the time zone it was logged in, as the rollups count days.
+    private final int[] days;
+    private final int[] exerciseIds;
+    private final float[] weights;
+    private final short[] reps;
+//  One more than the largest exercise ID, so per-exercise totals fit arrays indexed by ID.
+    private final int exerciseIdBound;
+
+    /**
+     * Constructs a new HistorySnapshot from the columns of a builder.
+     * @param builder the builder
+     */
+    private HistorySnapshot(Builder builder) {
+        size = builder.size;
+        dates = Arrays.copyOf(builder.dates, size);
+        days = Arrays.copyOf(builder.days, size);
+        exerciseIds = Arrays.copyOf(builder.exerciseIds, size);
+        weights = Arrays.copyOf(builder.weights, size);
+        reps = Arrays.copyOf(builder.reps, size);
+        exerciseIdBound = builder.maxExerciseId + 1;
+    }
+
+    /**
+     * Returns the number of sets.
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the date of a set.
+     * @param i the index of the set
+     * @return the date in UTC epoch milliseconds
+     */
+    public long dateAt(int i) {
+        return dates[i];
+    }
+
+    /**
+     * Returns the local day of a set.
+     * @param i the index of the set
+     * @return the epoch day in the time zone the set was logged in
+     */
+    public int dayAt(int i) {
+        return days[i];
+    }
+
+    /**
+     * Returns the exercise ID of a set.
+     * @param i the index of the set
+     * @return the exercise ID
+     */
+    public int exerciseIdAt(int i) {
+        return exerciseIds[i];
+    }
+
+    /**
+     * Returns the weight of a set.
+     * @param i the index of the set
+     * @return the weight
+     */
+    public float weightAt(int i) {
+        return weights[i];
+    }
+
+    /**
+     * Returns the reps of a set.
+     * @param i the index of the set
+     * @return the reps
+     */
+    public int repsAt(int i) {
+        return reps[i];
+    }
+
+    /**
+     * Returns one more than the largest exercise ID of the snapshot.
+     * @return the bound, 0 for an empty snapshot
+     */
+    public int getExerciseIdBound() {
+        return exerciseIdBound;
+    }
+
+    /**
+     * Returns the dates column, for HistoryAnalytics. The columns are not copied and must not be changed.
+     * @return the date of every set
+     */
+    long[] dates() {
+        return dates;
+    }
+
+    /**
+     * Returns the local days column.
+     * @return the local day of every set
+     */
+    int[] days() {
+        return days;
+    }
+
+    /**
+     * Returns the exercise IDs column.
+     * @return the exercise ID of every set
+     */
+    int[] exerciseIds() {
+        return exerciseIds;
+    }
+
+    /**
+     * Returns the weights column.
+     * @return the weight of every set
+     */
+    float[] weights() {
+        return weights;
+    }
+
+    /**
+     * Returns the reps column.
+     * @return the reps of every set
+     */
+    short[] reps() {
+        return reps;
+    }
+
+    /**
+     * Collects the sets of a snapshot, oldest first, growing its columns as needed.
+     */
+    public static final class Builder {
+        private static final long DAY_MILLIS = 86_400_000L;
+
+        private int size;
+        private long[] dates;
+        private int[] days;
+        private int[] exerciseIds;
+        private float[] weights;
+        private short[] reps;
+        private int maxExerciseId = -1;
+
+        /**
+         * Constructs a new Builder.
+         * @param capacity the number of sets expected; the columns grow past it if needed
+         */
+        public Builder(int capacity) {
+            capacity = Math.max(16, capacity);
+            dates = new long[capacity];
+            days = new int[capacity];
+            exerciseIds = new int[capacity];
+            weights = new float[capacity];
+            reps = new short[capacity];
+        }
+
+        /**
+         * Adds a set after the ones added so far.
+         * @param dateMillis the date of the set in UTC epoch milliseconds, not before the previous set
+         * @param zoneOffset the zone offset the set was logged in, in seconds
+         * @param exerciseId the exercise ID, not negative
+         * @param weight     the weight
+         * @param reps       the reps, clamped to the range of a short
+         * @return this builder
+         * @throws IllegalArgumentException if the exercise ID is negative or the set is older than the previous one
+         */
+        public Builder add(long dateMillis, int zoneOffset, int exerciseId, double weight, int reps) {
+            if (exerciseId < 0) {
+                throw new IllegalArgumentException("Negative exercise ID " + exerciseId);
+            }
+            if (size > 0 && dateMillis < dates[size - 1]) {
+                throw new IllegalArgumentException("Sets must be added oldest first");
+            }
+            if (size == dates.length) {
+                int capacity = size + (size >> 1);
+                dates = Arrays.copyOf(dates, capacity);
+                days = Arrays.copyOf(days, capacity);
+                exerciseIds = Arrays.copyOf(exerciseIds, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                this.reps = Arrays.copyOf(this.reps, capacity);
+            }
+            dates[size] = dateMillis;
+            days[size] = (int) Math.floorDiv(dateMillis + zoneOffset * 1000L, DAY_MILLIS);
+            exerciseIds[size] = exerciseId;
+            weights[size] = (float) weight;
+            this.reps[size] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, reps));
+            maxExerciseId = Math.max(maxExerciseId, exerciseId);
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the snapshot of the sets added so far.
+         * @return the snapshot, with columns trimmed to its size
+         */
+        public HistorySnapshot build() {
+            return new HistorySnapshot(this);
+        }
+    }
+}
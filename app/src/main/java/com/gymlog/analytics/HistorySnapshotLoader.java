@@ -0,0 +1,88 @@
+package com.gymlog.analytics;
+
+import android.database.Cursor;
+
+import com.gymlog.database.ArchiveDAO;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.entities.GymLog;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.PriorityQueue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * HistorySnapshotLoader reads the history of a user into a {@link HistorySnapshot}. Rows are copied from a
+ * Cursor over five numeric columns straight into the columns of the snapshot, so no GymLog, String or
+ * LocalDateTime is created per set. Archived months are decoded one at a time, just before the Cursor reaches
+ * their dates, and merged in, as the exporter does.
+ */
+public class HistorySnapshotLoader {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Comparator<GymLog> OLDEST_FIRST = Comparator.comparingLong(GymLog::getDateMillis);
+
+    private final GymLogDAO gymLogDAO;
+    private final ArchiveDAO archiveDAO;
+
+    /**
+     * Constructs a new HistorySnapshotLoader.
+     * @param gymLogDAO  the DAO used to open the history Cursor
+     * @param archiveDAO the DAO the archived months of the history are read from
+     */
+    public HistorySnapshotLoader(GymLogDAO gymLogDAO, ArchiveDAO archiveDAO) {
+        this.gymLogDAO = gymLogDAO;
+        this.archiveDAO = archiveDAO;
+    }
+
+    /**
+     * Loads the whole history of a user, archived months included.
+     * A month archived or restored while the history loads may be read twice or not at all.
+     * This performs database I/O and must not be called on the UI thread.
+     * @param userId the ID of the user
+     * @return the snapshot of the history, oldest first
+     */
+    public HistorySnapshot load(int userId) {
+        HistorySnapshot.Builder builder = new HistorySnapshot.Builder(INITIAL_CAPACITY);
+        Deque<Integer> months = new ArrayDeque<>(archiveDAO.getArchivedMonths(userId));
+        PriorityQueue<GymLog> archived = new PriorityQueue<>(OLDEST_FIRST);
+        try (Cursor cursor = gymLogDAO.getColumnsByUserIdCursor(userId)) {
+            int date = cursor.getColumnIndexOrThrow("date");
+            int zoneOffset = cursor.getColumnIndexOrThrow("zoneOffset");
+            int exerciseId = cursor.getColumnIndexOrThrow("exerciseId");
+            int weight = cursor.getColumnIndexOrThrow("weight");
+            int reps = cursor.getColumnIndexOrThrow("reps");
+            while (cursor.moveToNext()) {
+                long dateMillis = cursor.getLong(date);
+                while (!months.isEmpty() && ArchiveDAO.earliestDateOf(months.peekFirst()) <= dateMillis) {
+                    archived.addAll(archiveDAO.getArchivedMonth(userId, months.pollFirst()));
+                }
+                while (!archived.isEmpty() && archived.peek().getDateMillis() < dateMillis) {
+                    add(builder, archived.poll());
+                }
+                builder.add(dateMillis, cursor.getInt(zoneOffset), cursor.getInt(exerciseId), cursor.getDouble(weight),
+                        cursor.getInt(reps));
+            }
+        }
+        while (!months.isEmpty()) {
+            archived.addAll(archiveDAO.getArchivedMonth(userId, months.pollFirst()));
+        }
+        while (!archived.isEmpty()) {
+            add(builder, archived.poll());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Adds an archived record to a snapshot.
+     * @param builder the builder of the snapshot
+     * @param gymLog  the record
+     */
+    private static void add(HistorySnapshot.Builder builder, GymLog gymLog) {
+        builder.add(gymLog.getDateMillis(), gymLog.getZoneOffset(), gymLog.getExerciseId(), gymLog.getWeight(),
+                gymLog.getReps());
+    }
+}
@@ -0,0 +1,136 @@
+package com.gymlog.credentials;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Credentials hashes and verifies passwords on a dedicated credential thread, so the hundreds of milliseconds a
+ * hash takes never block the UI, nor the database executors that other screens are waiting on.
+ * The cost of new hashes is calibrated once per process, on that thread, to take {@link #TARGET_HASH_MILLIS}.
+ * Every method takes ownership of the password array it is given and clears it once the hash is derived.
+ */
+public final class Credentials {
+
+//  The time one hash should take: slow enough to make guessing expensive, fast enough that a login feels immediate.
+    public static final long TARGET_HASH_MILLIS = 250;
+//  The name of the thread that derives every hash.
+    public static final String THREAD_NAME = "gymlog-credentials";
+    private static final ExecutorService credentialExecutor =
+            Executors.newSingleThreadExecutor(task -> new Thread(task, THREAD_NAME));
+//  Calibrated by the first task that needs it. Only read and written on the credential thread.
+    private static PasswordHasher hasher;
+//  Verified against when there is no stored hash, so an unknown username takes as long as a wrong password.
+    private static String unknownUserHash;
+
+    /**
+     * The outcome of checking a password against a stored one.
+     */
+    public static final class Verification {
+        private final boolean matches;
+        @Nullable
+        private final String rehash;
+
+        /**
+         * Constructs a new Verification.
+         * @param matches whether the password matched
+         * @param rehash  the new hash to store, or null if the stored one is current
+         */
+        Verification(boolean matches, @Nullable String rehash) {
+            this.matches = matches;
+            this.rehash = rehash;
+        }
+
+        /**
+         * Returns whether the password matched.
+         * @return true if the password matched the stored one
+         */
+        public boolean matches() {
+            return matches;
+        }
+
+        /**
+         * Returns the hash that should replace the stored one, because it was made at a lower cost than new
+         * hashes get.
+         * @return the new hash, or null if the password did not match or the stored hash is current
+         */
+        @Nullable
+        public String getRehash() {
+            return rehash;
+        }
+    }
+
+    private Credentials() {
+    }
+
+    /**
+     * Hashes a password for storage on the credential thread.
+     * @param password the password; cleared once it is hashed
+     * @return a future completed with the encoded hash
+     */
+    public static CompletableFuture<String> hash(char[] password) {
+        return submit(() -> {
+            try {
+                return hasher().hash(password);
+            } finally {
+                Arrays.fill(password, '\0');
+            }
+        });
+    }
+
+    /**
+     * Verifies a password against a stored one on the credential thread. A missing or invalid stored password is
+     * verified against a throwaway hash and never matches, so it takes as long as any other failed login.
+     * @param password the password entered; cleared once it is verified
+     * @param stored   the stored hash, or null if there is no such user
+     * @return a future completed with the outcome, including the new hash to store if the stored one is outdated
+     */
+    public static CompletableFuture<Verification> verify(char[] password, @Nullable String stored) {
+        return submit(() -> {
+            try {
+                PasswordHasher current = hasher();
+                if (!PasswordHasher.isValid(stored)) {
+                    current.verify(password, unknownUserHash);
+                    return new Verification(false, null);
+                }
+                boolean matches = current.verify(password, stored);
+                return new Verification(matches, matches && current.needsRehash(stored) ? current.hash(password) : null);
+            } finally {
+                Arrays.fill(password, '\0');
+            }
+        });
+    }
+
+    /**
+     * Runs a task on the credential thread.
+     * @param task the task
+     * @param <T>  the type of its result
+     * @return a future completed with the result of the task
+     */
+    private static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, credentialExecutor);
+    }
+
+    /**
+     * Returns the hasher of new hashes, calibrating it on first use.
+     * @return the calibrated hasher
+     * @throws IllegalStateException if called on any thread but the credential thread
+     */
+    private static PasswordHasher hasher() {
+        if (!THREAD_NAME.equals(Thread.currentThread().getName())) {
+            throw new IllegalStateException("Password hashes must be derived on the credential thread");
+        }
+        if (hasher == null) {
+            hasher = PasswordHasher.calibrate(TARGET_HASH_MILLIS);
+            unknownUserHash = hasher.hash("unknown user".toCharArray());
+        }
+        return hasher;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gymlog.credentials;
+
+import androidx.annotation.Nullable;
+
+import com.gymlog.database.entities.User;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * LoginResult is the outcome of a login attempt: the user if the password matched, or why the login failed.
+ */
+public final class LoginResult {
+
+    /**
+     * Why a login succeeded or failed.
+     */
+    public enum Status {
+        SUCCESS,
+        UNKNOWN_USER,
+        WRONG_PASSWORD
+    }
+
+    private final Status status;
+    @Nullable
+    private final User user;
+
+    /**
+     * Constructs a new LoginResult.
+     * @param status the outcome of the login
+     * @param user   the logged-in user, or null if the login failed
+     */
+    public LoginResult(Status status, @Nullable User user) {
+        this.status = status;
+        this.user = user;
+    }
+
+    /**
+     * Returns the outcome of the login.
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the logged-in user.
+     * @return the user, or null if the login failed
+     */
+    @Nullable
+    public User getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,194 @@
+package com.gymlog.credentials;
+
+import androidx.annotation.Nullable;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * PasswordHasher derives password hashes with PBKDF2-HMAC-SHA256 and a random salt per password.
+ * A hash is stored as "pbkdf2-sha256$iterations$salt$hash" with the salt and hash in Base64, so every stored hash
+ * says how it was derived and still verifies after the cost is raised. The cost is set in iterations, and
+ * {@link #calibrate} picks the number that takes a target time on the device it runs on.
+ * Deriving a hash takes as long as the cost makes it, by design; see {@link Credentials} for where that runs.
+ */
+public final class PasswordHasher {
+
+//  The prefix of every stored hash; a stored password without it is plain text from before version 9.
+    static final String PREFIX = "pbkdf2-sha256$";
+//  The lowest cost ever used, whatever the calibration measures.
+    public static final int MIN_ITERATIONS = 100_000;
+//  The highest cost calibration picks, so a fast device does not make logins take seconds on a slow one after a restore.
+    public static final int MAX_ITERATIONS = 2_000_000;
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+//  The cost of the trial derivations timed by calibrate.
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructs a new PasswordHasher.
+     * @param iterations the PBKDF2 iteration count of new hashes
+     */
+    public PasswordHasher(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Times trial derivations and returns a hasher whose hashes take about the target time on this device,
+     * within {@link #MIN_ITERATIONS} and {@link #MAX_ITERATIONS}.
+     * @param targetMillis the time one hash should take, in milliseconds
+     * @return the calibrated hasher
+     */
+    public static PasswordHasher calibrate(long targetMillis) {
+        char[] password = "calibration".toCharArray();
+        byte[] salt = new byte[SALT_BYTES];
+        long best = Long.MAX_VALUE;
+//      The first run warms up the JIT, the fastest of the others is the one least disturbed by other work.
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            derive(password, salt, CALIBRATION_ITERATIONS);
+            if (i > 0) {
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        long iterations = targetMillis * 1_000_000L * CALIBRATION_ITERATIONS / Math.max(1, best);
+        return new PasswordHasher((int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, iterations)));
+    }
+
+    /**
+     * Returns the cost of new hashes.
+     * @return the PBKDF2 iteration count
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Derives the hash to store for a password.
+     * @param password the password
+     * @return the encoded hash, with its cost and salt
+     */
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored hash, taking the same time whichever byte differs.
+     * A stored password that is not a valid hash never matches: plain text passwords were all hashed by the
+     * 8 -> 9 migration, and a cost outside the bounds is refused rather than derived.
+     * @param password the password entered
+     * @param stored   the stored hash
+     * @return true if the password matches
+     */
+    public boolean verify(char[] password, @Nullable String stored) {
+        String[] parts = split(stored);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(derive(password, salt, Integer.parseInt(parts[0])), expected);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a stored password should be hashed again at the current cost, after it has been verified.
+     * Calibration measures a slightly different cost every time, so only a hash well below the current cost
+     * is replaced, not every hash on every login.
+     * @param stored the stored hash
+     * @return true if it is not a valid hash or was hashed with less than three quarters of the current iterations
+     */
+    public boolean needsRehash(@Nullable String stored) {
+        String[] parts = split(stored);
+        return parts == null || Integer.parseInt(parts[0]) < iterations / 4 * 3;
+    }
+
+    /**
+     * Checks whether a stored password is a hash made by this class.
+     * @param stored the stored password
+     * @return true if it has the prefix of a hash, false if it is plain text
+     */
+    public static boolean isHash(@Nullable String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Checks whether a stored password is a hash this class would verify: well formed, with a cost within
+     * {@link #MIN_ITERATIONS} and {@link #MAX_ITERATIONS} and a salt and hash of the lengths it makes.
+     * @param stored the stored password
+     * @return true if it is a valid hash
+     */
+    public static boolean isValid(@Nullable String stored) {
+        String[] parts = split(stored);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            return Base64.getDecoder().decode(parts[1]).length == SALT_BYTES
+                    && Base64.getDecoder().decode(parts[2]).length == HASH_BITS / 8;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Splits a stored hash into its cost, salt and hash, checking the cost is within the bounds.
+     * A stored cost is never derived outside them, so a tampered or restored hash cannot make a login
+     * take minutes, or pass with a handful of iterations.
+     * @param stored the stored password
+     * @return the iteration count, salt and hash as stored, or null if it is not a hash or its cost is out of bounds
+     */
+    @Nullable
+    private static String[] split(@Nullable String stored) {
+        if (!isHash(stored)) {
+            return null;
+        }
+        String[] parts = stored.substring(PREFIX.length()).split("\\$", -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            return storedIterations >= MIN_ITERATIONS && storedIterations <= MAX_ITERATIONS ? parts : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs PBKDF2 over a password.
+     * @param password   the password
+     * @param salt       the salt
+     * @param iterations the iteration count
+     * @return the derived key
+     */
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
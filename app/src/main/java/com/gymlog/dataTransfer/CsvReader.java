@@ -0,0 +1,117 @@
+package com.gymlog.dataTransfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * CsvReader reads RFC 4180 style comma-separated records one at a time from a character stream.
+ * Quoted fields may contain separators, doubled quotes and line breaks. Only the current record is held in memory.
+ */
+class CsvReader implements Closeable {
+
+    private static final int END_OF_STREAM = -1;
+    private static final int NO_PENDING = -2;
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> record = new ArrayList<>();
+    private int pending = NO_PENDING;
+
+    /**
+     * Constructs a new CsvReader.
+     * @param reader the character stream to read; it should be buffered
+     */
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record. Blank lines are skipped.
+     * @return the fields of the next record, or null at the end of the stream
+     * @throws IOException if reading fails or a quoted field is not closed
+     */
+    String[] readRecord() throws IOException {
+        record.clear();
+        field.setLength(0);
+        int c = next();
+        while (c == '\r' || c == '\n') {
+            c = next();
+        }
+        if (c == END_OF_STREAM) {
+            return null;
+        }
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == END_OF_STREAM) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                endField();
+            } else if (c == '\r' || c == '\n' || c == END_OF_STREAM) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                endField();
+                return record.toArray(new String[0]);
+            } else {
+                field.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * Closes the underlying stream.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Adds the current field to the record and starts a new one.
+     */
+    private void endField() {
+        record.add(field.toString());
+        field.setLength(0);
+    }
+
+    /**
+     * Returns the next character, including one pushed back after a carriage return.
+     * @return the next character, or END_OF_STREAM
+     * @throws IOException if reading fails
+     */
+    private int next() throws IOException {
+        if (pending != NO_PENDING) {
+            int c = pending;
+            pending = NO_PENDING;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,258 @@
+package com.gymlog.dataTransfer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gymlog.database.ArchiveDAO;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.ImportProgressListener;
+import com.gymlog.database.entities.GymLog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogCsvImporter streams a CSV history file into a user's GymLog table.
+ * Rows are parsed one at a time, validated with {@link GymLogFields}, and written in batched transactions,
+ * so at most one batch of records is in memory however large the file is.
+ * A row is a duplicate if the user already has a record with the same exercise, ignoring case, and date; duplicates are skipped.
+ * The file needs a header row naming at least the exercise, weight, reps and date columns, in any order and case.
+ * Other columns, such as the id and userId written by {@link GymLogExporter}, are ignored.
+ */
+public class GymLogCsvImporter {
+
+//  The number of records written per transaction.
+    static final int BATCH_SIZE = 1_000;
+
+    /**
+     * The outcome of an import.
+     */
+    public static final class Result {
+        private final long read;
+        private final long imported;
+        private final long duplicates;
+        private final long rejected;
+
+        Result(long read, long imported, long duplicates, long rejected) {
+            this.read = read;
+            this.imported = imported;
+            this.duplicates = duplicates;
+            this.rejected = rejected;
+        }
+
+        /**
+         * Returns the number of data rows read from the file.
+         * @return the number of rows read
+         */
+        public long getRead() {
+            return read;
+        }
+
+        /**
+         * Returns the number of rows inserted as new GymLog records.
+         * @return the number of rows imported
+         */
+        public long getImported() {
+            return imported;
+        }
+
+        /**
+         * Returns the number of rows skipped because the record already existed.
+         * @return the number of duplicate rows
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * Returns the number of rows skipped because a field failed validation.
+         * @return the number of rejected rows
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Returns a string representation of the Result.
+         * @return a string containing all counts
+         */
+        @NonNull
+        @Override
+        public String toString() {
+            return "Result{read=" + read + ", imported=" + imported + ", duplicates=" + duplicates + ", rejected=" + rejected + '}';
+        }
+    }
+
+    private final GymLogDatabase database;
+    private final GymLogDAO gymLogDAO;
+    private final Executor writeExecutor;
+
+    /**
+     * Constructs a new GymLogCsvImporter.
+     * @param database      the database the records are written to
+     * @param writeExecutor the executor that runs the batch transactions
+     */
+    public GymLogCsvImporter(GymLogDatabase database, Executor writeExecutor) {
+        this.database = database;
+        this.gymLogDAO = database.gymLogDAO();
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Imports a CSV file for a user. Parsing happens on the calling thread, which must not be the UI thread.
+     * Each batch is written on the write executor while the caller waits, which bounds memory to one batch.
+     * @param userId   the ID of the user the records are imported for
+     * @param input    the CSV file contents; closed when the import ends
+     * @param listener notified with the number of imported records after each batch, or null
+     * @return the counts of read, imported, duplicate and rejected rows
+     * @throws IOException if the file cannot be read or has no valid header
+     */
+    public Result importCsv(int userId, InputStream input, @Nullable ImportProgressListener listener) throws IOException {
+        long read = 0;
+        long imported = 0;
+        long duplicates = 0;
+        long rejected = 0;
+        try (CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+            String[] header = csv.readRecord();
+            if (header == null) {
+                return new Result(0, 0, 0, 0);
+            }
+            int exercise = column(header, "exercise");
+            int weight = column(header, "weight");
+            int reps = column(header, "reps");
+            int date = column(header, "date");
+            int width = Math.max(Math.max(exercise, weight), Math.max(reps, date)) + 1;
+
+            List<GymLog> batch = new ArrayList<>(BATCH_SIZE);
+            Set<String> batchKeys = new HashSet<>();
+            String[] row;
+            while ((row = csv.readRecord()) != null) {
+                read++;
+                GymLog log;
+                try {
+                    if (row.length < width) {
+                        throw new IllegalArgumentException("Missing fields");
+                    }
+                    log = new GymLog(GymLogFields.parseExercise(row[exercise]), GymLogFields.parseWeight(row[weight]),
+                            GymLogFields.parseReps(row[reps]), userId);
+                    OffsetDateTime logged = GymLogFields.parseDate(row[date]);
+                    log.setDateMillis(logged.toInstant().toEpochMilli());
+                    log.setZoneOffset(logged.getOffset().getTotalSeconds());
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    continue;
+                }
+                if (!batchKeys.add(key(log))) {
+                    duplicates++;
+                    continue;
+                }
+                batch.add(log);
+                if (batch.size() == BATCH_SIZE) {
+                    int inserted = writeBatch(batch);
+                    imported += inserted;
+                    duplicates += batch.size() - inserted;
+                    batch.clear();
+                    batchKeys.clear();
+                    if (listener != null) {
+                        listener.onProgress((int) imported, -1);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                int inserted = writeBatch(batch);
+                imported += inserted;
+                duplicates += batch.size() - inserted;
+                if (listener != null) {
+                    listener.onProgress((int) imported, -1);
+                }
+            }
+        }
+        return new Result(read, imported, duplicates, rejected);
+    }
+
+    /**
+     * Writes a batch in a single transaction on the write executor, skipping records the user already has.
+     * The existence check and the insert share the transaction, so no other writer can slip a duplicate in between.
+     * Archived months are not restored: each month the batch touches is decoded once to check against its
+     * archived records, and a month that gets new records is archived again afterwards, which appends them to
+     * its block unless they have to wait for an upload or a change log consumer.
+     * @param batch the validated records of one user, free of duplicates within the batch
+     * @return the number of records inserted
+     */
+    private int writeBatch(List<GymLog> batch) {
+        return CompletableFuture.supplyAsync(() -> database.runInTransaction(() -> {
+            ArchiveDAO archiveDAO = database.archiveDAO();
+            Map<Integer, Set<String>> archivedKeys = new HashMap<>();
+            List<GymLog> fresh = new ArrayList<>(batch.size());
+            for (GymLog log : batch) {
+                Set<String> archived = archivedKeys.computeIfAbsent(ArchiveDAO.monthOf(log.getDateMillis(), log.getZoneOffset()),
+                        month -> keysOf(archiveDAO.getArchivedMonth(log.getUserId(), month)));
+                if (!archived.contains(key(log)) && !gymLogDAO.exists(log.getUserId(), log.getExercise(), log.getDateMillis())) {
+                    fresh.add(log);
+                }
+            }
+            gymLogDAO.insertAll(fresh);
+            for (Map.Entry<Integer, Set<String>> month : archivedKeys.entrySet()) {
+                if (!month.getValue().isEmpty()) {
+                    archiveDAO.archiveMonth(batch.get(0).getUserId(), month.getKey());
+                }
+            }
+            return fresh.size();
+        }), writeExecutor).join();
+    }
+
+    /**
+     * Returns the key a record is compared on to find duplicates: its exercise, ignoring case, and its date.
+     * @param log the record
+     * @return the key
+     */
+    private static String key(GymLog log) {
+        return log.getExercise().toLowerCase(Locale.ROOT) + '\u0000' + log.getDateMillis();
+    }
+
+    /**
+     * Returns the duplicate keys of archived records.
+     * @param archived the records of an archived month, with their exercise names
+     * @return their keys, empty if the month is not archived
+     */
+    private static Set<String> keysOf(List<GymLog> archived) {
+        Set<String> keys = new HashSet<>(archived.size() * 2);
+        for (GymLog log : archived) {
+            keys.add(key(log));
+        }
+        return keys;
+    }
+
+    /**
+     * Finds a column in the header row, ignoring case and surrounding whitespace.
+     * @param header the header row
+     * @param name   the column name
+     * @return the index of the column
+     * @throws IOException if the header has no such column
+     */
+    private static int column(String[] header, String name) throws IOException {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].trim().toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        throw new IOException("CSV header has no " + name + " column");
+    }
+}
@@ -0,0 +1,243 @@
+package com.gymlog.dataTransfer;
+
+import android.database.Cursor;
+
+import com.gymlog.database.ArchiveDAO;
+import com.gymlog.database.GymLogDAO;
+import com.gymlog.database.entities.GymLog;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.PriorityQueue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogExporter streams a user's GymLog history from a database Cursor straight into a buffered file writer.
+ * Rows are written one at a time as the Cursor advances, so memory use does not grow with the size of the history.
+ * Archived months, which the Cursor does not see, are merged in month by month.
+ * Exports are written to a temporary file that replaces the destination only once it is complete.
+ */
+public class GymLogExporter {
+
+    /**
+     * The file formats an export can be written in.
+     */
+    public enum Format {
+//      Comma-separated values with a header row, quoted where needed.
+        CSV,
+//      One JSON object per line.
+        JSON_LINES
+    }
+
+    static final String[] COLUMNS = {"id", "exercise", "weight", "reps", "date", "userId"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+//  The local date and the offset it was logged at, such as 2024-08-04T18:30:00-04:00, so an import on a device
+//  in another time zone restores the same instant and local time.
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+//  The order of the export: oldest first, with the ID breaking ties, as the Cursor is ordered.
+    private static final Comparator<GymLog> OLDEST_FIRST = Comparator.comparingLong(GymLog::getDateMillis)
+            .thenComparingInt(GymLog::getId);
+
+    private final GymLogDAO gymLogDAO;
+    private final ArchiveDAO archiveDAO;
+
+    /**
+     * Constructs a new GymLogExporter.
+     * @param gymLogDAO  the DAO used to open the history Cursor
+     * @param archiveDAO the DAO the archived months of the history are read from
+     */
+    public GymLogExporter(GymLogDAO gymLogDAO, ArchiveDAO archiveDAO) {
+        this.gymLogDAO = gymLogDAO;
+        this.archiveDAO = archiveDAO;
+    }
+
+    /**
+     * Exports all GymLog records of a user to a file, oldest first.
+     * Archived months are decoded one at a time, just before the Cursor reaches their dates, and merged into
+     * the rows of the Cursor, so at most the records of about two months are held in memory.
+     * A month archived or restored while the export runs may be written twice or not at all.
+     * This performs database and file I/O and must not be called on the UI thread.
+     * @param userId      the ID of the user whose records are exported
+     * @param format      the format of the file
+     * @param destination the file to write; replaced if it exists
+     * @return the number of records written
+     * @throws IOException if the file cannot be written
+     */
+    public long export(int userId, Format format, File destination) throws IOException {
+        File partial = new File(destination.getPath() + ".partial");
+        long rows = 0;
+        Deque<Integer> months = new ArrayDeque<>(archiveDAO.getArchivedMonths(userId));
+        PriorityQueue<GymLog> archived = new PriorityQueue<>(OLDEST_FIRST);
+        try (Cursor cursor = gymLogDAO.getRecordsByUserIdCursor(userId);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(partial), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            int id = cursor.getColumnIndexOrThrow("id");
+            int exercise = cursor.getColumnIndexOrThrow("exercise");
+            int weight = cursor.getColumnIndexOrThrow("weight");
+            int reps = cursor.getColumnIndexOrThrow("reps");
+            int date = cursor.getColumnIndexOrThrow("date");
+            int zoneOffset = cursor.getColumnIndexOrThrow("zoneOffset");
+            int user = cursor.getColumnIndexOrThrow("userId");
+            if (format == Format.CSV) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write('\n');
+            }
+            while (cursor.moveToNext()) {
+                long dateMillis = cursor.getLong(date);
+                int rowId = cursor.getInt(id);
+                while (!months.isEmpty() && ArchiveDAO.earliestDateOf(months.peekFirst()) <= dateMillis) {
+                    archived.addAll(archiveDAO.getArchivedMonth(userId, months.pollFirst()));
+                }
+                while (!archived.isEmpty() && (archived.peek().getDateMillis() < dateMillis
+                        || (archived.peek().getDateMillis() == dateMillis && archived.peek().getId() < rowId))) {
+                    writeRow(writer, format, archived.poll());
+                    rows++;
+                }
+                writeRow(writer, format, rowId, cursor.getString(exercise), cursor.getDouble(weight), cursor.getInt(reps),
+                        dateMillis, cursor.getInt(zoneOffset), cursor.getInt(user));
+                rows++;
+            }
+            while (!months.isEmpty()) {
+                archived.addAll(archiveDAO.getArchivedMonth(userId, months.pollFirst()));
+            }
+            while (!archived.isEmpty()) {
+                writeRow(writer, format, archived.poll());
+                rows++;
+            }
+        } catch (IOException | RuntimeException e) {
+            partial.delete();
+            throw e;
+        }
+        if (!partial.renameTo(destination)) {
+            partial.delete();
+            throw new IOException("Could not move export to " + destination);
+        }
+        return rows;
+    }
+
+    /**
+     * Writes one archived record as a line of the export.
+     * @param writer the writer to write to
+     * @param format the format of the file
+     * @param gymLog the record, with its exercise name
+     * @throws IOException if writing fails
+     */
+    private static void writeRow(Writer writer, Format format, GymLog gymLog) throws IOException {
+        writeRow(writer, format, gymLog.getId(), gymLog.getExercise(), gymLog.getWeight(), gymLog.getReps(),
+                gymLog.getDateMillis(), gymLog.getZoneOffset(), gymLog.getUserId());
+    }
+
+    /**
+     * Writes one record as a line of the export.
+     * @param writer     the writer to write to
+     * @param format     the format of the file
+     * @param id         the ID of the record
+     * @param exercise   the exercise name
+     * @param weight     the weight
+     * @param reps       the reps
+     * @param dateMillis the date in UTC epoch milliseconds
+     * @param zoneOffset the zone offset in seconds, written with the local date
+     * @param userId     the ID of the user
+     * @throws IOException if writing fails
+     */
+    private static void writeRow(Writer writer, Format format, int id, String exercise, double weight, int reps,
+                                 long dateMillis, int zoneOffset, int userId) throws IOException {
+        String dateText = DATE_FORMAT.format(Instant.ofEpochMilli(dateMillis).atOffset(ZoneOffset.ofTotalSeconds(zoneOffset)));
+        if (format == Format.CSV) {
+            writer.write(Integer.toString(id));
+            writer.write(',');
+            writeCsvField(writer, exercise);
+            writer.write(',');
+            writer.write(Double.toString(weight));
+            writer.write(',');
+            writer.write(Integer.toString(reps));
+            writer.write(',');
+            writer.write(dateText);
+            writer.write(',');
+            writer.write(Integer.toString(userId));
+        } else {
+            writer.write("{\"id\":");
+            writer.write(Integer.toString(id));
+            writer.write(",\"exercise\":");
+            writeJsonString(writer, exercise);
+            writer.write(",\"weight\":");
+            writer.write(Double.toString(weight));
+            writer.write(",\"reps\":");
+            writer.write(Integer.toString(reps));
+            writer.write(",\"date\":\"");
+            writer.write(dateText);
+            writer.write("\",\"userId\":");
+            writer.write(Integer.toString(userId));
+            writer.write('}');
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a CSV field, quoting it if it contains a separator, a quote or a line break.
+     * @param writer the writer to write to
+     * @param value  the field value, may be null
+     * @throws IOException if writing fails
+     */
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Writes a JSON string literal, escaping quotes, backslashes and control characters.
+     * @param writer the writer to write to
+     * @param value  the string value, written as null if it is null
+     * @throws IOException if writing fails
+     */
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
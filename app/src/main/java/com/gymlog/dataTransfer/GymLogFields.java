@@ -0,0 +1,107 @@
+package com.gymlog.dataTransfer;
+
+import com.gymlog.database.typeConverters.LocalDateTypeConverter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogFields parses and validates the user-entered fields of a GymLog.
+ * The same rules apply to values typed into MainActivity and to rows of an imported history file.
+ * Every parse method throws IllegalArgumentException, or its subclass NumberFormatException, for invalid input.
+ */
+public final class GymLogFields {
+
+    static final int MAX_EXERCISE_LENGTH = 100;
+    static final double MAX_WEIGHT = 2_000.0;
+    static final int MAX_REPS = 1_000;
+
+    private GymLogFields() {
+    }
+
+    /**
+     * Parses an exercise name. Surrounding whitespace is removed.
+     * @param text the entered exercise name
+     * @return the trimmed exercise name
+     * @throws IllegalArgumentException if the name is blank or too long
+     */
+    public static String parseExercise(String text) {
+        String exercise = text == null ? "" : text.trim();
+        if (exercise.isEmpty()) {
+            throw new IllegalArgumentException("Exercise should not be blank");
+        }
+        if (exercise.length() > MAX_EXERCISE_LENGTH) {
+            throw new IllegalArgumentException("Exercise is longer than " + MAX_EXERCISE_LENGTH + " characters");
+        }
+        return exercise;
+    }
+
+    /**
+     * Parses a weight.
+     * @param text the entered weight
+     * @return the weight
+     * @throws NumberFormatException    if the text is not a number
+     * @throws IllegalArgumentException if the weight is negative, not finite or unrealistically large
+     */
+    public static double parseWeight(String text) {
+        double weight = Double.parseDouble(text == null ? "" : text.trim());
+        if (Double.isNaN(weight) || weight < 0 || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight should be between 0 and " + MAX_WEIGHT);
+        }
+        return weight;
+    }
+
+    /**
+     * Parses a number of repetitions.
+     * @param text the entered repetitions
+     * @return the number of repetitions
+     * @throws NumberFormatException    if the text is not a whole number
+     * @throws IllegalArgumentException if the number is negative or unrealistically large
+     */
+    public static int parseReps(String text) {
+        int reps = Integer.parseInt(text == null ? "" : text.trim());
+        if (reps < 0 || reps > MAX_REPS) {
+            throw new IllegalArgumentException("Reps should be between 0 and " + MAX_REPS);
+        }
+        return reps;
+    }
+
+    /**
+     * Parses a date in ISO-8601 format. A date-time with an offset, such as 2024-08-04T18:30:00-04:00 as written
+     * by {@link GymLogExporter}, keeps its offset. A local date-time such as 2024-08-04T18:30:00, as written by
+     * earlier exports, and a plain date such as 2024-08-04, taken as the start of that day, are read in the
+     * device's current time zone.
+     * @param text the date text
+     * @return the parsed date and the offset it was logged at
+     * @throws IllegalArgumentException if the text is not an ISO-8601 date or date-time
+     */
+    public static OffsetDateTime parseDate(String text) {
+        String date = text == null ? "" : text.trim();
+        try {
+            if (date.length() <= 10) {
+                return atDeviceOffset(LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay());
+            }
+            TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(date, OffsetDateTime::from, LocalDateTime::from);
+            return parsed instanceof OffsetDateTime ? (OffsetDateTime) parsed : atDeviceOffset((LocalDateTime) parsed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date " + date, e);
+        }
+    }
+
+    /**
+     * Places a local date-time in the device's current time zone.
+     * @param date the local date-time
+     * @return the date-time at the offset of the device's time zone on that date
+     */
+    private static OffsetDateTime atDeviceOffset(LocalDateTime date) {
+        return date.atOffset(ZoneOffset.ofTotalSeconds(LocalDateTypeConverter.offsetSecondsOf(date)));
+    }
+}
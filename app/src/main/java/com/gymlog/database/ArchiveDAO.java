@@ -0,0 +1,635 @@
+package com.gymlog.database;
+
+import android.database.Cursor;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.RoomDatabase;
+import androidx.room.Transaction;
+
+import com.gymlog.database.entities.ArchiveMove;
+import com.gymlog.database.entities.ExerciseRollup;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.entities.GymLogArchiveBlock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Data Access Object (DAO) for the cold tier of the GymLog history: months of old records moved out of the
+ * GymLog table into compressed {@link GymLogArchiveBlock} rows, with the exercise summaries of each block in
+ * {@link com.gymlog.database.entities.GymLogArchiveStats}.
+ * A month is archived and restored in one transaction each, flagged with an {@link ArchiveMove} so the triggers
+ * do not treat the move as deleted or new records: nothing is uploaded or logged, and stats and rollups stay.
+ * A new record may be written into an archived month, imports included, without restoring it: the month then
+ * has rows in the GymLog table next to its block, and archiving it again appends them to the block. A write
+ * that replaces or deletes a record, by ID from {@link GymLogDAO} or by remote ID from {@link SyncDAO},
+ * restores the record and the rest of its month first, so edits and deletes of archived records work as they
+ * do on the GymLog table, and the triggers rebuilding the maximum of a day see every set of that day.
+ * The reads of GymLogDAO merge the records decoded here with the rows of the GymLog table.
+ */
+@Dao
+public abstract class ArchiveDAO {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+//  The largest zone offset, which bounds how far the local day of a set is from its UTC day.
+    private static final long MAX_OFFSET_MILLIS = 64_800_000L;
+//  The GymLog rows g of one user whose local day falls in the month from :month to :nextMonth, as epoch days.
+//  The date range lets the (userId, date) index find them; the local day picks the exact month.
+    private static final String IN_MONTH = "g.userId = :userId" +
+            " AND g.date >= :month * " + DAY_MILLIS + " - " + MAX_OFFSET_MILLIS +
+            " AND g.date < :nextMonth * " + DAY_MILLIS + " + " + MAX_OFFSET_MILLIS +
+            " AND ((g.date + g.zoneOffset * 1000) / 86400000) >= :month" +
+            " AND ((g.date + g.zoneOffset * 1000) / 86400000) < :nextMonth";
+
+//  The order of the history: newest first, with the ID breaking ties between sets logged at the same instant.
+    private static final Comparator<GymLog> NEWEST_FIRST = Comparator
+            .comparingLong(GymLog::getDateMillis)
+            .thenComparingInt(GymLog::getId)
+            .reversed();
+    private static final Comparator<GymLog> OLDEST_FIRST = NEWEST_FIRST.reversed();
+
+    private final GymLogDatabase database;
+
+    /**
+     * Constructs a new ArchiveDAO. Called by Room.
+     * @param database the database the DAO belongs to
+     */
+    public ArchiveDAO(RoomDatabase database) {
+        this.database = (GymLogDatabase) database;
+    }
+
+    /**
+     * Moves every GymLog row of a user in one local month into an archive block. The rows of a month that is
+     * already archived are appended to its block, which is decoded and encoded again once.
+     * A month is left in the GymLog table while one of its rows waits for upload or for a change log consumer,
+     * since both read the row back by ID, and while the rollups of the user are being backfilled from the table.
+     * @param userId the ID of the user
+     * @param month  the epoch day the month starts on
+     * @return the number of records archived, 0 if the month has none in the GymLog table,
+     * or -1 if it has records that cannot be archived yet
+     * @throws IllegalStateException if the block of the month cannot be decoded
+     */
+    @Transaction
+    public int archiveMonth(int userId, int month) {
+        int nextMonth = ExerciseRollup.nextBucket(ExerciseRollup.MONTH, month);
+        List<GymLog> hot = getMonthRows(userId, month, nextMonth);
+        if (hot.isEmpty()) {
+            return 0;
+        }
+        if (isBackfillPending(userId) || hasPendingUploads(userId, month, nextMonth)
+                || hasUnreadChanges(userId, month, nextMonth)) {
+            return -1;
+        }
+        GymLogArchiveBlock archived = getBlock(userId, month);
+        List<GymLog> gymLogs = hot;
+        if (archived != null) {
+            gymLogs = decode(archived);
+            gymLogs.addAll(hot);
+            gymLogs.sort(OLDEST_FIRST);
+        }
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        long minRemoteId = Long.MAX_VALUE;
+        long maxRemoteId = Long.MIN_VALUE;
+        for (GymLog gymLog : gymLogs) {
+            minId = Math.min(minId, gymLog.getId());
+            maxId = Math.max(maxId, gymLog.getId());
+            minRemoteId = Math.min(minRemoteId, gymLog.getRemoteId());
+            maxRemoteId = Math.max(maxRemoteId, gymLog.getRemoteId());
+        }
+        insertMove(new ArchiveMove(userId, month));
+        insertStats(userId, month, nextMonth);
+        if (archived != null) {
+            deleteBlock(userId, month);
+        }
+        insertBlock(new GymLogArchiveBlock(userId, month, gymLogs.size(), gymLogs.get(0).getDateMillis(),
+                gymLogs.get(gymLogs.size() - 1).getDateMillis(), minId, maxId, minRemoteId, maxRemoteId,
+                GymLogBlockCodec.encode(gymLogs)));
+        deleteMonthRows(userId, month, nextMonth);
+        deleteMove(userId);
+        return hot.size();
+    }
+
+    /**
+     * Moves the records of an archived month back into the GymLog table, with their IDs, versions and remote IDs.
+     * @param userId the ID of the user
+     * @param month  the epoch day the month starts on
+     * @return the number of records restored, 0 if the month is not archived
+     * @throws IllegalStateException if the block cannot be decoded
+     */
+    @Transaction
+    public int restoreMonth(int userId, int month) {
+        GymLogArchiveBlock block = getBlock(userId, month);
+        return block == null ? 0 : restore(block);
+    }
+
+    /**
+     * Restores every archived month whose range of IDs contains an ID, so a record with that ID is in the
+     * GymLog table if it exists, and then the rest of the record's month. Called before a record is updated or
+     * replaced by ID.
+     * @param id the ID of the record
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    @Transaction
+    public void restoreId(int id) {
+        for (GymLogArchiveBlock block : getBlocksHoldingId(id)) {
+            restore(block);
+        }
+        restoreMonthOf(getRow(id));
+    }
+
+    /**
+     * Restores every archived month whose range of remote IDs contains a remote ID, so a downloaded change
+     * finds its local record in the GymLog table if it exists, and then the rest of the record's month.
+     * @param remoteId the remote ID of the record, not 0
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    @Transaction
+    public void restoreRemoteId(long remoteId) {
+        for (GymLogArchiveBlock block : getBlocksHoldingRemoteId(remoteId)) {
+            restore(block);
+        }
+        restoreMonthOf(getRowByRemoteId(remoteId));
+    }
+
+    /**
+     * Returns the local month a record is stored in.
+     * @param dateMillis the date of the record in UTC epoch milliseconds
+     * @param zoneOffset the zone offset of the record in seconds
+     * @return the epoch day the month starts on
+     */
+    public static int monthOf(long dateMillis, int zoneOffset) {
+        return ExerciseRollup.bucketOf(ExerciseRollup.MONTH, Math.floorDiv(dateMillis + zoneOffset * 1000L, DAY_MILLIS));
+    }
+
+    /**
+     * Moves every archived month of every user back into the GymLog table. Called before every record is queued
+     * for the first upload of a new sync client, which reads the records back from the GymLog table.
+     * @return the number of records restored
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    @Transaction
+    public int restoreAll() {
+        int restored = 0;
+        for (int userId : getArchivedUserIds()) {
+            for (int month : getArchivedMonths(userId)) {
+                restored += restoreMonth(userId, month);
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Lists the months of a user that end, in every time zone, before a cutoff, from the month of their oldest
+     * record in the GymLog table. Months without records are included; archiving them does nothing.
+     * @param userId       the ID of the user
+     * @param cutoffMillis the cutoff in UTC epoch milliseconds
+     * @return the epoch days the months start on, oldest first
+     */
+    public List<Integer> getColdMonths(int userId, long cutoffMillis) {
+        List<Integer> months = new ArrayList<>();
+        Long firstDate = getFirstDate(userId);
+        if (firstDate == null) {
+            return months;
+        }
+        int month = ExerciseRollup.bucketOf(ExerciseRollup.MONTH, Math.floorDiv(firstDate - MAX_OFFSET_MILLIS, DAY_MILLIS));
+        for (int next = ExerciseRollup.nextBucket(ExerciseRollup.MONTH, month);
+             next * DAY_MILLIS + MAX_OFFSET_MILLIS <= cutoffMillis;
+             month = next, next = ExerciseRollup.nextBucket(ExerciseRollup.MONTH, month)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Returns the earliest date a record of a month can have, logged in the time zone furthest ahead of UTC.
+     * @param month the epoch day the month starts on
+     * @return the date in UTC epoch milliseconds
+     */
+    public static long earliestDateOf(int month) {
+        return month * DAY_MILLIS - MAX_OFFSET_MILLIS;
+    }
+
+    /**
+     * Retrieves the archived records of a user in a date range.
+     * @param userId   the ID of the user
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate   the end of the range in epoch milliseconds, exclusive
+     * @return the records, newest first, with their exercise names
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    public List<GymLog> getArchivedRecords(int userId, long fromDate, long toDate) {
+        return decodeBetween(getBlocksBetween(userId, fromDate, toDate), fromDate, toDate);
+    }
+
+    /**
+     * Retrieves the archived records of every user in a date range.
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate   the end of the range in epoch milliseconds, exclusive
+     * @return the records, newest first, with their exercise names
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    public List<GymLog> getAllArchivedRecords(long fromDate, long toDate) {
+        return decodeBetween(getAllBlocksBetween(fromDate, toDate), fromDate, toDate);
+    }
+
+    /**
+     * Retrieves the archived records of one exercise of a user in a date range. Only the blocks whose
+     * summaries list the exercise are decoded.
+     * @param userId   the ID of the user
+     * @param exercise the exercise name, compared ignoring case
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate   the end of the range in epoch milliseconds, exclusive
+     * @return the records, newest first, with their exercise names
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    public List<GymLog> getArchivedRecordsOfExercise(int userId, String exercise, long fromDate, long toDate) {
+        List<GymLog> gymLogs = new ArrayList<>();
+        Integer exerciseId = database.exerciseDictionary().idOf(exercise);
+        if (exerciseId == null) {
+            return gymLogs;
+        }
+        for (int month : getMonthsOfExercise(userId, exerciseId)) {
+            GymLogArchiveBlock block = getBlock(userId, month);
+            if (block == null || block.getLastDate() < fromDate || block.getFirstDate() >= toDate) {
+                continue;
+            }
+            for (GymLog gymLog : decode(block)) {
+                if (gymLog.getExerciseId() == exerciseId && gymLog.getDateMillis() >= fromDate && gymLog.getDateMillis() < toDate) {
+                    gymLogs.add(gymLog);
+                }
+            }
+        }
+        return named(gymLogs);
+    }
+
+    /**
+     * Retrieves the records of one archived month of a user.
+     * @param userId the ID of the user
+     * @param month  the epoch day the month starts on
+     * @return the records, oldest first, with their exercise names, or an empty list if the month is not archived
+     * @throws IllegalStateException if the block cannot be decoded
+     */
+    public List<GymLog> getArchivedMonth(int userId, int month) {
+        GymLogArchiveBlock block = getBlock(userId, month);
+        if (block == null) {
+            return new ArrayList<>();
+        }
+        List<GymLog> gymLogs = decode(block);
+        database.exerciseDictionary().fillNames(gymLogs);
+        return gymLogs;
+    }
+
+    /**
+     * Completes a page of the GymLog table with the archived records that belong on it.
+     * Blocks are read from the latest date down, and only while one can still hold a record newer than the
+     * last one on the page, so a page of recent history that the GymLog table fills decodes no block at all.
+     * @param hot        the page read from the GymLog table, newest first
+     * @param userId     the ID of the user
+     * @param beforeDate the date of the last record on the previous page, or Long.MAX_VALUE for the first page
+     * @param beforeId   the ID of the last record on the previous page, or Integer.MAX_VALUE for the first page
+     * @param limit      the maximum number of records on the page
+     * @return the page, newest first: the given list if no archived record belongs on it
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    List<GymLog> completePage(List<GymLog> hot, int userId, long beforeDate, int beforeId, int limit) {
+        long floorDate = hot.size() < limit ? Long.MIN_VALUE : hot.get(hot.size() - 1).getDateMillis();
+        return complete(hot, userId, getMonthsBefore(userId, beforeDate, floorDate), NEWEST_FIRST,
+                gymLog -> gymLog.getDateMillis() < beforeDate
+                        || (gymLog.getDateMillis() == beforeDate && gymLog.getId() < beforeId),
+                (block, last) -> block.getLastDate() < last.getDateMillis(), limit);
+    }
+
+    /**
+     * Completes a page of the GymLog table that is prepended above a key, with the archived records that
+     * belong on it. Blocks are read from the earliest month up, and only while one can still hold a record older
+     * than the last one on the page.
+     * @param hot       the page read from the GymLog table, oldest first
+     * @param userId    the ID of the user
+     * @param afterDate the date of the first record on the next page
+     * @param afterId   the ID of the first record on the next page
+     * @param limit     the maximum number of records on the page
+     * @return the page, oldest first: the given list if no archived record belongs on it
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    List<GymLog> completePageAfter(List<GymLog> hot, int userId, long afterDate, int afterId, int limit) {
+        long ceilingDate = hot.size() < limit ? Long.MAX_VALUE : hot.get(hot.size() - 1).getDateMillis();
+        List<Integer> months = getMonthsAfter(userId, afterDate, ceilingDate);
+        Collections.sort(months);
+        return complete(hot, userId, months, OLDEST_FIRST,
+                gymLog -> gymLog.getDateMillis() > afterDate
+                        || (gymLog.getDateMillis() == afterDate && gymLog.getId() > afterId),
+                (block, last) -> earliestDateOf(block.getMonth()) > last.getDateMillis(), limit);
+    }
+
+    /**
+     * Merges the archived records of some months into a page read from the GymLog table, in page order.
+     * @param hot     the page read from the GymLog table, in the given order
+     * @param userId  the ID of the user
+     * @param months  the months that may hold records of the page, in the order of the page
+     * @param order   the order of the page
+     * @param onPage  whether an archived record is past the key of the page
+     * @param beyond  whether no record of a block can come before a record in the order, so a full page
+     *                ending with that record is complete
+     * @param limit   the maximum number of records on the page
+     * @return the page: the given list if no month was given
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    private List<GymLog> complete(List<GymLog> hot, int userId, List<Integer> months, Comparator<GymLog> order,
+                                  Predicate<GymLog> onPage, BiPredicate<GymLogArchiveBlock, GymLog> beyond, int limit) {
+        if (months.isEmpty()) {
+            return hot;
+        }
+        List<GymLog> page = new ArrayList<>(hot);
+        Set<Integer> ids = new HashSet<>();
+        for (GymLog gymLog : hot) {
+            ids.add(gymLog.getId());
+        }
+        for (int month : months) {
+            GymLogArchiveBlock block = getBlock(userId, month);
+            if (block == null) {
+                continue;
+            }
+            if (page.size() >= limit && beyond.test(block, page.get(limit - 1))) {
+                break;
+            }
+            for (GymLog gymLog : decode(block)) {
+                if (onPage.test(gymLog) && ids.add(gymLog.getId())) {
+                    page.add(gymLog);
+                }
+            }
+            page.sort(order);
+            if (page.size() > limit) {
+                page.subList(limit, page.size()).clear();
+            }
+        }
+        database.exerciseDictionary().fillNames(page);
+        return page;
+    }
+
+    /**
+     * Adds archived records to records read from the GymLog table, in the order of the history.
+     * A record that is in both, because a month was moved between the two reads, is kept once.
+     * @param hot      the records read from the GymLog table; the list is changed in place
+     * @param archived the archived records of the same query
+     * @return the given list, newest first if any record was added
+     */
+    static List<GymLog> merge(List<GymLog> hot, List<GymLog> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (GymLog gymLog : hot) {
+            ids.add(gymLog.getId());
+        }
+        for (GymLog gymLog : archived) {
+            if (ids.add(gymLog.getId())) {
+                hot.add(gymLog);
+            }
+        }
+        hot.sort(NEWEST_FIRST);
+        return hot;
+    }
+
+    /**
+     * Returns the space the database file uses for data, that is its pages less the free ones.
+     * Deleted rows free whole pages, which are reused before the file grows, so this is the size
+     * the file would have after a VACUUM.
+     * @return the used bytes
+     */
+    public long getUsedBytes() {
+        return (pragma("page_count") - pragma("freelist_count")) * pragma("page_size");
+    }
+
+    /**
+     * Checks whether a user has archived months.
+     * @param userId the ID of the user
+     * @return true if at least one month of the user is archived
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId)")
+    public abstract boolean hasArchive(int userId);
+
+    /**
+     * Checks whether any user has archived months.
+     * @return true if at least one month is archived
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + ")")
+    public abstract boolean hasAnyArchive();
+
+    /**
+     * Returns the IDs of every user with records in the GymLog table.
+     * @return the user IDs
+     */
+    @Query("SELECT DISTINCT userId FROM " + GymLogDatabase.GYM_LOG_TABLE)
+    public abstract List<Integer> getUserIds();
+
+    /**
+     * Returns the number of archived records.
+     * @return the number of records in every block
+     */
+    @Query("SELECT IFNULL(SUM(rowCount), 0) FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE)
+    public abstract int getArchivedRowCount();
+
+    /**
+     * Returns the size of the encoded data of every block.
+     * @return the bytes of archived data
+     */
+    @Query("SELECT IFNULL(SUM(LENGTH(data)), 0) FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE)
+    public abstract long getArchivedBytes();
+
+    /**
+     * Lists the archived months of a user.
+     * @param userId the ID of the user
+     * @return the epoch days the months start on, oldest first
+     */
+    @Query("SELECT month FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId ORDER BY month")
+    public abstract List<Integer> getArchivedMonths(int userId);
+
+    /**
+     * Restores the archived month of a record in the GymLog table, if the month has a block.
+     * @param gymLog the record, or null if there is none
+     * @throws IllegalStateException if the block cannot be decoded
+     */
+    private void restoreMonthOf(GymLog gymLog) {
+        if (gymLog == null) {
+            return;
+        }
+        GymLogArchiveBlock block = getBlock(gymLog.getUserId(), monthOf(gymLog.getDateMillis(), gymLog.getZoneOffset()));
+        if (block != null) {
+            restore(block);
+        }
+    }
+
+    /**
+     * Moves the records of a block back into the GymLog table and removes the block and its summaries.
+     * @param block the block
+     * @return the number of records restored
+     * @throws IllegalStateException if the block cannot be decoded
+     */
+    private int restore(GymLogArchiveBlock block) {
+        List<GymLog> gymLogs = decode(block);
+        insertMove(new ArchiveMove(block.getUserId(), block.getMonth()));
+        insertRows(gymLogs);
+        deleteStats(block.getUserId(), block.getMonth());
+        deleteBlock(block.getUserId(), block.getMonth());
+        deleteMove(block.getUserId());
+        return gymLogs.size();
+    }
+
+    /**
+     * Decodes blocks and keeps the records in a date range.
+     * @param blocks   the blocks
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate   the end of the range in epoch milliseconds, exclusive
+     * @return the records, newest first, with their exercise names
+     * @throws IllegalStateException if a block cannot be decoded
+     */
+    private List<GymLog> decodeBetween(List<GymLogArchiveBlock> blocks, long fromDate, long toDate) {
+        List<GymLog> gymLogs = new ArrayList<>();
+        for (GymLogArchiveBlock block : blocks) {
+            for (GymLog gymLog : decode(block)) {
+                if (gymLog.getDateMillis() >= fromDate && gymLog.getDateMillis() < toDate) {
+                    gymLogs.add(gymLog);
+                }
+            }
+        }
+        return named(gymLogs);
+    }
+
+    /**
+     * Fills in the exercise names of decoded records and puts them in the order of the history.
+     * @param gymLogs the decoded records
+     * @return the same list, newest first
+     */
+    private List<GymLog> named(List<GymLog> gymLogs) {
+        database.exerciseDictionary().fillNames(gymLogs);
+        gymLogs.sort(NEWEST_FIRST);
+        return gymLogs;
+    }
+
+    /**
+     * Decodes the records of a block.
+     * @param block the block
+     * @return the records, oldest first, without exercise names
+     * @throws IllegalStateException if the block cannot be decoded
+     */
+    private static List<GymLog> decode(GymLogArchiveBlock block) {
+        try {
+            return GymLogBlockCodec.decode(block.getUserId(), block.getData());
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt archive block of user " + block.getUserId() +
+                    " for month " + block.getMonth(), e);
+        }
+    }
+
+    /**
+     * Reads a single-value PRAGMA.
+     * @param name the name of the PRAGMA
+     * @return its value
+     */
+    private long pragma(String name) {
+        try (Cursor cursor = database.query("PRAGMA " + name, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " g WHERE " + IN_MONTH + " ORDER BY g.date, g.id")
+    protected abstract List<GymLog> getMonthRows(int userId, int month, int nextMonth);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id = :id")
+    protected abstract GymLog getRow(int id);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE remoteId = :remoteId")
+    protected abstract GymLog getRowByRemoteId(long remoteId);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.ROLLUP_BACKFILL_TABLE + " WHERE userId = :userId)")
+    protected abstract boolean isBackfillPending(int userId);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.GYM_LOG_TABLE + " g JOIN " + GymLogDatabase.SYNC_PENDING_TABLE + " p" +
+            " ON p.tableName = '" + GymLogDatabase.GYM_LOG_TABLE + "' AND p.rowId = g.id WHERE " + IN_MONTH + ")")
+    protected abstract boolean hasPendingUploads(int userId, int month, int nextMonth);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.CHANGE_LOG_TABLE + " c JOIN " + GymLogDatabase.GYM_LOG_TABLE + " g" +
+            " ON g.id = c.rowId WHERE c.seq > (SELECT IFNULL(MIN(seq), " + Long.MAX_VALUE + ") FROM " + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + ")" +
+            " AND c.userId = :userId AND " + IN_MONTH + ")")
+    protected abstract boolean hasUnreadChanges(int userId, int month, int nextMonth);
+
+    @Query("SELECT MIN(date) FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :userId")
+    protected abstract Long getFirstDate(int userId);
+
+    @Query("INSERT INTO " + GymLogDatabase.GYM_LOG_ARCHIVE_STATS_TABLE +
+            " (userId, exerciseId, month, maxWeight, bestEstimatedOneRepMax, totalVolume, setCount, totalReps)" +
+            " SELECT g.userId, g.exerciseId, :month, MAX(g.weight)," +
+            " MAX(CASE WHEN g.reps <= 1 THEN g.weight * g.reps ELSE g.weight * (1 + g.reps / 30.0) END)," +
+            " SUM(g.weight * g.reps), COUNT(*), SUM(g.reps) FROM " + GymLogDatabase.GYM_LOG_TABLE + " g" +
+            " WHERE " + IN_MONTH + " GROUP BY g.exerciseId" +
+            " ON CONFLICT (userId, exerciseId, month) DO UPDATE SET maxWeight = MAX(maxWeight, excluded.maxWeight)," +
+            " bestEstimatedOneRepMax = MAX(bestEstimatedOneRepMax, excluded.bestEstimatedOneRepMax)," +
+            " totalVolume = totalVolume + excluded.totalVolume, setCount = setCount + excluded.setCount," +
+            " totalReps = totalReps + excluded.totalReps")
+    protected abstract void insertStats(int userId, int month, int nextMonth);
+
+    @Query("DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id IN (SELECT g.id FROM " + GymLogDatabase.GYM_LOG_TABLE + " g" +
+            " WHERE " + IN_MONTH + ")")
+    protected abstract void deleteMonthRows(int userId, int month, int nextMonth);
+
+    @Insert
+    protected abstract void insertRows(List<GymLog> gymLogs);
+
+    @Insert
+    protected abstract void insertBlock(GymLogArchiveBlock block);
+
+    @Insert
+    protected abstract void insertMove(ArchiveMove move);
+
+    @Query("DELETE FROM " + GymLogDatabase.ARCHIVE_MOVE_TABLE + " WHERE userId = :userId")
+    protected abstract void deleteMove(int userId);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId AND month = :month")
+    protected abstract GymLogArchiveBlock getBlock(int userId, int month);
+
+    @Query("SELECT DISTINCT userId FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE)
+    protected abstract List<Integer> getArchivedUserIds();
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE minId <= :id AND maxId >= :id")
+    protected abstract List<GymLogArchiveBlock> getBlocksHoldingId(int id);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE minRemoteId <= :remoteId AND maxRemoteId >= :remoteId")
+    protected abstract List<GymLogArchiveBlock> getBlocksHoldingRemoteId(long remoteId);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId" +
+            " AND lastDate >= :fromDate AND firstDate < :toDate")
+    protected abstract List<GymLogArchiveBlock> getBlocksBetween(int userId, long fromDate, long toDate);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE lastDate >= :fromDate AND firstDate < :toDate")
+    protected abstract List<GymLogArchiveBlock> getAllBlocksBetween(long fromDate, long toDate);
+
+    @Query("SELECT month FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId" +
+            " AND lastDate >= :floorDate AND firstDate <= :beforeDate ORDER BY lastDate DESC")
+    protected abstract List<Integer> getMonthsBefore(int userId, long beforeDate, long floorDate);
+
+    @Query("SELECT month FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId" +
+            " AND lastDate >= :afterDate AND firstDate <= :ceilingDate")
+    protected abstract List<Integer> getMonthsAfter(int userId, long afterDate, long ceilingDate);
+
+    @Query("SELECT month FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_STATS_TABLE + " WHERE userId = :userId AND exerciseId = :exerciseId")
+    protected abstract List<Integer> getMonthsOfExercise(int userId, int exerciseId);
+
+    @Query("DELETE FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_STATS_TABLE + " WHERE userId = :userId AND month = :month")
+    protected abstract void deleteStats(int userId, int month);
+
+    @Query("DELETE FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + " WHERE userId = :userId AND month = :month")
+    protected abstract void deleteBlock(int userId, int month);
+}
@@ -0,0 +1,127 @@
+package com.gymlog.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.gymlog.database.entities.ChangeLogCursor;
+import com.gymlog.database.entities.ChangeLogEntry;
+
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Data Access Object (DAO) for the change log of the GymLog table, {@link ChangeLogEntry}, and the cursors of its
+ * consumers, {@link ChangeLogCursor}. A consumer registers once under a name, then repeatedly reads the entries
+ * after its cursor and acknowledges the last one it processed, so each pass costs the number of new changes
+ * rather than the size of the table. Entries every registered consumer has acknowledged are deleted in the
+ * same transaction as the acknowledgement that made them so.
+ */
+@Dao
+public abstract class ChangeLogDAO {
+
+    /**
+     * Registers a consumer of the change log, with its cursor at the newest entry. A consumer that is already
+     * registered keeps its cursor. A new consumer only sees changes made after it registered, so it reads
+     * the tables it follows once in full before it starts reading the log.
+     * The log is only written while a consumer is registered.
+     * @param consumer the name of the consumer
+     * @return the cursor of the consumer
+     */
+    @Transaction
+    public long register(String consumer) {
+        insertCursorAtEnd(consumer);
+        compact();
+        return getCursor(consumer);
+    }
+
+    /**
+     * Removes a consumer, and compacts the entries only it was holding back. Once the last consumer is removed,
+     * the log is emptied and changes are no longer recorded.
+     * @param consumer the name of the consumer
+     */
+    @Transaction
+    public void unregister(String consumer) {
+        deleteCursor(consumer);
+        compact();
+    }
+
+    /**
+     * Retrieves the oldest entries a consumer has not acknowledged yet.
+     * @param consumer the name of a registered consumer
+     * @param limit    the maximum number of entries
+     * @return the entries after the consumer's cursor, oldest first
+     * @throws IllegalArgumentException if the consumer is not registered
+     */
+    @Transaction
+    public List<ChangeLogEntry> getChanges(String consumer, int limit) {
+        return getChangesAfter(getCursor(consumer), limit);
+    }
+
+    /**
+     * Moves a consumer's cursor to an entry it has processed, and compacts the entries every consumer has
+     * acknowledged. A cursor never moves back, so acknowledging an older entry again has no effect.
+     * @param consumer the name of a registered consumer
+     * @param seq      the sequence number of the last processed entry
+     * @throws IllegalArgumentException if the consumer is not registered
+     */
+    @Transaction
+    public void acknowledge(String consumer, long seq) {
+        getCursor(consumer);
+        advanceCursor(consumer, seq);
+        compact();
+    }
+
+    /**
+     * Returns how far a consumer has processed the change log.
+     * @param consumer the name of a registered consumer
+     * @return the sequence number of the last entry the consumer acknowledged
+     * @throws IllegalArgumentException if the consumer is not registered
+     */
+    public long getCursor(String consumer) {
+        Long seq = getCursorSeq(consumer);
+        if (seq == null) {
+            throw new IllegalArgumentException("Unknown change log consumer " + consumer);
+        }
+        return seq;
+    }
+
+    /**
+     * Retrieves the entries after a position in the change log.
+     * @param afterSeq the sequence number to start after
+     * @param limit    the maximum number of entries
+     * @return the entries, oldest first
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.CHANGE_LOG_TABLE + " WHERE seq > :afterSeq ORDER BY seq LIMIT :limit")
+    public abstract List<ChangeLogEntry> getChangesAfter(long afterSeq, int limit);
+
+    /**
+     * Returns the number of entries kept in the change log.
+     * @return the number of entries not yet acknowledged by every consumer
+     */
+    @Query("SELECT COUNT(*) FROM " + GymLogDatabase.CHANGE_LOG_TABLE)
+    public abstract int getSize();
+
+    /**
+     * Deletes the entries every registered consumer has acknowledged, or every entry if there is no consumer.
+     * @return the number of deleted entries
+     */
+    @Query("DELETE FROM " + GymLogDatabase.CHANGE_LOG_TABLE + " WHERE seq <= (SELECT IFNULL(MIN(seq), " + Long.MAX_VALUE + ")" +
+            " FROM " + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + ")")
+    public abstract int compact();
+
+    @Query("INSERT OR IGNORE INTO " + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + " (consumer, seq)" +
+            " SELECT :consumer, IFNULL(MAX(seq), 0) FROM " + GymLogDatabase.CHANGE_LOG_TABLE)
+    protected abstract void insertCursorAtEnd(String consumer);
+
+    @Query("SELECT seq FROM " + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + " WHERE consumer = :consumer")
+    protected abstract Long getCursorSeq(String consumer);
+
+    @Query("UPDATE " + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + " SET seq = :seq WHERE consumer = :consumer AND seq < :seq")
+    protected abstract void advanceCursor(String consumer, long seq);
+
+    @Query("DELETE FROM " + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + " WHERE consumer = :consumer")
+    protected abstract void deleteCursor(String consumer);
+}
@@ -0,0 +1,270 @@
+package com.gymlog.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gymlog.MainActivity;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * DatabaseDiagnostics collects what the database spends its time on: a {@link QueryStats} latency histogram per
+ * SQL statement with the rows it read or changed, the queues of the database executors, and the most recent queries
+ * slower than a configurable threshold, which are also logged.
+ * Statements are timed by the {@link InstrumentedOpenHelperFactory} from the moment they are issued until their
+ * cursor is closed, so the time of a query includes reading its rows, as a DAO call does.
+ * The report of {@link #dump} is printed by {@code adb shell dumpsys activity com.gymlog/.MainActivity}.
+ * All methods are thread-safe.
+ */
+public final class DatabaseDiagnostics {
+
+//  A query that takes longer than a frame at 60 Hz is slow by default.
+    public static final long DEFAULT_SLOW_QUERY_MILLIS = 16;
+//  The number of slow queries kept for the report; older ones are dropped.
+    static final int MAX_SLOW_QUERIES = 50;
+
+    /**
+     * One execution of a statement that took longer than the slow query threshold.
+     */
+    public static final class SlowQuery {
+        private final String sql;
+        private final double millis;
+        private final long rows;
+        private final String thread;
+
+        /**
+         * Constructs a new SlowQuery.
+         * @param sql    the SQL statement
+         * @param millis the time it took, in milliseconds
+         * @param rows   the number of rows it read or changed
+         * @param thread the name of the thread it ran on
+         */
+        SlowQuery(String sql, double millis, long rows, String thread) {
+            this.sql = sql;
+            this.millis = millis;
+            this.rows = rows;
+            this.thread = thread;
+        }
+
+        /**
+         * Returns the SQL statement.
+         * @return the SQL as Room runs it
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Returns the time the execution took.
+         * @return the time in milliseconds
+         */
+        public double getMillis() {
+            return millis;
+        }
+
+        /**
+         * Returns the number of rows the execution read or changed.
+         * @return the row count
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Returns the thread the statement ran on, which tells a query on the main thread from one on an executor.
+         * @return the name of the thread
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Formats the slow query as one line of the diagnostics report.
+         * @return the time, rows and thread followed by the SQL
+         */
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.2fms rows=%d thread=%s %s", millis, rows, thread, sql);
+        }
+    }
+
+    private final Map<String, QueryStats> queries = new ConcurrentHashMap<>();
+    private final List<MonitoredExecutorService> executors = new CopyOnWriteArrayList<>();
+//  Newest first.
+    private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_QUERY_MILLIS);
+
+    /**
+     * Records one execution of a statement, and flags it if it was slow.
+     * @param sql   the SQL statement
+     * @param nanos the time it took, in nanoseconds
+     * @param rows  the number of rows it read or changed
+     */
+    void record(String sql, long nanos, long rows) {
+        QueryStats stats = queries.get(sql);
+        if (stats == null) {
+            stats = queries.computeIfAbsent(sql, QueryStats::new);
+        }
+        stats.record(nanos, rows);
+        if (nanos > slowQueryNanos) {
+            SlowQuery slow = new SlowQuery(sql, nanos / 1e6, rows, Thread.currentThread().getName());
+            synchronized (slowQueries) {
+                slowQueries.addFirst(slow);
+                if (slowQueries.size() > MAX_SLOW_QUERIES) {
+                    slowQueries.removeLast();
+                }
+            }
+            Log.w(MainActivity.TAG, "Slow query: " + slow);
+        }
+    }
+
+    /**
+     * Wraps an executor so that its queue shows in the report.
+     * @param name     the name of the executor in the report
+     * @param executor the executor to monitor
+     * @return the monitored executor, to be used in place of the given one
+     */
+    MonitoredExecutorService monitor(String name, ExecutorService executor) {
+        MonitoredExecutorService monitored = new MonitoredExecutorService(name, executor);
+        executors.add(monitored);
+        return monitored;
+    }
+
+    /**
+     * Sets the time above which an execution is flagged as a slow query.
+     * @param millis the threshold in milliseconds
+     */
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Returns the time above which an execution is flagged as a slow query.
+     * @return the threshold in milliseconds
+     */
+    public long getSlowQueryThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryNanos);
+    }
+
+    /**
+     * Returns the stats of one statement.
+     * @param sql the SQL statement exactly as Room runs it
+     * @return the stats, or null if the statement has not run since the last reset
+     */
+    @Nullable
+    public QueryStats getQueryStats(String sql) {
+        return queries.get(sql);
+    }
+
+    /**
+     * Returns the stats of every statement that ran since the last reset.
+     * @return the stats, the statements with the highest total time first
+     */
+    public List<QueryStats> getQueryStats() {
+        List<QueryStats> stats = new ArrayList<>(queries.values());
+        Collections.sort(stats, Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return stats;
+    }
+
+    /**
+     * Returns the most recent slow queries, at most {@link #MAX_SLOW_QUERIES} of them.
+     * @return the slow queries, newest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    /**
+     * Returns the monitored database executors.
+     * @return the executors, in the order they were created
+     */
+    public List<MonitoredExecutorService> getExecutors() {
+        return Collections.unmodifiableList(executors);
+    }
+
+    /**
+     * Forgets every statement, every slow query and the executor metrics, so a test or a profiling session
+     * can start from zero.
+     */
+    public void reset() {
+        queries.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+        for (MonitoredExecutorService executor : executors) {
+            executor.reset();
+        }
+    }
+
+    /**
+     * Writes the report: the executors, every statement with the highest total time first, and the slow queries.
+     * @param writer the writer the report is printed to
+     */
+    public void dump(PrintWriter writer) {
+        writer.println("Database diagnostics (slow query threshold " + getSlowQueryThresholdMillis() + " ms)");
+        writer.println("Executors:");
+        for (MonitoredExecutorService executor : executors) {
+            writer.println("  " + executor);
+        }
+        writer.println("Queries:");
+        for (QueryStats stats : getQueryStats()) {
+            writer.println("  " + stats);
+            writer.println("    histogram: " + histogram(stats.getHistogram()));
+        }
+        writer.println("Slow queries:");
+        for (SlowQuery slow : getSlowQueries()) {
+            writer.println("  " + slow);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the report as a string.
+     * @return the report of {@link #dump(PrintWriter)}
+     */
+    public String dump() {
+        StringWriter report = new StringWriter();
+        dump(new PrintWriter(report));
+        return report.toString();
+    }
+
+    /**
+     * Formats the non-empty buckets of a latency histogram.
+     * @param buckets the execution count of every bucket
+     * @return the buckets as "<=bound:count" pairs
+     */
+    private static String histogram(long[] buckets) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                double bound = QueryStats.bucketUpperMillis(i);
+                text.append(Double.isInfinite(bound) ? ">" + QueryStats.bucketUpperMillis(i - 1) : "<=" + bound)
+                        .append("ms:").append(buckets[i]);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.gymlog.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import com.gymlog.database.entities.Exercise;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Data Access Object (DAO) for the Exercise entity.
+ * Exercises are added by the {@link ExerciseDictionary} when a GymLog names a new one, and are never deleted.
+ */
+@Dao
+public interface ExerciseDAO {
+
+    /**
+     * Inserts an Exercise unless one with the same name, ignoring case, already exists.
+     * @param exercise the Exercise to insert
+     * @return the ID of the inserted Exercise, or -1 if the name already existed
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insert(Exercise exercise);
+
+    /**
+     * Retrieves the Exercise with a name, ignoring case.
+     * @param name the name of the exercise
+     * @return the Exercise, or null if there is none
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_TABLE + " WHERE name = :name")
+    Exercise getByName(String name);
+
+    /**
+     * Retrieves every Exercise, ordered by name ignoring case.
+     * @return a list of all Exercise records
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_TABLE + " ORDER BY name")
+    List<Exercise> getAll();
+
+    /**
+     * Retrieves every Exercise as LiveData, ordered by name ignoring case.
+     * @return a LiveData list of all Exercise records
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_TABLE + " ORDER BY name")
+    LiveData<List<Exercise>> getAllLiveData();
+
+    /**
+     * Finds the exercises whose names match a full-text query, with how often a user has logged each.
+     * Unordered; {@link ExerciseTypeahead} ranks the matches, which are few since they come from the dictionary.
+     * @param userId the ID of the user whose set counts are returned
+     * @param match  an FTS4 query, such as "ben* pr*"
+     * @return the matching exercises
+     */
+    @Query("SELECT e.id, e.name, IFNULL(s.setCount, 0) AS setCount FROM " + GymLogDatabase.EXERCISE_FTS_TABLE +
+            " JOIN " + GymLogDatabase.EXERCISE_TABLE + " e ON e.id = " + GymLogDatabase.EXERCISE_FTS_TABLE + ".rowid" +
+            " LEFT JOIN " + GymLogDatabase.EXERCISE_STATS_TABLE + " s ON s.userId = :userId AND s.exerciseId = e.id" +
+            " WHERE " + GymLogDatabase.EXERCISE_FTS_TABLE + " MATCH :match")
+    List<ExerciseSuggestion> search(int userId, String match);
+}
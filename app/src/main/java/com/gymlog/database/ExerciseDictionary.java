@@ -0,0 +1,215 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.gymlog.database.entities.Exercise;
+import com.gymlog.database.entities.ExerciseStats;
+import com.gymlog.database.entities.GymLog;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseDictionary maps exercise names to the IDs of their rows in the Exercise table and back.
+ * Every name and ID seen is kept in memory, so writing a GymLog costs no lookup once its exercise is known
+ * and reading one costs a map lookup. There are few exercises, so the maps stay small however long the history is.
+ * Names are trimmed and compared ignoring ASCII case, like the NOCASE collation of the name column, so
+ * "Bench Press" and "bench press " are the same exercise and keep the spelling that was stored first.
+ * Lookups are thread-safe; {@link #intern} must be called on the database write thread.
+ */
+public final class ExerciseDictionary {
+
+//  The name given to a GymLog without an exercise.
+    public static final String UNKNOWN = "Unknown";
+
+    private final ExerciseDAO exerciseDAO;
+    private final Executor executor;
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+//  Keyed by the folded name, see key.
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new ExerciseDictionary.
+     * @param exerciseDAO the DAO of the Exercise table
+     * @param executor    the executor that resolves the names of LiveData query results
+     */
+    ExerciseDictionary(ExerciseDAO exerciseDAO, Executor executor) {
+        this.exerciseDAO = exerciseDAO;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the ID of an exercise, adding it to the Exercise table if it is new.
+     * Must run on the database write thread, inside the transaction of the write that needs the ID.
+     * @param name the exercise name; null or blank names become {@link #UNKNOWN}
+     * @return the ID of the exercise
+     */
+    synchronized int intern(@Nullable String name) {
+        String trimmed = name == null || name.trim().isEmpty() ? UNKNOWN : name.trim();
+        Integer id = idsByName.get(key(trimmed));
+        if (id != null) {
+            return id;
+        }
+        Exercise exercise = exerciseDAO.getByName(trimmed);
+        if (exercise == null) {
+            exercise = new Exercise(trimmed);
+            exercise.setId((int) exerciseDAO.insert(exercise));
+        }
+        remember(exercise.getId(), exercise.getName());
+        return exercise.getId();
+    }
+
+    /**
+     * Returns the name of an exercise, reloading the table if the ID is not known yet.
+     * @param id the ID of the exercise
+     * @return the stored name of the exercise, or null if there is no such exercise
+     */
+    @Nullable
+    public String nameOf(int id) {
+        String name = namesById.get(id);
+        if (name == null) {
+            reload();
+            name = namesById.get(id);
+        }
+        return name;
+    }
+
+    /**
+     * Returns the ID of an exercise without adding it.
+     * @param name the exercise name, compared ignoring case
+     * @return the ID of the exercise, or null if there is no such exercise
+     */
+    @Nullable
+    public Integer idOf(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = key(name.trim());
+        Integer id = idsByName.get(folded);
+        if (id == null) {
+            reload();
+            id = idsByName.get(folded);
+        }
+        return id;
+    }
+
+    /**
+     * Sets the exercise names of GymLogs read from the database. Reloads the table at most once.
+     * @param gymLogs the GymLogs, whose exercise IDs are set
+     */
+    void fillNames(List<GymLog> gymLogs) {
+        boolean reloaded = false;
+        for (GymLog gymLog : gymLogs) {
+            String name = namesById.get(gymLog.getExerciseId());
+            if (name == null && !reloaded) {
+                reload();
+                reloaded = true;
+                name = namesById.get(gymLog.getExerciseId());
+            }
+            gymLog.setExercise(name);
+        }
+    }
+
+    /**
+     * Sets the exercise names of ExerciseStats read from the database and sorts them by name, ignoring case.
+     * The stats are sorted here rather than in SQL, so the query reads them in primary key order without a sort.
+     * @param stats the ExerciseStats, whose exercise IDs are set
+     */
+    void fillStatNames(List<ExerciseStats> stats) {
+        boolean reloaded = false;
+        for (ExerciseStats stat : stats) {
+            String name = namesById.get(stat.getExerciseId());
+            if (name == null && !reloaded) {
+                reload();
+                reloaded = true;
+                name = namesById.get(stat.getExerciseId());
+            }
+            stat.setExercise(name);
+        }
+        Collections.sort(stats, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(
+                String.valueOf(a.getExercise()), String.valueOf(b.getExercise())));
+    }
+
+    /**
+     * Wraps a LiveData query so that every list it emits has its names filled in before it is delivered.
+     * The names are filled in on the executor, since a new exercise can make it read the table.
+     * A list is dropped if the query emitted a newer one in the meantime.
+     * @param source the LiveData query
+     * @param fill   fills in the names of one emitted list
+     * @param <T>    the type of the rows
+     * @return a LiveData of the emitted lists with names
+     */
+    <T> LiveData<List<T>> withNames(LiveData<List<T>> source, Consumer<List<T>> fill) {
+        MediatorLiveData<List<T>> named = new MediatorLiveData<>();
+        named.addSource(source, values -> executor.execute(() -> {
+            if (values != null) {
+                fill.accept(values);
+            }
+            if (values == source.getValue()) {
+                named.postValue(values);
+            }
+        }));
+        return named;
+    }
+
+    /**
+     * Forgets every name and ID, after a write failed and its transaction may have dropped exercises it added.
+     */
+    void clear() {
+        synchronized (this) {
+            namesById.clear();
+            idsByName.clear();
+        }
+    }
+
+    /**
+     * Reloads every exercise from the table.
+     */
+    private void reload() {
+        List<Exercise> exercises = exerciseDAO.getAll();
+        synchronized (this) {
+            for (Exercise exercise : exercises) {
+                remember(exercise.getId(), exercise.getName());
+            }
+        }
+    }
+
+    /**
+     * Records the name of an ID. If a rolled back exercise had the ID, its name is forgotten,
+     * since the table no longer has it.
+     * @param id   the ID of the exercise
+     * @param name the stored name of the exercise
+     */
+    private void remember(int id, @NonNull String name) {
+        String previous = namesById.put(id, name);
+        if (previous != null && !key(previous).equals(key(name))) {
+            idsByName.remove(key(previous), id);
+        }
+        idsByName.put(key(name), id);
+    }
+
+    /**
+     * Folds a name the way the NOCASE collation does, which ignores the case of ASCII letters only.
+     * @param name the trimmed name
+     * @return the name with ASCII letters in lower case
+     */
+    private static String key(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] += 'a' - 'A';
+            }
+        }
+        return new String(chars);
+    }
+}
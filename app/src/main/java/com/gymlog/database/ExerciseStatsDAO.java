@@ -0,0 +1,76 @@
+package com.gymlog.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.RoomDatabase;
+import com.gymlog.database.entities.ExerciseStats;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Data Access Object (DAO) for the ExerciseStats entity.
+ * The stats are maintained by triggers on the GymLog table, so this DAO only reads them.
+ * Rows are keyed by exercise ID; their names are filled in from the {@link ExerciseDictionary}.
+ */
+@Dao
+public abstract class ExerciseStatsDAO {
+
+    private final GymLogDatabase database;
+
+    /**
+     * Constructs a new ExerciseStatsDAO. Called by Room.
+     * @param database the database the DAO belongs to
+     */
+    public ExerciseStatsDAO(RoomDatabase database) {
+        this.database = (GymLogDatabase) database;
+    }
+
+    /**
+     * Retrieves the stats of every exercise a user has logged, ordered by exercise name.
+     * @param loggedInUserId the ID of the user whose stats are to be retrieved
+     * @return a list with one ExerciseStats per exercise
+     */
+    public List<ExerciseStats> getStatsByUserId(int loggedInUserId) {
+        List<ExerciseStats> stats = getRowsByUserId(loggedInUserId);
+        database.exerciseDictionary().fillStatNames(stats);
+        return stats;
+    }
+
+    /**
+     * Retrieves the stats of every exercise a user has logged as LiveData, ordered by exercise name.
+     * The LiveData updates whenever a GymLog of the user is written.
+     * @param loggedInUserId the ID of the user whose stats are to be retrieved
+     * @return a LiveData list with one ExerciseStats per exercise
+     */
+    public LiveData<List<ExerciseStats>> getStatsByUserIdLiveData(int loggedInUserId) {
+        ExerciseDictionary dictionary = database.exerciseDictionary();
+        return dictionary.withNames(getRowsByUserIdLiveData(loggedInUserId), dictionary::fillStatNames);
+    }
+
+    /**
+     * Retrieves the stats of one exercise of a user.
+     * @param loggedInUserId the ID of the user
+     * @param exercise the exercise name, compared ignoring case
+     * @return the ExerciseStats, or null if the user has not logged the exercise
+     */
+    public ExerciseStats getStats(int loggedInUserId, String exercise) {
+        ExerciseStats stats = getRow(loggedInUserId, exercise);
+        if (stats != null) {
+            stats.setExercise(database.exerciseDictionary().nameOf(stats.getExerciseId()));
+        }
+        return stats;
+    }
+
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_STATS_TABLE + " WHERE userId = :loggedInUserId ORDER BY exerciseId")
+    protected abstract List<ExerciseStats> getRowsByUserId(int loggedInUserId);
+
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_STATS_TABLE + " WHERE userId = :loggedInUserId ORDER BY exerciseId")
+    protected abstract LiveData<List<ExerciseStats>> getRowsByUserIdLiveData(int loggedInUserId);
+
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_STATS_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND exerciseId = (SELECT id FROM " + GymLogDatabase.EXERCISE_TABLE + " WHERE name = :exercise)")
+    protected abstract ExerciseStats getRow(int loggedInUserId, String exercise);
+}
@@ -0,0 +1,65 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseSuggestion is an exercise that matches the text typed into the exercise field, with how often
+ * the user has logged it, which {@link ExerciseTypeahead} ranks by.
+ */
+public final class ExerciseSuggestion {
+
+    private final int id;
+    @NonNull
+    private final String name;
+    private final int setCount;
+
+    /**
+     * Constructs a new ExerciseSuggestion. Called by Room.
+     * @param id       the ID of the exercise
+     * @param name     the name of the exercise
+     * @param setCount the number of sets of the exercise the user has logged
+     */
+    public ExerciseSuggestion(int id, @NonNull String name, int setCount) {
+        this.id = id;
+        this.name = name;
+        this.setCount = setCount;
+    }
+
+    /**
+     * Returns the ID of the exercise.
+     * @return the exercise ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name of the exercise.
+     * @return the exercise name
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of sets of the exercise the user has logged.
+     * @return the set count, 0 if the user has never logged it
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns a string representation of the ExerciseSuggestion.
+     * @return the name of the exercise
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,108 @@
+package com.gymlog.database;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseTypeahead turns the text typed into the exercise field into ranked exercise suggestions.
+ * Every word typed is matched as a prefix of a word of the name, so "pr" and "ben pr" both find "Bench Press".
+ * Exercises whose name starts with the typed text come first, then the ones the user logs most, then by name.
+ * Suggestions are searched once typing pauses for {@link #DEBOUNCE_MILLIS}, and an answer to older text is dropped.
+ */
+public final class ExerciseTypeahead {
+
+//  The pause in typing after which the suggestions are searched.
+    static final long DEBOUNCE_MILLIS = 150;
+//  The number of suggestions shown.
+    static final int MAX_SUGGESTIONS = 5;
+
+    private ExerciseTypeahead() {
+    }
+
+    /**
+     * Builds the FTS4 query for typed text: every word, lower-cased, as a prefix term.
+     * Anything but letters and digits separates words, so the text can never form an FTS operator or syntax error.
+     * @param typed the text typed into the exercise field
+     * @return the query, or null if the text has no words
+     */
+    @Nullable
+    static String toMatchQuery(@Nullable String typed) {
+        if (typed == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String word : typed.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(word).append('*');
+            }
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    /**
+     * Ranks the exercises matching typed text and keeps the best ones.
+     * @param matches the matching exercises, in any order
+     * @param typed   the text typed into the exercise field
+     * @param limit   the maximum number of names returned
+     * @return the names of the best matches, best first
+     */
+    static List<String> rank(List<ExerciseSuggestion> matches, String typed, int limit) {
+        String prefix = typed.trim();
+        List<ExerciseSuggestion> ranked = new ArrayList<>(matches);
+        Collections.sort(ranked, Comparator
+                .comparing((ExerciseSuggestion s) -> !s.getName().regionMatches(true, 0, prefix, 0, prefix.length()))
+                .thenComparing(ExerciseSuggestion::getSetCount, Comparator.reverseOrder())
+                .thenComparing(ExerciseSuggestion::getName, String.CASE_INSENSITIVE_ORDER));
+        List<String> names = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            names.add(ranked.get(i).getName());
+        }
+        return names;
+    }
+
+    /**
+     * Follows the text of the exercise field and emits the suggestions for it once typing pauses.
+     * Must be called on the main thread.
+     * @param typed  the text of the exercise field
+     * @param search searches the suggestions for a text off the main thread
+     * @return a LiveData of the suggestions for the latest text
+     */
+    static LiveData<List<String>> debounce(LiveData<String> typed, Function<String, CompletableFuture<List<String>>> search) {
+        MediatorLiveData<List<String>> suggestions = new MediatorLiveData<>();
+        Handler handler = new Handler(Looper.getMainLooper());
+        AtomicInteger latest = new AtomicInteger();
+        Runnable[] pending = new Runnable[1];
+        suggestions.addSource(typed, text -> {
+            int request = latest.incrementAndGet();
+            if (pending[0] != null) {
+                handler.removeCallbacks(pending[0]);
+            }
+            pending[0] = () -> search.apply(text).thenAccept(names -> {
+                if (request == latest.get()) {
+                    suggestions.postValue(names);
+                }
+            });
+            handler.postDelayed(pending[0], DEBOUNCE_MILLIS);
+        });
+        return suggestions;
+    }
+}
@@ -0,0 +1,296 @@
+package com.gymlog.database;
+
+import com.gymlog.database.entities.GymLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogBlockCodec writes and reads the data of a {@link com.gymlog.database.entities.GymLogArchiveBlock}.
+ * Records are stored column by column, oldest first: all IDs, then all dates, then all zone offsets and so on,
+ * so each column holds similar values next to each other. IDs, dates, zone offsets and remote IDs are stored
+ * as varints of the difference from the previous record, which is small for a sorted month, and weights in
+ * steps of a quarter as varint counts of quarters. The columns are then compressed with Deflate, which removes
+ * the repetition left, such as a zone offset that never changes or the same few exercises and rep counts.
+ * A month of sets takes a few bytes per set, against well over 100 as rows and index entries.
+ * The user ID is the key of the block and is not stored. Exercise names are not stored either; records are
+ * decoded with their exercise ID, and names are filled in from the {@link ExerciseDictionary}.
+ */
+final class GymLogBlockCodec {
+
+//  "GLA", for GymLog archive.
+    private static final byte[] MAGIC = {'G', 'L', 'A'};
+    private static final byte FORMAT_VERSION = 1;
+    private static final int FLAG_QUARTER_WEIGHTS = 1;
+//  The largest count of quarters stored as a varint; larger weights are stored as doubles.
+    private static final double MAX_QUARTERS = 1L << 40;
+
+    private GymLogBlockCodec() {
+    }
+
+    /**
+     * Encodes the records of a block.
+     * @param gymLogs the records, oldest first
+     * @return the encoded block
+     */
+    static byte[] encode(List<GymLog> gymLogs) {
+        Output columns = new Output();
+        columns.writeVarLong(gymLogs.size());
+        long previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            columns.writeSignedVarLong(gymLog.getId() - previous);
+            previous = gymLog.getId();
+        }
+        previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            columns.writeSignedVarLong(gymLog.getDateMillis() - previous);
+            previous = gymLog.getDateMillis();
+        }
+        previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            columns.writeSignedVarLong(gymLog.getZoneOffset() - previous);
+            previous = gymLog.getZoneOffset();
+        }
+        for (GymLog gymLog : gymLogs) {
+            columns.writeVarLong(gymLog.getExerciseId());
+        }
+        boolean quarterWeights = true;
+        for (GymLog gymLog : gymLogs) {
+            double quarters = gymLog.getWeight() * 4;
+            quarterWeights &= quarters == Math.rint(quarters) && Math.abs(quarters) < MAX_QUARTERS;
+        }
+        columns.writeByte(quarterWeights ? FLAG_QUARTER_WEIGHTS : 0);
+        for (GymLog gymLog : gymLogs) {
+            if (quarterWeights) {
+                columns.writeSignedVarLong((long) (gymLog.getWeight() * 4));
+            } else {
+                columns.writeLong(Double.doubleToLongBits(gymLog.getWeight()));
+            }
+        }
+        for (GymLog gymLog : gymLogs) {
+            columns.writeSignedVarLong(gymLog.getReps());
+        }
+        for (GymLog gymLog : gymLogs) {
+            columns.writeVarLong(gymLog.getVersion());
+        }
+        previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            columns.writeSignedVarLong(gymLog.getRemoteId() - previous);
+            previous = gymLog.getRemoteId();
+        }
+        byte[] raw = columns.toByteArray();
+
+        Output block = new Output();
+        block.writeBytes(MAGIC);
+        block.writeByte(FORMAT_VERSION);
+        block.writeVarLong(raw.length);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                block.write(buffer, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+        return block.toByteArray();
+    }
+
+    /**
+     * Decodes the records of a block.
+     * @param userId the ID of the user the block belongs to
+     * @param data   the encoded block
+     * @return the records, oldest first, with their exercise IDs and without names
+     * @throws IOException if the bytes are not a complete block in a known format version
+     */
+    static List<GymLog> decode(int userId, byte[] data) throws IOException {
+        Input header = new Input(data);
+        for (byte b : MAGIC) {
+            if (header.readByte() != b) {
+                throw new IOException("Not an archive block");
+            }
+        }
+        int version = header.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported archive block version " + version);
+        }
+        long rawLength = header.readVarLong();
+        if (rawLength < 0 || rawLength > Integer.MAX_VALUE - 8) {
+            throw new IOException("Corrupt archive block");
+        }
+        byte[] raw = new byte[(int) rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, header.position, data.length - header.position);
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != raw.length || !inflater.finished()) {
+                throw new IOException("Truncated archive block");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+
+        Input columns = new Input(raw);
+        long count = columns.readVarLong();
+        if (count < 0 || count > raw.length) {
+            throw new IOException("Corrupt archive block");
+        }
+        List<GymLog> gymLogs = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            GymLog gymLog = new GymLog();
+            gymLog.setUserId(userId);
+            gymLogs.add(gymLog);
+        }
+        long previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            previous += columns.readSignedVarLong();
+            gymLog.setId((int) previous);
+        }
+        previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            previous += columns.readSignedVarLong();
+            gymLog.setDateMillis(previous);
+        }
+        previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            previous += columns.readSignedVarLong();
+            gymLog.setZoneOffset((int) previous);
+        }
+        for (GymLog gymLog : gymLogs) {
+            gymLog.setExerciseId((int) columns.readVarLong());
+        }
+        boolean quarterWeights = (columns.readByte() & FLAG_QUARTER_WEIGHTS) != 0;
+        for (GymLog gymLog : gymLogs) {
+            gymLog.setWeight(quarterWeights
+                    ? columns.readSignedVarLong() / 4.0
+                    : Double.longBitsToDouble(columns.readLong()));
+        }
+        for (GymLog gymLog : gymLogs) {
+            gymLog.setReps((int) columns.readSignedVarLong());
+        }
+        for (GymLog gymLog : gymLogs) {
+            gymLog.setVersion((int) columns.readVarLong());
+        }
+        previous = 0;
+        for (GymLog gymLog : gymLogs) {
+            previous += columns.readSignedVarLong();
+            gymLog.setRemoteId(previous);
+        }
+        if (columns.position != raw.length) {
+            throw new IOException("Trailing bytes in archive block");
+        }
+        return gymLogs;
+    }
+
+    /**
+     * Writes the primitives of the format to a growing buffer.
+     */
+    private static final class Output {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+
+        void writeByte(int value) {
+            bytes.write(value);
+        }
+
+        void writeBytes(byte[] values) {
+            bytes.write(values, 0, values.length);
+        }
+
+        void write(byte[] values, int length) {
+            bytes.write(values, 0, length);
+        }
+
+        /**
+         * Writes an unsigned varint: seven bits per byte, low bits first, the high bit set on all but the last byte.
+         * @param value the value, read as unsigned
+         */
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+
+        /**
+         * Writes a signed varint in zigzag encoding, so small negative values take as few bytes as small positive ones.
+         * @param value the value
+         */
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes.write((int) (value >>> shift));
+            }
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Reads the primitives of the format, failing on truncated or malformed data.
+     */
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readByte() throws IOException {
+            if (position >= bytes.length) {
+                throw new IOException("Truncated archive block");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in archive block");
+        }
+
+        long readSignedVarLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+    }
+}
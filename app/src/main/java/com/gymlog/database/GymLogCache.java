@@ -0,0 +1,201 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gymlog.database.entities.GymLog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogCache keeps the newest GymLog records of the most recently viewed users in memory, so the first page of
+ * a user's history can be shown again without reading the database.
+ * Users are evicted in least recently used order. Every write of the repository to the GymLog table runs between
+ * {@link #beginWrite} and {@link #endWrite}: records it inserts are written through to the cache, and the users
+ * whose records it otherwise changed are marked stale until their next load, so no write reloads anything.
+ * While a write runs the cache answers nothing, since the database may already hold what the cache does not yet.
+ * Every load is tagged with the generation it started in, so a load that raced a write is discarded.
+ * All methods are thread-safe.
+ */
+public final class GymLogCache {
+
+//  Newest first, the order of the history list and of the keyset pages.
+    private static final Comparator<GymLog> NEWEST_FIRST = Comparator
+            .comparingLong(GymLog::getDateMillis)
+            .thenComparingInt(GymLog::getId)
+            .reversed();
+
+    /**
+     * The cached history head of one user.
+     */
+    private static final class Entry {
+//      The newest records, newest first, at most logsPerUser of them.
+        final List<GymLog> logs;
+//      True if logs holds the user's whole history, so a shorter list is still a complete answer.
+        boolean complete;
+//      False from a change to the user's records until the load that follows it.
+        boolean fresh;
+
+        Entry(List<GymLog> logs, boolean complete) {
+            this.logs = logs;
+            this.complete = complete;
+            this.fresh = true;
+        }
+    }
+
+    private final int maxUsers;
+    private final int logsPerUser;
+    private final LinkedHashMap<Integer, Entry> entries;
+    private long generation;
+//  The number of writes between beginWrite and endWrite.
+    private int writes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a new GymLogCache.
+     * @param maxUsers    the number of users whose records are kept
+     * @param logsPerUser the number of newest records kept per user
+     */
+    GymLogCache(int maxUsers, int logsPerUser) {
+        this.maxUsers = maxUsers;
+        this.logsPerUser = logsPerUser;
+        this.entries = new LinkedHashMap<Integer, Entry>(maxUsers + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > GymLogCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Returns the newest records of a user if the cache can answer the request.
+     * Counts a hit or a miss.
+     * @param userId the ID of the user
+     * @param count  the number of newest records requested
+     * @return a new list of at most count records, newest first, or null on a miss
+     */
+    @Nullable
+    synchronized List<GymLog> get(int userId, int count) {
+        Entry entry = entries.get(userId);
+        if (writes > 0 || entry == null || !entry.fresh || (entry.logs.size() < count && !entry.complete)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new ArrayList<>(entry.logs.subList(0, Math.min(count, entry.logs.size())));
+    }
+
+    /**
+     * Returns the current generation, to be passed to {@link #put} by a load that starts now.
+     * @return the current generation
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores the newest records of a user, as loaded from the database.
+     * The records are dropped if a write ran since the load started, or is running.
+     * @param userId          the ID of the user
+     * @param newest          the newest records of the user, newest first
+     * @param requested       the number of records the load asked for
+     * @param startGeneration the generation returned by {@link #generation} before the load
+     */
+    synchronized void put(int userId, List<GymLog> newest, int requested, long startGeneration) {
+        if (writes > 0 || startGeneration != generation) {
+            return;
+        }
+        List<GymLog> logs = new ArrayList<>(newest.subList(0, Math.min(logsPerUser, newest.size())));
+        boolean complete = newest.size() < requested && newest.size() <= logsPerUser;
+        entries.put(userId, new Entry(logs, complete));
+    }
+
+    /**
+     * Adds a record inserted through the repository to its user's cached records, if the user is cached.
+     * Called inside the write, once the record has the ID the database assigned to it.
+     * @param log the inserted record
+     */
+    synchronized void writeThrough(@NonNull GymLog log) {
+        Entry entry = entries.get(log.getUserId());
+        if (entry == null) {
+            return;
+        }
+        int position = Collections.binarySearch(entry.logs, log, NEWEST_FIRST);
+        entry.logs.add(position < 0 ? -position - 1 : position, log);
+        if (entry.logs.size() > logsPerUser) {
+            entry.logs.remove(entry.logs.size() - 1);
+            entry.complete = false;
+        }
+    }
+
+    /**
+     * Starts a write to the GymLog table. Until the matching {@link #endWrite} the cache misses every request and
+     * drops every load.
+     */
+    synchronized void beginWrite() {
+        writes++;
+    }
+
+    /**
+     * Ends a write to the GymLog table and starts a new generation, so loads that overlapped it are dropped.
+     * Called whether or not the write succeeded.
+     * @param changedUsers the IDs of the users whose records changed other than by {@link #writeThrough},
+     *                     which are marked stale, or null if the write may have changed any user's records
+     */
+    synchronized void endWrite(@Nullable Collection<Integer> changedUsers) {
+        writes--;
+        generation++;
+        for (Map.Entry<Integer, Entry> entry : entries.entrySet()) {
+            if (changedUsers == null || changedUsers.contains(entry.getKey())) {
+                entry.getValue().fresh = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of requests answered from memory.
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests that had to read the database.
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the share of requests answered from memory.
+     * @return the hit rate between 0 and 1, or 0 if there were no requests
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : hitCount / (double) total;
+    }
+
+    /**
+     * Returns a string representation of the GymLogCache metrics.
+     * @return a string containing the hit and miss counts
+     */
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "GymLogCache{hits=" + hits.get() + ", misses=" + misses.get() + ", users=" + entries.size() + '}';
+    }
+}
@@ -1,44 +1,124 @@
 package com.gymlog.database;
 
+import android.database.Cursor;
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RoomDatabase;
+import androidx.room.Transaction;
+import androidx.room.Update;
 import com.gymlog.database.entities.GymLog;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Author: Rahim Siddiq
  * GymLog
  * 08/04/2024
  * Data Access Object (DAO) for the GymLog entity.
+ * Rows store the ID of their exercise. Every write interns the exercise name of the GymLog in the
+ * {@link ExerciseDictionary} to get that ID, and every read fills the names back in from it, so the
+ * public methods take and return GymLogs with exercise names.
+ * Old months of the history may be archived by the {@link ArchiveDAO}. A write that replaces a record restores
+ * the record's archived month first, a new record is written next to the archive, and the list and page reads
+ * merge the archived records in, so callers see one history. The Cursor and the existence check read the
+ * GymLog table only.
  */
 @Dao
-public interface GymLogDAO {
+public abstract class GymLogDAO {
+
+//  The ID of the exercise named by the :exercise parameter. The name column compares ignoring case.
+    private static final String EXERCISE_ID = "(SELECT id FROM " + GymLogDatabase.EXERCISE_TABLE + " WHERE name = :exercise)";
+
+    private final GymLogDatabase database;
+
+    /**
+     * Constructs a new GymLogDAO. Called by Room.
+     * @param database the database the DAO belongs to
+     */
+    public GymLogDAO(RoomDatabase database) {
+        this.database = (GymLogDatabase) database;
+    }
 
     /**
      * Inserts a GymLog record into the database.
      * If a conflict occurs, the existing record is replaced with the new one.
      * @param gymlog the GymLog record to insert
+     * @return the ID of the inserted record
      */
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insert(GymLog gymlog);
+    @Transaction
+    public long insert(GymLog gymlog) {
+        try {
+            internExercise(gymlog);
+            restoreArchived(gymlog);
+            return insertRow(gymlog);
+        } catch (RuntimeException e) {
+            forgetExercises();
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts a list of GymLog records into the database in a single transaction.
+     * If a conflict occurs, the existing record is replaced with the new one.
+     * @param gymLogs the GymLog records to insert
+     */
+    @Transaction
+    public void insertAll(List<GymLog> gymLogs) {
+        try {
+            for (GymLog gymLog : gymLogs) {
+                internExercise(gymLog);
+                restoreArchived(gymLog);
+            }
+            insertRows(gymLogs);
+        } catch (RuntimeException e) {
+            forgetExercises();
+            throw e;
+        }
+    }
+
+    /**
+     * Updates an existing GymLog record, matched by ID.
+     * @param gymLog the GymLog record with its new values
+     */
+    @Transaction
+    public void update(GymLog gymLog) {
+        try {
+            internExercise(gymLog);
+            restoreArchived(gymLog);
+            updateRow(gymLog);
+        } catch (RuntimeException e) {
+            forgetExercises();
+            throw e;
+        }
+    }
 
     /**
      * Retrieves all GymLog records from the database ordered by date in descending order.
      * @return a list of all GymLog records
      */
-    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " ORDER BY date DESC")
-    List<GymLog> getAllRecords();
+    public List<GymLog> getAllRecords() {
+        ArchiveDAO archive = database.archiveDAO();
+        return readMerged(archive::hasAnyArchive,
+                () -> ArchiveDAO.merge(withNames(getAllRows()), archive.getAllArchivedRecords(Long.MIN_VALUE, Long.MAX_VALUE)));
+    }
 
     /**
      * Retrieves all GymLog records for a specific user, ordered by date in descending order.
      * @param loggedInUserId the ID of the user whose records are to be retrieved
      * @return a list of GymLog records for the specified user
      */
-    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId ORDER BY date DESC")
-    List<GymLog> getRecordsByUserId(int loggedInUserId);
+    public List<GymLog> getRecordsByUserId(int loggedInUserId) {
+        ArchiveDAO archive = database.archiveDAO();
+        return readMerged(() -> archive.hasArchive(loggedInUserId),
+                () -> ArchiveDAO.merge(withNames(getRowsByUserId(loggedInUserId)),
+                        archive.getArchivedRecords(loggedInUserId, Long.MIN_VALUE, Long.MAX_VALUE)));
+    }
 
     /**
      * Retrieves all GymLog records for a specific user as LiveData, ordered by date in descending order.
@@ -46,6 +126,286 @@ public interface GymLogDAO {
      * @param loggedInUserId the ID of the user whose records are to be retrieved
      * @return a LiveData list of GymLog records for the specified user
      */
+    public LiveData<List<GymLog>> getRecordsByUserIdLiveData(int loggedInUserId) {
+        return withNames(getRowsByUserIdLiveData(loggedInUserId),
+                archive -> archive.getArchivedRecords(loggedInUserId, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Retrieves the GymLog records of a specific user in a date range as LiveData, newest first.
+     * The range is an index seek, so the cost depends on the number of records in the range,
+     * not on the length of the history.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate the end of the range in epoch milliseconds, exclusive
+     * @return a LiveData list of the user's GymLog records in the range
+     */
+    public LiveData<List<GymLog>> getRecordsByUserIdBetweenLiveData(int loggedInUserId, long fromDate, long toDate) {
+        return withNames(getRowsByUserIdBetweenLiveData(loggedInUserId, fromDate, toDate),
+                archive -> archive.getArchivedRecords(loggedInUserId, fromDate, toDate));
+    }
+
+    /**
+     * Retrieves the GymLog records of a specific user in a date range, newest first.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate the end of the range in epoch milliseconds, exclusive
+     * @return a list of the user's GymLog records in the range
+     */
+    public List<GymLog> getRecordsByUserIdBetween(int loggedInUserId, long fromDate, long toDate) {
+        ArchiveDAO archive = database.archiveDAO();
+        return readMerged(() -> archive.hasArchive(loggedInUserId),
+                () -> ArchiveDAO.merge(withNames(getRowsByUserIdBetween(loggedInUserId, fromDate, toDate)),
+                        archive.getArchivedRecords(loggedInUserId, fromDate, toDate)));
+    }
+
+    /**
+     * Retrieves the GymLog records of one exercise of a specific user as LiveData, newest first.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param exercise the exercise name, compared ignoring case
+     * @return a LiveData list of the user's GymLog records of the exercise
+     */
+    public LiveData<List<GymLog>> getRecordsByUserIdAndExerciseLiveData(int loggedInUserId, String exercise) {
+        return withNames(getRowsByUserIdAndExerciseLiveData(loggedInUserId, exercise),
+                archive -> archive.getArchivedRecordsOfExercise(loggedInUserId, exercise, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Retrieves the GymLog records of one exercise of a specific user in a date range as LiveData, newest first.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param exercise the exercise name, compared ignoring case
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate the end of the range in epoch milliseconds, exclusive
+     * @return a LiveData list of the user's GymLog records of the exercise in the range
+     */
+    public LiveData<List<GymLog>> getRecordsByUserIdAndExerciseBetweenLiveData(int loggedInUserId, String exercise,
+                                                                               long fromDate, long toDate) {
+        return withNames(getRowsByUserIdAndExerciseBetweenLiveData(loggedInUserId, exercise, fromDate, toDate),
+                archive -> archive.getArchivedRecordsOfExercise(loggedInUserId, exercise, fromDate, toDate));
+    }
+
+    /**
+     * Retrieves the GymLog records of every user in a date range as LiveData, newest first.
+     * @param fromDate the start of the range in epoch milliseconds, inclusive
+     * @param toDate the end of the range in epoch milliseconds, exclusive
+     * @return a LiveData list of the GymLog records in the range
+     */
+    public LiveData<List<GymLog>> getRecordsBetweenLiveData(long fromDate, long toDate) {
+        return withNames(getRowsBetweenLiveData(fromDate, toDate), archive -> archive.getAllArchivedRecords(fromDate, toDate));
+    }
+
+    /**
+     * Retrieves the newest page of GymLog records for a specific user.
+     * Records are ordered by date and then ID, both descending, so that every row has a unique
+     * position that the next page can continue from.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param limit the maximum number of records to return
+     * @return a list of at most limit GymLog records for the specified user
+     */
+    public List<GymLog> getPageByUserId(int loggedInUserId, int limit) {
+        ArchiveDAO archive = database.archiveDAO();
+        return readMerged(() -> archive.hasArchive(loggedInUserId),
+                () -> archive.completePage(withNames(getPageRowsByUserId(loggedInUserId, limit)),
+                        loggedInUserId, Long.MAX_VALUE, Integer.MAX_VALUE, limit));
+    }
+
+    /**
+     * Retrieves the page of GymLog records for a specific user that directly follows the given key.
+     * Uses keyset pagination on (date, id), so the cost of a page does not depend on how deep into the
+     * history it is.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param beforeDate the date in epoch milliseconds of the last record on the previous page
+     * @param beforeId the ID of the last record on the previous page
+     * @param limit the maximum number of records to return
+     * @return a list of at most limit GymLog records older than the given key
+     */
+    public List<GymLog> getPageByUserIdBefore(int loggedInUserId, long beforeDate, int beforeId, int limit) {
+        ArchiveDAO archive = database.archiveDAO();
+        return readMerged(() -> archive.hasArchive(loggedInUserId),
+                () -> archive.completePage(withNames(getPageRowsByUserIdBefore(loggedInUserId, beforeDate, beforeId, limit)),
+                        loggedInUserId, beforeDate, beforeId, limit));
+    }
+
+    /**
+     * Retrieves the page of GymLog records for a specific user that directly precedes the given key, that is
+     * the records just newer than it. Used to page back up to records that were dropped from the top of a list.
+     * The rows are read oldest first from the key up, so the page ends as close to the key as it can.
+     * @param loggedInUserId the ID of the user whose records are to be retrieved
+     * @param afterDate the date in epoch milliseconds of the first record on the next page
+     * @param afterId the ID of the first record on the next page
+     * @param limit the maximum number of records to return
+     * @return a list of at most limit GymLog records newer than the given key, newest first
+     */
+    public List<GymLog> getPageByUserIdAfter(int loggedInUserId, long afterDate, int afterId, int limit) {
+        ArchiveDAO archive = database.archiveDAO();
+        List<GymLog> page = readMerged(() -> archive.hasArchive(loggedInUserId),
+                () -> archive.completePageAfter(withNames(getPageRowsByUserIdAfter(loggedInUserId, afterDate, afterId, limit)),
+                        loggedInUserId, afterDate, afterId, limit));
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Opens a Cursor over all GymLog records for a specific user, oldest first.
+     * Rows are read from the database window by window as the Cursor advances, so the whole history
+     * is never held in memory. The exercise column holds the exercise name. The caller must close the Cursor.
+     * Archived records are not included; read them by month from the {@link ArchiveDAO}.
+     * @param loggedInUserId the ID of the user whose records are to be read
+     * @return a Cursor over the GymLog records for the specified user
+     */
+    @Query("SELECT g.id, e.name AS exercise, g.weight, g.reps, g.date, g.zoneOffset, g.userId, g.version" +
+            " FROM " + GymLogDatabase.GYM_LOG_TABLE + " g JOIN " + GymLogDatabase.EXERCISE_TABLE + " e ON e.id = g.exerciseId" +
+            " WHERE g.userId = :loggedInUserId ORDER BY g.date ASC, g.id ASC")
+    public abstract Cursor getRecordsByUserIdCursor(int loggedInUserId);
+
+    /**
+     * Opens a Cursor over the columns analytics need of all GymLog records of a user, oldest first:
+     * date, zoneOffset, exerciseId, weight and reps. No name is joined in, so a row is a few numbers.
+     * The caller must close the Cursor. Archived records are not included, as for {@link #getRecordsByUserIdCursor}.
+     * @param loggedInUserId the ID of the user whose records are to be read
+     * @return a Cursor over the columns of the user's GymLog records
+     */
+    @Query("SELECT date, zoneOffset, exerciseId, weight, reps FROM " + GymLogDatabase.GYM_LOG_TABLE +
+            " WHERE userId = :loggedInUserId ORDER BY date ASC, id ASC")
+    public abstract Cursor getColumnsByUserIdCursor(int loggedInUserId);
+
+    /**
+     * Checks whether a user already has a GymLog record for an exercise at an exact date.
+     * Used by imports to skip records that were imported before. Only the GymLog table is checked,
+     * so the archived month of the date has to be restored first.
+     * @param loggedInUserId the ID of the user
+     * @param exercise the exercise name, compared ignoring case
+     * @param date the date of the record in epoch milliseconds
+     * @return true if a matching record exists
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.GYM_LOG_TABLE +
+            " WHERE userId = :loggedInUserId AND date = :date AND exerciseId = " + EXERCISE_ID + ")")
+    public abstract boolean exists(int loggedInUserId, String exercise, long date);
+
+    /**
+     * Sets the exercise ID of a GymLog from its name, adding the exercise to the dictionary if it is new.
+     * The name is replaced with the stored spelling, so a record reads the same before and after it is reloaded.
+     * @param gymLog the GymLog about to be written
+     */
+    private void internExercise(GymLog gymLog) {
+        ExerciseDictionary dictionary = database.exerciseDictionary();
+        gymLog.setExerciseId(dictionary.intern(gymLog.getExercise()));
+        gymLog.setExercise(dictionary.nameOf(gymLog.getExerciseId()));
+    }
+
+    /**
+     * Restores the archived month of the record a write replaces, if it has an ID. A new record is written
+     * next to an archived month, without restoring it; archiving the month again appends the record to its block.
+     * @param gymLog the GymLog about to be written
+     */
+    private void restoreArchived(GymLog gymLog) {
+        if (gymLog.getId() != 0) {
+            database.archiveDAO().restoreId(gymLog.getId());
+        }
+    }
+
+    /**
+     * Drops the cached exercise IDs after a failed write. The transaction is rolled back, and with it any
+     * exercise it added, so IDs interned during it may not exist. A write that still refers to such an ID
+     * fails on the foreign key and clears the cache in turn.
+     */
+    private void forgetExercises() {
+        database.exerciseDictionary().clear();
+    }
+
+    /**
+     * Runs a read that merges archived records into rows of the GymLog table. Without archived months it runs
+     * like any other read, concurrently with writes. With them it runs in a transaction, so a month moved
+     * between the two halves of the read is seen exactly once rather than twice or not at all. The check is
+     * repeated after a read outside a transaction, since a month may have been archived while it ran.
+     * @param hasArchive whether the records read may have archived months
+     * @param read       the read
+     * @return the records read
+     */
+    private List<GymLog> readMerged(BooleanSupplier hasArchive, Supplier<List<GymLog>> read) {
+        if (!hasArchive.getAsBoolean()) {
+            List<GymLog> gymLogs = read.get();
+            if (!hasArchive.getAsBoolean()) {
+                return gymLogs;
+            }
+        }
+        return database.runInTransaction(read::get);
+    }
+
+    /**
+     * Fills in the exercise names of loaded GymLogs.
+     * @param gymLogs the loaded GymLogs
+     * @return the same list
+     */
+    private List<GymLog> withNames(List<GymLog> gymLogs) {
+        database.exerciseDictionary().fillNames(gymLogs);
+        return gymLogs;
+    }
+
+    /**
+     * Fills in the exercise names of every list a LiveData query emits, off the main thread, and merges in
+     * the archived records of the same query. Moving a month changes the GymLog table, so the query emits again.
+     * @param gymLogs  the LiveData query
+     * @param archived reads the archived records of the query
+     * @return a LiveData of the same lists with names and archived records
+     */
+    private LiveData<List<GymLog>> withNames(LiveData<List<GymLog>> gymLogs, Function<ArchiveDAO, List<GymLog>> archived) {
+        ExerciseDictionary dictionary = database.exerciseDictionary();
+        return dictionary.withNames(gymLogs, values -> {
+            dictionary.fillNames(values);
+            ArchiveDAO.merge(values, archived.apply(database.archiveDAO()));
+        });
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract long insertRow(GymLog gymlog);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract void insertRows(List<GymLog> gymLogs);
+
+    @Update
+    protected abstract void updateRow(GymLog gymLog);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " ORDER BY date DESC")
+    protected abstract List<GymLog> getAllRows();
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId ORDER BY date DESC")
+    protected abstract List<GymLog> getRowsByUserId(int loggedInUserId);
+
     @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId ORDER BY date DESC")
-    LiveData<List<GymLog>> getRecordsByUserIdLiveData(int loggedInUserId);
+    protected abstract LiveData<List<GymLog>> getRowsByUserIdLiveData(int loggedInUserId);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND date >= :fromDate AND date < :toDate ORDER BY date DESC, id DESC")
+    protected abstract LiveData<List<GymLog>> getRowsByUserIdBetweenLiveData(int loggedInUserId, long fromDate, long toDate);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND date >= :fromDate AND date < :toDate ORDER BY date DESC, id DESC")
+    protected abstract List<GymLog> getRowsByUserIdBetween(int loggedInUserId, long fromDate, long toDate);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND exerciseId = " + EXERCISE_ID + " ORDER BY date DESC, id DESC")
+    protected abstract LiveData<List<GymLog>> getRowsByUserIdAndExerciseLiveData(int loggedInUserId, String exercise);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND exerciseId = " + EXERCISE_ID + " AND date >= :fromDate AND date < :toDate ORDER BY date DESC, id DESC")
+    protected abstract LiveData<List<GymLog>> getRowsByUserIdAndExerciseBetweenLiveData(int loggedInUserId, String exercise,
+                                                                                       long fromDate, long toDate);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE date >= :fromDate AND date < :toDate" +
+            " ORDER BY date DESC, id DESC")
+    protected abstract LiveData<List<GymLog>> getRowsBetweenLiveData(long fromDate, long toDate);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId ORDER BY date DESC, id DESC LIMIT :limit")
+    protected abstract List<GymLog> getPageRowsByUserId(int loggedInUserId, int limit);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND date <= :beforeDate AND (date < :beforeDate OR id < :beforeId)" +
+            " ORDER BY date DESC, id DESC LIMIT :limit")
+    protected abstract List<GymLog> getPageRowsByUserIdBefore(int loggedInUserId, long beforeDate, int beforeId, int limit);
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :loggedInUserId" +
+            " AND date >= :afterDate AND (date > :afterDate OR id > :afterId)" +
+            " ORDER BY date ASC, id ASC LIMIT :limit")
+    protected abstract List<GymLog> getPageRowsByUserIdAfter(int loggedInUserId, long afterDate, int afterId, int limit);
 }
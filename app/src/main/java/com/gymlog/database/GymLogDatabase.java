@@ -3,17 +3,34 @@ package com.gymlog.database;
 import android.content.Context;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.room.AutoMigration;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
 import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
 
 import com.gymlog.MainActivity;
+import com.gymlog.credentials.Credentials;
+import com.gymlog.database.entities.ArchiveMove;
+import com.gymlog.database.entities.ChangeLogCursor;
+import com.gymlog.database.entities.ChangeLogEntry;
+import com.gymlog.database.entities.Exercise;
+import com.gymlog.database.entities.ExerciseFts;
+import com.gymlog.database.entities.ExerciseRollup;
+import com.gymlog.database.entities.ExerciseStats;
 import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.entities.GymLogArchiveBlock;
+import com.gymlog.database.entities.GymLogArchiveStats;
+import com.gymlog.database.entities.RollupBackfill;
+import com.gymlog.database.entities.SyncPending;
+import com.gymlog.database.entities.SyncState;
 import com.gymlog.database.entities.User;
+import com.gymlog.database.migrations.GymLogMigrations;
 import com.gymlog.database.typeConverters.LocalDateTypeConverter;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -22,21 +39,61 @@ import java.util.concurrent.Executors;
  * GymLog
  * 08/04/2024
  * GymLogDatabase is a Room database for the GymLog application.
- * It contains two entities: {@link GymLog} and {@link User}, and provides DAOs for accessing them.
+ * It contains the entities {@link GymLog} and {@link User}, and provides DAOs for accessing them.
+ * GymLog and ExerciseStats rows refer to exercises by the ID of an {@link Exercise}, mapped to and from names
+ * by the {@link ExerciseDictionary}, and are searched by name through the {@link ExerciseFts} index.
+ * The {@link ExerciseStats} table is derived from the GymLog table by the triggers in {@link GymLogTriggers},
+ * which also queue every change of the GymLog and User tables in {@link SyncPending} for the sync engine,
+ * append every change of the GymLog table to the {@link ChangeLogEntry} log while it has consumers,
+ * and keep its day, week and month totals in {@link ExerciseRollup}.
+ * Old months of the GymLog table are archived into compressed {@link GymLogArchiveBlock} rows by the
+ * {@link ArchiveDAO}, and merged back into the reads of the {@link GymLogDAO}.
+ * Schema changes are applied with the migrations in {@link GymLogMigrations} and the auto migrations declared
+ * here, never by dropping user data.
  */
 @TypeConverters(LocalDateTypeConverter.class)
-@Database(entities = {GymLog.class, User.class}, version = 1, exportSchema = false)
+@Database(entities = {GymLog.class, User.class, ExerciseStats.class, Exercise.class, ExerciseFts.class,
+        SyncPending.class, SyncState.class, ChangeLogEntry.class, ChangeLogCursor.class, ExerciseRollup.class,
+        RollupBackfill.class, GymLogArchiveBlock.class, GymLogArchiveStats.class, ArchiveMove.class},
+        version = GymLogDatabase.VERSION, exportSchema = true,
+        autoMigrations = {
+                @AutoMigration(from = 5, to = 6, spec = GymLogMigrations.AutoMigration5To6.class),
+                @AutoMigration(from = 13, to = 14, spec = GymLogMigrations.AutoMigration13To14.class)
+        })
 public abstract class GymLogDatabase extends RoomDatabase {
 
+//  The schema version. Public so the migration tests can step through every version up to it.
+    public static final int VERSION = 16;
+
     public static final String USER_TABLE = "usertable";
     public static final String GYM_LOG_TABLE = "gymLogTable";
+    public static final String EXERCISE_STATS_TABLE = "exerciseStatsTable";
+    public static final String EXERCISE_TABLE = "exerciseTable";
+    public static final String EXERCISE_FTS_TABLE = "exerciseFtsTable";
+    public static final String SYNC_PENDING_TABLE = "syncPendingTable";
+    public static final String SYNC_STATE_TABLE = "syncStateTable";
+    public static final String CHANGE_LOG_TABLE = "changeLogTable";
+    public static final String CHANGE_LOG_CURSOR_TABLE = "changeLogCursorTable";
+    public static final String EXERCISE_ROLLUP_TABLE = "exerciseRollupTable";
+    public static final String ROLLUP_BACKFILL_TABLE = "rollupBackfillTable";
+    public static final String GYM_LOG_ARCHIVE_TABLE = "gymLogArchiveTable";
+    public static final String GYM_LOG_ARCHIVE_STATS_TABLE = "gymLogArchiveStatsTable";
+    public static final String ARCHIVE_MOVE_TABLE = "archiveMoveTable";
     private static final String DATABASE_NAME = "GymLogDatabase";
 //  The singleton instance of the database.
     private static volatile GymLogDatabase INSTANCE;
-//  The number of threads to use for database write operations.
-    private static final int NUMBER_OF_THREADS = 4;
-//  The executor service for database write operations.
-    static final ExecutorService databaseWriteExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+//  The number of threads to use for database read operations. In WAL mode readers do not wait for the writer,
+//  and Android keeps up to three read connections next to the primary one, so more threads would only queue.
+    private static final int NUMBER_OF_READER_THREADS = Math.max(2, Math.min(3, Runtime.getRuntime().availableProcessors()));
+//  Statement latencies and executor queues of every database built by databaseBuilder.
+    static final DatabaseDiagnostics diagnostics = new DatabaseDiagnostics();
+//  The executor service for database write operations. SQLite allows a single writer, so writes are serialized
+//  on one thread instead of contending for the write lock.
+    static final ExecutorService databaseWriteExecutor = diagnostics.monitor("write", Executors.newSingleThreadExecutor());
+//  The executor service for database read operations. Room also runs LiveData and paging queries on it.
+    static final ExecutorService databaseReadExecutor = diagnostics.monitor("read", Executors.newFixedThreadPool(NUMBER_OF_READER_THREADS));
+//  Created on first use, since it needs the ExerciseDAO of this instance.
+    private volatile ExerciseDictionary exerciseDictionary;
 
     /**
      * Returns the singleton instance of the GymLogDatabase.
@@ -46,13 +103,10 @@ public abstract class GymLogDatabase extends RoomDatabase {
      */
     static GymLogDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
+            LocalDateTypeConverter.watchTimeZone(context);
             synchronized (GymLogDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
-                                    GymLogDatabase.class,
-                                    DATABASE_NAME
-                            )
-                            .fallbackToDestructiveMigration()
+                    INSTANCE = databaseBuilder(context, DATABASE_NAME)
                             .addCallback(addDefaultValues)
                             .build();
                 }
@@ -61,23 +115,64 @@ public abstract class GymLogDatabase extends RoomDatabase {
         return INSTANCE;
     }
 
+    /**
+     * Creates a builder for a GymLogDatabase stored in the named file.
+     * The database runs in write-ahead logging mode with reads on {@link #databaseReadExecutor}
+     * and transactions on {@link #databaseWriteExecutor}, so a burst of writes never starves reads.
+     * Every statement is timed into {@link #diagnostics}.
+     * Public so the benchmarks outside this package run against the database the app builds.
+     * @param context the application context
+     * @param name    the name of the database file
+     * @return a builder configured with the executors, journal mode, instrumentation and migrations of the app database
+     */
+    public static RoomDatabase.Builder<GymLogDatabase> databaseBuilder(final Context context, String name) {
+        return Room.databaseBuilder(context.getApplicationContext(),
+                        GymLogDatabase.class,
+                        name
+                )
+                .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                .setQueryExecutor(databaseReadExecutor)
+                .setTransactionExecutor(databaseWriteExecutor)
+                .openHelperFactory(new InstrumentedOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory(), diagnostics))
+                .addMigrations(GymLogMigrations.ALL)
+                .addCallback(createTriggers);
+    }
+
+    /**
+     * Callback to create the triggers of the current schema when a new database is created.
+     * Upgraded databases get theirs from the migrations.
+     */
+    private static final RoomDatabase.Callback createTriggers = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            super.onCreate(db);
+            GymLogTriggers.create(db);
+        }
+    };
+
     /**
      * Callback to add default values to the database upon creation.
-     * Inserts default users into the user table.
+     * Inserts default users into the user table, once their passwords are hashed on the credential thread.
      */
     private static final RoomDatabase.Callback addDefaultValues = new RoomDatabase.Callback() {
         @Override
         public void onCreate(@NonNull SupportSQLiteDatabase db) {
             super.onCreate(db);
             Log.i(MainActivity.TAG, "Database Created");
-            databaseWriteExecutor.execute(() -> {
+            CompletableFuture<String> adminHash = Credentials.hash("admin1".toCharArray());
+            CompletableFuture<String> testUser1Hash = Credentials.hash("testUser1".toCharArray());
+            adminHash.thenAcceptBothAsync(testUser1Hash, (adminPassword, testUser1Password) -> {
                 UserDAO dao = INSTANCE.userDAO();
                 dao.deleteAll();
-                User admin = new User("admin1", "admin1");
+                User admin = new User("admin1", adminPassword);
                 admin.setAdmin(true);
                 dao.insert(admin);
-                User testUser1 = new User("testUser1", "testUser1");
+                User testUser1 = new User("testUser1", testUser1Password);
                 dao.insert(testUser1);
+            }, databaseWriteExecutor).whenComplete((ignored, e) -> {
+                if (e != null) {
+                    Log.i(MainActivity.TAG, "Problem when adding the default users to the database", e);
+                }
             });
         }
     };
@@ -93,4 +188,58 @@ public abstract class GymLogDatabase extends RoomDatabase {
      * @return the UserDAO instance
      */
     public abstract UserDAO userDAO();
+
+    /**
+     * Provides access to ExerciseStatsDAO for reading ExerciseStats entities.
+     * @return the ExerciseStatsDAO instance
+     */
+    public abstract ExerciseStatsDAO exerciseStatsDAO();
+
+    /**
+     * Provides access to ExerciseDAO for interacting with Exercise entities.
+     * @return the ExerciseDAO instance
+     */
+    public abstract ExerciseDAO exerciseDAO();
+
+    /**
+     * Provides access to SyncDAO for the change queue and downloads of the sync engine.
+     * @return the SyncDAO instance
+     */
+    public abstract SyncDAO syncDAO();
+
+    /**
+     * Provides access to ChangeLogDAO for the change log of the GymLog table and the cursors of its consumers.
+     * @return the ChangeLogDAO instance
+     */
+    public abstract ChangeLogDAO changeLogDAO();
+
+    /**
+     * Provides access to RollupDAO for the day, week and month rollups of GymLog entities and their backfill.
+     * @return the RollupDAO instance
+     */
+    public abstract RollupDAO rollupDAO();
+
+    /**
+     * Provides access to ArchiveDAO for the archived months of GymLog entities.
+     * @return the ArchiveDAO instance
+     */
+    public abstract ArchiveDAO archiveDAO();
+
+    /**
+     * Returns the dictionary that maps exercise names to the IDs stored in GymLog and ExerciseStats rows.
+     * @return the ExerciseDictionary of this database
+     */
+    public ExerciseDictionary exerciseDictionary() {
+        ExerciseDictionary dictionary = exerciseDictionary;
+        if (dictionary == null) {
+            synchronized (this) {
+                dictionary = exerciseDictionary;
+                if (dictionary == null) {
+                    dictionary = new ExerciseDictionary(exerciseDAO(), getQueryExecutor());
+                    exerciseDictionary = dictionary;
+                }
+            }
+        }
+        return dictionary;
+    }
 }
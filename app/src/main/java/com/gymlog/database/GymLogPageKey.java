@@ -0,0 +1,108 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+
+import com.gymlog.database.entities.GymLog;
+
+import java.util.Objects;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogPageKey marks a position in a user's log history for keyset pagination.
+ * A page appended or refreshed with this key contains only the records that sort after it in (date, id)
+ * descending order; a page prepended with it contains only the records that sort before it.
+ * The date is the stored epoch milliseconds, so the key is exact even across daylight saving transitions.
+ */
+public final class GymLogPageKey {
+
+    private final long date;
+    private final int id;
+
+    /**
+     * Constructs a new GymLogPageKey.
+     * @param date the date in epoch milliseconds of the record the key is next to
+     * @param id   the ID of the record the key is next to
+     */
+    public GymLogPageKey(long date, int id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    /**
+     * Creates the key that continues after the given GymLog record.
+     * @param gymLog the last record on the previous page
+     * @return a key positioned directly after the given record
+     */
+    static GymLogPageKey after(GymLog gymLog) {
+        return new GymLogPageKey(gymLog.getDateMillis(), gymLog.getId());
+    }
+
+    /**
+     * Creates the key that pages back up from the given GymLog record.
+     * @param gymLog the first record on the next page
+     * @return a key positioned directly before the given record
+     */
+    static GymLogPageKey before(GymLog gymLog) {
+        return new GymLogPageKey(gymLog.getDateMillis(), gymLog.getId());
+    }
+
+    /**
+     * Creates the key that continues from the given GymLog record, including it. IDs are integers, so the
+     * position between the record and the next higher ID at the same date is directly before it.
+     * @param gymLog the first record of the page
+     * @return a key positioned directly before the given record in descending order
+     */
+    static GymLogPageKey at(GymLog gymLog) {
+        return new GymLogPageKey(gymLog.getDateMillis(), gymLog.getId() + 1);
+    }
+
+    /**
+     * Returns the date of the record the key is next to.
+     * @return the date component of the key in epoch milliseconds
+     */
+    public long getDate() {
+        return date;
+    }
+
+    /**
+     * Returns the ID of the record the key is next to.
+     * @return the ID component of the key
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Compares this GymLogPageKey to the specified object.
+     * @param o the object to compare this GymLogPageKey against
+     * @return true if the given object represents the same position, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GymLogPageKey that = (GymLogPageKey) o;
+        return id == that.id && date == that.date;
+    }
+
+    /**
+     * Returns a hash code value for the GymLogPageKey.
+     * @return a hash code value for this GymLogPageKey
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, id);
+    }
+
+    /**
+     * Returns a string representation of the GymLogPageKey.
+     * @return a string containing the date and ID of the key
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return "GymLogPageKey{date=" + date + ", id=" + id + '}';
+    }
+}
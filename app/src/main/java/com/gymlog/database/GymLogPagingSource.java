@@ -0,0 +1,150 @@
+package com.gymlog.database;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+import androidx.room.InvalidationTracker;
+
+import com.gymlog.MainActivity;
+import com.gymlog.database.entities.GymLog;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import kotlin.Unit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogPagingSource loads a user's GymLog history one page at a time using keyset pagination on (date, id).
+ * Each page is a bounded query that seeks directly to its starting key, so a change only reloads the pages
+ * around the rows on screen instead of the user's whole history. Pages dropped from either end of the list
+ * are loaded again when they are scrolled back to.
+ * The newest page is served from the repository's {@link GymLogCache} when it holds the user's records.
+ */
+class GymLogPagingSource extends ListenableFuturePagingSource<GymLogPageKey, GymLog> {
+
+    private final GymLogDatabase database;
+    private final GymLogDAO gymLogDAO;
+    private final GymLogCache cache;
+    private final int userId;
+    private final AtomicBoolean observing = new AtomicBoolean(false);
+//  Invalidates this source whenever the GymLog table changes so that the Pager loads a fresh one.
+//  The cache is kept current by the writes themselves, so the fresh source is never served records from before the change.
+    private final InvalidationTracker.Observer observer = new InvalidationTracker.Observer(GymLogDatabase.GYM_LOG_TABLE) {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            invalidate();
+        }
+    };
+
+    /**
+     * Constructs a new GymLogPagingSource for the given user.
+     * @param database  the database whose invalidation tracker is observed
+     * @param gymLogDAO the DAO used to load pages
+     * @param cache     the cache of the newest records of recently viewed users
+     * @param userId    the ID of the user whose records are paged
+     */
+    GymLogPagingSource(GymLogDatabase database, GymLogDAO gymLogDAO, GymLogCache cache, int userId) {
+        this.database = database;
+        this.gymLogDAO = gymLogDAO;
+        this.cache = cache;
+        this.userId = userId;
+        registerInvalidatedCallback(() -> {
+            database.getInvalidationTracker().removeObserver(observer);
+            return Unit.INSTANCE;
+        });
+    }
+
+    /**
+     * Loads a page of GymLog records on the read executor.
+     * Refreshes start from the newest record or from the refresh key, appends continue from the key of the
+     * previous page, and prepends page back up to newer records dropped from the top of the list.
+     * @param params the parameters of the load, including the key and the requested size
+     * @return a future holding the loaded page or the error that occurred
+     */
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<GymLogPageKey, GymLog>> loadFuture(@NonNull LoadParams<GymLogPageKey> params) {
+        ListenableFutureTask<LoadResult<GymLogPageKey, GymLog>> task = ListenableFutureTask.create(() -> loadPage(params));
+        GymLogDatabase.databaseReadExecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * Runs the keyset query for a single load.
+     * @param params the parameters of the load
+     * @return the loaded page, or an error result if the query failed
+     */
+    private LoadResult<GymLogPageKey, GymLog> loadPage(LoadParams<GymLogPageKey> params) {
+        if (observing.compareAndSet(false, true)) {
+            database.getInvalidationTracker().addObserver(observer);
+        }
+        try {
+            GymLogPageKey key = params.getKey();
+            int loadSize = params.getLoadSize();
+            if (params instanceof LoadParams.Prepend) {
+                List<GymLog> page = gymLogDAO.getPageByUserIdAfter(userId, key.getDate(), key.getId(), loadSize);
+                GymLogPageKey prevKey = page.size() < loadSize ? null : GymLogPageKey.before(page.get(0));
+                return new LoadResult.Page<>(page, prevKey, key);
+            }
+            List<GymLog> page = key == null ? null : gymLogDAO.getPageByUserIdBefore(userId, key.getDate(), key.getId(), loadSize);
+//          A refresh key past the end of the history, after its records were deleted, starts from the top again.
+            if (page == null || (page.isEmpty() && params instanceof LoadParams.Refresh)) {
+                key = null;
+                page = loadNewest(loadSize);
+            }
+            GymLogPageKey prevKey = key == null || page.isEmpty() ? null : GymLogPageKey.before(page.get(0));
+            GymLogPageKey nextKey = page.size() < loadSize ? null : GymLogPageKey.after(page.get(page.size() - 1));
+            return new LoadResult.Page<>(page, prevKey, nextKey);
+        } catch (RuntimeException e) {
+            Log.i(MainActivity.TAG, "Problem when loading a page of GymLogs", e);
+            return new LoadResult.Error<>(e);
+        }
+    }
+
+    /**
+     * Loads the newest page from the cache, or from the database on a miss, in which case the cache is filled.
+     * @param loadSize the number of records requested
+     * @return the newest records of the user, newest first
+     */
+    private List<GymLog> loadNewest(int loadSize) {
+        List<GymLog> cached = cache.get(userId, loadSize);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        List<GymLog> page = gymLogDAO.getPageByUserId(userId, loadSize);
+        cache.put(userId, page, loadSize, generation);
+        return page;
+    }
+
+    /**
+     * Returns the key used to reload the list after an invalidation.
+     * The reload starts half an initial load above the record closest to the anchor, so the rows on screen are
+     * in the first page and the rest of the list pages back in around them. Near the top it starts from the
+     * newest record, which the cache can serve.
+     * @param state the current paging state
+     * @return the key of the first record to reload, or null to start from the top of the history
+     */
+    @Nullable
+    @Override
+    public GymLogPageKey getRefreshKey(@NonNull PagingState<GymLogPageKey, GymLog> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null || state.getPages().isEmpty()) {
+            return null;
+        }
+        int start = Math.max(0, anchorPosition - state.getConfig().initialLoadSize / 2);
+        if (start == 0 && state.getPages().get(0).getPrevKey() == null) {
+            return null;
+        }
+        GymLog first = state.closestItemToPosition(start);
+        return first == null ? null : GymLogPageKey.at(first);
+    }
+}
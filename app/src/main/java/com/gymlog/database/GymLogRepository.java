@@ -2,15 +2,45 @@ package com.gymlog.database;
 
 import android.app.Application;
 import android.util.Log;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import com.gymlog.analytics.AnalyticsReport;
+import com.gymlog.analytics.ExerciseAnalytics;
+import com.gymlog.analytics.HistoryAnalytics;
+import com.gymlog.analytics.HistorySnapshotLoader;
+import com.gymlog.dataTransfer.GymLogCsvImporter;
+import com.gymlog.dataTransfer.GymLogExporter;
+import com.gymlog.database.entities.ChangeLogEntry;
+import com.gymlog.database.entities.ExerciseStats;
 import com.gymlog.database.entities.GymLog;
 import com.gymlog.MainActivity;
+import com.gymlog.credentials.Credentials;
+import com.gymlog.credentials.LoginResult;
 import com.gymlog.database.entities.User;
+import com.gymlog.sync.RetryPolicy;
+import com.gymlog.sync.SyncBackend;
+import com.gymlog.sync.SyncEngine;
+import com.gymlog.sync.SyncReport;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntSupplier;
 
 /**
  * Author: Rahim Siddiq
@@ -18,81 +48,250 @@ import java.util.concurrent.Future;
  * 08/04/2024
  * GymLogRepository provides a layer of abstraction over the data sources.
  * It manages queries and allows access to the database using the DAO interfaces.
+ * No method blocks its caller on database I/O: reads return LiveData or a CompletableFuture
+ * completed on the read executor, and writes are posted to the single writer executor.
+ * The newest records of recently viewed users are kept in a {@link GymLogCache}, so reopening a history
+ * shows its first page without reading the database. Every write to the GymLog table tells the cache which
+ * users it changed, and only those are read again, when their history is next opened.
+ * Once a sync has run, every write is queued for upload by the database itself, so sync with a server never
+ * slows a write down; see {@link SyncEngine}.
+ * Other consumers of GymLog changes, such as aggregates or widgets, follow the change log instead of
+ * rescanning the table: they register once, then read and acknowledge the changes made since their last pass.
+ * Progression charts read day, week and month rollups kept by the database, so a chart of any range costs
+ * the same whatever the number of sets in it.
+ * Old months of history can be archived into compressed blocks with {@link #archiveColdLogs}. Reads merge the
+ * archived records back in, new records join them on the next run, and an edit restores its month, so
+ * callers see no difference.
+ * Analytics over a whole history read it once into primitive columns and compute in parallel, see
+ * {@link HistoryAnalytics}.
  */
 public class GymLogRepository {
 
+//  The number of GymLog records loaded per page of history.
+    private static final int PAGE_SIZE = 50;
+//  The maximum number of GymLog records kept in memory by a Pager before old pages are dropped.
+    private static final int MAX_LOADED_LOGS = PAGE_SIZE * 6;
+//  The number of GymLog records loaded when a history is opened, and cached per user.
+    private static final int INITIAL_LOAD_SIZE = PAGE_SIZE * 2;
+//  The number of users whose newest GymLog records are cached.
+    private static final int CACHED_USERS = 4;
+//  The number of GymLog records written per transaction by a bulk import.
+    static final int IMPORT_CHUNK_SIZE = 2_000;
+//  Parses imported files, so reading and validating a large file occupies neither database executor.
+    private static final ExecutorService fileImportExecutor = Executors.newSingleThreadExecutor();
+
+    private final GymLogDatabase database;
     private final GymLogDAO gymLogDAO;
     private final UserDAO userDAO;
-    private ArrayList<GymLog> allLogs;
-    private static GymLogRepository repository;
+    private final ExerciseStatsDAO exerciseStatsDAO;
+    private final ExerciseDAO exerciseDAO;
+    private final ChangeLogDAO changeLogDAO;
+    private final RollupDAO rollupDAO;
+    private final ArchiveDAO archiveDAO;
+    private final GymLogCache logCache = new GymLogCache(CACHED_USERS, INITIAL_LOAD_SIZE);
+    private final HistoryAnalytics analytics = new HistoryAnalytics(ForkJoinPool.commonPool());
+    private static volatile GymLogRepository repository;
 
     /**
      * Private constructor for GymLogRepository.
-     * Initializes DAO interfaces and retrieves all records from the database.
+     * Initializes DAO interfaces. Building the Room database does not open it, so no I/O happens here;
+     * the database file is opened by the first query, on a database executor thread.
      * @param application the application context
      */
     private GymLogRepository(Application application) {
-        GymLogDatabase db = GymLogDatabase.getDatabase(application);
-        this.gymLogDAO = db.gymLogDAO();
-        this.userDAO = db.userDAO();
-        this.allLogs = (ArrayList<GymLog>) this.gymLogDAO.getAllRecords();
+        this(GymLogDatabase.getDatabase(application));
+    }
+
+    /**
+     * Constructs a GymLogRepository over the given database.
+     * Public so the benchmarks outside this package run against their own database file.
+     * @param database the database to access
+     */
+    public GymLogRepository(GymLogDatabase database) {
+        this.database = database;
+        this.gymLogDAO = database.gymLogDAO();
+        this.userDAO = database.userDAO();
+        this.exerciseStatsDAO = database.exerciseStatsDAO();
+        this.exerciseDAO = database.exerciseDAO();
+        this.changeLogDAO = database.changeLogDAO();
+        this.rollupDAO = database.rollupDAO();
+        this.archiveDAO = database.archiveDAO();
     }
 
     /**
      * Returns the singleton instance of GymLogRepository.
      * If the instance is not yet created, it initializes it using the application context.
+     * This is safe to call from the main thread because creating the repository performs no database I/O.
      * @param application the application context
      * @return the singleton instance of GymLogRepository
      */
     public static GymLogRepository getRepository(Application application) {
-        if (repository != null) {
-            return repository;
+        if (repository == null) {
+            synchronized (GymLogRepository.class) {
+                if (repository == null) {
+                    repository = new GymLogRepository(application);
+                }
+            }
         }
-        Future<GymLogRepository> future = GymLogDatabase.databaseWriteExecutor.submit(
-                new Callable<GymLogRepository>() {
-                    @Override
-                    public GymLogRepository call() throws Exception {
-                        return new GymLogRepository(application);
+        return repository;
+    }
+
+    /**
+     * Builds the repository and loads the newest records of the last logged-in user into the cache, all on the
+     * read executor, so the database is opened and the first page of the history is read while the first frame
+     * is drawn. When MainActivity asks for the repository and its first page, both are usually ready.
+     * @param application the application context
+     * @param lastUserId  reads the ID of the last logged-in user, or a negative value if nobody is logged in;
+     *                    called on the read executor, since loading the preferences is disk I/O
+     * @return a future completed once the cache is warm
+     */
+    public static CompletableFuture<Void> prewarm(Application application, IntSupplier lastUserId) {
+        return CompletableFuture.runAsync(() -> {
+                    GymLogRepository repository = getRepository(application);
+                    int userId = lastUserId.getAsInt();
+                    if (userId >= 0) {
+                        repository.loadCache(userId);
+                    }
+                }, GymLogDatabase.databaseReadExecutor)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when prewarming the repository", e);
                     }
                 });
-        try {
-            return future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            Log.i(MainActivity.TAG, "Problem when getting GymLogRepository, thread error");
-        }
-        return null;
     }
 
     /**
      * Retrieves all GymLog records from the database.
-     * Executes the query in a separate thread using an executor service.
-     * @return a list of all GymLog records
+     * The query runs on the read executor; the caller is never blocked.
+     * @return a future completed with a list of all GymLog records, or exceptionally if the query fails
      */
-    public ArrayList<GymLog> getAllLogs() {
-        Future<ArrayList<GymLog>> future = GymLogDatabase.databaseWriteExecutor.submit(
-                new Callable<ArrayList<GymLog>>() {
-                    @Override
-                    public ArrayList<GymLog> call() throws Exception {
-                        return (ArrayList<GymLog>) gymLogDAO.getAllRecords();
+    public CompletableFuture<List<GymLog>> getAllLogs() {
+        return CompletableFuture.supplyAsync(gymLogDAO::getAllRecords, GymLogDatabase.databaseReadExecutor)
+                .whenComplete((logs, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when getting all GymLogs in the repository", e);
                     }
-                }
-        );
-        try {
-            return future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            Log.i(MainActivity.TAG, "Problem when getting all GymLogs in the repository");
-        }
-        return null;
+                });
     }
 
     /**
      * Inserts a GymLog record into the database.
-     * The operation is executed in a separate thread.
+     * The operation is executed in a separate thread. A new record is written through to the cache
+     * once it has its ID.
      * @param gymLog the GymLog record to insert
      */
     public void insertGymLog(GymLog gymLog) {
         GymLogDatabase.databaseWriteExecutor.execute(() -> {
-            gymLogDAO.insert(gymLog);
+            boolean isNew = gymLog.getId() == 0;
+            logCache.beginWrite();
+            try {
+                long id = gymLogDAO.insert(gymLog);
+                if (isNew) {
+                    gymLog.setId((int) id);
+                    logCache.writeThrough(gymLog);
+                }
+            } finally {
+                logCache.endWrite(isNew ? Collections.emptySet() : Collections.singleton(gymLog.getUserId()));
+            }
+        });
+    }
+
+    /**
+     * Saves an edit of an existing GymLog record and increments its version, so lists showing the
+     * record can tell the new copy from the old one by ID and version alone.
+     * The operation is executed on the writer executor.
+     * @param gymLog the edited GymLog record
+     */
+    public void updateGymLog(GymLog gymLog) {
+        gymLog.setVersion(gymLog.getVersion() + 1);
+        logsWriteExecutor(Collections.singleton(gymLog.getUserId())).execute(() -> {
+            gymLogDAO.update(gymLog);
+        });
+    }
+
+    /**
+     * Imports a batch of GymLog records, such as a workout program or a synced backlog.
+     * Records are written in chunks of {@link #IMPORT_CHUNK_SIZE}, each in a single transaction, so the cost of
+     * a commit is paid once per chunk instead of once per record. Every chunk is a separate task on the writer
+     * executor, which lets records logged by the user in the meantime be written between chunks.
+     * If a chunk fails, the chunks before it stay committed and the future completes exceptionally.
+     * @param gymLogs  the GymLog records to import
+     * @param listener notified on the writer thread after each chunk is committed, or null
+     * @return a future completed with the number of imported records
+     */
+    public CompletableFuture<Integer> importGymLogs(List<GymLog> gymLogs, @Nullable ImportProgressListener listener) {
+        int total = gymLogs.size();
+        CompletableFuture<Integer> imported = CompletableFuture.completedFuture(0);
+        for (int from = 0; from < total; from += IMPORT_CHUNK_SIZE) {
+            List<GymLog> chunk = gymLogs.subList(from, Math.min(total, from + IMPORT_CHUNK_SIZE));
+            Set<Integer> users = new HashSet<>();
+            for (GymLog gymLog : chunk) {
+                users.add(gymLog.getUserId());
+            }
+            imported = imported.thenApplyAsync(done -> {
+                gymLogDAO.insertAll(chunk);
+                int progress = done + chunk.size();
+                if (listener != null) {
+                    listener.onProgress(progress, total);
+                }
+                return progress;
+            }, logsWriteExecutor(users));
+        }
+        return imported.whenComplete((count, e) -> {
+            if (e != null) {
+                Log.i(MainActivity.TAG, "Problem when importing GymLogs in the repository", e);
+            }
+        });
+    }
+
+    /**
+     * Imports a user's GymLog history from a CSV file, such as one written by {@link #exportLogs}.
+     * The file is parsed and validated as a stream on a file import thread, and valid rows are written in
+     * batched transactions on the writer executor. Rows that fail validation, or that match an existing record
+     * of the user with the same exercise and date, are skipped and counted in the result.
+     * @param loggedInUserId the ID of the user the records are imported for
+     * @param input          the CSV file contents; closed when the import ends
+     * @param listener       notified after each batch with the number of imported records and a total of -1, or null
+     * @return a future completed with the import counts, or exceptionally if the file cannot be read
+     */
+    public CompletableFuture<GymLogCsvImporter.Result> importLogsFromCsv(int loggedInUserId, InputStream input,
+                                                                         @Nullable ImportProgressListener listener) {
+        GymLogCsvImporter importer = new GymLogCsvImporter(database,
+                logsWriteExecutor(Collections.singleton(loggedInUserId)));
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return importer.importCsv(loggedInUserId, input, listener);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, fileImportExecutor).whenComplete((result, e) -> {
+            if (e != null) {
+                Log.i(MainActivity.TAG, "Problem when importing a CSV file in the repository", e);
+            }
+        });
+    }
+
+    /**
+     * Exports all GymLog records of a user to a file in CSV or JSON-lines format.
+     * Rows are streamed from a Cursor to the file on the read executor, so memory use stays flat
+     * whatever the size of the history and the caller is never blocked.
+     * @param loggedInUserId the ID of the user whose records are exported
+     * @param format         the format of the file
+     * @param destination    the file to write; replaced once the export is complete
+     * @return a future completed with the number of exported records, or exceptionally if the export fails
+     */
+    public CompletableFuture<Long> exportLogs(int loggedInUserId, GymLogExporter.Format format, File destination) {
+        GymLogExporter exporter = new GymLogExporter(gymLogDAO, archiveDAO);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return exporter.export(loggedInUserId, format, destination);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, GymLogDatabase.databaseReadExecutor).whenComplete((rows, e) -> {
+            if (e != null) {
+                Log.i(MainActivity.TAG, "Problem when exporting GymLogs in the repository", e);
+            }
         });
     }
 
@@ -116,6 +315,39 @@ public class GymLogRepository {
         return userDAO.getUserByUserName(username);
     }
 
+    /**
+     * Checks a username and password. The user is read on the read executor and the password is verified on
+     * the credential thread, so the caller is never blocked and the UI thread never derives a hash.
+     * A password hashed at an outdated cost is replaced with a current hash on the writer.
+     * @param username the username entered
+     * @param password the password entered; cleared once it is verified
+     * @return a future completed with the outcome of the login
+     */
+    public CompletableFuture<LoginResult> logIn(String username, char[] password) {
+        return CompletableFuture.supplyAsync(() -> userDAO.findUserByUserName(username), GymLogDatabase.databaseReadExecutor)
+                .thenCompose(user -> Credentials.verify(password, user == null ? null : user.getPasswordHash())
+                        .thenApply(verification -> {
+                            if (user == null) {
+                                return new LoginResult(LoginResult.Status.UNKNOWN_USER, null);
+                            }
+                            if (!verification.matches()) {
+                                return new LoginResult(LoginResult.Status.WRONG_PASSWORD, null);
+                            }
+                            String rehash = verification.getRehash();
+                            if (rehash != null) {
+                                user.setPasswordHash(rehash);
+                                GymLogDatabase.databaseWriteExecutor.execute(() -> userDAO.updatePasswordHash(user.getId(), rehash));
+                            }
+                            return new LoginResult(LoginResult.Status.SUCCESS, user);
+                        }))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        Arrays.fill(password, '\0');
+                        Log.i(MainActivity.TAG, "Problem when logging in in the repository", e);
+                    }
+                });
+    }
+
     /**
      * Retrieves a User record by user ID.
      * @param userId the ID of the User
@@ -135,25 +367,393 @@ public class GymLogRepository {
     }
 
     /**
-     * @deprecated This method is deprecated in favor of LiveData.
-     * Retrieves all GymLog records for a specific user.
+     * Retrieves the GymLog records of a user in a date range as LiveData, newest first.
+     * Only the records in the range are read, so a dashboard of recent weeks costs the same however
+     * long the history is.
+     * @param loggedInUserId the ID of the logged-in user
+     * @param fromMillis     the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis       the end of the range in UTC epoch milliseconds, exclusive
+     * @return a LiveData list of the user's GymLog records in the range
+     */
+    public LiveData<List<GymLog>> getLogsByUserIdBetweenLiveData(int loggedInUserId, long fromMillis, long toMillis) {
+        return gymLogDAO.getRecordsByUserIdBetweenLiveData(loggedInUserId, fromMillis, toMillis);
+    }
+
+    /**
+     * Retrieves the GymLog records of one exercise of a user as LiveData, newest first.
+     * @param loggedInUserId the ID of the logged-in user
+     * @param exercise       the exercise name
+     * @return a LiveData list of the user's GymLog records of the exercise
+     */
+    public LiveData<List<GymLog>> getLogsByUserIdAndExerciseLiveData(int loggedInUserId, String exercise) {
+        return gymLogDAO.getRecordsByUserIdAndExerciseLiveData(loggedInUserId, exercise);
+    }
+
+    /**
+     * Retrieves the GymLog records of one exercise of a user in a date range as LiveData, newest first.
+     * @param loggedInUserId the ID of the logged-in user
+     * @param exercise       the exercise name
+     * @param fromMillis     the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis       the end of the range in UTC epoch milliseconds, exclusive
+     * @return a LiveData list of the user's GymLog records of the exercise in the range
+     */
+    public LiveData<List<GymLog>> getLogsByUserIdAndExerciseBetweenLiveData(int loggedInUserId, String exercise,
+                                                                          long fromMillis, long toMillis) {
+        return gymLogDAO.getRecordsByUserIdAndExerciseBetweenLiveData(loggedInUserId, exercise, fromMillis, toMillis);
+    }
+
+    /**
+     * Retrieves the GymLog records of every user in a date range as LiveData, newest first.
+     * @param fromMillis the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis   the end of the range in UTC epoch milliseconds, exclusive
+     * @return a LiveData list of the GymLog records in the range
+     */
+    public LiveData<List<GymLog>> getLogsBetweenLiveData(long fromMillis, long toMillis) {
+        return gymLogDAO.getRecordsBetweenLiveData(fromMillis, toMillis);
+    }
+
+    /**
+     * Retrieves the per-exercise stats of a user as LiveData: max weight, best estimated one-rep max,
+     * total volume and set count. The stats are kept up to date by the database on every write, so this
+     * reads one row per exercise however many sets the user has logged.
      * @param loggedInUserId the ID of the logged-in user
-     * @return a list of GymLog records for the specified user
+     * @return a LiveData list with one ExerciseStats per exercise, ordered by exercise name
+     */
+    public LiveData<List<ExerciseStats>> getExerciseStatsByUserIdLiveData(int loggedInUserId) {
+        return exerciseStatsDAO.getStatsByUserIdLiveData(loggedInUserId);
+    }
+
+    /**
+     * Searches the exercises matching text typed into the exercise field, best first.
+     * The names are looked up in the full-text index of the exercise dictionary, so the cost depends on the
+     * number of exercises, not on the length of the history. The query runs on the read executor.
+     * @param loggedInUserId the ID of the logged-in user, whose most logged exercises rank first
+     * @param typed          the text typed so far
+     * @param limit          the maximum number of suggestions
+     * @return a future completed with the names of the suggested exercises, empty if the text has no words
      */
-    @Deprecated
-    public ArrayList<GymLog> getAllLogsByUserId(int loggedInUserId) {
-        Future<ArrayList<GymLog>> future = GymLogDatabase.databaseWriteExecutor.submit(
-                new Callable<ArrayList<GymLog>>() {
-                    @Override
-                    public ArrayList<GymLog> call() throws Exception {
-                        return (ArrayList<GymLog>) gymLogDAO.getRecordsByUserId(loggedInUserId);
+    public CompletableFuture<List<String>> suggestExercises(int loggedInUserId, String typed, int limit) {
+        String match = ExerciseTypeahead.toMatchQuery(typed);
+        if (match == null) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return CompletableFuture.supplyAsync(() -> ExerciseTypeahead.rank(exerciseDAO.search(loggedInUserId, match), typed, limit),
+                        GymLogDatabase.databaseReadExecutor)
+                .whenComplete((names, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when searching exercises in the repository", e);
                     }
                 });
+    }
+
+    /**
+     * Follows the text of the exercise field and suggests exercises for it once typing pauses, so a burst of
+     * keystrokes runs one search. Must be called on the main thread.
+     * @param loggedInUserId the ID of the logged-in user
+     * @param typed          the text of the exercise field
+     * @return a LiveData of up to five suggested exercise names for the latest text
+     */
+    public LiveData<List<String>> getExerciseSuggestions(int loggedInUserId, LiveData<String> typed) {
+        return ExerciseTypeahead.debounce(typed, text -> suggestExercises(loggedInUserId, text, ExerciseTypeahead.MAX_SUGGESTIONS)
+                .exceptionally(e -> Collections.emptyList()));
+    }
+
+    /**
+     * Creates a Pager over the GymLog records of a specific user, newest first.
+     * Pages are loaded with keyset pagination on (date, id), and only a bounded number of records
+     * is held in memory no matter how long the user's history is. Pages dropped from the top are loaded
+     * again when the list is scrolled back up, and a reload starts at the rows on screen.
+     * @param loggedInUserId the ID of the logged-in user
+     * @return a Pager producing PagingData of GymLog records for the specified user
+     */
+    public Pager<GymLogPageKey, GymLog> getLogsPagerByUserId(int loggedInUserId) {
+        PagingConfig config = new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, INITIAL_LOAD_SIZE, MAX_LOADED_LOGS);
+        return new Pager<>(config, () -> new GymLogPagingSource(database, gymLogDAO, logCache, loggedInUserId));
+    }
+
+    /**
+     * Creates a sync engine that exchanges the changes of this database with a server.
+     * Downloaded changes are written on the writer executor, one batch per transaction.
+     * @param backend     the server to sync with
+     * @param batchSize   the maximum number of changes per upload and per download
+     * @param retryPolicy how failed calls to the server are retried
+     * @return the sync engine
+     */
+    public SyncEngine newSyncEngine(SyncBackend backend, int batchSize, RetryPolicy retryPolicy) {
+        return new SyncEngine(database.syncDAO(), logsWriteExecutor(null), backend, batchSize, retryPolicy);
+    }
+
+    /**
+     * Uploads every local change to a server and downloads the changes made elsewhere, with the default
+     * batch size and retry policy. Runs on the sync thread; the caller is never blocked.
+     * @param backend the server to sync with
+     * @return a future completed with what the sync did
+     */
+    public CompletableFuture<SyncReport> sync(SyncBackend backend) {
+        return newSyncEngine(backend, SyncEngine.DEFAULT_BATCH_SIZE, RetryPolicy.DEFAULT).sync()
+                .whenComplete((report, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when syncing in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Registers a consumer of the GymLog change log, or returns the cursor of one already registered.
+     * A new consumer sees the changes made after it registered, so it reads the records it follows once in full
+     * first. The operation is executed on the writer executor.
+     * @param consumer the name of the consumer, unique in the app
+     * @return a future completed with the sequence number of the last change the consumer has acknowledged
+     */
+    public CompletableFuture<Long> registerChangeConsumer(String consumer) {
+        return CompletableFuture.supplyAsync(() -> changeLogDAO.register(consumer), GymLogDatabase.databaseWriteExecutor)
+                .whenComplete((seq, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when registering a change log consumer in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Retrieves the oldest GymLog changes a consumer has not acknowledged yet, in the order they were committed.
+     * The cost depends on the number of changes read, not on the size of the history. The query runs on the
+     * read executor.
+     * @param consumer the name of a registered consumer
+     * @param limit    the maximum number of changes
+     * @return a future completed with the changes, empty once the consumer has caught up, or exceptionally
+     * if the consumer is not registered
+     */
+    public CompletableFuture<List<ChangeLogEntry>> getChanges(String consumer, int limit) {
+        return CompletableFuture.supplyAsync(() -> changeLogDAO.getChanges(consumer, limit), GymLogDatabase.databaseReadExecutor)
+                .whenComplete((changes, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when getting GymLog changes in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Records that a consumer has processed the GymLog changes up to and including a sequence number, and
+     * deletes the changes every consumer has processed. The operation is executed on the writer executor.
+     * @param consumer the name of a registered consumer
+     * @param seq      the sequence number of the last processed change
+     * @return a future completed once the acknowledgement is committed
+     */
+    public CompletableFuture<Void> acknowledgeChanges(String consumer, long seq) {
+        return CompletableFuture.runAsync(() -> changeLogDAO.acknowledge(consumer, seq), GymLogDatabase.databaseWriteExecutor)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when acknowledging GymLog changes in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Removes a consumer of the GymLog change log, so the changes it has not processed no longer have to be kept.
+     * The operation is executed on the writer executor.
+     * @param consumer the name of the consumer
+     * @return a future completed once the consumer is removed
+     */
+    public CompletableFuture<Void> unregisterChangeConsumer(String consumer) {
+        return CompletableFuture.runAsync(() -> changeLogDAO.unregister(consumer), GymLogDatabase.databaseWriteExecutor)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when unregistering a change log consumer in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Retrieves the progression of one exercise of a user as a fixed number of points over a range, for a chart.
+     * Each point holds the volume, heaviest weight, sets and reps of an equal slice of the range, read from
+     * the day, week or month rollups, so the cost depends on the number of points, not on the number of sets.
+     * The query runs on the read executor.
+     * @param loggedInUserId the ID of the user
+     * @param exercise       the exercise name, compared ignoring case
+     * @param fromMillis     the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis       the end of the range in UTC epoch milliseconds, exclusive
+     * @param points         the number of points
+     * @return a future completed with exactly {@code points} points, oldest first, or exceptionally if the
+     * range is empty or points is not positive
+     */
+    public CompletableFuture<List<ProgressPoint>> getProgressSeries(int loggedInUserId, String exercise, long fromMillis,
+                                                                    long toMillis, int points) {
+        return CompletableFuture.supplyAsync(() -> rollupDAO.getSeries(loggedInUserId, exercise, fromMillis, toMillis, points),
+                        GymLogDatabase.databaseReadExecutor)
+                .whenComplete((series, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when getting a progress series in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Builds the rollups of history logged before they existed, a few months of one user per transaction.
+     * Every step is a separate task on the writer executor, so sets logged in the meantime are written between
+     * steps, and a backfill interrupted by the app being killed resumes where it stopped on the next call.
+     * Charts of a range not backfilled yet show only the sets logged since the upgrade.
+     * @return a future completed with the number of steps taken, 0 if nothing was pending
+     */
+    public CompletableFuture<Integer> backfillRollups() {
+        return backfillRollups(0).whenComplete((steps, e) -> {
+            if (e != null) {
+                Log.i(MainActivity.TAG, "Problem when backfilling rollups in the repository", e);
+            }
+        });
+    }
+
+    /**
+     * Takes backfill steps on the writer executor until none is pending.
+     * @param steps the number of steps taken so far
+     * @return a future completed with the total number of steps taken
+     */
+    private CompletableFuture<Integer> backfillRollups(int steps) {
+        return CompletableFuture.supplyAsync(rollupDAO::backfillStep, GymLogDatabase.databaseWriteExecutor)
+                .thenCompose(stepped -> stepped ? backfillRollups(steps + 1) : CompletableFuture.completedFuture(steps));
+    }
+
+    /**
+     * Archives every month of history that ended, in every time zone, longer than an age ago: its GymLog rows are
+     * moved into one compressed block per user and month, which takes a fraction of the space of the rows and
+     * their index entries. Months with changes not yet uploaded or read from the change log, and users whose
+     * rollups are being backfilled, are skipped until a later run.
+     * Every month is a separate transaction on the writer executor, so writes are not held up by the run.
+     * The database file keeps its size; the pages freed are reused by new rows.
+     * @param age the age after which a month is archived
+     * @return a future completed with what the run did
+     */
+    public CompletableFuture<TieringReport> archiveColdLogs(Duration age) {
+        long start = System.nanoTime();
+        long cutoffMillis = System.currentTimeMillis() - age.toMillis();
+        return CompletableFuture.supplyAsync(() -> {
+                    ArchiveRun run = new ArchiveRun(archiveDAO.getUsedBytes());
+                    for (int userId : archiveDAO.getUserIds()) {
+                        for (int month : archiveDAO.getColdMonths(userId, cutoffMillis)) {
+                            run.months.add(new int[]{userId, month});
+                        }
+                    }
+                    return run;
+                }, GymLogDatabase.databaseWriteExecutor)
+                .thenCompose(run -> archiveMonths(run, 0))
+                .thenApplyAsync(run -> new TieringReport(run.monthsArchived, run.monthsSkipped, run.rowsArchived,
+                        archiveDAO.getArchivedBytes(), run.usedBytesBefore, archiveDAO.getUsedBytes(),
+                        System.nanoTime() - start), GymLogDatabase.databaseWriteExecutor)
+                .whenComplete((report, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when archiving GymLogs in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Archives the months of a run from the given one on, one task on the writer executor per month.
+     * @param run  the run
+     * @param next the index of the next month to archive
+     * @return a future completed with the run once every month is done
+     */
+    private CompletableFuture<ArchiveRun> archiveMonths(ArchiveRun run, int next) {
+        if (next == run.months.size()) {
+            return CompletableFuture.completedFuture(run);
+        }
+        int userId = run.months.get(next)[0];
+        return CompletableFuture.supplyAsync(() -> archiveDAO.archiveMonth(userId, run.months.get(next)[1]),
+                        logsWriteExecutor(Collections.singleton(userId)))
+                .thenCompose(rows -> {
+                    if (rows > 0) {
+                        run.monthsArchived++;
+                        run.rowsArchived += rows;
+                    } else if (rows < 0) {
+                        run.monthsSkipped++;
+                    }
+                    return archiveMonths(run, next + 1);
+                });
+    }
+
+    /**
+     * Analyses the whole history of a user: the volume, best estimated one-rep max and its trend of every
+     * exercise, and the training streaks. The history, archived months included, is read once into a primitive
+     * columnar snapshot on the read executor, then analysed in parallel on the common fork-join pool,
+     * so the read executor is free again as soon as the rows are copied.
+     * @param loggedInUserId the ID of the user
+     * @return a future completed with the analytics, with exercise names filled in
+     */
+    public CompletableFuture<AnalyticsReport> getAnalytics(int loggedInUserId) {
+        HistorySnapshotLoader loader = new HistorySnapshotLoader(gymLogDAO, archiveDAO);
+        return CompletableFuture.supplyAsync(() -> loader.load(loggedInUserId), GymLogDatabase.databaseReadExecutor)
+                .thenApplyAsync(analytics::analyze, ForkJoinPool.commonPool())
+                .thenApply(report -> {
+                    for (ExerciseAnalytics exercise : report.getExercises()) {
+                        exercise.setExercise(database.exerciseDictionary().nameOf(exercise.getExerciseId()));
+                    }
+                    return report;
+                })
+                .whenComplete((report, e) -> {
+                    if (e != null) {
+                        Log.i(MainActivity.TAG, "Problem when analysing GymLogs in the repository", e);
+                    }
+                });
+    }
+
+    /**
+     * Returns the cache of the newest GymLog records of recently viewed users, for its hit and miss metrics.
+     * @return the GymLog cache
+     */
+    public GymLogCache getLogCache() {
+        return logCache;
+    }
+
+    /**
+     * Returns the diagnostics of the database: per-statement latency histograms, executor queues and slow queries.
+     * @return the database diagnostics
+     */
+    public DatabaseDiagnostics getDiagnostics() {
+        return GymLogDatabase.diagnostics;
+    }
+
+    /**
+     * Returns an executor that runs writes to the GymLog table on the writer executor, each between
+     * {@link GymLogCache#beginWrite} and {@link GymLogCache#endWrite}.
+     * @param changedUsers the IDs of the users whose records the writes change, or null for any user
+     * @return the executor
+     */
+    private Executor logsWriteExecutor(@Nullable Collection<Integer> changedUsers) {
+        return command -> GymLogDatabase.databaseWriteExecutor.execute(() -> {
+            logCache.beginWrite();
+            try {
+                command.run();
+            } finally {
+                logCache.endWrite(changedUsers);
+            }
+        });
+    }
+
+    /**
+     * Loads the newest records of a user into the cache.
+     * Runs on the read executor. The result is dropped if the GymLog table was written in the meantime.
+     * @param userId the ID of the user
+     */
+    private void loadCache(int userId) {
+        long generation = logCache.generation();
         try {
-            return future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            Log.i(MainActivity.TAG, "Problem when getting all GymLogs in the repository");
+            logCache.put(userId, gymLogDAO.getPageByUserId(userId, INITIAL_LOAD_SIZE), INITIAL_LOAD_SIZE, generation);
+        } catch (RuntimeException e) {
+            Log.i(MainActivity.TAG, "Problem when loading cached GymLogs in the repository", e);
+        }
+    }
+
+    /**
+     * The months of one archiveColdLogs run and what was done with them. Its tasks run one after the other.
+     */
+    private static final class ArchiveRun {
+//      The user ID and month of every month to archive, in order.
+        private final List<int[]> months = new ArrayList<>();
+        private final long usedBytesBefore;
+        private int monthsArchived;
+        private int monthsSkipped;
+        private int rowsArchived;
+
+        ArchiveRun(long usedBytesBefore) {
+            this.usedBytesBefore = usedBytesBefore;
         }
-        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,359 @@
+package com.gymlog.database;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.gymlog.database.entities.ChangeLogEntry;
+import com.gymlog.database.entities.ExerciseRollup;
+import com.gymlog.database.entities.ExerciseStats;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogTriggers holds the SQLite triggers that keep derived tables in step with the GymLog table,
+ * the triggers that queue changes of the GymLog and User tables for upload by the sync engine once it has registered,
+ * the triggers that append changes of the GymLog table to its change log, and the triggers that keep
+ * its day, week and month rollups.
+ * Room does not model triggers, so they are created here for a new database and by the migrations
+ * in {@link com.gymlog.database.migrations.GymLogMigrations} for an upgraded one, which keep their own frozen copy.
+ * Running the maintenance inside SQLite means every write path, single inserts, bulk imports and
+ * REPLACE conflicts alike, updates the derived rows in the same transaction as the GymLog row.
+ * An INSERT OR REPLACE of an existing ID fires the insert triggers only, which queue the row as changed,
+ * not as deleted and added again, and log it as an update.
+ * Rows moved to or from the archive by the {@link ArchiveDAO} are not changed records, so while a move is
+ * flagged in the archiveMoveTable the insert and delete triggers leave the sync queue, the change log, the
+ * stats and the rollups alone. Stats count the archived sets through their summaries in the
+ * gymLogArchiveStatsTable, and rollups keep the buckets of archived days.
+ */
+final class GymLogTriggers {
+
+    private static final String STATS_COLUMNS =
+            "`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`";
+//  False while a month is being moved to or from the archive.
+    private static final String NOT_MOVING = "NOT EXISTS (SELECT 1 FROM `" + GymLogDatabase.ARCHIVE_MOVE_TABLE + "`)";
+//  True once this client has registered with a sync server; until then nothing is queued for upload.
+//  The current time in epoch milliseconds. SQLite reads the clock once per statement, so every trigger a
+//  statement fires sees the same value.
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+    private static final String SYNC_REGISTERED = "EXISTS (SELECT 1 FROM `" + GymLogDatabase.SYNC_STATE_TABLE + "`" +
+            " WHERE `name` = '" + SyncDAO.CLIENT_ID + "')";
+
+//  Adds a new set to the running stats of its exercise.
+    static final String STATS_AFTER_INSERT = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_insert`" +
+            " AFTER INSERT ON `" + GymLogDatabase.GYM_LOG_TABLE + "` WHEN " + NOT_MOVING + " BEGIN " +
+            "INSERT INTO `" + GymLogDatabase.EXERCISE_STATS_TABLE + "` (" + STATS_COLUMNS + ")" +
+            " VALUES (NEW.`userId`, NEW.`exerciseId`, NEW.`weight`, " + estimatedOneRepMax("NEW.") + "," +
+            " NEW.`weight` * NEW.`reps`, 1, NEW.`reps`)" +
+            " ON CONFLICT (`userId`, `exerciseId`) DO UPDATE SET" +
+            " `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`)," +
+            " `bestEstimatedOneRepMax` = MAX(`bestEstimatedOneRepMax`, excluded.`bestEstimatedOneRepMax`)," +
+            " `totalVolume` = `totalVolume` + excluded.`totalVolume`," +
+            " `setCount` = `setCount` + 1," +
+            " `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+//  An INSERT OR REPLACE of an existing ID removes the old row without firing delete triggers,
+//  so the stats of the replaced row are rebuilt without it before the new row is added.
+    static final String STATS_BEFORE_REPLACE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_before_replace`" +
+            " BEFORE INSERT ON `" + GymLogDatabase.GYM_LOG_TABLE + "`" +
+            " WHEN EXISTS (SELECT 1 FROM `" + GymLogDatabase.GYM_LOG_TABLE + "` WHERE `id` = NEW.`id`) BEGIN " +
+            recomputeStats("(SELECT `userId` FROM `" + GymLogDatabase.GYM_LOG_TABLE + "` WHERE `id` = NEW.`id`)",
+                    "(SELECT `exerciseId` FROM `" + GymLogDatabase.GYM_LOG_TABLE + "` WHERE `id` = NEW.`id`)",
+                    " AND `id` <> NEW.`id`") +
+            "END";
+
+//  Maxima cannot be decremented, so a deleted set rebuilds the stats of its exercise.
+    static final String STATS_AFTER_DELETE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_delete`" +
+            " AFTER DELETE ON `" + GymLogDatabase.GYM_LOG_TABLE + "` WHEN " + NOT_MOVING + " BEGIN " +
+            recomputeStats("OLD.`userId`", "OLD.`exerciseId`", "") +
+            "END";
+
+//  An edited set rebuilds the stats of the exercise it left and the exercise it now belongs to.
+    static final String STATS_AFTER_UPDATE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_update`" +
+            " AFTER UPDATE OF `userId`, `exerciseId`, `weight`, `reps` ON `" + GymLogDatabase.GYM_LOG_TABLE + "` BEGIN " +
+            recomputeStats("OLD.`userId`", "OLD.`exerciseId`", "") +
+            recomputeStats("NEW.`userId`", "NEW.`exerciseId`", "") +
+            "END";
+
+//  Bumps the version of a record edited by an UPDATE that left the version unchanged, so a direct SQL edit
+//  is still visible to version comparisons. The nested update only sets the version, so it fires no other trigger.
+    static final String VERSION_AFTER_UPDATE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_version_after_update`" +
+            " AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `userId` ON `" + GymLogDatabase.GYM_LOG_TABLE + "`" +
+            " WHEN NEW.`version` = OLD.`version` BEGIN " +
+            "UPDATE `" + GymLogDatabase.GYM_LOG_TABLE + "` SET `version` = OLD.`version` + 1 WHERE `id` = NEW.`id`; " +
+            "END";
+
+//  Queue every added, edited and deleted GymLog and User row for upload, once a client ID is registered.
+//  Updates are queued only for the columns the server stores, so setting the remote ID after an upload does not
+//  queue the row again.
+    static final String SYNC_GYM_LOG_AFTER_INSERT = syncTrigger("gymLogTable_sync_after_insert", "AFTER INSERT",
+            GymLogDatabase.GYM_LOG_TABLE, "NEW", false, " AND " + NOT_MOVING);
+    static final String SYNC_GYM_LOG_AFTER_UPDATE = syncTrigger("gymLogTable_sync_after_update",
+            "AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `zoneOffset`, `userId`", GymLogDatabase.GYM_LOG_TABLE, "NEW", false, "");
+    static final String SYNC_GYM_LOG_AFTER_DELETE = syncTrigger("gymLogTable_sync_after_delete", "AFTER DELETE",
+            GymLogDatabase.GYM_LOG_TABLE, "OLD", true, " AND " + NOT_MOVING);
+    static final String SYNC_USER_AFTER_INSERT = syncTrigger("usertable_sync_after_insert", "AFTER INSERT",
+            GymLogDatabase.USER_TABLE, "NEW", false, "");
+    static final String SYNC_USER_AFTER_UPDATE = syncTrigger("usertable_sync_after_update",
+            "AFTER UPDATE OF `username`, `passwordHash`, `isAdmin`", GymLogDatabase.USER_TABLE, "NEW", false, "");
+    static final String SYNC_USER_AFTER_DELETE = syncTrigger("usertable_sync_after_delete", "AFTER DELETE",
+            GymLogDatabase.USER_TABLE, "OLD", true, "");
+
+//  Append every added, edited and deleted GymLog row to the change log, while any consumer is registered to read it.
+//  Like the sync queue, edits are logged only for the columns a user can change.
+//  An INSERT OR REPLACE of an existing ID is an edit: it is logged as an update before the insert, and the insert
+//  trigger then skips the row, as the last entry of the log is that update, written by the same statement.
+    static final String CHANGE_LOG_BEFORE_REPLACE = changeLogTrigger("gymLogTable_changeLog_before_replace", "BEFORE INSERT",
+            "NEW", ChangeLogEntry.UPDATE,
+            " AND EXISTS (SELECT 1 FROM `" + GymLogDatabase.GYM_LOG_TABLE + "` WHERE `id` = NEW.`id`)");
+    static final String CHANGE_LOG_AFTER_INSERT = changeLogTrigger("gymLogTable_changeLog_after_insert", "AFTER INSERT",
+            "NEW", ChangeLogEntry.INSERT, " AND " + NOT_MOVING +
+                    " AND NOT EXISTS (SELECT 1 FROM `" + GymLogDatabase.CHANGE_LOG_TABLE + "`" +
+                    " WHERE `seq` = (SELECT MAX(`seq`) FROM `" + GymLogDatabase.CHANGE_LOG_TABLE + "`)" +
+                    " AND `rowId` = NEW.`id` AND `operation` = " + ChangeLogEntry.UPDATE + " AND `changedAt` = " + NOW_MILLIS + ")");
+    static final String CHANGE_LOG_AFTER_UPDATE = changeLogTrigger("gymLogTable_changeLog_after_update",
+            "AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `zoneOffset`, `userId`", "NEW", ChangeLogEntry.UPDATE, "");
+    static final String CHANGE_LOG_AFTER_DELETE = changeLogTrigger("gymLogTable_changeLog_after_delete", "AFTER DELETE",
+            "OLD", ChangeLogEntry.DELETE, " AND " + NOT_MOVING);
+
+//  Add every new set to the totals of its day, week and month, and take every deleted set out of them.
+//  An edit takes the set out of the buckets it was in and adds it to the ones it is in now.
+    static final String ROLLUP_AFTER_INSERT = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_insert`" +
+            " AFTER INSERT ON `" + GymLogDatabase.GYM_LOG_TABLE + "` WHEN " + NOT_MOVING + " BEGIN " +
+            addToRollups(column -> "NEW.`" + column + "`") +
+            "END";
+    static final String ROLLUP_BEFORE_REPLACE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_before_replace`" +
+            " BEFORE INSERT ON `" + GymLogDatabase.GYM_LOG_TABLE + "`" +
+            " WHEN EXISTS (SELECT 1 FROM `" + GymLogDatabase.GYM_LOG_TABLE + "` WHERE `id` = NEW.`id`) BEGIN " +
+            removeFromRollups(column -> "(SELECT `" + column + "` FROM `" + GymLogDatabase.GYM_LOG_TABLE + "` WHERE `id` = NEW.`id`)",
+                    " AND g.`id` <> NEW.`id`") +
+            "END";
+    static final String ROLLUP_AFTER_DELETE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_delete`" +
+            " AFTER DELETE ON `" + GymLogDatabase.GYM_LOG_TABLE + "` WHEN " + NOT_MOVING + " BEGIN " +
+            removeFromRollups(column -> "OLD.`" + column + "`", "") +
+            "END";
+    static final String ROLLUP_AFTER_UPDATE = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_update`" +
+            " AFTER UPDATE OF `userId`, `exerciseId`, `weight`, `reps`, `date`, `zoneOffset` ON `" + GymLogDatabase.GYM_LOG_TABLE + "` BEGIN " +
+            removeFromRollups(column -> "OLD.`" + column + "`", "") +
+            addToRollups(column -> "NEW.`" + column + "`") +
+            "END";
+
+    private GymLogTriggers() {
+    }
+
+    /**
+     * Creates every trigger of the current schema. Called when Room creates a new database.
+     * @param db the database being created
+     */
+    static void create(SupportSQLiteDatabase db) {
+        db.execSQL(STATS_AFTER_INSERT);
+        db.execSQL(STATS_BEFORE_REPLACE);
+        db.execSQL(STATS_AFTER_DELETE);
+        db.execSQL(STATS_AFTER_UPDATE);
+        db.execSQL(VERSION_AFTER_UPDATE);
+        db.execSQL(SYNC_GYM_LOG_AFTER_INSERT);
+        db.execSQL(SYNC_GYM_LOG_AFTER_UPDATE);
+        db.execSQL(SYNC_GYM_LOG_AFTER_DELETE);
+        db.execSQL(SYNC_USER_AFTER_INSERT);
+        db.execSQL(SYNC_USER_AFTER_UPDATE);
+        db.execSQL(SYNC_USER_AFTER_DELETE);
+        db.execSQL(CHANGE_LOG_BEFORE_REPLACE);
+        db.execSQL(CHANGE_LOG_AFTER_INSERT);
+        db.execSQL(CHANGE_LOG_AFTER_UPDATE);
+        db.execSQL(CHANGE_LOG_AFTER_DELETE);
+        db.execSQL(ROLLUP_AFTER_INSERT);
+        db.execSQL(ROLLUP_BEFORE_REPLACE);
+        db.execSQL(ROLLUP_AFTER_DELETE);
+        db.execSQL(ROLLUP_AFTER_UPDATE);
+    }
+
+    /**
+     * Builds the statements that rebuild the {@link ExerciseStats} row of one user and exercise from the GymLog table
+     * and the summaries of the archived months. The row is removed when the user has no sets of the exercise left.
+     * @param userId     an SQL expression for the user ID
+     * @param exerciseId an SQL expression for the exercise ID
+     * @param condition  an extra condition on the GymLog rows included, or an empty string
+     * @return the delete and insert statements, each terminated by a semicolon
+     */
+    private static String recomputeStats(String userId, String exerciseId, String condition) {
+        return "DELETE FROM `" + GymLogDatabase.EXERCISE_STATS_TABLE + "` WHERE `userId` = " + userId +
+                " AND `exerciseId` = " + exerciseId + "; " +
+                "INSERT INTO `" + GymLogDatabase.EXERCISE_STATS_TABLE + "` (" + STATS_COLUMNS + ")" +
+                " SELECT `userId`, `exerciseId`, MAX(`maxWeight`), MAX(`bestEstimatedOneRepMax`)," +
+                " SUM(`totalVolume`), SUM(`setCount`), SUM(`totalReps`) FROM (" +
+                "SELECT `userId`, `exerciseId`, MAX(`weight`) AS `maxWeight`," +
+                " MAX(" + estimatedOneRepMax("") + ") AS `bestEstimatedOneRepMax`, SUM(`weight` * `reps`) AS `totalVolume`," +
+                " COUNT(*) AS `setCount`, SUM(`reps`) AS `totalReps` FROM `" + GymLogDatabase.GYM_LOG_TABLE + "`" +
+                " WHERE `userId` = " + userId + " AND `exerciseId` = " + exerciseId + condition +
+                " GROUP BY `userId`, `exerciseId`" +
+                " UNION ALL SELECT " + STATS_COLUMNS + " FROM `" + GymLogDatabase.GYM_LOG_ARCHIVE_STATS_TABLE + "`" +
+                " WHERE `userId` = " + userId + " AND `exerciseId` = " + exerciseId +
+                ") GROUP BY `userId`, `exerciseId`; ";
+    }
+
+    /**
+     * Builds a trigger that queues a changed row for upload in the {@link com.gymlog.database.entities.SyncPending} table,
+     * when a client ID is registered; {@link SyncDAO#register} queues the rows that existed before.
+     * A row already queued gets a new sequence number and keeps the remote ID it was queued with if it has none.
+     * @param name      the name of the trigger
+     * @param event     the event the trigger fires on, e.g. "AFTER INSERT"
+     * @param table     the synced table
+     * @param row       the row the trigger reads, "NEW" or "OLD"
+     * @param deleted   whether the change is a deletion
+     * @param condition an extra condition the trigger fires on, starting with " AND ", or an empty string
+     * @return the CREATE TRIGGER statement
+     */
+    private static String syncTrigger(String name, String event, String table, String row, boolean deleted, String condition) {
+        return "CREATE TRIGGER IF NOT EXISTS `" + name + "` " + event + " ON `" + table + "`" +
+                " WHEN " + SYNC_REGISTERED + condition + " BEGIN " +
+                "INSERT INTO `" + GymLogDatabase.SYNC_PENDING_TABLE + "` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+                " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `" + GymLogDatabase.SYNC_PENDING_TABLE + "`), '" + table + "', " +
+                row + ".`id`, " + row + ".`remoteId`, " + (deleted ? 1 : 0) + ")" +
+                " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+                " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+                "END";
+    }
+
+    /**
+     * Builds a trigger that appends a change of a GymLog row to the {@link ChangeLogEntry} log, stamped with the
+     * current time, when the log has at least one consumer.
+     * @param name      the name of the trigger
+     * @param event     the event the trigger fires on, e.g. "AFTER INSERT"
+     * @param row       the row the trigger reads, "NEW" or "OLD"
+     * @param operation the kind of change logged, e.g. {@link ChangeLogEntry#INSERT}
+     * @param condition an extra condition the trigger fires on, starting with " AND ", or an empty string
+     * @return the CREATE TRIGGER statement
+     */
+    private static String changeLogTrigger(String name, String event, String row, int operation, String condition) {
+        return "CREATE TRIGGER IF NOT EXISTS `" + name + "` " + event + " ON `" + GymLogDatabase.GYM_LOG_TABLE + "`" +
+                " WHEN EXISTS (SELECT 1 FROM `" + GymLogDatabase.CHANGE_LOG_CURSOR_TABLE + "`)" + condition + " BEGIN " +
+                "INSERT INTO `" + GymLogDatabase.CHANGE_LOG_TABLE + "` (`rowId`, `userId`, `operation`, `changedAt`)" +
+                " VALUES (" + row + ".`id`, " + row + ".`userId`, " + operation + ", " + NOW_MILLIS + "); " +
+                "END";
+    }
+
+    /**
+     * Builds the statements that add a set to its {@link ExerciseRollup} rows of every period.
+     * @param row maps a GymLog column to an SQL expression for its value in the added set
+     * @return the upsert statements, each terminated by a semicolon
+     */
+    private static String addToRollups(UnaryOperator<String> row) {
+        StringBuilder sql = new StringBuilder();
+        for (int period : new int[]{ExerciseRollup.DAY, ExerciseRollup.WEEK, ExerciseRollup.MONTH}) {
+            sql.append("INSERT INTO `").append(GymLogDatabase.EXERCISE_ROLLUP_TABLE).append("`")
+                    .append(" (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`)")
+                    .append(" VALUES (").append(row.apply("userId")).append(", ").append(row.apply("exerciseId")).append(", ")
+                    .append(period).append(", ").append(bucket(period, localDay(row))).append(", ")
+                    .append(row.apply("weight")).append(" * ").append(row.apply("reps")).append(", ")
+                    .append(row.apply("weight")).append(", 1, ").append(row.apply("reps")).append(")")
+                    .append(" ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET")
+                    .append(" `totalVolume` = `totalVolume` + excluded.`totalVolume`,")
+                    .append(" `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`),")
+                    .append(" `setCount` = `setCount` + 1,")
+                    .append(" `totalReps` = `totalReps` + excluded.`totalReps`; ");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Builds the statements that take a set out of its {@link ExerciseRollup} rows of every period.
+     * Sums are decremented. The maximum weight is kept unless the set was the heaviest of its bucket, in which
+     * case it is looked up again: for a day among the sets left in the day, and for a week or a month among the
+     * day rollups left in it, which are updated first. A week can span an archived month, whose sets are no
+     * longer in the GymLog table but whose days keep their rollups. A bucket with no sets left is removed.
+     * @param row       maps a GymLog column to an SQL expression for its value in the removed set
+     * @param condition an extra condition on the GymLog rows g the maximum of a day is looked up in, or an empty string
+     * @return the update and delete statements, each terminated by a semicolon
+     */
+    private static String removeFromRollups(UnaryOperator<String> row, String condition) {
+        StringBuilder sql = new StringBuilder();
+        for (int period : new int[]{ExerciseRollup.DAY, ExerciseRollup.WEEK, ExerciseRollup.MONTH}) {
+            String start = bucket(period, localDay(row));
+            String end = nextBucket(period, start);
+            String key = " WHERE `userId` = " + row.apply("userId") + " AND `exerciseId` = " + row.apply("exerciseId") +
+                    " AND `period` = " + period + " AND `bucket` = " + start;
+            String gLocalDay = localDay(column -> "g.`" + column + "`");
+            sql.append("UPDATE `").append(GymLogDatabase.EXERCISE_ROLLUP_TABLE).append("` SET")
+                    .append(" `totalVolume` = `totalVolume` - ").append(row.apply("weight")).append(" * ").append(row.apply("reps")).append(",")
+                    .append(" `maxWeight` = CASE WHEN ").append(row.apply("weight")).append(" < `maxWeight` THEN `maxWeight`");
+            if (period == ExerciseRollup.DAY) {
+                sql.append(" ELSE IFNULL((SELECT MAX(g.`weight`) FROM `").append(GymLogDatabase.GYM_LOG_TABLE).append("` g")
+                        .append(" WHERE g.`userId` = ").append(row.apply("userId"))
+                        .append(" AND g.`exerciseId` = ").append(row.apply("exerciseId"))
+                        .append(" AND g.`date` >= (").append(start).append(") * 86400000 - 64800000")
+                        .append(" AND g.`date` < (").append(end).append(") * 86400000 + 64800000")
+                        .append(" AND ").append(gLocalDay).append(" >= ").append(start)
+                        .append(" AND ").append(gLocalDay).append(" < ").append(end)
+                        .append(condition).append("), 0) END,");
+            } else {
+                sql.append(" ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `").append(GymLogDatabase.EXERCISE_ROLLUP_TABLE).append("` d")
+                        .append(" WHERE d.`userId` = ").append(row.apply("userId"))
+                        .append(" AND d.`exerciseId` = ").append(row.apply("exerciseId"))
+                        .append(" AND d.`period` = ").append(ExerciseRollup.DAY)
+                        .append(" AND d.`bucket` >= ").append(start)
+                        .append(" AND d.`bucket` < ").append(end).append("), 0) END,");
+            }
+            sql.append(" `setCount` = `setCount` - 1,")
+                    .append(" `totalReps` = `totalReps` - ").append(row.apply("reps"))
+                    .append(key).append("; ")
+                    .append("DELETE FROM `").append(GymLogDatabase.EXERCISE_ROLLUP_TABLE).append("`")
+                    .append(key).append(" AND `setCount` <= 0; ");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Builds the local day of a set, as an epoch day in the time zone it was logged in.
+     * @param row maps a GymLog column to an SQL expression for its value
+     * @return an SQL expression for the epoch day
+     */
+    private static String localDay(UnaryOperator<String> row) {
+        return "((" + row.apply("date") + " + " + row.apply("zoneOffset") + " * 1000) / 86400000)";
+    }
+
+    /**
+     * Builds the bucket of a period a day falls in, as {@link ExerciseRollup#bucketOf} computes it.
+     * @param period DAY, WEEK or MONTH
+     * @param day    an SQL expression for an epoch day
+     * @return an SQL expression for the epoch day the bucket starts on
+     */
+    private static String bucket(int period, String day) {
+        switch (period) {
+            case ExerciseRollup.DAY:
+                return day;
+            case ExerciseRollup.WEEK:
+                return "(" + day + " - (" + day + " + 3) % 7)";
+            default:
+                return "CAST(julianday(" + day + " * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER)";
+        }
+    }
+
+    /**
+     * Builds the start of the bucket that follows a bucket, as {@link ExerciseRollup#nextBucket} computes it.
+     * @param period DAY, WEEK or MONTH
+     * @param bucket an SQL expression for the epoch day a bucket starts on
+     * @return an SQL expression for the epoch day the next bucket starts on
+     */
+    private static String nextBucket(int period, String bucket) {
+        switch (period) {
+            case ExerciseRollup.DAY:
+                return "(" + bucket + " + 1)";
+            case ExerciseRollup.WEEK:
+                return "(" + bucket + " + 7)";
+            default:
+                return "CAST(julianday(" + bucket + " * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)";
+        }
+    }
+
+    /**
+     * Builds the Epley estimated one-rep max of a GymLog row.
+     * @param row the prefix of the row's columns, e.g. "NEW." inside a trigger or "" in a query over the table
+     * @return an SQL expression for the estimated one-rep max
+     */
+    private static String estimatedOneRepMax(String row) {
+        return "CASE WHEN " + row + "`reps` <= 1 THEN " + row + "`weight` * " + row + "`reps`" +
+                " ELSE " + row + "`weight` * (1 + " + row + "`reps` / 30.0) END";
+    }
+}
@@ -0,0 +1,19 @@
+package com.gymlog.database;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ImportProgressListener receives progress updates from long-running GymLog imports.
+ * Updates are delivered on the database writer thread, so implementations should hand off any UI work.
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    /**
+     * Called after a chunk of records has been committed.
+     * @param imported the number of records committed so far
+     * @param total    the total number of records in the import, or -1 if it is not known in advance
+     */
+    void onProgress(int imported, int total);
+}
@@ -0,0 +1,438 @@
+package com.gymlog.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteTransactionListener;
+import android.os.CancellationSignal;
+import android.util.Pair;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * InstrumentedDatabase passes every call to another database and records each statement in a {@link DatabaseDiagnostics}.
+ * A query is timed from the call until its cursor is closed and counts the rows the caller moved to, so a query whose
+ * caller reads only its first row is not charged for the rest. A write is timed around its execution and counts the
+ * rows it changed. Statements that fail are not recorded.
+ */
+final class InstrumentedDatabase implements SupportSQLiteDatabase {
+
+    private final SupportSQLiteDatabase delegate;
+    private final DatabaseDiagnostics diagnostics;
+
+    /**
+     * Constructs a new InstrumentedDatabase.
+     * @param delegate    the database that runs the statements
+     * @param diagnostics the diagnostics the statements are recorded in
+     */
+    InstrumentedDatabase(SupportSQLiteDatabase delegate, DatabaseDiagnostics diagnostics) {
+        this.delegate = delegate;
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Checks whether this wrapper is the one of a database.
+     * @param db a database opened by the open helper
+     * @return true if this wrapper passes its calls to the database
+     */
+    boolean wraps(SupportSQLiteDatabase db) {
+        return delegate == db;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteStatement compileStatement(@NonNull String sql) {
+        return new InstrumentedStatement(sql, delegate.compileStatement(sql));
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull String query) {
+        long start = System.nanoTime();
+        return new InstrumentedCursor(query, start, delegate.query(query));
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull String query, @NonNull Object[] bindArgs) {
+        long start = System.nanoTime();
+        return new InstrumentedCursor(query, start, delegate.query(query, bindArgs));
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull SupportSQLiteQuery query) {
+        long start = System.nanoTime();
+        return new InstrumentedCursor(query.getSql(), start, delegate.query(query));
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull SupportSQLiteQuery query, @Nullable CancellationSignal cancellationSignal) {
+        long start = System.nanoTime();
+        return new InstrumentedCursor(query.getSql(), start, delegate.query(query, cancellationSignal));
+    }
+
+    @Override
+    public long insert(@NonNull String table, int conflictAlgorithm, @NonNull ContentValues values) throws SQLException {
+        long start = System.nanoTime();
+        long id = delegate.insert(table, conflictAlgorithm, values);
+        diagnostics.record("INSERT INTO " + table, System.nanoTime() - start, id == -1 ? 0 : 1);
+        return id;
+    }
+
+    @Override
+    public int delete(@NonNull String table, @Nullable String whereClause, @Nullable Object[] whereArgs) {
+        long start = System.nanoTime();
+        int rows = delegate.delete(table, whereClause, whereArgs);
+        diagnostics.record("DELETE FROM " + table + (whereClause == null ? "" : " WHERE " + whereClause),
+                System.nanoTime() - start, rows);
+        return rows;
+    }
+
+    @Override
+    public int update(@NonNull String table, int conflictAlgorithm, @NonNull ContentValues values,
+                      @Nullable String whereClause, @Nullable Object[] whereArgs) {
+        long start = System.nanoTime();
+        int rows = delegate.update(table, conflictAlgorithm, values, whereClause, whereArgs);
+        diagnostics.record("UPDATE " + table + (whereClause == null ? "" : " WHERE " + whereClause),
+                System.nanoTime() - start, rows);
+        return rows;
+    }
+
+    @Override
+    public void execSQL(@NonNull String sql) throws SQLException {
+        long start = System.nanoTime();
+        delegate.execSQL(sql);
+        diagnostics.record(sql, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    public void execSQL(@NonNull String sql, @NonNull Object[] bindArgs) throws SQLException {
+        long start = System.nanoTime();
+        delegate.execSQL(sql, bindArgs);
+        diagnostics.record(sql, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    public void beginTransaction() {
+        delegate.beginTransaction();
+    }
+
+    @Override
+    public void beginTransactionNonExclusive() {
+        delegate.beginTransactionNonExclusive();
+    }
+
+    @Override
+    public void beginTransactionWithListener(@NonNull SQLiteTransactionListener transactionListener) {
+        delegate.beginTransactionWithListener(transactionListener);
+    }
+
+    @Override
+    public void beginTransactionWithListenerNonExclusive(@NonNull SQLiteTransactionListener transactionListener) {
+        delegate.beginTransactionWithListenerNonExclusive(transactionListener);
+    }
+
+    @Override
+    public void endTransaction() {
+        delegate.endTransaction();
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        delegate.setTransactionSuccessful();
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return delegate.inTransaction();
+    }
+
+    @Override
+    public boolean isDbLockedByCurrentThread() {
+        return delegate.isDbLockedByCurrentThread();
+    }
+
+    @Override
+    public boolean yieldIfContendedSafely() {
+        return delegate.yieldIfContendedSafely();
+    }
+
+    @Override
+    public boolean yieldIfContendedSafely(long sleepAfterYieldDelayMillis) {
+        return delegate.yieldIfContendedSafely(sleepAfterYieldDelayMillis);
+    }
+
+    @Override
+    public boolean isExecPerConnectionSQLSupported() {
+        return delegate.isExecPerConnectionSQLSupported();
+    }
+
+    @Override
+    public void execPerConnectionSQL(@NonNull String sql, @Nullable Object[] bindArgs) {
+        delegate.execPerConnectionSQL(sql, bindArgs);
+    }
+
+    @Override
+    public int getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void setVersion(int version) {
+        delegate.setVersion(version);
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return delegate.getMaximumSize();
+    }
+
+    @Override
+    public long setMaximumSize(long numBytes) {
+        return delegate.setMaximumSize(numBytes);
+    }
+
+    @Override
+    public long getPageSize() {
+        return delegate.getPageSize();
+    }
+
+    @Override
+    public void setPageSize(long numBytes) {
+        delegate.setPageSize(numBytes);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return delegate.isReadOnly();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public boolean needUpgrade(int newVersion) {
+        return delegate.needUpgrade(newVersion);
+    }
+
+    @Nullable
+    @Override
+    public String getPath() {
+        return delegate.getPath();
+    }
+
+    @Override
+    public void setLocale(@NonNull Locale locale) {
+        delegate.setLocale(locale);
+    }
+
+    @Override
+    public void setMaxSqlCacheSize(int cacheSize) {
+        delegate.setMaxSqlCacheSize(cacheSize);
+    }
+
+    @Override
+    public void setForeignKeyConstraintsEnabled(boolean enabled) {
+        delegate.setForeignKeyConstraintsEnabled(enabled);
+    }
+
+    @Override
+    public boolean enableWriteAheadLogging() {
+        return delegate.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void disableWriteAheadLogging() {
+        delegate.disableWriteAheadLogging();
+    }
+
+    @Override
+    public boolean isWriteAheadLoggingEnabled() {
+        return delegate.isWriteAheadLoggingEnabled();
+    }
+
+    @Nullable
+    @Override
+    public List<Pair<String, String>> getAttachedDbs() {
+        return delegate.getAttachedDbs();
+    }
+
+    @Override
+    public boolean isDatabaseIntegrityOk() {
+        return delegate.isDatabaseIntegrityOk();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * A compiled statement that records every execution. Room compiles its inserts, updates and deletes once
+     * and executes them many times, so each execution is recorded separately under the same SQL.
+     */
+    private final class InstrumentedStatement implements SupportSQLiteStatement {
+
+        private final String sql;
+        private final SupportSQLiteStatement statement;
+
+        InstrumentedStatement(String sql, SupportSQLiteStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        @Override
+        public void execute() {
+            long start = System.nanoTime();
+            statement.execute();
+            diagnostics.record(sql, System.nanoTime() - start, 0);
+        }
+
+        @Override
+        public int executeUpdateDelete() {
+            long start = System.nanoTime();
+            int rows = statement.executeUpdateDelete();
+            diagnostics.record(sql, System.nanoTime() - start, rows);
+            return rows;
+        }
+
+        @Override
+        public long executeInsert() {
+            long start = System.nanoTime();
+            long id = statement.executeInsert();
+            diagnostics.record(sql, System.nanoTime() - start, id == -1 ? 0 : 1);
+            return id;
+        }
+
+        @Override
+        public long simpleQueryForLong() {
+            long start = System.nanoTime();
+            long value = statement.simpleQueryForLong();
+            diagnostics.record(sql, System.nanoTime() - start, 1);
+            return value;
+        }
+
+        @Nullable
+        @Override
+        public String simpleQueryForString() {
+            long start = System.nanoTime();
+            String value = statement.simpleQueryForString();
+            diagnostics.record(sql, System.nanoTime() - start, 1);
+            return value;
+        }
+
+        @Override
+        public void bindNull(int index) {
+            statement.bindNull(index);
+        }
+
+        @Override
+        public void bindLong(int index, long value) {
+            statement.bindLong(index, value);
+        }
+
+        @Override
+        public void bindDouble(int index, double value) {
+            statement.bindDouble(index, value);
+        }
+
+        @Override
+        public void bindString(int index, @NonNull String value) {
+            statement.bindString(index, value);
+        }
+
+        @Override
+        public void bindBlob(int index, @NonNull byte[] value) {
+            statement.bindBlob(index, value);
+        }
+
+        @Override
+        public void clearBindings() {
+            statement.clearBindings();
+        }
+
+        @Override
+        public void close() throws IOException {
+            statement.close();
+        }
+    }
+
+    /**
+     * A cursor that records its query when it is closed, with the number of rows the caller moved to.
+     */
+    private final class InstrumentedCursor extends CursorWrapper {
+
+        private final String sql;
+        private final long start;
+        private int rowsRead;
+        private boolean recorded;
+
+        InstrumentedCursor(String sql, long start, Cursor cursor) {
+            super(cursor);
+            this.sql = sql;
+            this.start = start;
+        }
+
+        @Override
+        public boolean moveToNext() {
+            return track(super.moveToNext());
+        }
+
+        @Override
+        public boolean moveToFirst() {
+            return track(super.moveToFirst());
+        }
+
+        @Override
+        public boolean moveToLast() {
+            return track(super.moveToLast());
+        }
+
+        @Override
+        public boolean moveToPosition(int position) {
+            return track(super.moveToPosition(position));
+        }
+
+        @Override
+        public boolean move(int offset) {
+            return track(super.move(offset));
+        }
+
+        @Override
+        public void close() {
+            if (!recorded) {
+                recorded = true;
+                diagnostics.record(sql, System.nanoTime() - start, rowsRead);
+            }
+            super.close();
+        }
+
+        /**
+         * Counts the rows up to the current one as read after a successful move.
+         * @param moved whether the cursor moved to a row
+         * @return the given result
+         */
+        private boolean track(boolean moved) {
+            if (moved) {
+                rowsRead = Math.max(rowsRead, getPosition() + 1);
+            }
+            return moved;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * InstrumentedOpenHelperFactory opens databases with another factory and hands Room an {@link InstrumentedDatabase}
+ * in place of each one, so every statement Room runs is timed into a {@link DatabaseDiagnostics}.
+ * Room's query callback reports the SQL of a statement when it starts but not how long it took or how many rows
+ * it read, which is why the database itself is wrapped.
+ */
+final class InstrumentedOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+    private final DatabaseDiagnostics diagnostics;
+
+    /**
+     * Constructs a new InstrumentedOpenHelperFactory.
+     * @param delegate    the factory that opens the databases
+     * @param diagnostics the diagnostics the statements are recorded in
+     */
+    InstrumentedOpenHelperFactory(SupportSQLiteOpenHelper.Factory delegate, DatabaseDiagnostics diagnostics) {
+        this.delegate = delegate;
+        this.diagnostics = diagnostics;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        return new InstrumentedOpenHelper(delegate.create(configuration), diagnostics);
+    }
+
+    /**
+     * An open helper that returns the same instrumented wrapper for as long as the underlying database is the same.
+     */
+    private static final class InstrumentedOpenHelper implements SupportSQLiteOpenHelper {
+
+        private final SupportSQLiteOpenHelper delegate;
+        private final DatabaseDiagnostics diagnostics;
+        private InstrumentedDatabase database;
+
+        InstrumentedOpenHelper(SupportSQLiteOpenHelper delegate, DatabaseDiagnostics diagnostics) {
+            this.delegate = delegate;
+            this.diagnostics = diagnostics;
+        }
+
+        @Nullable
+        @Override
+        public String getDatabaseName() {
+            return delegate.getDatabaseName();
+        }
+
+        @Override
+        public void setWriteAheadLoggingEnabled(boolean enabled) {
+            delegate.setWriteAheadLoggingEnabled(enabled);
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getWritableDatabase() {
+            return wrap(delegate.getWritableDatabase());
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getReadableDatabase() {
+            return wrap(delegate.getReadableDatabase());
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        /**
+         * Returns the wrapper of a database, creating it the first time the database is seen.
+         * @param db the database opened by the delegate helper
+         * @return the instrumented database
+         */
+        private synchronized SupportSQLiteDatabase wrap(SupportSQLiteDatabase db) {
+            if (database == null || !database.wraps(db)) {
+                database = new InstrumentedDatabase(db, diagnostics);
+            }
+            return database;
+        }
+    }
+}
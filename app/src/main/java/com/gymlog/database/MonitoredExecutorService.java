@@ -0,0 +1,161 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * MonitoredExecutorService runs tasks on another executor and measures its queue: the number of tasks
+ * submitted but not started yet, the deepest the queue has been, and how long tasks waited to start.
+ * A deep queue on the write executor means writes are issued faster than SQLite commits them.
+ * All methods are thread-safe.
+ */
+public final class MonitoredExecutorService extends AbstractExecutorService {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong startedTasks = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Constructs a new MonitoredExecutorService.
+     * @param name     the name of the executor in the diagnostics report
+     * @param delegate the executor that runs the tasks
+     */
+    MonitoredExecutorService(String name, ExecutorService delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Queues a task on the delegate executor and counts it until it starts.
+     * @param task the task to run
+     */
+    @Override
+    public void execute(@NonNull Runnable task) {
+        long queuedAt = System.nanoTime();
+        maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+        try {
+            delegate.execute(() -> {
+                long wait = System.nanoTime() - queuedAt;
+                queueDepth.decrementAndGet();
+                startedTasks.incrementAndGet();
+                totalWaitNanos.addAndGet(wait);
+                maxWaitNanos.accumulateAndGet(wait, Math::max);
+                task.run();
+            });
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the name of the executor.
+     * @return the name used in the diagnostics report
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of tasks waiting to start.
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the largest number of tasks that waited to start at the same time since the last reset.
+     * @return the maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Returns the number of tasks started since the last reset.
+     * @return the task count
+     */
+    public long getStartedTaskCount() {
+        return startedTasks.get();
+    }
+
+    /**
+     * Returns the mean time a task waited in the queue before it started.
+     * @return the mean wait in milliseconds, or 0 if no task started
+     */
+    public double getMeanWaitMillis() {
+        long started = startedTasks.get();
+        return started == 0 ? 0 : totalWaitNanos.get() / 1e6 / started;
+    }
+
+    /**
+     * Returns the longest time a task waited in the queue before it started since the last reset.
+     * @return the maximum wait in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    /**
+     * Clears the task count, the waits and the maximum queue depth. Tasks still queued stay counted.
+     */
+    void reset() {
+        maxQueueDepth.set(queueDepth.get());
+        startedTasks.set(0);
+        totalWaitNanos.set(0);
+        maxWaitNanos.set(0);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @NonNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Formats the queue metrics as one line of the diagnostics report.
+     * @return the name of the executor followed by its metrics
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: queued=%d maxQueued=%d started=%d meanWait=%.2fms maxWait=%.2fms",
+                name, getQueueDepth(), getMaxQueueDepth(), getStartedTaskCount(), getMeanWaitMillis(), getMaxWaitMillis());
+    }
+}
@@ -0,0 +1,86 @@
+package com.gymlog.database;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ProgressPoint is one point of a progression chart: the totals of an exercise's sets over one equal slice
+ * of the charted range, built from {@link com.gymlog.database.entities.ExerciseRollup} rows by
+ * {@link RollupDAO#getSeries}. A slice with no sets has every total at zero.
+ */
+public final class ProgressPoint {
+
+    private final long startMillis;
+    private final long endMillis;
+    private final double totalVolume;
+    private final double maxWeight;
+    private final int setCount;
+    private final int totalReps;
+
+    /**
+     * Constructs a new ProgressPoint.
+     * @param startMillis the start of the slice in UTC epoch milliseconds, inclusive
+     * @param endMillis   the end of the slice in UTC epoch milliseconds, exclusive
+     * @param totalVolume the sum of weight times reps
+     * @param maxWeight   the heaviest weight lifted
+     * @param setCount    the number of sets
+     * @param totalReps   the sum of reps
+     */
+    public ProgressPoint(long startMillis, long endMillis, double totalVolume, double maxWeight, int setCount,
+                         int totalReps) {
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.totalVolume = totalVolume;
+        this.maxWeight = maxWeight;
+        this.setCount = setCount;
+        this.totalReps = totalReps;
+    }
+
+    /**
+     * Returns the start of the slice.
+     * @return the start in UTC epoch milliseconds, inclusive
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Returns the end of the slice.
+     * @return the end in UTC epoch milliseconds, exclusive
+     */
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    /**
+     * Returns the sum of weight times reps over the sets in the slice.
+     * @return the total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * Returns the heaviest weight lifted in the slice.
+     * @return the maximum weight, or 0 if the slice has no sets
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the number of sets in the slice.
+     * @return the set count
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the sum of reps over the sets in the slice.
+     * @return the total reps
+     */
+    public int getTotalReps() {
+        return totalReps;
+    }
+}
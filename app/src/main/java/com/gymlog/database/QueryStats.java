@@ -0,0 +1,165 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * QueryStats holds the call count, rows and latency histogram of one SQL statement, as recorded by
+ * {@link DatabaseDiagnostics}. Latencies are counted in buckets whose upper bounds double from 0.25 ms to 1 s,
+ * plus one bucket for anything slower, so a percentile is known to the bucket it falls in.
+ * All methods are thread-safe.
+ */
+public final class QueryStats {
+
+//  The upper bound of every bucket but the last, in nanoseconds: 0.25 ms, 0.5 ms, 1 ms, ... 1024 ms.
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[13];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = 250_000L << i;
+        }
+    }
+
+    private final String sql;
+    private final long[] buckets = new long[BUCKET_BOUNDS_NANOS.length + 1];
+    private long count;
+    private long rows;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Constructs empty QueryStats.
+     * @param sql the SQL statement
+     */
+    QueryStats(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Records one execution of the statement.
+     * @param nanos the time it took, in nanoseconds
+     * @param rows  the number of rows it read or changed
+     */
+    synchronized void record(long nanos, long rows) {
+        buckets[bucketOf(nanos)]++;
+        count++;
+        this.rows += rows;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Returns the SQL statement.
+     * @return the SQL as Room runs it, with '?' for its arguments
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the number of recorded executions.
+     * @return the execution count
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the total number of rows read by queries or changed by writes over all executions.
+     * @return the row count
+     */
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the total time of all executions.
+     * @return the total time in milliseconds
+     */
+    public synchronized double getTotalMillis() {
+        return totalNanos / 1e6;
+    }
+
+    /**
+     * Returns the mean time of an execution.
+     * @return the mean time in milliseconds, or 0 if there was none
+     */
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    /**
+     * Returns the time of the slowest execution.
+     * @return the maximum time in milliseconds
+     */
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * Estimates a percentile of the execution time as the upper bound of the bucket it falls in,
+     * or the maximum time if that is lower.
+     * @param percentile the percentile, between 0 and 100
+     * @return the estimated time in milliseconds, or 0 if there was no execution
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_NANOS[i], maxNanos) / 1e6;
+            }
+        }
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * Returns the execution count of every latency bucket.
+     * @return a copy of the counts, one per bucket, see {@link #bucketUpperMillis}
+     */
+    public synchronized long[] getHistogram() {
+        return Arrays.copyOf(buckets, buckets.length);
+    }
+
+    /**
+     * Returns the upper bound of a latency bucket.
+     * @param bucket the index of the bucket in {@link #getHistogram()}
+     * @return the bound in milliseconds, or infinity for the last bucket
+     */
+    public static double bucketUpperMillis(int bucket) {
+        return bucket < BUCKET_BOUNDS_NANOS.length ? BUCKET_BOUNDS_NANOS[bucket] / 1e6 : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Finds the bucket of an execution time.
+     * @param nanos the time in nanoseconds
+     * @return the index of the first bucket whose bound is not below the time
+     */
+    private static int bucketOf(long nanos) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Formats the stats as one line of the diagnostics report.
+     * @return the counts and latencies followed by the SQL
+     */
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT, "calls=%d rows=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms %s",
+                count, rows, getMeanMillis(), getPercentileMillis(50), getPercentileMillis(99), getMaxMillis(), sql);
+    }
+}
@@ -0,0 +1,176 @@
+package com.gymlog.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.gymlog.database.entities.ExerciseRollup;
+import com.gymlog.database.entities.RollupBackfill;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Data Access Object (DAO) for the day, week and month rollups of the GymLog table, {@link ExerciseRollup},
+ * and the backfill that builds them for history logged before they existed, {@link RollupBackfill}.
+ * New sets are added to the rollups by triggers, so this DAO reads them, and only writes them for the backfill.
+ * A progression chart asks for a fixed number of points over a range, which costs one index range read of
+ * at most a few hundred rollups, however many sets the range holds.
+ */
+@Dao
+public abstract class RollupDAO {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+//  The largest zone offset, which bounds how far the local day of a set is from its UTC day.
+    private static final long MAX_OFFSET_MILLIS = 64_800_000L;
+//  How much history one backfill step rebuilds, in months.
+    private static final int BACKFILL_MONTHS = 3;
+    private static final int[] PERIODS = {ExerciseRollup.DAY, ExerciseRollup.WEEK, ExerciseRollup.MONTH};
+
+//  The local day of a set as an epoch day, and the bucket of a period it falls in, as in ExerciseRollup.bucketOf.
+    private static final String LOCAL_DAY = "((date + zoneOffset * 1000) / 86400000)";
+    private static final String BUCKET = "CASE :period WHEN " + ExerciseRollup.DAY + " THEN " + LOCAL_DAY +
+            " WHEN " + ExerciseRollup.WEEK + " THEN " + LOCAL_DAY + " - (" + LOCAL_DAY + " + 3) % 7" +
+            " ELSE CAST(julianday(" + LOCAL_DAY + " * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) END";
+
+    /**
+     * Retrieves the progression of one exercise of a user as a fixed number of points over a range.
+     * The range is cut into equal slices, and each point holds the totals of the slice. The rollups read are
+     * the coarsest whose buckets still fit in a slice, so a year in 12 points reads months and a week in
+     * 7 points reads days. A bucket is counted in the slice its first day starts in, so the resolution is
+     * one local day, and buckets that start before the range but end in it are counted in the first slice.
+     * @param userId     the ID of the user
+     * @param exercise   the exercise name, compared ignoring case
+     * @param fromMillis the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis   the end of the range in UTC epoch milliseconds, exclusive
+     * @param points     the number of points
+     * @return exactly {@code points} points, oldest first; slices without sets have every total at zero
+     * @throws IllegalArgumentException if the range is empty or points is not positive
+     */
+    public List<ProgressPoint> getSeries(int userId, String exercise, long fromMillis, long toMillis, int points) {
+        if (points <= 0 || toMillis <= fromMillis) {
+            throw new IllegalArgumentException("Cannot chart " + points + " points from " + fromMillis + " to " + toMillis);
+        }
+        long range = toMillis - fromMillis;
+        long slice = range / points;
+        int period = slice >= 31 * DAY_MILLIS ? ExerciseRollup.MONTH
+                : slice >= 7 * DAY_MILLIS ? ExerciseRollup.WEEK : ExerciseRollup.DAY;
+        int fromBucket = ExerciseRollup.bucketOf(period, Math.floorDiv(fromMillis, DAY_MILLIS));
+        int toDay = (int) Math.floorDiv(toMillis - 1, DAY_MILLIS) + 1;
+
+        double[] totalVolume = new double[points];
+        double[] maxWeight = new double[points];
+        int[] setCount = new int[points];
+        int[] totalReps = new int[points];
+        for (ExerciseRollup rollup : getRollups(userId, exercise, period, fromBucket, toDay)) {
+            long offset = rollup.getBucket() * DAY_MILLIS - fromMillis;
+            int i = (int) Math.max(0, Math.min(points - 1, Math.floorDiv(offset * points, range)));
+            totalVolume[i] += rollup.getTotalVolume();
+            maxWeight[i] = Math.max(maxWeight[i], rollup.getMaxWeight());
+            setCount[i] += rollup.getSetCount();
+            totalReps[i] += rollup.getTotalReps();
+        }
+
+        List<ProgressPoint> series = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            series.add(new ProgressPoint(fromMillis + range * i / points, fromMillis + range * (i + 1) / points,
+                    totalVolume[i], maxWeight[i], setCount[i], totalReps[i]));
+        }
+        return series;
+    }
+
+    /**
+     * Rebuilds the rollups of the next window of one pending backfill from the GymLog table, and moves the
+     * backfill past it. Each window is a few whole months, with the weeks that start in them, so every bucket
+     * is rebuilt exactly once. Rebuilt buckets hold the totals of every set in them, so sets added by the
+     * triggers before or after the step are counted once either way.
+     * The backfill of a user is removed once the window starts after their last set.
+     * @return true if a step was taken, false if no backfill is pending
+     */
+    @Transaction
+    public boolean backfillStep() {
+        RollupBackfill backfill = getNextBackfill();
+        if (backfill == null) {
+            return false;
+        }
+        int userId = backfill.getUserId();
+        int from = ExerciseRollup.bucketOf(ExerciseRollup.MONTH, backfill.getNextDay());
+        Long lastDate = getLastDate(userId);
+        if (lastDate == null
+                || ExerciseRollup.bucketOf(ExerciseRollup.WEEK, from) > Math.floorDiv(lastDate + MAX_OFFSET_MILLIS, DAY_MILLIS)) {
+            deleteBackfill(userId);
+            return true;
+        }
+        int to = (int) LocalDate.ofEpochDay(from).plusMonths(BACKFILL_MONTHS).toEpochDay();
+        for (int period : PERIODS) {
+            int fromBucket = ExerciseRollup.bucketOf(period, from);
+            int toBucket = ExerciseRollup.bucketOf(period, to);
+            deleteRollups(userId, period, fromBucket, toBucket);
+            insertRollups(userId, period, fromBucket, toBucket);
+        }
+        setNextDay(userId, to);
+        return true;
+    }
+
+    /**
+     * Schedules a backfill of every user with sets, from the local day of their first set.
+     * A backfill already pending starts over. Users with archived months are skipped, since their sets are not
+     * all in the GymLog table the backfill rebuilds from; the rollups of an archived month never change.
+     */
+    @Query("INSERT OR REPLACE INTO " + GymLogDatabase.ROLLUP_BACKFILL_TABLE + " (userId, nextDay)" +
+            " SELECT userId, MIN(date - " + MAX_OFFSET_MILLIS + ") / " + DAY_MILLIS + " FROM " + GymLogDatabase.GYM_LOG_TABLE +
+            " WHERE userId NOT IN (SELECT userId FROM " + GymLogDatabase.GYM_LOG_ARCHIVE_TABLE + ")" +
+            " GROUP BY userId")
+    public abstract void scheduleBackfill();
+
+    /**
+     * Returns the number of users whose rollups are still being backfilled.
+     * @return the number of pending backfills
+     */
+    @Query("SELECT COUNT(*) FROM " + GymLogDatabase.ROLLUP_BACKFILL_TABLE)
+    public abstract int getPendingBackfills();
+
+    /**
+     * Retrieves the rollups of one period of an exercise of a user whose buckets start in a range of days.
+     * @param userId     the ID of the user
+     * @param exercise   the exercise name, compared ignoring case
+     * @param period     DAY, WEEK or MONTH
+     * @param fromBucket the first epoch day of the range, inclusive
+     * @param toBucket   the last epoch day of the range, exclusive
+     * @return the rollups, oldest first
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.EXERCISE_ROLLUP_TABLE + " WHERE userId = :userId" +
+            " AND exerciseId = (SELECT id FROM " + GymLogDatabase.EXERCISE_TABLE + " WHERE name = :exercise)" +
+            " AND period = :period AND bucket >= :fromBucket AND bucket < :toBucket ORDER BY bucket")
+    public abstract List<ExerciseRollup> getRollups(int userId, String exercise, int period, int fromBucket, int toBucket);
+
+    @Query("SELECT * FROM " + GymLogDatabase.ROLLUP_BACKFILL_TABLE + " ORDER BY userId LIMIT 1")
+    protected abstract RollupBackfill getNextBackfill();
+
+    @Query("SELECT MAX(date) FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :userId")
+    protected abstract Long getLastDate(int userId);
+
+    @Query("DELETE FROM " + GymLogDatabase.EXERCISE_ROLLUP_TABLE +
+            " WHERE userId = :userId AND period = :period AND bucket >= :fromBucket AND bucket < :toBucket")
+    protected abstract void deleteRollups(int userId, int period, int fromBucket, int toBucket);
+
+    @Query("INSERT INTO " + GymLogDatabase.EXERCISE_ROLLUP_TABLE +
+            " (userId, exerciseId, period, bucket, totalVolume, maxWeight, setCount, totalReps)" +
+            " SELECT userId, exerciseId, :period, " + BUCKET + " AS bucketDay, SUM(weight * reps), MAX(weight), COUNT(*), SUM(reps)" +
+            " FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = :userId" +
+            " AND date >= :fromBucket * " + DAY_MILLIS + " - " + MAX_OFFSET_MILLIS +
+            " AND date < :toBucket * " + DAY_MILLIS + " + " + MAX_OFFSET_MILLIS +
+            " AND " + LOCAL_DAY + " >= :fromBucket AND " + LOCAL_DAY + " < :toBucket" +
+            " GROUP BY exerciseId, bucketDay")
+    protected abstract void insertRollups(int userId, int period, int fromBucket, int toBucket);
+
+    @Query("UPDATE " + GymLogDatabase.ROLLUP_BACKFILL_TABLE + " SET nextDay = :nextDay WHERE userId = :userId")
+    protected abstract void setNextDay(int userId, int nextDay);
+
+    @Query("DELETE FROM " + GymLogDatabase.ROLLUP_BACKFILL_TABLE + " WHERE userId = :userId")
+    protected abstract void deleteBackfill(int userId);
+}
@@ -0,0 +1,312 @@
+package com.gymlog.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.RoomDatabase;
+import androidx.room.Transaction;
+
+import com.gymlog.credentials.PasswordHasher;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.entities.SyncPending;
+import com.gymlog.database.entities.SyncState;
+import com.gymlog.database.entities.User;
+import com.gymlog.sync.GymLogChange;
+import com.gymlog.sync.SyncBatch;
+import com.gymlog.sync.UserChange;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Data Access Object (DAO) for the sync engine: the queue of changes to upload in {@link SyncPending},
+ * the acknowledgement of uploaded changes, and the application of downloaded ones.
+ * A downloaded change never overwrites a row with a pending local change; the local change is uploaded
+ * instead and replaces the server's copy. Writing a downloaded change queues the row like any other write,
+ * so the entry is removed in the same transaction, or every download would be uploaded again.
+ */
+@Dao
+public abstract class SyncDAO {
+
+//  The name of the SyncState holding the ID of this client on the sync server.
+    public static final String CLIENT_ID = "clientId";
+//  The prefix of the SyncState holding how far a table has been downloaded.
+    private static final String CURSOR_PREFIX = "cursor:";
+
+    private final GymLogDatabase database;
+
+    /**
+     * Constructs a new SyncDAO. Called by Room.
+     * @param database the database the DAO belongs to
+     */
+    public SyncDAO(RoomDatabase database) {
+        this.database = (GymLogDatabase) database;
+    }
+
+    /**
+     * Returns the name of the SyncState holding how far a table has been downloaded.
+     * @param tableName the synced table
+     * @return the name of its cursor
+     */
+    public static String cursorOf(String tableName) {
+        return CURSOR_PREFIX + tableName;
+    }
+
+    /**
+     * Retrieves the oldest pending changes of a table after a position in the queue.
+     * @param tableName the synced table
+     * @param afterSeq  the sequence number to start after, or 0 for the start of the queue
+     * @param limit     the maximum number of changes
+     * @return the pending changes in queue order
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.SYNC_PENDING_TABLE + " WHERE tableName = :tableName AND seq > :afterSeq" +
+            " ORDER BY seq LIMIT :limit")
+    public abstract List<SyncPending> getPending(String tableName, long afterSeq, int limit);
+
+    /**
+     * Retrieves the GymLog records with the given IDs, with their exercise names.
+     * @param ids the IDs of the records
+     * @return the records that still exist, in no particular order
+     */
+    public List<GymLog> getGymLogs(List<Integer> ids) {
+        List<GymLog> gymLogs = getGymLogRows(ids);
+        database.exerciseDictionary().fillNames(gymLogs);
+        return gymLogs;
+    }
+
+    /**
+     * Retrieves the User records with the given IDs.
+     * @param ids the IDs of the users
+     * @return the users that still exist, in no particular order
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.USER_TABLE + " WHERE id IN (:ids)")
+    public abstract List<User> getUsers(List<Integer> ids);
+
+    /**
+     * Records the server's answer to an upload. A created row gets its remote ID, which is also given to its
+     * pending change if the row was changed again during the upload, and the uploaded changes leave the queue.
+     * A change made during the upload has a new sequence number and stays queued.
+     * @param sent      the uploaded changes
+     * @param remoteIds the remote ID of each uploaded change, or 0 for a change the server did not need
+     */
+    @Transaction
+    public void acknowledge(List<SyncPending> sent, long[] remoteIds) {
+        for (int i = 0; i < sent.size(); i++) {
+            SyncPending pending = sent.get(i);
+            long remoteId = remoteIds[i];
+            if (remoteId != 0 && pending.getRemoteId() != remoteId) {
+                if (GymLogDatabase.USER_TABLE.equals(pending.getTableName())) {
+                    setUserRemoteId(pending.getRowId(), remoteId);
+                } else {
+                    setGymLogRemoteId(pending.getRowId(), remoteId);
+                }
+                setPendingRemoteId(pending.getTableName(), pending.getRowId(), remoteId);
+            }
+            deletePending(pending.getSeq());
+        }
+    }
+
+    /**
+     * Applies a downloaded batch of one table and moves the table's cursor past it, in one transaction.
+     * A GymLog whose user is not known yet stops the batch, with the cursor just before it, so it is
+     * downloaded again once the user has been.
+     * @param tableName the synced table the batch was downloaded from
+     * @param batch     the downloaded batch
+     * @return true if the whole batch was applied, false if it stopped at a GymLog of an unknown user
+     */
+    @Transaction
+    public boolean applyDownload(String tableName, SyncBatch batch) {
+        try {
+            for (UserChange change : batch.getUsers()) {
+                applyUser(change);
+            }
+            for (GymLogChange change : batch.getLogs()) {
+                if (!applyGymLog(change)) {
+                    setState(new SyncState(cursorOf(tableName), change.getSeq() - 1));
+                    return false;
+                }
+            }
+            setState(new SyncState(cursorOf(tableName), batch.getCursor()));
+            return true;
+        } catch (RuntimeException e) {
+            database.exerciseDictionary().clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Registers the ID of this client and queues every user and GymLog record for its first upload, in one
+     * transaction. The sync triggers queue nothing before a client ID is registered, so a device that never syncs
+     * keeps an empty queue. Archived months are restored first, since an upload reads its rows back from the
+     * GymLog table; tiering archives them again once they are uploaded.
+     * @param clientId the ID of this client, not 0
+     * @throws IllegalStateException if an archive block cannot be decoded
+     */
+    @Transaction
+    public void register(long clientId) {
+        database.archiveDAO().restoreAll();
+        setState(new SyncState(CLIENT_ID, clientId));
+        queueAllUsers();
+        queueAllGymLogs();
+    }
+
+    /**
+     * Retrieves a value of the sync engine.
+     * @param name         the name of the value
+     * @param defaultValue the value to return if it was never set
+     * @return the value
+     */
+    public long getState(String name, long defaultValue) {
+        Long value = getStateValue(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Sets a value of the sync engine.
+     * @param state the named value
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void setState(SyncState state);
+
+    /**
+     * Applies a downloaded user change, unless the user has a pending local change.
+     * A new user takes over a local user with the same username that was never uploaded.
+     * The server is not trusted with credentials: a password hash that {@link PasswordHasher#isValid} refuses
+     * leaves the local hash in place, or none for a new user, who then cannot log in on this device; and a download
+     * can take the admin flag away but never grant it.
+     * @param change the downloaded change
+     */
+    private void applyUser(UserChange change) {
+        Integer localId = findUserId(change.getRemoteId());
+        User local = null;
+        if (localId == null && !change.isDeleted()) {
+            User sameName = database.userDAO().findUserByUserName(change.getUsername());
+            if (sameName != null && sameName.getRemoteId() == 0) {
+                localId = sameName.getId();
+                local = sameName;
+            }
+        }
+        if (localId != null && isPending(GymLogDatabase.USER_TABLE, localId)) {
+            return;
+        }
+        if (change.isDeleted()) {
+            if (localId != null) {
+                deleteUserRow(localId);
+                deletePendingRow(GymLogDatabase.USER_TABLE, localId);
+            }
+            return;
+        }
+        if (local == null && localId != null) {
+            List<User> rows = getUsers(Collections.singletonList(localId));
+            local = rows.isEmpty() ? null : rows.get(0);
+        }
+        String passwordHash = change.getPasswordHash();
+        if (!PasswordHasher.isValid(passwordHash)) {
+            passwordHash = local == null ? null : local.getPasswordHash();
+        }
+        User user = new User(change.getUsername(), passwordHash);
+        user.setAdmin(change.isAdmin() && local != null && local.isAdmin());
+        user.setRemoteId(change.getRemoteId());
+        if (localId != null) {
+            user.setId(localId);
+        }
+        deletePendingRow(GymLogDatabase.USER_TABLE, (int) insertUserRow(user));
+    }
+
+    /**
+     * Applies a downloaded GymLog change, unless the record has a pending local change.
+     * @param change the downloaded change
+     * @return false if the change could not be applied because its user is not known yet, true otherwise
+     */
+    private boolean applyGymLog(GymLogChange change) {
+//      A record in an archived month is brought back first, so it is found and changed like any other.
+        database.archiveDAO().restoreRemoteId(change.getRemoteId());
+        Integer localId = findGymLogId(change.getRemoteId());
+        if (localId != null && isPending(GymLogDatabase.GYM_LOG_TABLE, localId)) {
+            return true;
+        }
+        if (change.isDeleted()) {
+            if (localId != null) {
+                deleteGymLogRow(localId);
+                deletePendingRow(GymLogDatabase.GYM_LOG_TABLE, localId);
+            }
+            return true;
+        }
+        Integer userId = findUserId(change.getUserRemoteId());
+        if (userId == null) {
+            return false;
+        }
+        GymLog gymLog = new GymLog();
+        if (localId != null) {
+            gymLog.setId(localId);
+        }
+        gymLog.setRemoteId(change.getRemoteId());
+        gymLog.setUserId(userId);
+        gymLog.setExercise(change.getExercise());
+        gymLog.setWeight(change.getWeight());
+        gymLog.setReps(change.getReps());
+        gymLog.setDateMillis(change.getDateMillis());
+        gymLog.setZoneOffset(change.getZoneOffset());
+        gymLog.setVersion(change.getVersion());
+//      An edit is an UPDATE rather than a REPLACE, which would not fire the delete triggers keeping the stats right.
+        if (localId != null) {
+            database.gymLogDAO().update(gymLog);
+        } else {
+            localId = (int) database.gymLogDAO().insert(gymLog);
+        }
+        deletePendingRow(GymLogDatabase.GYM_LOG_TABLE, localId);
+        return true;
+    }
+
+    @Query("SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id IN (:ids)")
+    protected abstract List<GymLog> getGymLogRows(List<Integer> ids);
+
+    @Query("INSERT OR IGNORE INTO " + GymLogDatabase.SYNC_PENDING_TABLE + " (seq, tableName, rowId, remoteId, deleted)" +
+            " SELECT NULL, '" + GymLogDatabase.USER_TABLE + "', id, remoteId, 0 FROM " + GymLogDatabase.USER_TABLE + " ORDER BY id")
+    protected abstract void queueAllUsers();
+
+    @Query("INSERT OR IGNORE INTO " + GymLogDatabase.SYNC_PENDING_TABLE + " (seq, tableName, rowId, remoteId, deleted)" +
+            " SELECT NULL, '" + GymLogDatabase.GYM_LOG_TABLE + "', id, remoteId, 0 FROM " + GymLogDatabase.GYM_LOG_TABLE + " ORDER BY id")
+    protected abstract void queueAllGymLogs();
+
+    @Query("SELECT id FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE remoteId = :remoteId")
+    protected abstract Integer findGymLogId(long remoteId);
+
+    @Query("SELECT id FROM " + GymLogDatabase.USER_TABLE + " WHERE remoteId = :remoteId")
+    protected abstract Integer findUserId(long remoteId);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM " + GymLogDatabase.SYNC_PENDING_TABLE + " WHERE tableName = :tableName AND rowId = :rowId)")
+    protected abstract boolean isPending(String tableName, int rowId);
+
+    @Query("SELECT value FROM " + GymLogDatabase.SYNC_STATE_TABLE + " WHERE name = :name")
+    protected abstract Long getStateValue(String name);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract long insertUserRow(User user);
+
+    @Query("UPDATE " + GymLogDatabase.GYM_LOG_TABLE + " SET remoteId = :remoteId WHERE id = :id")
+    protected abstract void setGymLogRemoteId(int id, long remoteId);
+
+    @Query("UPDATE " + GymLogDatabase.USER_TABLE + " SET remoteId = :remoteId WHERE id = :id")
+    protected abstract void setUserRemoteId(int id, long remoteId);
+
+    @Query("UPDATE " + GymLogDatabase.SYNC_PENDING_TABLE + " SET remoteId = :remoteId" +
+            " WHERE tableName = :tableName AND rowId = :rowId AND remoteId = 0")
+    protected abstract void setPendingRemoteId(String tableName, int rowId, long remoteId);
+
+    @Query("DELETE FROM " + GymLogDatabase.SYNC_PENDING_TABLE + " WHERE seq = :seq")
+    protected abstract void deletePending(long seq);
+
+    @Query("DELETE FROM " + GymLogDatabase.SYNC_PENDING_TABLE + " WHERE tableName = :tableName AND rowId = :rowId")
+    protected abstract void deletePendingRow(String tableName, int rowId);
+
+    @Query("DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id = :id")
+    protected abstract void deleteGymLogRow(int id);
+
+    @Query("DELETE FROM " + GymLogDatabase.USER_TABLE + " WHERE id = :id")
+    protected abstract void deleteUserRow(int id);
+}
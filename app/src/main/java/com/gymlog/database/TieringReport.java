@@ -0,0 +1,124 @@
+package com.gymlog.database;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * TieringReport is what one run of {@link GymLogRepository#archiveColdLogs} did: the months moved into archive
+ * blocks and the months left in the GymLog table, the records moved, and the space the database used for data
+ * before and after. It is the basis for choosing the age after which records are archived.
+ */
+public final class TieringReport {
+
+    private final int monthsArchived;
+    private final int monthsSkipped;
+    private final int rowsArchived;
+    private final long archivedBytes;
+    private final long usedBytesBefore;
+    private final long usedBytesAfter;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new TieringReport.
+     * @param monthsArchived  the number of months moved into blocks
+     * @param monthsSkipped   the number of months left in the GymLog table because of pending changes
+     * @param rowsArchived    the number of records moved into blocks
+     * @param archivedBytes   the size of the encoded data of every block after the run
+     * @param usedBytesBefore the space used for data before the run
+     * @param usedBytesAfter  the space used for data after the run
+     * @param elapsedNanos    how long the run took
+     */
+    TieringReport(int monthsArchived, int monthsSkipped, int rowsArchived, long archivedBytes, long usedBytesBefore,
+                  long usedBytesAfter, long elapsedNanos) {
+        this.monthsArchived = monthsArchived;
+        this.monthsSkipped = monthsSkipped;
+        this.rowsArchived = rowsArchived;
+        this.archivedBytes = archivedBytes;
+        this.usedBytesBefore = usedBytesBefore;
+        this.usedBytesAfter = usedBytesAfter;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of months moved into blocks.
+     * @return the archived months
+     */
+    public int getMonthsArchived() {
+        return monthsArchived;
+    }
+
+    /**
+     * Returns the number of old months left in the GymLog table because they had changes waiting for upload,
+     * for a change log consumer or for the rollup backfill. A later run archives them.
+     * @return the skipped months
+     */
+    public int getMonthsSkipped() {
+        return monthsSkipped;
+    }
+
+    /**
+     * Returns the number of records moved into blocks.
+     * @return the archived records
+     */
+    public int getRowsArchived() {
+        return rowsArchived;
+    }
+
+    /**
+     * Returns the size of the encoded data of every block, including blocks of earlier runs.
+     * @return the archived bytes
+     */
+    public long getArchivedBytes() {
+        return archivedBytes;
+    }
+
+    /**
+     * Returns the space the database used for data before the run, free pages excluded.
+     * @return the used bytes before
+     */
+    public long getUsedBytesBefore() {
+        return usedBytesBefore;
+    }
+
+    /**
+     * Returns the space the database used for data after the run, free pages excluded.
+     * @return the used bytes after
+     */
+    public long getUsedBytesAfter() {
+        return usedBytesAfter;
+    }
+
+    /**
+     * Returns how long the run took.
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Returns the share of the used space the run saved.
+     * @return the saved space as a fraction of the space used before, 0 if nothing was saved
+     */
+    public double getReduction() {
+        return usedBytesBefore <= 0 ? 0 : Math.max(0, usedBytesBefore - usedBytesAfter) / (double) usedBytesBefore;
+    }
+
+    /**
+     * Returns a one-line summary of the run.
+     * @return the summary
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "archived months=%d rows=%d, skipped months=%d, blocks=%d bytes," +
+                        " used %d -> %d bytes (%.0f%% less), %d ms",
+                monthsArchived, rowsArchived, monthsSkipped, archivedBytes, usedBytesBefore, usedBytesAfter,
+                getReduction() * 100, getElapsedMillis());
+    }
+}
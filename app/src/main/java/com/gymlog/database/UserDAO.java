@@ -53,6 +53,22 @@ public interface UserDAO {
     @Query("SELECT * FROM " + GymLogDatabase.USER_TABLE + " WHERE username == :username")
     LiveData<User> getUserByUserName(String username);
 
+    /**
+     * Retrieves a User record by username, for a login. Must not be called on the main thread.
+     * @param username the username of the User
+     * @return the User record, or null if there is no such user
+     */
+    @Query("SELECT * FROM " + GymLogDatabase.USER_TABLE + " WHERE username == :username")
+    User findUserByUserName(String username);
+
+    /**
+     * Replaces the password hash of a User, after a login found it outdated.
+     * @param userId       the ID of the User
+     * @param passwordHash the new encoded password hash
+     */
+    @Query("UPDATE " + GymLogDatabase.USER_TABLE + " SET passwordHash = :passwordHash WHERE id == :userId")
+    void updatePasswordHash(int userId, String passwordHash);
+
     /**
      * Retrieves a User record by user ID.
      * @param userId the ID of the User
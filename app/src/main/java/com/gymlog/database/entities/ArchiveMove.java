@@ -0,0 +1,50 @@
+package com.gymlog.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ArchiveMove.java marks a month of GymLog rows being moved between the GymLog table and a
+ * {@link GymLogArchiveBlock}. The row only exists inside the transaction of the move. While it does, the triggers
+ * that queue uploads, append to the change log and keep the stats and rollups skip the rows being deleted or
+ * inserted, since a move changes where a record is stored, not the record.
+ */
+@Entity(tableName = GymLogDatabase.ARCHIVE_MOVE_TABLE)
+public class ArchiveMove {
+
+    @PrimaryKey
+    private int userId;
+//  The epoch day the month being moved starts on.
+    private int month;
+
+    /**
+     * Constructs a new ArchiveMove.
+     * @param userId the ID of the user
+     * @param month  the epoch day the month starts on
+     */
+    public ArchiveMove(int userId, int month) {
+        this.userId = userId;
+        this.month = month;
+    }
+
+    /**
+     * Returns the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the month being moved.
+     * @return the epoch day the month starts on
+     */
+    public int getMonth() {
+        return month;
+    }
+}
@@ -0,0 +1,52 @@
+package com.gymlog.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ChangeLogCursor.java is how far one consumer of the change log has processed it. Entries at or before the
+ * cursor of every registered consumer have been acknowledged by all of them and are compacted away.
+ */
+@Entity(tableName = GymLogDatabase.CHANGE_LOG_CURSOR_TABLE)
+public class ChangeLogCursor {
+
+//  The name the consumer registered with.
+    @PrimaryKey
+    @NonNull
+    private String consumer;
+//  The sequence number of the last entry the consumer acknowledged.
+    private long seq;
+
+    /**
+     * Constructs a new ChangeLogCursor.
+     * @param consumer the name of the consumer
+     * @param seq      the sequence number of the last acknowledged entry
+     */
+    public ChangeLogCursor(@NonNull String consumer, long seq) {
+        this.consumer = consumer;
+        this.seq = seq;
+    }
+
+    /**
+     * Returns the name of the consumer.
+     * @return the consumer name
+     */
+    @NonNull
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * Returns the sequence number of the last entry the consumer acknowledged.
+     * @return the sequence number
+     */
+    public long getSeq() {
+        return seq;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gymlog.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ChangeLogEntry.java records one insert, update or delete of a GymLog row. Entries are appended by triggers on the
+ * GymLog table, see GymLogTriggers, in the same transaction as the change, so a rolled back write leaves no entry
+ * and a committed one always has one. Sequence numbers only grow and are never reused, even after compaction,
+ * so a consumer that remembers the last one it processed can read exactly the changes made since.
+ * An entry names the row, not its values: a consumer reads the current row, and finds no row if it was deleted.
+ */
+@Entity(tableName = GymLogDatabase.CHANGE_LOG_TABLE)
+public class ChangeLogEntry {
+
+//  The row was inserted.
+    public static final int INSERT = 1;
+//  The row was edited, or replaced by an insert with the ID of an existing row.
+    public static final int UPDATE = 2;
+//  The row was deleted.
+    public static final int DELETE = 3;
+
+//  The position of the change in the log, assigned by SQLite AUTOINCREMENT.
+    @PrimaryKey(autoGenerate = true)
+    private long seq;
+//  The ID of the changed GymLog row.
+    private int rowId;
+//  The ID of the user owning the row after the change, or before it for a deletion.
+    private int userId;
+//  INSERT, UPDATE or DELETE.
+    private int operation;
+//  When the change was committed, in UTC epoch milliseconds.
+    private long changedAt;
+
+    /**
+     * Constructs a new ChangeLogEntry.
+     * @param seq       the position of the change in the log
+     * @param rowId     the ID of the changed GymLog row
+     * @param userId    the ID of the user owning the row
+     * @param operation INSERT, UPDATE or DELETE
+     * @param changedAt when the change was made, in UTC epoch milliseconds
+     */
+    public ChangeLogEntry(long seq, int rowId, int userId, int operation, long changedAt) {
+        this.seq = seq;
+        this.rowId = rowId;
+        this.userId = userId;
+        this.operation = operation;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Returns the position of the change in the log.
+     * @return the sequence number
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Returns the ID of the changed GymLog row.
+     * @return the row ID
+     */
+    public int getRowId() {
+        return rowId;
+    }
+
+    /**
+     * Returns the ID of the user owning the row.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the kind of change.
+     * @return INSERT, UPDATE or DELETE
+     */
+    public int getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns when the change was made.
+     * @return the time of the change in UTC epoch milliseconds
+     */
+    public long getChangedAt() {
+        return changedAt;
+    }
+}
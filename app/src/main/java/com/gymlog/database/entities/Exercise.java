@@ -0,0 +1,105 @@
+package com.gymlog.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+import java.util.Objects;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * Exercise.java is an entry of the exercise dictionary. GymLog and ExerciseStats rows refer to exercises by ID,
+ * so a name is stored once however many sets are logged for it.
+ * Names are unique ignoring ASCII case, so "Bench Press" and "bench press" are the same exercise.
+ */
+@Entity(tableName = GymLogDatabase.EXERCISE_TABLE,
+        indices = {@Index(value = {"name"}, unique = true)})
+public class Exercise {
+
+//  The unique identifier for the Exercise. IDs are never reused, so a cached ID always names the same exercise.
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+
+    @NonNull
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
+    private String name;
+
+    /**
+     * Constructs a new Exercise with the specified name.
+     * @param name the name of the exercise
+     */
+    public Exercise(@NonNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representation of the Exercise.
+     * @return the name of the exercise
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Compares this Exercise to the specified object.
+     * @param o the object to compare this Exercise against
+     * @return true if the given object represents an Exercise equivalent to this Exercise, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Exercise exercise = (Exercise) o;
+        return id == exercise.id && name.equals(exercise.name);
+    }
+
+    /**
+     * Returns a hash code value for the Exercise.
+     * @return a hash code value for this Exercise
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name);
+    }
+
+    /**
+     * Returns the ID of the Exercise.
+     * @return the ID of the Exercise
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the Exercise.
+     * @param id the ID to set for the Exercise
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the name of the Exercise.
+     * @return the name of the Exercise
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the Exercise.
+     * @param name the name to set for the Exercise
+     */
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,73 @@
+package com.gymlog.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseFts.java is the full-text index over the names in the exercise dictionary, used for typeahead.
+ * It is an external content FTS4 table: the names are stored only in {@link Exercise}, and Room keeps the
+ * index in step with triggers on that table.
+ * The unicode61 tokenizer folds case and diacritics, so "bench" finds "Bénch Press". Prefixes of two and
+ * three characters get their own index, so the prefix queries of the first keystrokes need no term range scan.
+ */
+@Fts4(contentEntity = Exercise.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61, prefix = {2, 3})
+@Entity(tableName = GymLogDatabase.EXERCISE_FTS_TABLE)
+public class ExerciseFts {
+
+//  The rowid of the FTS table, equal to the ID of the Exercise.
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private int rowid;
+
+    private String name;
+
+    /**
+     * Constructs a new ExerciseFts row.
+     * @param rowid the ID of the Exercise
+     * @param name  the name of the Exercise
+     */
+    public ExerciseFts(int rowid, String name) {
+        this.rowid = rowid;
+        this.name = name;
+    }
+
+    /**
+     * Returns the ID of the indexed Exercise.
+     * @return the rowid of the row
+     */
+    public int getRowid() {
+        return rowid;
+    }
+
+    /**
+     * Sets the ID of the indexed Exercise.
+     * @param rowid the rowid of the row
+     */
+    public void setRowid(int rowid) {
+        this.rowid = rowid;
+    }
+
+    /**
+     * Returns the indexed name.
+     * @return the name of the Exercise
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the indexed name.
+     * @param name the name of the Exercise
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,173 @@
+package com.gymlog.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+
+import com.gymlog.database.GymLogDatabase;
+
+import java.time.LocalDate;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseRollup.java holds the totals of one user's sets of one exercise over one day, week or month,
+ * so a progression chart reads one row per bucket instead of every set in its range.
+ * Buckets follow the calendar of the time zone each set was logged in, like the dates shown in the history:
+ * a bucket is named by the epoch day its first local day falls on, weeks start on Monday and months on the 1st.
+ * Rows are kept in step with the GymLog table by triggers, see GymLogTriggers, and rows of a history logged
+ * before the table existed are filled in by {@link RollupBackfill}.
+ */
+@Entity(tableName = GymLogDatabase.EXERCISE_ROLLUP_TABLE,
+        primaryKeys = {"userId", "exerciseId", "period", "bucket"},
+        indices = {@Index(value = {"userId", "period", "bucket"})})
+public class ExerciseRollup {
+
+//  A bucket is one local day.
+    public static final int DAY = 1;
+//  A bucket is one week, Monday to Sunday.
+    public static final int WEEK = 2;
+//  A bucket is one calendar month.
+    public static final int MONTH = 3;
+
+    private int userId;
+    private int exerciseId;
+//  DAY, WEEK or MONTH.
+    private int period;
+//  The epoch day of the first local day of the bucket.
+    private int bucket;
+//  The sum of weight times reps over the sets in the bucket.
+    private double totalVolume;
+//  The heaviest weight lifted in the bucket.
+    private double maxWeight;
+    private int setCount;
+    private int totalReps;
+
+    /**
+     * Constructs a new ExerciseRollup. Called by Room.
+     * @param userId      the ID of the user
+     * @param exerciseId  the ID of the exercise
+     * @param period      DAY, WEEK or MONTH
+     * @param bucket      the epoch day the bucket starts on
+     * @param totalVolume the sum of weight times reps
+     * @param maxWeight   the heaviest weight lifted
+     * @param setCount    the number of sets
+     * @param totalReps   the sum of reps
+     */
+    public ExerciseRollup(int userId, int exerciseId, int period, int bucket, double totalVolume, double maxWeight,
+                          int setCount, int totalReps) {
+        this.userId = userId;
+        this.exerciseId = exerciseId;
+        this.period = period;
+        this.bucket = bucket;
+        this.totalVolume = totalVolume;
+        this.maxWeight = maxWeight;
+        this.setCount = setCount;
+        this.totalReps = totalReps;
+    }
+
+    /**
+     * Returns the epoch day of the bucket of a period that contains a day.
+     * The same bucketing is done in SQL by the rollup triggers.
+     * @param period   DAY, WEEK or MONTH
+     * @param epochDay a local day as an epoch day
+     * @return the epoch day the bucket starts on
+     * @throws IllegalArgumentException if the period is unknown
+     */
+    public static int bucketOf(int period, long epochDay) {
+        switch (period) {
+            case DAY:
+                return (int) epochDay;
+            case WEEK:
+                return (int) (epochDay - Math.floorMod(epochDay + 3, 7));
+            case MONTH:
+                return (int) LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+            default:
+                throw new IllegalArgumentException("Unknown rollup period " + period);
+        }
+    }
+
+    /**
+     * Returns the epoch day of the bucket that follows a bucket.
+     * @param period DAY, WEEK or MONTH
+     * @param bucket the epoch day a bucket starts on
+     * @return the epoch day the next bucket starts on
+     * @throws IllegalArgumentException if the period is unknown
+     */
+    public static int nextBucket(int period, int bucket) {
+        switch (period) {
+            case DAY:
+                return bucket + 1;
+            case WEEK:
+                return bucket + 7;
+            case MONTH:
+                return (int) LocalDate.ofEpochDay(bucket).plusMonths(1).toEpochDay();
+            default:
+                throw new IllegalArgumentException("Unknown rollup period " + period);
+        }
+    }
+
+    /**
+     * Returns the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the ID of the exercise.
+     * @return the exercise ID
+     */
+    public int getExerciseId() {
+        return exerciseId;
+    }
+
+    /**
+     * Returns the length of the bucket.
+     * @return DAY, WEEK or MONTH
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Returns the first local day of the bucket.
+     * @return the epoch day the bucket starts on
+     */
+    public int getBucket() {
+        return bucket;
+    }
+
+    /**
+     * Returns the sum of weight times reps over the sets in the bucket.
+     * @return the total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * Returns the heaviest weight lifted in the bucket.
+     * @return the maximum weight
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the number of sets in the bucket.
+     * @return the set count
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the sum of reps over the sets in the bucket.
+     * @return the total reps
+     */
+    public int getTotalReps() {
+        return totalReps;
+    }
+}
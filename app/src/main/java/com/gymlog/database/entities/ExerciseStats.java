@@ -0,0 +1,227 @@
+package com.gymlog.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+
+import com.gymlog.database.GymLogDatabase;
+
+import java.util.Objects;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseStats.java is the running summary of every GymLog a user has recorded for one exercise.
+ * Rows are maintained by triggers on the GymLog table, see GymLogTriggers, and are never written by the app,
+ * so a dashboard reads one row per exercise instead of every set.
+ * The estimated one-rep max of a set uses the Epley formula, weight * (1 + reps / 30), and equals the weight
+ * for a single rep.
+ * Stats are grouped by exercise ID; the name is filled in from the ExerciseDictionary when the row is read.
+ */
+@Entity(tableName = GymLogDatabase.EXERCISE_STATS_TABLE, primaryKeys = {"userId", "exerciseId"})
+public class ExerciseStats {
+
+    private int userId;
+    private int exerciseId;
+//  The name of the exercise, not stored in this table.
+    @Ignore
+    @Nullable
+    private String exercise;
+//  The heaviest weight of any set.
+    private double maxWeight;
+//  The best estimated one-rep max of any set.
+    private double bestEstimatedOneRepMax;
+//  The sum of weight * reps over all sets.
+    private double totalVolume;
+    private int setCount;
+    private int totalReps;
+
+    /**
+     * Constructs a new ExerciseStats.
+     * @param userId                 the ID of the user
+     * @param exerciseId             the ID of the exercise
+     * @param maxWeight              the heaviest weight of any set
+     * @param bestEstimatedOneRepMax the best estimated one-rep max of any set
+     * @param totalVolume            the sum of weight * reps over all sets
+     * @param setCount               the number of sets
+     * @param totalReps              the sum of reps over all sets
+     */
+    public ExerciseStats(int userId, int exerciseId, double maxWeight, double bestEstimatedOneRepMax,
+                         double totalVolume, int setCount, int totalReps) {
+        this.userId = userId;
+        this.exerciseId = exerciseId;
+        this.maxWeight = maxWeight;
+        this.bestEstimatedOneRepMax = bestEstimatedOneRepMax;
+        this.totalVolume = totalVolume;
+        this.setCount = setCount;
+        this.totalReps = totalReps;
+    }
+
+    /**
+     * Returns a string representation of the ExerciseStats.
+     * @return a string with the exercise name and its summary values
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return exercise + '\n' +
+                "max weight: " + maxWeight + '\n' +
+                "estimated 1RM: " + String.format("%.1f", bestEstimatedOneRepMax) + '\n' +
+                "volume: " + totalVolume + '\n' +
+                "sets: " + setCount + '\n' +
+                "=-=-=-=-=-=-=-=-=-=-=-\n";
+    }
+
+    /**
+     * Compares this ExerciseStats to the specified object.
+     * @param o the object to compare this ExerciseStats against
+     * @return true if the given object represents an ExerciseStats equivalent to this ExerciseStats, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExerciseStats that = (ExerciseStats) o;
+        return userId == that.userId && Double.compare(maxWeight, that.maxWeight) == 0 && Double.compare(bestEstimatedOneRepMax, that.bestEstimatedOneRepMax) == 0 && Double.compare(totalVolume, that.totalVolume) == 0 && setCount == that.setCount && totalReps == that.totalReps && exerciseId == that.exerciseId && Objects.equals(exercise, that.exercise);
+    }
+
+    /**
+     * Returns a hash code value for the ExerciseStats.
+     * @return a hash code value for this ExerciseStats
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, exerciseId, exercise, maxWeight, bestEstimatedOneRepMax, totalVolume, setCount, totalReps);
+    }
+
+    /**
+     * Returns the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Sets the ID of the user.
+     * @param userId the user ID to set
+     */
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Returns the ID of the exercise.
+     * @return the exercise ID
+     */
+    public int getExerciseId() {
+        return exerciseId;
+    }
+
+    /**
+     * Sets the ID of the exercise.
+     * @param exerciseId the exercise ID to set
+     */
+    public void setExerciseId(int exerciseId) {
+        this.exerciseId = exerciseId;
+    }
+
+    /**
+     * Returns the exercise name.
+     * @return the exercise name, or null if it has not been filled in
+     */
+    @Nullable
+    public String getExercise() {
+        return exercise;
+    }
+
+    /**
+     * Sets the exercise name.
+     * @param exercise the exercise name to set
+     */
+    public void setExercise(@Nullable String exercise) {
+        this.exercise = exercise;
+    }
+
+    /**
+     * Returns the heaviest weight of any set.
+     * @return the maximum weight
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Sets the heaviest weight of any set.
+     * @param maxWeight the maximum weight to set
+     */
+    public void setMaxWeight(double maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the best estimated one-rep max of any set.
+     * @return the best estimated one-rep max
+     */
+    public double getBestEstimatedOneRepMax() {
+        return bestEstimatedOneRepMax;
+    }
+
+    /**
+     * Sets the best estimated one-rep max of any set.
+     * @param bestEstimatedOneRepMax the best estimated one-rep max to set
+     */
+    public void setBestEstimatedOneRepMax(double bestEstimatedOneRepMax) {
+        this.bestEstimatedOneRepMax = bestEstimatedOneRepMax;
+    }
+
+    /**
+     * Returns the sum of weight * reps over all sets.
+     * @return the total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * Sets the sum of weight * reps over all sets.
+     * @param totalVolume the total volume to set
+     */
+    public void setTotalVolume(double totalVolume) {
+        this.totalVolume = totalVolume;
+    }
+
+    /**
+     * Returns the number of sets.
+     * @return the set count
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Sets the number of sets.
+     * @param setCount the set count to set
+     */
+    public void setSetCount(int setCount) {
+        this.setCount = setCount;
+    }
+
+    /**
+     * Returns the sum of reps over all sets.
+     * @return the total reps
+     */
+    public int getTotalReps() {
+        return totalReps;
+    }
+
+    /**
+     * Sets the sum of reps over all sets.
+     * @param totalReps the total reps to set
+     */
+    public void setTotalReps(int totalReps) {
+        this.totalReps = totalReps;
+    }
+}
@@ -1,10 +1,15 @@
 package com.gymlog.database.entities;
 
 import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.typeConverters.LocalDateTypeConverter;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -14,19 +19,60 @@ import java.util.Objects;
  * GymLog
  * 08/04/2024
  * GymLog.java represents a log entry for a gym exercise session.
+ * Records are indexed on (userId, date DESC, id DESC) so that per-user history queries, keyset pages and
+ * date ranges are index seeks that need no sort, on (userId, exerciseId, date DESC, id DESC) for the history
+ * of one exercise, on date for the unfiltered history, and on exerciseId, so the foreign key check of a
+ * change to the exercise dictionary is a seek rather than a scan of the table.
+ * The exercise is stored as the ID of an {@link Exercise}. The DAO interns the name on every write and fills
+ * it in on every read, so callers work with names and never see an ID they have to resolve.
+ * The version counts the edits of a record, so two copies of the same record can be compared by
+ * ID and version alone.
+ * The remote ID is the ID the sync server gave the record, indexed so a downloaded change finds its local row.
+ * The date is stored as UTC epoch milliseconds, so records sort by when they happened whatever the time zone,
+ * next to the zone offset they were logged at, so they read back as the wall-clock time of the workout.
  */
-@Entity(tableName = GymLogDatabase.GYM_LOG_TABLE)
+@Entity(tableName = GymLogDatabase.GYM_LOG_TABLE,
+        indices = {
+                @Index(value = {"userId", "date", "id"}, orders = {Index.Order.ASC, Index.Order.DESC, Index.Order.DESC}),
+                @Index(value = {"userId", "exerciseId", "date", "id"},
+                        orders = {Index.Order.ASC, Index.Order.ASC, Index.Order.DESC, Index.Order.DESC}),
+                @Index(value = {"date"}),
+                @Index(value = {"remoteId"}),
+                @Index(value = {"exerciseId"})
+        },
+        foreignKeys = {@ForeignKey(entity = Exercise.class, parentColumns = "id", childColumns = "exerciseId")})
 public class GymLog {
 
 //  The unique identifier for the GymLog.
     @PrimaryKey(autoGenerate = true)
     private int id;
 
+//  The ID of the Exercise, set by the DAO from the name when the record is written.
+    private int exerciseId;
+//  The name of the exercise, not stored in this table.
+    @Ignore
     private String exercise;
     private double weight;
     private int reps;
-    private LocalDateTime date;
+//  The instant of the set in UTC epoch milliseconds. The column keeps its original name, date.
+    @ColumnInfo(name = "date")
+    private long dateMillis;
+//  The offset from UTC in seconds of the time zone the set was logged in.
+    @ColumnInfo(defaultValue = "0")
+    private int zoneOffset;
     private int userId;
+//  Incremented on every edit, by GymLogRepository.updateGymLog or by a trigger for direct SQL updates.
+    @ColumnInfo(defaultValue = "0")
+    private int version;
+//  The ID of the record on the sync server, or 0 if it has not been uploaded yet. Set by the sync engine only.
+    @ColumnInfo(defaultValue = "0")
+    private long remoteId;
+
+    /**
+     * Constructs an empty GymLog. Used by Room, which sets every column.
+     */
+    public GymLog() {
+    }
 
     /**
      * Constructs a new GymLog with the specified exercise, weight, reps, and userId.
@@ -36,12 +82,14 @@ public class GymLog {
      * @param reps     the number of repetitions performed
      * @param userId   the ID of the user associated with this log entry
      */
+    @Ignore
     public GymLog(String exercise, double weight, int reps, int userId) {
         this.exercise = exercise;
         this.weight = weight;
         this.reps = reps;
         this.userId = userId;
-        date = LocalDateTime.now();
+        dateMillis = System.currentTimeMillis();
+        zoneOffset = LocalDateTypeConverter.offsetSecondsAt(dateMillis);
     }
 
     /**
@@ -54,7 +102,7 @@ public class GymLog {
         return exercise + '\n' +
                 "weight: " + weight + '\n' +
                 "reps: " + reps + '\n' +
-                "date: " + date.toString() + '\n' +
+                "date: " + getDate().toString() + '\n' +
                 "=-=-=-=-=-=-=-=-=-=-=-\n";
     }
 
@@ -68,7 +116,7 @@ public class GymLog {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         GymLog gymLog = (GymLog) o;
-        return id == gymLog.id && Double.compare(weight, gymLog.weight) == 0 && reps == gymLog.reps && userId == gymLog.userId && Objects.equals(exercise, gymLog.exercise) && Objects.equals(date, gymLog.date);
+        return id == gymLog.id && Double.compare(weight, gymLog.weight) == 0 && reps == gymLog.reps && exerciseId == gymLog.exerciseId && dateMillis == gymLog.dateMillis && zoneOffset == gymLog.zoneOffset && userId == gymLog.userId && version == gymLog.version && remoteId == gymLog.remoteId && Objects.equals(exercise, gymLog.exercise);
     }
 
     /**
@@ -78,7 +126,7 @@ public class GymLog {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id, exercise, weight, reps, date, userId);
+        return Objects.hash(id, exerciseId, exercise, weight, reps, dateMillis, zoneOffset, userId, version, remoteId);
     }
 
     /**
@@ -97,6 +145,22 @@ public class GymLog {
         this.id = id;
     }
 
+    /**
+     * Returns the ID of the exercise of the GymLog.
+     * @return the exercise ID, or 0 if the GymLog has not been written yet
+     */
+    public int getExerciseId() {
+        return exerciseId;
+    }
+
+    /**
+     * Sets the ID of the exercise of the GymLog.
+     * @param exerciseId the exercise ID to set for the GymLog
+     */
+    public void setExerciseId(int exerciseId) {
+        this.exerciseId = exerciseId;
+    }
+
     /**
      * Returns the exercise name of the GymLog.
      * @return the exercise name of the GymLog
@@ -146,19 +210,52 @@ public class GymLog {
     }
 
     /**
-     * Returns the date of the GymLog.
+     * Returns the date of the GymLog as the wall-clock time in the time zone it was logged in.
      * @return the date of the GymLog
      */
     public LocalDateTime getDate() {
-        return date;
+        return LocalDateTypeConverter.toLocalDateTime(dateMillis, zoneOffset);
     }
 
     /**
-     * Sets the date of the GymLog.
+     * Sets the date of the GymLog to a wall-clock time in the device's current time zone.
      * @param date the date to set for the GymLog
      */
     public void setDate(LocalDateTime date) {
-        this.date = date;
+        zoneOffset = LocalDateTypeConverter.offsetSecondsOf(date);
+        dateMillis = LocalDateTypeConverter.toEpochMilli(date, zoneOffset);
+    }
+
+    /**
+     * Returns the instant of the GymLog.
+     * @return the date of the GymLog in UTC epoch milliseconds
+     */
+    public long getDateMillis() {
+        return dateMillis;
+    }
+
+    /**
+     * Sets the instant of the GymLog.
+     * @param dateMillis the date of the GymLog in UTC epoch milliseconds
+     */
+    public void setDateMillis(long dateMillis) {
+        this.dateMillis = dateMillis;
+    }
+
+    /**
+     * Returns the offset of the time zone the GymLog was logged in.
+     * @return the offset from UTC in seconds
+     */
+    public int getZoneOffset() {
+        return zoneOffset;
+    }
+
+    /**
+     * Sets the offset of the time zone the GymLog was logged in.
+     * @param zoneOffset the offset from UTC in seconds
+     */
+    public void setZoneOffset(int zoneOffset) {
+        this.zoneOffset = zoneOffset;
     }
 
     /**
@@ -176,4 +273,36 @@ public class GymLog {
     public void setUserId(int userId) {
         this.userId = userId;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the number of times the GymLog has been edited.
+     * @return the version of the GymLog
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the number of times the GymLog has been edited.
+     * @param version the version to set for the GymLog
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the ID of the GymLog on the sync server.
+     * @return the remote ID, or 0 if the GymLog has not been uploaded yet
+     */
+    public long getRemoteId() {
+        return remoteId;
+    }
+
+    /**
+     * Sets the ID of the GymLog on the sync server.
+     * @param remoteId the remote ID to set for the GymLog
+     */
+    public void setRemoteId(long remoteId) {
+        this.remoteId = remoteId;
+    }
+}
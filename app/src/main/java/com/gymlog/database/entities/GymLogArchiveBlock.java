@@ -0,0 +1,148 @@
+package com.gymlog.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogArchiveBlock.java holds every GymLog of one user in one local month, moved out of the GymLog table
+ * once the month is old, as a single compressed, columnar BLOB. A month of sets costs one row and a few pages
+ * instead of a row and an entry in each of the four GymLog indices per set.
+ * Months follow the calendar of the time zone each set was logged in, as the month rollups do.
+ * Next to the data the block keeps the range of its dates, IDs and remote IDs, so a read or a write looking
+ * for a record decodes only the blocks that can hold it.
+ * A new record may be written into an archived month and is appended to its block when the month is archived
+ * again; replacing or deleting a record restores its whole month first, see ArchiveDAO.
+ */
+@Entity(tableName = GymLogDatabase.GYM_LOG_ARCHIVE_TABLE,
+        primaryKeys = {"userId", "month"},
+        indices = {@Index(value = {"userId", "lastDate"}), @Index(value = {"lastDate"}),
+                @Index(value = {"minId"}), @Index(value = {"minRemoteId"})})
+public class GymLogArchiveBlock {
+
+    private int userId;
+//  The epoch day of the first local day of the month.
+    private int month;
+    private int rowCount;
+//  The earliest and latest date of a record in the block, in UTC epoch milliseconds.
+    private long firstDate;
+    private long lastDate;
+    private int minId;
+    private int maxId;
+//  The smallest and largest remote ID of a record in the block, 0 for records never uploaded.
+    private long minRemoteId;
+    private long maxRemoteId;
+//  The records, encoded by GymLogBlockCodec.
+    private byte[] data;
+
+    /**
+     * Constructs a new GymLogArchiveBlock.
+     * @param userId      the ID of the user
+     * @param month       the epoch day the month starts on
+     * @param rowCount    the number of records
+     * @param firstDate   the earliest date of a record
+     * @param lastDate    the latest date of a record
+     * @param minId       the smallest ID of a record
+     * @param maxId       the largest ID of a record
+     * @param minRemoteId the smallest remote ID of a record
+     * @param maxRemoteId the largest remote ID of a record
+     * @param data        the encoded records
+     */
+    public GymLogArchiveBlock(int userId, int month, int rowCount, long firstDate, long lastDate, int minId, int maxId,
+                              long minRemoteId, long maxRemoteId, byte[] data) {
+        this.userId = userId;
+        this.month = month;
+        this.rowCount = rowCount;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.minRemoteId = minRemoteId;
+        this.maxRemoteId = maxRemoteId;
+        this.data = data;
+    }
+
+    /**
+     * Returns the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the month of the block.
+     * @return the epoch day the month starts on
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Returns the number of records in the block.
+     * @return the row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the earliest date of a record in the block.
+     * @return the date in UTC epoch milliseconds
+     */
+    public long getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * Returns the latest date of a record in the block.
+     * @return the date in UTC epoch milliseconds
+     */
+    public long getLastDate() {
+        return lastDate;
+    }
+
+    /**
+     * Returns the smallest ID of a record in the block.
+     * @return the ID
+     */
+    public int getMinId() {
+        return minId;
+    }
+
+    /**
+     * Returns the largest ID of a record in the block.
+     * @return the ID
+     */
+    public int getMaxId() {
+        return maxId;
+    }
+
+    /**
+     * Returns the smallest remote ID of a record in the block.
+     * @return the remote ID
+     */
+    public long getMinRemoteId() {
+        return minRemoteId;
+    }
+
+    /**
+     * Returns the largest remote ID of a record in the block.
+     * @return the remote ID
+     */
+    public long getMaxRemoteId() {
+        return maxRemoteId;
+    }
+
+    /**
+     * Returns the encoded records.
+     * @return the bytes written by GymLogBlockCodec
+     */
+    public byte[] getData() {
+        return data;
+    }
+}
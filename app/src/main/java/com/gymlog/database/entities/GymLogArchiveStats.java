@@ -0,0 +1,115 @@
+package com.gymlog.database.entities;
+
+import androidx.room.Entity;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogArchiveStats.java is the summary of one exercise in one {@link GymLogArchiveBlock}, with the same totals
+ * as {@link ExerciseStats}. When a set is deleted or edited, the triggers rebuild the ExerciseStats row of its
+ * exercise from the GymLog table and these rows, so archived sets keep counting without being decoded.
+ * Rows are written and removed with their block.
+ */
+@Entity(tableName = GymLogDatabase.GYM_LOG_ARCHIVE_STATS_TABLE, primaryKeys = {"userId", "exerciseId", "month"})
+public class GymLogArchiveStats {
+
+    private int userId;
+    private int exerciseId;
+//  The epoch day of the first local day of the month of the block.
+    private int month;
+    private double maxWeight;
+    private double bestEstimatedOneRepMax;
+    private double totalVolume;
+    private int setCount;
+    private int totalReps;
+
+    /**
+     * Constructs a new GymLogArchiveStats.
+     * @param userId                 the ID of the user
+     * @param exerciseId             the ID of the exercise
+     * @param month                  the epoch day the month of the block starts on
+     * @param maxWeight              the heaviest weight of any set
+     * @param bestEstimatedOneRepMax the best estimated one-rep max of any set
+     * @param totalVolume            the sum of weight * reps over all sets
+     * @param setCount               the number of sets
+     * @param totalReps              the sum of reps over all sets
+     */
+    public GymLogArchiveStats(int userId, int exerciseId, int month, double maxWeight, double bestEstimatedOneRepMax,
+                              double totalVolume, int setCount, int totalReps) {
+        this.userId = userId;
+        this.exerciseId = exerciseId;
+        this.month = month;
+        this.maxWeight = maxWeight;
+        this.bestEstimatedOneRepMax = bestEstimatedOneRepMax;
+        this.totalVolume = totalVolume;
+        this.setCount = setCount;
+        this.totalReps = totalReps;
+    }
+
+    /**
+     * Returns the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the ID of the exercise.
+     * @return the exercise ID
+     */
+    public int getExerciseId() {
+        return exerciseId;
+    }
+
+    /**
+     * Returns the month of the block.
+     * @return the epoch day the month starts on
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Returns the heaviest weight of any set.
+     * @return the maximum weight
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the best estimated one-rep max of any set.
+     * @return the best estimated one-rep max
+     */
+    public double getBestEstimatedOneRepMax() {
+        return bestEstimatedOneRepMax;
+    }
+
+    /**
+     * Returns the sum of weight * reps over all sets.
+     * @return the total volume
+     */
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    /**
+     * Returns the number of sets.
+     * @return the set count
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the sum of reps over all sets.
+     * @return the total reps
+     */
+    public int getTotalReps() {
+        return totalReps;
+    }
+}
@@ -0,0 +1,50 @@
+package com.gymlog.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * RollupBackfill.java is the progress of rebuilding one user's {@link ExerciseRollup} rows from the sets
+ * they logged before the rollups existed. The backfill rebuilds a few months per transaction and records
+ * where it stopped, so it never holds the database for long and resumes after the app is killed.
+ * The row is deleted once the user's whole history is covered.
+ */
+@Entity(tableName = GymLogDatabase.ROLLUP_BACKFILL_TABLE)
+public class RollupBackfill {
+
+    @PrimaryKey
+    private int userId;
+//  The epoch day the next window of the backfill starts from.
+    private int nextDay;
+
+    /**
+     * Constructs a new RollupBackfill.
+     * @param userId  the ID of the user
+     * @param nextDay the epoch day the next window starts from
+     */
+    public RollupBackfill(int userId, int nextDay) {
+        this.userId = userId;
+        this.nextDay = nextDay;
+    }
+
+    /**
+     * Returns the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns where the next window of the backfill starts.
+     * @return the epoch day
+     */
+    public int getNextDay() {
+        return nextDay;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gymlog.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncPending.java marks a GymLog or User row changed since it was last uploaded to the sync server.
+ * Rows are written by triggers on the synced tables, see GymLogTriggers, in the same transaction as the change,
+ * and there is at most one per changed row: a second edit before the upload only moves the row to the end of
+ * the queue with a new sequence number. The sync engine deletes a row once the server acknowledged the
+ * sequence number it uploaded, so an edit made during the upload stays pending.
+ */
+@Entity(tableName = GymLogDatabase.SYNC_PENDING_TABLE,
+        indices = {
+                @Index(value = {"tableName", "rowId"}, unique = true),
+                @Index(value = {"tableName", "seq"})
+        })
+public class SyncPending {
+
+//  The position of the change in the upload queue, one more than the highest pending when it was made.
+    @PrimaryKey
+    private long seq;
+//  The synced table the changed row belongs to, GYM_LOG_TABLE or USER_TABLE.
+    @NonNull
+    private String tableName;
+//  The ID of the changed row in its table.
+    private int rowId;
+//  The remote ID of the changed row, kept here so a deleted row can still be deleted on the server.
+    private long remoteId;
+//  Whether the row was deleted.
+    private boolean deleted;
+
+    /**
+     * Constructs a new SyncPending.
+     * @param seq       the position of the change in the upload queue
+     * @param tableName the synced table of the changed row
+     * @param rowId     the ID of the changed row
+     * @param remoteId  the remote ID of the changed row, or 0 if it has none yet
+     * @param deleted   whether the row was deleted
+     */
+    public SyncPending(long seq, @NonNull String tableName, int rowId, long remoteId, boolean deleted) {
+        this.seq = seq;
+        this.tableName = tableName;
+        this.rowId = rowId;
+        this.remoteId = remoteId;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Returns the position of the change in the upload queue.
+     * @return the sequence number
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Returns the synced table of the changed row.
+     * @return the table name
+     */
+    @NonNull
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the ID of the changed row.
+     * @return the row ID
+     */
+    public int getRowId() {
+        return rowId;
+    }
+
+    /**
+     * Returns the remote ID of the changed row.
+     * @return the remote ID, or 0 if the row has not been uploaded yet
+     */
+    public long getRemoteId() {
+        return remoteId;
+    }
+
+    /**
+     * Returns whether the row was deleted.
+     * @return true if the change is a deletion
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
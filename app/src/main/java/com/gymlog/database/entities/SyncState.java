@@ -0,0 +1,51 @@
+package com.gymlog.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gymlog.database.GymLogDatabase;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncState.java is one named value of the sync engine, such as the ID of this client or how far it has
+ * downloaded a table. It is stored in the database so it is written in the same transaction as the
+ * downloaded rows it describes.
+ */
+@Entity(tableName = GymLogDatabase.SYNC_STATE_TABLE)
+public class SyncState {
+
+    @PrimaryKey
+    @NonNull
+    private String name;
+    private long value;
+
+    /**
+     * Constructs a new SyncState.
+     * @param name  the name of the value
+     * @param value the value
+     */
+    public SyncState(@NonNull String name, long value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    /**
+     * Returns the name of the value.
+     * @return the name
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the value.
+     * @return the value
+     */
+    public long getValue() {
+        return value;
+    }
+}
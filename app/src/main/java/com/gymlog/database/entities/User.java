@@ -1,6 +1,8 @@
 package com.gymlog.database.entities;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import com.gymlog.database.GymLogDatabase;
@@ -12,8 +14,11 @@ import java.util.Objects;
  * GymLog
  * 08/04/2024
  * User.java represents a user entity in the GymLog application.
+ * Users are indexed on username, which is how they are looked up at login, and on their remote ID,
+ * which is how a downloaded change finds its local row.
+ * Passwords are never stored, only their hashes as made by {@link com.gymlog.credentials.Credentials}.
  */
-@Entity(tableName = GymLogDatabase.USER_TABLE)
+@Entity(tableName = GymLogDatabase.USER_TABLE, indices = {@Index(value = {"username"}), @Index(value = {"remoteId"})})
 public class User {
 
 //  The unique identifier for the User.
@@ -21,18 +26,23 @@ public class User {
     private int id;
 
     private String username;
-    private String password;
+//  The encoded password hash, see PasswordHasher. Plain text only in databases from before version 9, null for a
+//  downloaded user whose hash was refused.
+    private String passwordHash;
     private boolean isAdmin;
+//  The ID of the user on the sync server, or 0 if it has not been uploaded yet. Set by the sync engine only.
+    @ColumnInfo(defaultValue = "0")
+    private long remoteId;
 
     /**
-     * Constructs a new User with the specified username and password.
+     * Constructs a new User with the specified username and password hash.
      * By default, the user is not an admin.
-     * @param username the username of the user
-     * @param password the password for the user account
+     * @param username     the username of the user
+     * @param passwordHash the hash of the password for the user account, from {@link com.gymlog.credentials.Credentials#hash}
      */
-    public User(String username, String password) {
+    public User(String username, String passwordHash) {
         this.username = username;
-        this.password = password;
+        this.passwordHash = passwordHash;
         isAdmin = false;
     }
 
@@ -46,7 +56,7 @@ public class User {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         User user = (User) o;
-        return id == user.id && isAdmin == user.isAdmin && Objects.equals(username, user.username) && Objects.equals(password, user.password);
+        return id == user.id && isAdmin == user.isAdmin && remoteId == user.remoteId && Objects.equals(username, user.username) && Objects.equals(passwordHash, user.passwordHash);
     }
 
     /**
@@ -56,7 +66,7 @@ public class User {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id, username, password, isAdmin);
+        return Objects.hash(id, username, passwordHash, isAdmin, remoteId);
     }
 
     /**
@@ -92,19 +102,19 @@ public class User {
     }
 
     /**
-     * Returns the password of the User.
-     * @return the password of the User
+     * Returns the password hash of the User.
+     * @return the encoded password hash of the User
      */
-    public String getPassword() {
-        return password;
+    public String getPasswordHash() {
+        return passwordHash;
     }
 
     /**
-     * Sets the password of the User.
-     * @param password the password to set for the User
+     * Sets the password hash of the User.
+     * @param passwordHash the encoded password hash to set for the User
      */
-    public void setPassword(String password) {
-        this.password = password;
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
     }
 
     /**
@@ -122,4 +132,20 @@ public class User {
     public void setAdmin(boolean admin) {
         isAdmin = admin;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the ID of the User on the sync server.
+     * @return the remote ID, or 0 if the User has not been uploaded yet
+     */
+    public long getRemoteId() {
+        return remoteId;
+    }
+
+    /**
+     * Sets the ID of the User on the sync server.
+     * @param remoteId the remote ID to set for the User
+     */
+    public void setRemoteId(long remoteId) {
+        this.remoteId = remoteId;
+    }
+}
@@ -0,0 +1,765 @@
+package com.gymlog.database.migrations;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.AutoMigrationSpec;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.gymlog.credentials.Credentials;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogMigrations holds every schema migration of the GymLogDatabase, one {@link Migration} per version step.
+ * Each migration uses literal SQL frozen at the version it migrates to, so later changes to the entities
+ * never change how an old database is upgraded.
+ * Versions that only add indices, 5 to 6 and 13 to 14, are declared as {@link androidx.room.AutoMigration}s on
+ * the database instead. Room generates them from the schema JSON exported to app/schemas, so the exported schema
+ * of every released version has to be committed. Room may rebuild a table whose indices change, which drops the
+ * table's triggers, so each of these steps has an {@link AutoMigrationSpec} here that creates them again.
+ */
+public final class GymLogMigrations {
+
+    private GymLogMigrations() {
+    }
+
+//  Trigger SQL created by more than one migration, named after the version that introduced it.
+//  A version that changes a trigger adds a new constant instead of editing an existing one.
+    private static final String STATS_AFTER_INSERT_3 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_insert` AFTER INSERT ON `gymLogTable` WHEN NEW.`exercise` IS NOT NULL BEGIN " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exercise`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exercise`, NEW.`weight`, CASE WHEN NEW.`reps` <= 1 THEN NEW.`weight` * NEW.`reps` ELSE NEW.`weight` * (1 + NEW.`reps` / 30.0) END, NEW.`weight` * NEW.`reps`, 1, NEW.`reps`)" +
+            " ON CONFLICT (`userId`, `exercise`) DO UPDATE SET `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `bestEstimatedOneRepMax` = MAX(`bestEstimatedOneRepMax`, excluded.`bestEstimatedOneRepMax`), `totalVolume` = `totalVolume` + excluded.`totalVolume`, `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String STATS_BEFORE_REPLACE_3 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_before_replace` BEFORE INSERT ON `gymLogTable` WHEN EXISTS (SELECT 1 FROM `gymLogTable` WHERE `id` = NEW.`id`) BEGIN " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exercise` = (SELECT `exercise` FROM `gymLogTable` WHERE `id` = NEW.`id`); " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exercise`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exercise`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exercise` = (SELECT `exercise` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `id` <> NEW.`id` GROUP BY `userId`, `exercise`; " +
+            "END";
+
+    private static final String STATS_AFTER_DELETE_3 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_delete` AFTER DELETE ON `gymLogTable` WHEN OLD.`exercise` IS NOT NULL BEGIN " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exercise` = OLD.`exercise`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exercise`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exercise`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exercise` = OLD.`exercise` GROUP BY `userId`, `exercise`; " +
+            "END";
+
+    private static final String STATS_AFTER_UPDATE_3 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_update` AFTER UPDATE OF `userId`, `exercise`, `weight`, `reps` ON `gymLogTable` BEGIN " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exercise` = OLD.`exercise`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exercise`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exercise`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exercise` = OLD.`exercise` GROUP BY `userId`, `exercise`; " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = NEW.`userId` AND `exercise` = NEW.`exercise`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exercise`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exercise`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = NEW.`userId` AND `exercise` = NEW.`exercise` GROUP BY `userId`, `exercise`; " +
+            "END";
+
+    private static final String VERSION_AFTER_UPDATE_4 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_version_after_update`" +
+            " AFTER UPDATE OF `exercise`, `weight`, `reps`, `date`, `userId` ON `gymLogTable`" +
+            " WHEN NEW.`version` = OLD.`version` BEGIN " +
+            "UPDATE `gymLogTable` SET `version` = OLD.`version` + 1 WHERE `id` = NEW.`id`; " +
+            "END";
+
+    private static final String STATS_AFTER_INSERT_7 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_insert` AFTER INSERT ON `gymLogTable` BEGIN " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, NEW.`weight`, CASE WHEN NEW.`reps` <= 1 THEN NEW.`weight` * NEW.`reps` ELSE NEW.`weight` * (1 + NEW.`reps` / 30.0) END, NEW.`weight` * NEW.`reps`, 1, NEW.`reps`)" +
+            " ON CONFLICT (`userId`, `exerciseId`) DO UPDATE SET `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `bestEstimatedOneRepMax` = MAX(`bestEstimatedOneRepMax`, excluded.`bestEstimatedOneRepMax`), `totalVolume` = `totalVolume` + excluded.`totalVolume`, `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String STATS_BEFORE_REPLACE_7 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_before_replace` BEFORE INSERT ON `gymLogTable` WHEN EXISTS (SELECT 1 FROM `gymLogTable` WHERE `id` = NEW.`id`) BEGIN " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`); " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exerciseId`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `id` <> NEW.`id` GROUP BY `userId`, `exerciseId`; " +
+            "END";
+
+    private static final String STATS_AFTER_DELETE_7 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_delete` AFTER DELETE ON `gymLogTable` BEGIN " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exerciseId`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` GROUP BY `userId`, `exerciseId`; " +
+            "END";
+
+    private static final String STATS_AFTER_UPDATE_7 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_update` AFTER UPDATE OF `userId`, `exerciseId`, `weight`, `reps` ON `gymLogTable` BEGIN " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exerciseId`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` GROUP BY `userId`, `exerciseId`; " +
+            "DELETE FROM `exerciseStatsTable`" +
+            " WHERE `userId` = NEW.`userId` AND `exerciseId` = NEW.`exerciseId`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+            " SELECT `userId`, `exerciseId`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+            " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable`" +
+            " WHERE `userId` = NEW.`userId` AND `exerciseId` = NEW.`exerciseId` GROUP BY `userId`, `exerciseId`; " +
+            "END";
+
+    private static final String VERSION_AFTER_UPDATE_7 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_version_after_update`" +
+            " AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `userId` ON `gymLogTable`" +
+            " WHEN NEW.`version` = OLD.`version` BEGIN " +
+            "UPDATE `gymLogTable` SET `version` = OLD.`version` + 1 WHERE `id` = NEW.`id`; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_INSERT_10 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_insert` AFTER INSERT ON `gymLogTable` BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+            " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', NEW.`id`, NEW.`remoteId`, 0)" +
+            " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+            " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_UPDATE_10 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_update` AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `zoneOffset`, `userId` ON `gymLogTable` BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+            " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', NEW.`id`, NEW.`remoteId`, 0)" +
+            " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+            " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_DELETE_10 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_delete` AFTER DELETE ON `gymLogTable` BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+            " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', OLD.`id`, OLD.`remoteId`, 1)" +
+            " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+            " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_USER_AFTER_INSERT_10 = "CREATE TRIGGER IF NOT EXISTS `usertable_sync_after_insert` AFTER INSERT ON `usertable` BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+            " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'usertable', NEW.`id`, NEW.`remoteId`, 0)" +
+            " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+            " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_USER_AFTER_UPDATE_10 = "CREATE TRIGGER IF NOT EXISTS `usertable_sync_after_update` AFTER UPDATE OF `username`, `passwordHash`, `isAdmin` ON `usertable` BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+            " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'usertable', NEW.`id`, NEW.`remoteId`, 0)" +
+            " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+            " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_USER_AFTER_DELETE_10 = "CREATE TRIGGER IF NOT EXISTS `usertable_sync_after_delete` AFTER DELETE ON `usertable` BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+            " VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'usertable', OLD.`id`, OLD.`remoteId`, 1)" +
+            " ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`," +
+            " `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String CHANGE_LOG_AFTER_INSERT_11 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`)" +
+            " VALUES (NEW.`id`, NEW.`userId`, 1, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    private static final String CHANGE_LOG_AFTER_UPDATE_11 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_after_update` AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `zoneOffset`, `userId` ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`)" +
+            " VALUES (NEW.`id`, NEW.`userId`, 2, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    private static final String CHANGE_LOG_AFTER_DELETE_11 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_after_delete` AFTER DELETE ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`)" +
+            " VALUES (OLD.`id`, OLD.`userId`, 3, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    private static final String ROLLUP_AFTER_INSERT_12 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_insert` AFTER INSERT ON `gymLogTable` BEGIN " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 1, ((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 2, (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) - (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) + 3) % 7), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 3, CAST(julianday(((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String ROLLUP_BEFORE_REPLACE_12 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_before_replace` BEFORE INSERT ON `gymLogTable` WHEN EXISTS (SELECT 1 FROM `gymLogTable` WHERE `id` = NEW.`id`) BEGIN " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) * (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`), `maxWeight` = CASE WHEN (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`date` >= ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000)) * 86400000 - 64800000 AND g.`date` < (((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 1)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= (((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 1) AND g.`id` <> NEW.`id`), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`) WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 1 AND `bucket` = (((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 1 AND `bucket` = (((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) * (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`), `maxWeight` = CASE WHEN (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`date` >= (((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7)) * 86400000 - 64800000 AND g.`date` < ((((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) + 7)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < (((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) + 7) AND g.`id` <> NEW.`id`), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`) WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 2 AND `bucket` = ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 2 AND `bucket` = ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) * (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`), `maxWeight` = CASE WHEN (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`date` >= (CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER)) * 86400000 - 64800000 AND g.`date` < (CAST(julianday(CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < CAST(julianday(CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER) AND g.`id` <> NEW.`id`), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`) WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 3 AND `bucket` = CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 3 AND `bucket` = CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND `setCount` <= 0; " +
+            "END";
+
+    private static final String ROLLUP_AFTER_DELETE_12 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_delete` AFTER DELETE ON `gymLogTable` BEGIN " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000)) * 86400000 - 64800000 AND g.`date` < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7)) * 86400000 - 64800000 AND g.`date` < (((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) + 7)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) + 7)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= (CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER)) * 86400000 - 64800000 AND g.`date` < (CAST(julianday(CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < CAST(julianday(CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND `setCount` <= 0; " +
+            "END";
+
+    private static final String ROLLUP_AFTER_UPDATE_12 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_update` AFTER UPDATE OF `userId`, `exerciseId`, `weight`, `reps`, `date`, `zoneOffset` ON `gymLogTable` BEGIN " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000)) * 86400000 - 64800000 AND g.`date` < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7)) * 86400000 - 64800000 AND g.`date` < (((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) + 7)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) + 7)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= (CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER)) * 86400000 - 64800000 AND g.`date` < (CAST(julianday(CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < CAST(julianday(CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND `setCount` <= 0; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 1, ((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 2, (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) - (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) + 3) % 7), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 3, CAST(julianday(((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String STATS_AFTER_INSERT_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, NEW.`weight`, CASE WHEN NEW.`reps` <= 1 THEN NEW.`weight` * NEW.`reps` ELSE NEW.`weight` * (1 + NEW.`reps` / 30.0) END, NEW.`weight` * NEW.`reps`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`) DO UPDATE SET `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `bestEstimatedOneRepMax` = MAX(`bestEstimatedOneRepMax`, excluded.`bestEstimatedOneRepMax`), `totalVolume` = `totalVolume` + excluded.`totalVolume`, `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String STATS_BEFORE_REPLACE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_before_replace` BEFORE INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `gymLogTable` WHERE `id` = NEW.`id`) BEGIN " +
+            "DELETE FROM `exerciseStatsTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`); " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) SELECT `userId`, `exerciseId`, MAX(`maxWeight`), MAX(`bestEstimatedOneRepMax`), SUM(`totalVolume`), SUM(`setCount`), SUM(`totalReps`) FROM (SELECT `userId`, `exerciseId`, MAX(`weight`) AS `maxWeight`, MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END) AS `bestEstimatedOneRepMax`, SUM(`weight` * `reps`) AS `totalVolume`, COUNT(*) AS `setCount`, SUM(`reps`) AS `totalReps` FROM `gymLogTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `id` <> NEW.`id` GROUP BY `userId`, `exerciseId` UNION ALL SELECT `userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps` FROM `gymLogArchiveStatsTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`)) GROUP BY `userId`, `exerciseId`; " +
+            "END";
+
+    private static final String STATS_AFTER_DELETE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_delete` AFTER DELETE ON `gymLogTable`" +
+            " WHEN NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "DELETE FROM `exerciseStatsTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) SELECT `userId`, `exerciseId`, MAX(`maxWeight`), MAX(`bestEstimatedOneRepMax`), SUM(`totalVolume`), SUM(`setCount`), SUM(`totalReps`) FROM (SELECT `userId`, `exerciseId`, MAX(`weight`) AS `maxWeight`, MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END) AS `bestEstimatedOneRepMax`, SUM(`weight` * `reps`) AS `totalVolume`, COUNT(*) AS `setCount`, SUM(`reps`) AS `totalReps` FROM `gymLogTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` GROUP BY `userId`, `exerciseId` UNION ALL SELECT `userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps` FROM `gymLogArchiveStatsTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId`) GROUP BY `userId`, `exerciseId`; " +
+            "END";
+
+    private static final String STATS_AFTER_UPDATE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_stats_after_update` AFTER UPDATE OF `userId`, `exerciseId`, `weight`, `reps` ON `gymLogTable` BEGIN " +
+            "DELETE FROM `exerciseStatsTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) SELECT `userId`, `exerciseId`, MAX(`maxWeight`), MAX(`bestEstimatedOneRepMax`), SUM(`totalVolume`), SUM(`setCount`), SUM(`totalReps`) FROM (SELECT `userId`, `exerciseId`, MAX(`weight`) AS `maxWeight`, MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END) AS `bestEstimatedOneRepMax`, SUM(`weight` * `reps`) AS `totalVolume`, COUNT(*) AS `setCount`, SUM(`reps`) AS `totalReps` FROM `gymLogTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` GROUP BY `userId`, `exerciseId` UNION ALL SELECT `userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps` FROM `gymLogArchiveStatsTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId`) GROUP BY `userId`, `exerciseId`; " +
+            "DELETE FROM `exerciseStatsTable` WHERE `userId` = NEW.`userId` AND `exerciseId` = NEW.`exerciseId`; " +
+            "INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`) SELECT `userId`, `exerciseId`, MAX(`maxWeight`), MAX(`bestEstimatedOneRepMax`), SUM(`totalVolume`), SUM(`setCount`), SUM(`totalReps`) FROM (SELECT `userId`, `exerciseId`, MAX(`weight`) AS `maxWeight`, MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END) AS `bestEstimatedOneRepMax`, SUM(`weight` * `reps`) AS `totalVolume`, COUNT(*) AS `setCount`, SUM(`reps`) AS `totalReps` FROM `gymLogTable` WHERE `userId` = NEW.`userId` AND `exerciseId` = NEW.`exerciseId` GROUP BY `userId`, `exerciseId` UNION ALL SELECT `userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps` FROM `gymLogArchiveStatsTable` WHERE `userId` = NEW.`userId` AND `exerciseId` = NEW.`exerciseId`) GROUP BY `userId`, `exerciseId`; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_INSERT_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', NEW.`id`, NEW.`remoteId`, 0) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_DELETE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_delete` AFTER DELETE ON `gymLogTable`" +
+            " WHEN NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', OLD.`id`, OLD.`remoteId`, 1) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String CHANGE_LOG_AFTER_INSERT_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) AND NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`) VALUES (NEW.`id`, NEW.`userId`, 1, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    private static final String CHANGE_LOG_AFTER_DELETE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_after_delete` AFTER DELETE ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) AND NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`) VALUES (OLD.`id`, OLD.`userId`, 3, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    private static final String ROLLUP_AFTER_INSERT_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 1, ((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 2, (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) - (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) + 3) % 7), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 3, CAST(julianday(((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String ROLLUP_BEFORE_REPLACE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_before_replace` BEFORE INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `gymLogTable` WHERE `id` = NEW.`id`) BEGIN " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) * (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`), `maxWeight` = CASE WHEN (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND g.`date` >= ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000)) * 86400000 - 64800000 AND g.`date` < (((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 1)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= (((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 1) AND g.`id` <> NEW.`id`), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`) WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 1 AND `bucket` = (((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 1 AND `bucket` = (((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) * (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`), `maxWeight` = CASE WHEN (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `exerciseRollupTable` d WHERE d.`userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND d.`exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND d.`period` = 1 AND d.`bucket` >= ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) AND d.`bucket` < (((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) + 7)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`) WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 2 AND `bucket` = ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 2 AND `bucket` = ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) - ((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) + 3) % 7) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) * (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`), `maxWeight` = CASE WHEN (SELECT `weight` FROM `gymLogTable` WHERE `id` = NEW.`id`) < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `exerciseRollupTable` d WHERE d.`userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND d.`exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND d.`period` = 1 AND d.`bucket` >= CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND d.`bucket` < CAST(julianday(CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - (SELECT `reps` FROM `gymLogTable` WHERE `id` = NEW.`id`) WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 3 AND `bucket` = CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = (SELECT `userId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `exerciseId` = (SELECT `exerciseId` FROM `gymLogTable` WHERE `id` = NEW.`id`) AND `period` = 3 AND `bucket` = CAST(julianday((((SELECT `date` FROM `gymLogTable` WHERE `id` = NEW.`id`) + (SELECT `zoneOffset` FROM `gymLogTable` WHERE `id` = NEW.`id`) * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND `setCount` <= 0; " +
+            "END";
+
+    private static final String ROLLUP_AFTER_DELETE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_delete` AFTER DELETE ON `gymLogTable`" +
+            " WHEN NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000)) * 86400000 - 64800000 AND g.`date` < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `exerciseRollupTable` d WHERE d.`userId` = OLD.`userId` AND d.`exerciseId` = OLD.`exerciseId` AND d.`period` = 1 AND d.`bucket` >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND d.`bucket` < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) + 7)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `exerciseRollupTable` d WHERE d.`userId` = OLD.`userId` AND d.`exerciseId` = OLD.`exerciseId` AND d.`period` = 1 AND d.`bucket` >= CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND d.`bucket` < CAST(julianday(CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND `setCount` <= 0; " +
+            "END";
+
+    private static final String ROLLUP_AFTER_UPDATE_13 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_rollup_after_update` AFTER UPDATE OF `userId`, `exerciseId`, `weight`, `reps`, `date`, `zoneOffset` ON `gymLogTable` BEGIN " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(g.`weight`) FROM `gymLogTable` g WHERE g.`userId` = OLD.`userId` AND g.`exerciseId` = OLD.`exerciseId` AND g.`date` >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000)) * 86400000 - 64800000 AND g.`date` < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)) * 86400000 + 64800000 AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) >= ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND ((g.`date` + g.`zoneOffset` * 1000) / 86400000) < (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 1)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 1 AND `bucket` = ((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `exerciseRollupTable` d WHERE d.`userId` = OLD.`userId` AND d.`exerciseId` = OLD.`exerciseId` AND d.`period` = 1 AND d.`bucket` >= (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND d.`bucket` < ((((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) + 7)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 2 AND `bucket` = (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) - (((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) + 3) % 7) AND `setCount` <= 0; " +
+            "UPDATE `exerciseRollupTable` SET `totalVolume` = `totalVolume` - OLD.`weight` * OLD.`reps`, `maxWeight` = CASE WHEN OLD.`weight` < `maxWeight` THEN `maxWeight` ELSE IFNULL((SELECT MAX(d.`maxWeight`) FROM `exerciseRollupTable` d WHERE d.`userId` = OLD.`userId` AND d.`exerciseId` = OLD.`exerciseId` AND d.`period` = 1 AND d.`bucket` >= CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND d.`bucket` < CAST(julianday(CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) * 86400, 'unixepoch', '+1 month') - 2440587.5 AS INTEGER)), 0) END, `setCount` = `setCount` - 1, `totalReps` = `totalReps` - OLD.`reps` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER); " +
+            "DELETE FROM `exerciseRollupTable` WHERE `userId` = OLD.`userId` AND `exerciseId` = OLD.`exerciseId` AND `period` = 3 AND `bucket` = CAST(julianday(((OLD.`date` + OLD.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER) AND `setCount` <= 0; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 1, ((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 2, (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) - (((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) + 3) % 7), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "INSERT INTO `exerciseRollupTable` (`userId`, `exerciseId`, `period`, `bucket`, `totalVolume`, `maxWeight`, `setCount`, `totalReps`) VALUES (NEW.`userId`, NEW.`exerciseId`, 3, CAST(julianday(((NEW.`date` + NEW.`zoneOffset` * 1000) / 86400000) * 86400, 'unixepoch', 'start of month') - 2440587.5 AS INTEGER), NEW.`weight` * NEW.`reps`, NEW.`weight`, 1, NEW.`reps`) ON CONFLICT (`userId`, `exerciseId`, `period`, `bucket`) DO UPDATE SET `totalVolume` = `totalVolume` + excluded.`totalVolume`, `maxWeight` = MAX(`maxWeight`, excluded.`maxWeight`), `setCount` = `setCount` + 1, `totalReps` = `totalReps` + excluded.`totalReps`; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_INSERT_15 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId') AND NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', NEW.`id`, NEW.`remoteId`, 0) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_UPDATE_15 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_update` AFTER UPDATE OF `exerciseId`, `weight`, `reps`, `date`, `zoneOffset`, `userId` ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId') BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', NEW.`id`, NEW.`remoteId`, 0) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_GYM_LOG_AFTER_DELETE_15 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_sync_after_delete` AFTER DELETE ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId') AND NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'gymLogTable', OLD.`id`, OLD.`remoteId`, 1) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_USER_AFTER_INSERT_15 = "CREATE TRIGGER IF NOT EXISTS `usertable_sync_after_insert` AFTER INSERT ON `usertable`" +
+            " WHEN EXISTS (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId') BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'usertable', NEW.`id`, NEW.`remoteId`, 0) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_USER_AFTER_UPDATE_15 = "CREATE TRIGGER IF NOT EXISTS `usertable_sync_after_update` AFTER UPDATE OF `username`, `passwordHash`, `isAdmin` ON `usertable`" +
+            " WHEN EXISTS (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId') BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'usertable', NEW.`id`, NEW.`remoteId`, 0) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String SYNC_USER_AFTER_DELETE_15 = "CREATE TRIGGER IF NOT EXISTS `usertable_sync_after_delete` AFTER DELETE ON `usertable`" +
+            " WHEN EXISTS (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId') BEGIN " +
+            "INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`) VALUES ((SELECT IFNULL(MAX(`seq`), 0) + 1 FROM `syncPendingTable`), 'usertable', OLD.`id`, OLD.`remoteId`, 1) ON CONFLICT (`tableName`, `rowId`) DO UPDATE SET `seq` = excluded.`seq`, `deleted` = excluded.`deleted`, `remoteId` = CASE WHEN excluded.`remoteId` <> 0 THEN excluded.`remoteId` ELSE `remoteId` END; " +
+            "END";
+
+    private static final String CHANGE_LOG_BEFORE_REPLACE_16 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_before_replace` BEFORE INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) AND EXISTS (SELECT 1 FROM `gymLogTable` WHERE `id` = NEW.`id`) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`) VALUES (NEW.`id`, NEW.`userId`, 2, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    private static final String CHANGE_LOG_AFTER_INSERT_16 = "CREATE TRIGGER IF NOT EXISTS `gymLogTable_changeLog_after_insert` AFTER INSERT ON `gymLogTable`" +
+            " WHEN EXISTS (SELECT 1 FROM `changeLogCursorTable`) AND NOT EXISTS (SELECT 1 FROM `archiveMoveTable`) AND NOT EXISTS (SELECT 1 FROM `changeLogTable` WHERE `seq` = (SELECT MAX(`seq`) FROM `changeLogTable`) AND `rowId` = NEW.`id` AND `operation` = 2 AND `changedAt` = CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)) BEGIN " +
+            "INSERT INTO `changeLogTable` (`rowId`, `userId`, `operation`, `changedAt`) VALUES (NEW.`id`, NEW.`userId`, 1, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); " +
+            "END";
+
+    /**
+     * Migration from version 1 to 2.
+     * Adds the (userId, date DESC, id DESC) and date indices on the GymLog table and the username index
+     * on the user table, so history and login queries no longer scan and sort the whole table.
+     */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_userId_date_id` ON `gymLogTable` (`userId` ASC, `date` DESC, `id` DESC)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_date` ON `gymLogTable` (`date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_usertable_username` ON `usertable` (`username`)");
+        }
+    };
+
+    /**
+     * Migration from version 2 to 3.
+     * Adds the per-user, per-exercise stats table, the triggers on the GymLog table that keep it up to date,
+     * and fills it from the existing history.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `exerciseStatsTable` (`userId` INTEGER NOT NULL, `exercise` TEXT NOT NULL, `maxWeight` REAL NOT NULL, `bestEstimatedOneRepMax` REAL NOT NULL, `totalVolume` REAL NOT NULL, `setCount` INTEGER NOT NULL, `totalReps` INTEGER NOT NULL, PRIMARY KEY(`userId`, `exercise`))");
+            db.execSQL(STATS_AFTER_INSERT_3);
+            db.execSQL(STATS_BEFORE_REPLACE_3);
+            db.execSQL(STATS_AFTER_DELETE_3);
+            db.execSQL(STATS_AFTER_UPDATE_3);
+            db.execSQL("INSERT INTO `exerciseStatsTable` (`userId`, `exercise`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+                    " SELECT `userId`, `exercise`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+                    " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable` WHERE `exercise` IS NOT NULL GROUP BY `userId`, `exercise`");
+        }
+    };
+
+    /**
+     * Migration from version 3 to 4.
+     * Adds the version column to the GymLog table and the trigger that increments it on direct SQL edits.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `gymLogTable` ADD COLUMN `version` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL(VERSION_AFTER_UPDATE_4);
+        }
+    };
+
+    /**
+     * Migration from version 4 to 5.
+     * Rebuilds the GymLog table with a NOT NULL date, which already held UTC epoch milliseconds, and a zoneOffset
+     * column, then recreates its indices and triggers, which SQLite drops with the old table.
+     * Existing rows get the offset the device's time zone had at their instant, which is the zone their
+     * date was converted with when they were written.
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `gymLogTable_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `exercise` TEXT, `weight` REAL NOT NULL, `reps` INTEGER NOT NULL, `date` INTEGER NOT NULL, `zoneOffset` INTEGER NOT NULL DEFAULT 0, `userId` INTEGER NOT NULL, `version` INTEGER NOT NULL DEFAULT 0)");
+            db.execSQL("INSERT INTO `gymLogTable_new` (`id`, `exercise`, `weight`, `reps`, `date`, `zoneOffset`, `userId`, `version`)" +
+                    " SELECT `id`, `exercise`, `weight`, `reps`, IFNULL(`date`, 0), 0, `userId`, `version` FROM `gymLogTable`");
+            db.execSQL("DROP TABLE `gymLogTable`");
+            db.execSQL("ALTER TABLE `gymLogTable_new` RENAME TO `gymLogTable`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_userId_date_id` ON `gymLogTable` (`userId` ASC, `date` DESC, `id` DESC)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_date` ON `gymLogTable` (`date`)");
+            fillZoneOffsets(db, ZoneId.systemDefault().getRules());
+            db.execSQL(STATS_AFTER_INSERT_3);
+            db.execSQL(STATS_BEFORE_REPLACE_3);
+            db.execSQL(STATS_AFTER_DELETE_3);
+            db.execSQL(STATS_AFTER_UPDATE_3);
+            db.execSQL(VERSION_AFTER_UPDATE_4);
+        }
+    };
+
+    /**
+     * Sets the zoneOffset of every GymLog row to the offset of a time zone at the row's date.
+     * Runs one range update per offset period between the oldest and newest row, not one update per row,
+     * so it costs a few statements per year of history.
+     * @param db    the database being migrated
+     * @param rules the rules of the time zone the dates were written in
+     */
+    static void fillZoneOffsets(SupportSQLiteDatabase db, ZoneRules rules) {
+        long oldest;
+        long newest;
+        try (Cursor cursor = db.query("SELECT MIN(`date`), MAX(`date`) FROM `gymLogTable`")) {
+            if (!cursor.moveToFirst() || cursor.isNull(0)) {
+                return;
+            }
+            oldest = cursor.getLong(0);
+            newest = cursor.getLong(1);
+        }
+        Instant from = Instant.ofEpochMilli(oldest);
+        while (true) {
+            ZoneOffsetTransition next = rules.nextTransition(from);
+            long until = next == null || next.toEpochSecond() * 1000 > newest ? Long.MAX_VALUE : next.toEpochSecond() * 1000;
+            int offset = rules.getOffset(from).getTotalSeconds();
+            if (offset != 0) {
+                db.execSQL("UPDATE `gymLogTable` SET `zoneOffset` = ? WHERE `date` >= ? AND `date` < ?",
+                        new Object[]{offset, from.toEpochMilli(), until});
+            }
+            if (until == Long.MAX_VALUE) {
+                return;
+            }
+            from = next.getInstant();
+        }
+    }
+
+    /**
+     * Auto migration from version 5 to 6.
+     * Room adds the (userId, exercise, date DESC, id DESC) index on the GymLog table for the history of one
+     * exercise; this spec then creates the GymLog triggers of version 6 again, in case Room rebuilt the table.
+     */
+    public static final class AutoMigration5To6 implements AutoMigrationSpec {
+        @Override
+        public void onPostMigrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL(STATS_AFTER_INSERT_3);
+            db.execSQL(STATS_BEFORE_REPLACE_3);
+            db.execSQL(STATS_AFTER_DELETE_3);
+            db.execSQL(STATS_AFTER_UPDATE_3);
+            db.execSQL(VERSION_AFTER_UPDATE_4);
+        }
+    }
+
+    /**
+     * Migration from version 6 to 7.
+     * Moves exercise names into the exercise dictionary table and rebuilds the GymLog and stats tables
+     * to refer to them by ID. Names are trimmed and merged ignoring case, keeping the spelling of the oldest
+     * record; records without a name get "Unknown". The sequence of GymLog IDs is carried over, so IDs
+     * of deleted records are not reused.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `exerciseTable` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL COLLATE NOCASE)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_exerciseTable_name` ON `exerciseTable` (`name`)");
+            db.execSQL("INSERT INTO `exerciseTable` (`name`)" +
+                    " SELECT `name` FROM (SELECT IFNULL(NULLIF(TRIM(`exercise`), ''), 'Unknown') AS `name`, MIN(`id`) AS `first`" +
+                    " FROM `gymLogTable` GROUP BY `name` COLLATE NOCASE) ORDER BY `first`");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `gymLogTable_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `exerciseId` INTEGER NOT NULL, `weight` REAL NOT NULL, `reps` INTEGER NOT NULL, `date` INTEGER NOT NULL, `zoneOffset` INTEGER NOT NULL DEFAULT 0, `userId` INTEGER NOT NULL, `version` INTEGER NOT NULL DEFAULT 0, FOREIGN KEY(`exerciseId`) REFERENCES `exerciseTable`(`id`) ON UPDATE NO ACTION ON DELETE NO ACTION )");
+            db.execSQL("INSERT INTO `gymLogTable_new` (`id`, `exerciseId`, `weight`, `reps`, `date`, `zoneOffset`, `userId`, `version`)" +
+                    " SELECT g.`id`, e.`id`, g.`weight`, g.`reps`, g.`date`, g.`zoneOffset`, g.`userId`, g.`version`" +
+                    " FROM `gymLogTable` g JOIN `exerciseTable` e ON e.`name` = IFNULL(NULLIF(TRIM(g.`exercise`), ''), 'Unknown')");
+            db.execSQL("UPDATE `sqlite_sequence` SET `seq` = MAX(`seq`, IFNULL((SELECT `seq` FROM `sqlite_sequence` WHERE `name` = 'gymLogTable'), 0))" +
+                    " WHERE `name` = 'gymLogTable_new'");
+            db.execSQL("DROP TABLE `gymLogTable`");
+            db.execSQL("ALTER TABLE `gymLogTable_new` RENAME TO `gymLogTable`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_userId_date_id` ON `gymLogTable` (`userId` ASC, `date` DESC, `id` DESC)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_userId_exerciseId_date_id` ON `gymLogTable` (`userId` ASC, `exerciseId` ASC, `date` DESC, `id` DESC)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_date` ON `gymLogTable` (`date`)");
+            db.execSQL("DROP TABLE `exerciseStatsTable`");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `exerciseStatsTable` (`userId` INTEGER NOT NULL, `exerciseId` INTEGER NOT NULL, `maxWeight` REAL NOT NULL, `bestEstimatedOneRepMax` REAL NOT NULL, `totalVolume` REAL NOT NULL, `setCount` INTEGER NOT NULL, `totalReps` INTEGER NOT NULL, PRIMARY KEY(`userId`, `exerciseId`))");
+            db.execSQL("INSERT INTO `exerciseStatsTable` (`userId`, `exerciseId`, `maxWeight`, `bestEstimatedOneRepMax`, `totalVolume`, `setCount`, `totalReps`)" +
+                    " SELECT `userId`, `exerciseId`, MAX(`weight`), MAX(CASE WHEN `reps` <= 1 THEN `weight` * `reps` ELSE `weight` * (1 + `reps` / 30.0) END)," +
+                    " SUM(`weight` * `reps`), COUNT(*), SUM(`reps`) FROM `gymLogTable` GROUP BY `userId`, `exerciseId`");
+            db.execSQL(STATS_AFTER_INSERT_7);
+            db.execSQL(STATS_BEFORE_REPLACE_7);
+            db.execSQL(STATS_AFTER_DELETE_7);
+            db.execSQL(STATS_AFTER_UPDATE_7);
+            db.execSQL(VERSION_AFTER_UPDATE_7);
+        }
+    };
+
+    /**
+     * Migration from version 7 to 8.
+     * Adds the full-text index over exercise names for typeahead, as an external content FTS4 table over the
+     * exercise dictionary, with the triggers Room uses to keep it in step, and indexes the existing names.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `exerciseFtsTable` USING FTS4(`name` TEXT, tokenize=unicode61, content=`exerciseTable`, prefix=`2,3`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_exerciseFtsTable_BEFORE_UPDATE BEFORE UPDATE ON `exerciseTable` BEGIN DELETE FROM `exerciseFtsTable` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_exerciseFtsTable_BEFORE_DELETE BEFORE DELETE ON `exerciseTable` BEGIN DELETE FROM `exerciseFtsTable` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_exerciseFtsTable_AFTER_UPDATE AFTER UPDATE ON `exerciseTable` BEGIN INSERT INTO `exerciseFtsTable`(`docid`, `name`) VALUES (NEW.`rowid`, NEW.`name`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_exerciseFtsTable_AFTER_INSERT AFTER INSERT ON `exerciseTable` BEGIN INSERT INTO `exerciseFtsTable`(`docid`, `name`) VALUES (NEW.`rowid`, NEW.`name`); END");
+            db.execSQL("INSERT INTO `exerciseFtsTable`(`exerciseFtsTable`) VALUES ('rebuild')");
+        }
+    };
+
+    /**
+     * Migration from version 8 to 9.
+     * Renames the password column of the user table to passwordHash and replaces every plain text password
+     * with its hash. The hashes are derived on the credential thread; this waits for them, which only delays
+     * the opening of the database, never the UI.
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `usertable` RENAME COLUMN `password` TO `passwordHash`");
+            Map<Integer, CompletableFuture<String>> hashes = new LinkedHashMap<>();
+            try (Cursor cursor = db.query("SELECT `id`, `passwordHash` FROM `usertable`" +
+                    " WHERE `passwordHash` IS NOT NULL AND `passwordHash` NOT LIKE 'pbkdf2-sha256$%'")) {
+                while (cursor.moveToNext()) {
+                    hashes.put(cursor.getInt(0), Credentials.hash(cursor.getString(1).toCharArray()));
+                }
+            }
+            for (Map.Entry<Integer, CompletableFuture<String>> hash : hashes.entrySet()) {
+                db.execSQL("UPDATE `usertable` SET `passwordHash` = ? WHERE `id` = ?",
+                        new Object[]{hash.getValue().join(), hash.getKey()});
+            }
+        }
+    };
+
+    /**
+     * Migration from version 9 to 10.
+     * Tracks changes for sync. GymLog and User rows get the remote ID the sync server gives them,
+     * the syncPendingTable queues every changed row for upload, filled by triggers, and the syncStateTable
+     * holds the client ID and download cursors. Every existing row is queued, so the first sync uploads the
+     * whole history.
+     */
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `gymLogTable` ADD COLUMN `remoteId` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogTable_remoteId` ON `gymLogTable` (`remoteId`)");
+            db.execSQL("ALTER TABLE `usertable` ADD COLUMN `remoteId` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_usertable_remoteId` ON `usertable` (`remoteId`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `syncPendingTable` (`seq` INTEGER NOT NULL, `tableName` TEXT NOT NULL," +
+                    " `rowId` INTEGER NOT NULL, `remoteId` INTEGER NOT NULL, `deleted` INTEGER NOT NULL, PRIMARY KEY(`seq`))");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_syncPendingTable_tableName_rowId` ON `syncPendingTable` (`tableName`, `rowId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_syncPendingTable_tableName_seq` ON `syncPendingTable` (`tableName`, `seq`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `syncStateTable` (`name` TEXT NOT NULL, `value` INTEGER NOT NULL, PRIMARY KEY(`name`))");
+            db.execSQL("INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+                    " SELECT NULL, 'usertable', `id`, 0, 0 FROM `usertable` ORDER BY `id`");
+            db.execSQL("INSERT INTO `syncPendingTable` (`seq`, `tableName`, `rowId`, `remoteId`, `deleted`)" +
+                    " SELECT NULL, 'gymLogTable', `id`, 0, 0 FROM `gymLogTable` ORDER BY `id`");
+            db.execSQL(SYNC_GYM_LOG_AFTER_INSERT_10);
+            db.execSQL(SYNC_GYM_LOG_AFTER_UPDATE_10);
+            db.execSQL(SYNC_GYM_LOG_AFTER_DELETE_10);
+            db.execSQL(SYNC_USER_AFTER_INSERT_10);
+            db.execSQL(SYNC_USER_AFTER_UPDATE_10);
+            db.execSQL(SYNC_USER_AFTER_DELETE_10);
+        }
+    };
+
+    /**
+     * Migration from version 10 to 11.
+     * Adds the change log of the GymLog table, appended to by triggers while a consumer is registered in the
+     * changeLogCursorTable. The log starts empty: a consumer reads the table once when it registers.
+     */
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `changeLogTable` (`seq` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL," +
+                    " `rowId` INTEGER NOT NULL, `userId` INTEGER NOT NULL, `operation` INTEGER NOT NULL, `changedAt` INTEGER NOT NULL)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `changeLogCursorTable` (`consumer` TEXT NOT NULL, `seq` INTEGER NOT NULL," +
+                    " PRIMARY KEY(`consumer`))");
+            db.execSQL(CHANGE_LOG_AFTER_INSERT_11);
+            db.execSQL(CHANGE_LOG_AFTER_UPDATE_11);
+            db.execSQL(CHANGE_LOG_AFTER_DELETE_11);
+        }
+    };
+
+    /**
+     * Migration from version 11 to 12.
+     * Adds the day, week and month rollups of the GymLog table, kept by triggers from now on, and schedules a
+     * backfill of every user with history in the rollupBackfillTable. The backfill runs in small steps after
+     * the database is open, see RollupDAO.backfillStep, so the upgrade does not wait for it.
+     */
+    public static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `exerciseRollupTable` (`userId` INTEGER NOT NULL, `exerciseId` INTEGER NOT NULL," +
+                    " `period` INTEGER NOT NULL, `bucket` INTEGER NOT NULL, `totalVolume` REAL NOT NULL, `maxWeight` REAL NOT NULL," +
+                    " `setCount` INTEGER NOT NULL, `totalReps` INTEGER NOT NULL, PRIMARY KEY(`userId`, `exerciseId`, `period`, `bucket`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_exerciseRollupTable_userId_period_bucket` ON `exerciseRollupTable` (`userId`, `period`, `bucket`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `rollupBackfillTable` (`userId` INTEGER NOT NULL, `nextDay` INTEGER NOT NULL," +
+                    " PRIMARY KEY(`userId`))");
+            db.execSQL(ROLLUP_AFTER_INSERT_12);
+            db.execSQL(ROLLUP_BEFORE_REPLACE_12);
+            db.execSQL(ROLLUP_AFTER_DELETE_12);
+            db.execSQL(ROLLUP_AFTER_UPDATE_12);
+            db.execSQL("INSERT INTO `rollupBackfillTable` (`userId`, `nextDay`)" +
+                    " SELECT `userId`, MIN(`date` - 64800000) / 86400000 FROM `gymLogTable` GROUP BY `userId`");
+        }
+    };
+
+    /**
+     * Migration from version 12 to 13.
+     * Adds the archive of the GymLog table: one compressed block per user and month in the gymLogArchiveTable,
+     * the summaries of each block per exercise in the gymLogArchiveStatsTable, and the archiveMoveTable that
+     * flags a month being moved. The stats triggers now count the summaries, the rollup triggers look up the
+     * maximum of a week or month in its day rollups, and the insert and delete triggers skip flagged moves.
+     * Nothing is archived here; GymLogRepository.archiveColdLogs does it when asked.
+     */
+    public static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `gymLogArchiveTable` (`userId` INTEGER NOT NULL, `month` INTEGER NOT NULL," +
+                    " `rowCount` INTEGER NOT NULL, `firstDate` INTEGER NOT NULL, `lastDate` INTEGER NOT NULL, `minId` INTEGER NOT NULL," +
+                    " `maxId` INTEGER NOT NULL, `minRemoteId` INTEGER NOT NULL, `maxRemoteId` INTEGER NOT NULL, `data` BLOB," +
+                    " PRIMARY KEY(`userId`, `month`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogArchiveTable_userId_lastDate` ON `gymLogArchiveTable` (`userId`, `lastDate`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogArchiveTable_lastDate` ON `gymLogArchiveTable` (`lastDate`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogArchiveTable_minId` ON `gymLogArchiveTable` (`minId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_gymLogArchiveTable_minRemoteId` ON `gymLogArchiveTable` (`minRemoteId`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `gymLogArchiveStatsTable` (`userId` INTEGER NOT NULL, `exerciseId` INTEGER NOT NULL," +
+                    " `month` INTEGER NOT NULL, `maxWeight` REAL NOT NULL, `bestEstimatedOneRepMax` REAL NOT NULL, `totalVolume` REAL NOT NULL," +
+                    " `setCount` INTEGER NOT NULL, `totalReps` INTEGER NOT NULL, PRIMARY KEY(`userId`, `exerciseId`, `month`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `archiveMoveTable` (`userId` INTEGER NOT NULL, `month` INTEGER NOT NULL," +
+                    " PRIMARY KEY(`userId`))");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_stats_after_insert`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_stats_before_replace`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_stats_after_delete`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_stats_after_update`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_sync_after_insert`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_sync_after_delete`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_changeLog_after_insert`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_changeLog_after_delete`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_rollup_after_insert`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_rollup_before_replace`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_rollup_after_delete`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_rollup_after_update`");
+            db.execSQL(STATS_AFTER_INSERT_13);
+            db.execSQL(STATS_BEFORE_REPLACE_13);
+            db.execSQL(STATS_AFTER_DELETE_13);
+            db.execSQL(STATS_AFTER_UPDATE_13);
+            db.execSQL(SYNC_GYM_LOG_AFTER_INSERT_13);
+            db.execSQL(SYNC_GYM_LOG_AFTER_DELETE_13);
+            db.execSQL(CHANGE_LOG_AFTER_INSERT_13);
+            db.execSQL(CHANGE_LOG_AFTER_DELETE_13);
+            db.execSQL(ROLLUP_AFTER_INSERT_13);
+            db.execSQL(ROLLUP_BEFORE_REPLACE_13);
+            db.execSQL(ROLLUP_AFTER_DELETE_13);
+            db.execSQL(ROLLUP_AFTER_UPDATE_13);
+        }
+    };
+
+    /**
+     * Auto migration from version 13 to 14.
+     * Room indexes the exercise ID of the GymLog table, the child column of its foreign key on the exercise
+     * table; this spec then creates the GymLog triggers of version 14 again, in case Room rebuilt the table.
+     * A rebuilt table restarts its ID sequence from its largest ID, so the sequence is moved past every ID the
+     * archive, the sync queue and the change log still refer to, which a new record must not take.
+     */
+    public static final class AutoMigration13To14 implements AutoMigrationSpec {
+        @Override
+        public void onPostMigrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL(STATS_AFTER_INSERT_13);
+            db.execSQL(STATS_BEFORE_REPLACE_13);
+            db.execSQL(STATS_AFTER_DELETE_13);
+            db.execSQL(STATS_AFTER_UPDATE_13);
+            db.execSQL(VERSION_AFTER_UPDATE_7);
+            db.execSQL(SYNC_GYM_LOG_AFTER_INSERT_13);
+            db.execSQL(SYNC_GYM_LOG_AFTER_UPDATE_10);
+            db.execSQL(SYNC_GYM_LOG_AFTER_DELETE_13);
+            db.execSQL(CHANGE_LOG_AFTER_INSERT_13);
+            db.execSQL(CHANGE_LOG_AFTER_UPDATE_11);
+            db.execSQL(CHANGE_LOG_AFTER_DELETE_13);
+            db.execSQL(ROLLUP_AFTER_INSERT_13);
+            db.execSQL(ROLLUP_BEFORE_REPLACE_13);
+            db.execSQL(ROLLUP_AFTER_DELETE_13);
+            db.execSQL(ROLLUP_AFTER_UPDATE_13);
+            db.execSQL("INSERT INTO `sqlite_sequence` (`name`, `seq`) SELECT 'gymLogTable', 0" +
+                    " WHERE NOT EXISTS (SELECT 1 FROM `sqlite_sequence` WHERE `name` = 'gymLogTable')");
+            db.execSQL("UPDATE `sqlite_sequence` SET `seq` = MAX(`seq`," +
+                    " IFNULL((SELECT MAX(`maxId`) FROM `gymLogArchiveTable`), 0)," +
+                    " IFNULL((SELECT MAX(`rowId`) FROM `syncPendingTable` WHERE `tableName` = 'gymLogTable'), 0)," +
+                    " IFNULL((SELECT MAX(`rowId`) FROM `changeLogTable`), 0))" +
+                    " WHERE `name` = 'gymLogTable'");
+        }
+    }
+
+    /**
+     * Migration from version 14 to 15.
+     * The sync triggers queue changes only once a client ID is registered in the syncStateTable, so a device
+     * that never syncs no longer queues every write, and the queue left by version 10 is emptied unless this
+     * client has registered. SyncDAO.register queues every record when it does.
+     */
+    public static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_sync_after_insert`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_sync_after_update`");
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_sync_after_delete`");
+            db.execSQL("DROP TRIGGER IF EXISTS `usertable_sync_after_insert`");
+            db.execSQL("DROP TRIGGER IF EXISTS `usertable_sync_after_update`");
+            db.execSQL("DROP TRIGGER IF EXISTS `usertable_sync_after_delete`");
+            db.execSQL(SYNC_GYM_LOG_AFTER_INSERT_15);
+            db.execSQL(SYNC_GYM_LOG_AFTER_UPDATE_15);
+            db.execSQL(SYNC_GYM_LOG_AFTER_DELETE_15);
+            db.execSQL(SYNC_USER_AFTER_INSERT_15);
+            db.execSQL(SYNC_USER_AFTER_UPDATE_15);
+            db.execSQL(SYNC_USER_AFTER_DELETE_15);
+            db.execSQL("DELETE FROM `syncPendingTable` WHERE NOT EXISTS" +
+                    " (SELECT 1 FROM `syncStateTable` WHERE `name` = 'clientId')");
+        }
+    };
+
+    /**
+     * Migration from version 15 to 16.
+     * An INSERT OR REPLACE of an existing GymLog ID is logged in the change log as an update instead of an insert,
+     * so a consumer no longer counts an edited record twice.
+     */
+    public static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP TRIGGER IF EXISTS `gymLogTable_changeLog_after_insert`");
+            db.execSQL(CHANGE_LOG_BEFORE_REPLACE_16);
+            db.execSQL(CHANGE_LOG_AFTER_INSERT_16);
+        }
+    };
+
+    /**
+     * Every hand-written migration in version order. The database registers all of them next to its auto
+     * migrations, so a user on any earlier version is upgraded step by step to the current one.
+     */
+    public static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_6_7,
+            MIGRATION_7_8,
+            MIGRATION_8_9,
+            MIGRATION_9_10,
+            MIGRATION_10_11,
+            MIGRATION_11_12,
+            MIGRATION_12_13,
+            MIGRATION_14_15,
+            MIGRATION_15_16
+    };
+}
@@ -1,23 +1,138 @@
 package com.gymlog.database.typeConverters;
 
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
 import androidx.room.TypeConverter;
 
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 08/04/2024
+ * LocalDateTypeConverter converts between local date-times and the UTC epoch milliseconds stored in the database.
+ * GymLog records store the epoch milliseconds and the zone offset they were logged at in separate columns,
+ * so they sort by instant and read back as the wall-clock time of the workout in any time zone.
+ * The rules of the device's time zone are looked up once and replaced only when the time zone changes,
+ * so a conversion allocates nothing but its result.
+ */
 public class LocalDateTypeConverter {
 
+//  The rules of the device's time zone. Replaced by the receiver registered in watchTimeZone.
+    private static volatile ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+    private static final AtomicBoolean watchingTimeZone = new AtomicBoolean();
+
+    /**
+     * Converts a local date-time in the device's time zone to UTC epoch milliseconds.
+     * Used by Room for LocalDateTime query parameters.
+     * @param date the local date-time
+     * @return the epoch milliseconds of the date-time
+     */
     @TypeConverter
     public long convertDateToLong(LocalDateTime date) {
-        ZonedDateTime zdt = ZonedDateTime.of(date, ZoneId.systemDefault());
-        return zdt.toInstant().toEpochMilli();
+        return toEpochMilli(date, offsetSecondsOf(date));
     }
 
+    /**
+     * Converts UTC epoch milliseconds to a local date-time in the device's time zone.
+     * @param epochMilli the epoch milliseconds
+     * @return the local date-time in the device's time zone
+     */
     @TypeConverter
     public LocalDateTime convertLongToDate(long epochMilli) {
-        Instant instant = Instant.ofEpochMilli(epochMilli);
-        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        return toLocalDateTime(epochMilli, offsetSecondsAt(epochMilli));
+    }
+
+    /**
+     * Returns the offset of the device's time zone at an instant.
+     * @param epochMilli the instant in epoch milliseconds
+     * @return the offset from UTC in seconds
+     */
+    public static int offsetSecondsAt(long epochMilli) {
+        ZoneRules rules = zoneRules;
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        }
+        return rules.getOffset(Instant.ofEpochMilli(epochMilli)).getTotalSeconds();
+    }
+
+    /**
+     * Returns the offset of the device's time zone at a local date-time.
+     * A time skipped or repeated by a daylight saving transition takes the offset from before the transition.
+     * @param date the local date-time
+     * @return the offset from UTC in seconds
+     */
+    public static int offsetSecondsOf(LocalDateTime date) {
+        ZoneRules rules = zoneRules;
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        }
+        return rules.getOffset(date).getTotalSeconds();
+    }
+
+    /**
+     * Converts a local date-time at a known offset to UTC epoch milliseconds.
+     * @param date          the local date-time
+     * @param offsetSeconds the offset of the date-time from UTC in seconds
+     * @return the epoch milliseconds of the date-time
+     */
+    public static long toEpochMilli(LocalDateTime date, int offsetSeconds) {
+        long epochSecond = date.toEpochSecond(ZoneOffset.UTC) - offsetSeconds;
+        return epochSecond * 1000 + date.getNano() / 1_000_000;
+    }
+
+    /**
+     * Converts UTC epoch milliseconds to the local date-time at a known offset.
+     * @param epochMilli    the epoch milliseconds
+     * @param offsetSeconds the offset from UTC in seconds
+     * @return the local date-time
+     */
+    public static LocalDateTime toLocalDateTime(long epochMilli, int offsetSeconds) {
+        long epochSecond = Math.floorDiv(epochMilli, 1000L) + offsetSeconds;
+        int nanos = (int) Math.floorMod(epochMilli, 1000L) * 1_000_000;
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Starts following changes of the device's time zone, so that new records and LocalDateTime
+     * parameters use the zone the device is in. Only the first call registers a receiver.
+     * @param context any context; the receiver is registered on the application context
+     */
+    public static void watchTimeZone(Context context) {
+        if (!watchingTimeZone.compareAndSet(false, true)) {
+            return;
+        }
+        context.getApplicationContext().registerReceiver(new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                zoneRules = zoneOf(intent.getStringExtra(Intent.EXTRA_TIMEZONE)).getRules();
+            }
+        }, new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED));
+        zoneRules = ZoneId.systemDefault().getRules();
+    }
+
+    /**
+     * Returns the time zone named by a time zone change broadcast.
+     * @param id the time zone ID from the broadcast, or null
+     * @return the named zone, or the default zone if the ID is missing or unknown
+     */
+    private static ZoneId zoneOf(String id) {
+        if (id != null) {
+            try {
+                return ZoneId.of(id);
+            } catch (DateTimeException e) {
+                // Fall through to the default zone, which the framework updates before the broadcast.
+            }
+        }
+        return ZoneId.systemDefault();
     }
 }
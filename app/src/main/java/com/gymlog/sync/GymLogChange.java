@@ -0,0 +1,209 @@
+package com.gymlog.sync;
+
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogChange is an added, edited or deleted GymLog as it travels between a client and the sync server.
+ * It refers to its user and exercise by the IDs and names both sides share: the remote ID of the user and the
+ * exercise name, since local IDs differ from one device to the next.
+ */
+public final class GymLogChange {
+
+    private final int localId;
+    private final long remoteId;
+    private final long seq;
+    private final boolean deleted;
+    private final long userRemoteId;
+    @Nullable
+    private final String exercise;
+    private final double weight;
+    private final int reps;
+    private final long dateMillis;
+    private final int zoneOffset;
+    private final int version;
+
+    /**
+     * Constructs a new GymLogChange of an added or edited record.
+     * @param localId      the ID of the record on the client that uploads it, or 0 in a download
+     * @param remoteId     the ID of the record on the server, or 0 if it has none yet
+     * @param seq          the position of the change on the server, or 0 in an upload
+     * @param userRemoteId the remote ID of the user of the record
+     * @param exercise     the exercise name
+     * @param weight       the weight
+     * @param reps         the number of repetitions
+     * @param dateMillis   the instant of the set in UTC epoch milliseconds
+     * @param zoneOffset   the offset from UTC in seconds of the time zone the set was logged in
+     * @param version      the number of times the record has been edited
+     */
+    public GymLogChange(int localId, long remoteId, long seq, long userRemoteId, @Nullable String exercise,
+                        double weight, int reps, long dateMillis, int zoneOffset, int version) {
+        this(localId, remoteId, seq, false, userRemoteId, exercise, weight, reps, dateMillis, zoneOffset, version);
+    }
+
+    /**
+     * Constructs a new GymLogChange.
+     * @param localId      the ID of the record on the client that uploads it, or 0 in a download
+     * @param remoteId     the ID of the record on the server, or 0 if it has none yet
+     * @param seq          the position of the change on the server, or 0 in an upload
+     * @param deleted      whether the record was deleted
+     * @param userRemoteId the remote ID of the user of the record, or 0 for a deletion
+     * @param exercise     the exercise name, or null for a deletion
+     * @param weight       the weight
+     * @param reps         the number of repetitions
+     * @param dateMillis   the instant of the set in UTC epoch milliseconds
+     * @param zoneOffset   the offset from UTC in seconds of the time zone the set was logged in
+     * @param version      the number of times the record has been edited
+     */
+    private GymLogChange(int localId, long remoteId, long seq, boolean deleted, long userRemoteId,
+                         @Nullable String exercise, double weight, int reps, long dateMillis, int zoneOffset, int version) {
+        this.localId = localId;
+        this.remoteId = remoteId;
+        this.seq = seq;
+        this.deleted = deleted;
+        this.userRemoteId = userRemoteId;
+        this.exercise = exercise;
+        this.weight = weight;
+        this.reps = reps;
+        this.dateMillis = dateMillis;
+        this.zoneOffset = zoneOffset;
+        this.version = version;
+    }
+
+    /**
+     * Creates the change of a deleted record.
+     * @param localId  the ID of the record on the client that uploads it, or 0 in a download
+     * @param remoteId the ID of the record on the server
+     * @param seq      the position of the change on the server, or 0 in an upload
+     * @return the deletion
+     */
+    public static GymLogChange deletion(int localId, long remoteId, long seq) {
+        return new GymLogChange(localId, remoteId, seq, true, 0, null, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns a copy of this change with the IDs the server gave it.
+     * @param remoteId the ID of the record on the server
+     * @param seq      the position of the change on the server
+     * @return the copy
+     */
+    public GymLogChange withServerIds(long remoteId, long seq) {
+        return new GymLogChange(localId, remoteId, seq, deleted, userRemoteId, exercise, weight, reps, dateMillis,
+                zoneOffset, version);
+    }
+
+    /**
+     * Returns the ID of the record on the client that uploads it.
+     * @return the local ID, or 0 in a download
+     */
+    public int getLocalId() {
+        return localId;
+    }
+
+    /**
+     * Returns the ID of the record on the server.
+     * @return the remote ID, or 0 if the record has not been uploaded before
+     */
+    public long getRemoteId() {
+        return remoteId;
+    }
+
+    /**
+     * Returns the position of the change on the server.
+     * @return the sequence number, or 0 in an upload
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Returns whether the record was deleted.
+     * @return true if the change is a deletion
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Returns the remote ID of the user of the record.
+     * @return the user's remote ID, or 0 for a deletion
+     */
+    public long getUserRemoteId() {
+        return userRemoteId;
+    }
+
+    /**
+     * Returns the exercise name.
+     * @return the exercise name, or null for a deletion
+     */
+    @Nullable
+    public String getExercise() {
+        return exercise;
+    }
+
+    /**
+     * Returns the weight.
+     * @return the weight
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of repetitions.
+     * @return the reps
+     */
+    public int getReps() {
+        return reps;
+    }
+
+    /**
+     * Returns the instant of the set.
+     * @return the date in UTC epoch milliseconds
+     */
+    public long getDateMillis() {
+        return dateMillis;
+    }
+
+    /**
+     * Returns the offset of the time zone the set was logged in.
+     * @return the offset from UTC in seconds
+     */
+    public int getZoneOffset() {
+        return zoneOffset;
+    }
+
+    /**
+     * Returns the number of times the record has been edited.
+     * @return the version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Compares this GymLogChange to the specified object.
+     * @param o the object to compare this GymLogChange against
+     * @return true if the given object is a GymLogChange with the same values
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GymLogChange that = (GymLogChange) o;
+        return localId == that.localId && remoteId == that.remoteId && seq == that.seq && deleted == that.deleted && userRemoteId == that.userRemoteId && Double.compare(weight, that.weight) == 0 && reps == that.reps && dateMillis == that.dateMillis && zoneOffset == that.zoneOffset && version == that.version && Objects.equals(exercise, that.exercise);
+    }
+
+    /**
+     * Returns a hash code value for the GymLogChange.
+     * @return a hash code value for this GymLogChange
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(localId, remoteId, seq, deleted, userRemoteId, exercise, weight, reps, dateMillis, zoneOffset, version);
+    }
+}
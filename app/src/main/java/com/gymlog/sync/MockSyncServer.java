@@ -0,0 +1,307 @@
+package com.gymlog.sync;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.gymlog.database.GymLogDatabase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * MockSyncServer is an in-process {@link SyncBackend} that keeps the server's copy of every user and GymLog in
+ * memory, so sync can be tested, benchmarked and tuned without a network.
+ * It decodes and encodes every message like a real server would, counts requests and bytes, and can add a fixed
+ * latency to every call and fail a share of them, half before and half after the change is stored, so both a lost
+ * request and a lost answer can be simulated.
+ * The server keeps the latest change of each record, tombstones included, in the order it was made, and resolves
+ * conflicting edits from two clients by keeping the one uploaded last.
+ */
+public final class MockSyncServer implements SyncBackend {
+
+    private final Random random;
+    private volatile long latencyMillis;
+    private volatile double failureRate;
+
+//  The latest change of every record by remote ID, and the position of those changes on the server.
+    private final Map<Long, UserChange> users = new HashMap<>();
+    private final Map<Long, GymLogChange> logs = new HashMap<>();
+    private final TreeMap<Long, Long> userChanges = new TreeMap<>();
+    private final TreeMap<Long, Long> logChanges = new TreeMap<>();
+//  The client that uploaded the change at each position.
+    private final Map<Long, Long> origins = new HashMap<>();
+//  The remote ID of every live user by username, and of every created record by table, client and local ID.
+    private final Map<String, Long> userIdsByName = new HashMap<>();
+    private final Map<String, Long> createdIds = new HashMap<>();
+    private long nextRemoteId = 1;
+    private long nextSeq = 1;
+
+    private long requests;
+    private long failures;
+    private long bytesReceived;
+    private long bytesSent;
+
+    /**
+     * Constructs a new MockSyncServer that never fails and answers immediately.
+     */
+    public MockSyncServer() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new MockSyncServer whose injected failures follow the given seed.
+     * @param seed the seed of the failures
+     */
+    public MockSyncServer(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Sets the time every call takes before it is answered, like a round trip to a real server.
+     * @param latencyMillis the latency in milliseconds
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Sets the share of calls that fail with an IOException.
+     * @param failureRate the probability that a call fails, from 0 to 1
+     */
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public byte[] push(long clientId, byte[] batch) throws IOException {
+        boolean failAfter = beginCall(batch.length);
+        SyncBatch changes = SyncCodec.decodeBatch(batch);
+        long[] userRemoteIds = new long[changes.getUsers().size()];
+        long[] logRemoteIds = new long[changes.getLogs().size()];
+        synchronized (this) {
+            for (int i = 0; i < userRemoteIds.length; i++) {
+                userRemoteIds[i] = store(clientId, changes.getUsers().get(i));
+            }
+            for (int i = 0; i < logRemoteIds.length; i++) {
+                logRemoteIds[i] = store(clientId, changes.getLogs().get(i));
+            }
+        }
+        return endCall(failAfter, SyncCodec.encode(new SyncAck(userRemoteIds, logRemoteIds)));
+    }
+
+    @Override
+    public byte[] pull(long clientId, String table, long cursor, int limit) throws IOException {
+        boolean failAfter = beginCall(0);
+        boolean isUserTable = GymLogDatabase.USER_TABLE.equals(table);
+        if (!isUserTable && !GymLogDatabase.GYM_LOG_TABLE.equals(table)) {
+            throw new IOException("Unknown sync table " + table);
+        }
+        List<UserChange> userBatch = new ArrayList<>();
+        List<GymLogChange> logBatch = new ArrayList<>();
+        long next = cursor;
+        boolean hasMore;
+        synchronized (this) {
+            NavigableMap<Long, Long> changes = (isUserTable ? userChanges : logChanges).tailMap(cursor, false);
+            for (Map.Entry<Long, Long> change : changes.entrySet()) {
+                if (userBatch.size() + logBatch.size() == limit) {
+                    break;
+                }
+                next = change.getKey();
+                if (origins.get(next) == clientId) {
+                    continue;
+                }
+                if (isUserTable) {
+                    userBatch.add(users.get(change.getValue()));
+                } else {
+                    logBatch.add(logs.get(change.getValue()));
+                }
+            }
+            hasMore = changes.higherKey(next) != null;
+        }
+        return endCall(failAfter, SyncCodec.encode(new SyncBatch(userBatch, logBatch, next, hasMore)));
+    }
+
+    /**
+     * Returns the server's copy of a GymLog.
+     * @param remoteId the remote ID of the GymLog
+     * @return the latest change of the GymLog, or null if it was never uploaded or has been deleted
+     */
+    @Nullable
+    public synchronized GymLogChange getLog(long remoteId) {
+        GymLogChange log = logs.get(remoteId);
+        return log == null || log.isDeleted() ? null : log;
+    }
+
+    /**
+     * Returns the number of GymLogs stored and not deleted.
+     * @return the number of live GymLogs
+     */
+    public synchronized int getLogCount() {
+        int count = 0;
+        for (GymLogChange log : logs.values()) {
+            if (!log.isDeleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of users stored and not deleted.
+     * @return the number of live users
+     */
+    public synchronized int getUserCount() {
+        return userIdsByName.size();
+    }
+
+    /**
+     * Returns the number of calls made, failed ones included.
+     * @return the number of requests
+     */
+    public synchronized long getRequestCount() {
+        return requests;
+    }
+
+    /**
+     * Returns the number of calls that failed on purpose.
+     * @return the number of injected failures
+     */
+    public synchronized long getFailureCount() {
+        return failures;
+    }
+
+    /**
+     * Returns the number of bytes uploaded.
+     * @return the size of every uploaded batch
+     */
+    public synchronized long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Returns the number of bytes answered.
+     * @return the size of every acknowledgement and downloaded batch
+     */
+    public synchronized long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Stores an uploaded user change.
+     * @param clientId the ID of the uploading client
+     * @param change   the change
+     * @return the remote ID of the user, or 0 for the deletion of a user the server never had
+     */
+    private long store(long clientId, UserChange change) {
+        long remoteId = change.getRemoteId();
+        if (remoteId == 0 && !change.isDeleted()) {
+            String key = GymLogDatabase.USER_TABLE + ":" + clientId + ":" + change.getLocalId();
+            Long existing = createdIds.get(key);
+            if (existing == null) {
+                existing = userIdsByName.get(change.getUsername());
+            }
+            remoteId = existing != null ? existing : nextRemoteId++;
+            createdIds.put(key, remoteId);
+        }
+        if (remoteId == 0) {
+            return 0;
+        }
+        UserChange previous = users.get(remoteId);
+        if (previous != null) {
+            userChanges.remove(previous.getSeq());
+            origins.remove(previous.getSeq());
+            if (!previous.isDeleted()) {
+                userIdsByName.remove(previous.getUsername());
+            }
+        }
+        long seq = nextSeq++;
+        users.put(remoteId, change.withServerIds(remoteId, seq));
+        userChanges.put(seq, remoteId);
+        origins.put(seq, clientId);
+        if (!change.isDeleted()) {
+            userIdsByName.put(change.getUsername(), remoteId);
+        }
+        return remoteId;
+    }
+
+    /**
+     * Stores an uploaded GymLog change.
+     * @param clientId the ID of the uploading client
+     * @param change   the change
+     * @return the remote ID of the GymLog, or 0 for the deletion of a GymLog the server never had
+     */
+    private long store(long clientId, GymLogChange change) {
+        long remoteId = change.getRemoteId();
+        if (remoteId == 0 && !change.isDeleted()) {
+            String key = GymLogDatabase.GYM_LOG_TABLE + ":" + clientId + ":" + change.getLocalId();
+            Long existing = createdIds.get(key);
+            remoteId = existing != null ? existing : nextRemoteId++;
+            createdIds.put(key, remoteId);
+        }
+        if (remoteId == 0) {
+            return 0;
+        }
+        GymLogChange previous = logs.get(remoteId);
+        if (previous != null) {
+            logChanges.remove(previous.getSeq());
+            origins.remove(previous.getSeq());
+        }
+        long seq = nextSeq++;
+        logs.put(remoteId, change.withServerIds(remoteId, seq));
+        logChanges.put(seq, remoteId);
+        origins.put(seq, clientId);
+        return remoteId;
+    }
+
+    /**
+     * Counts a call, waits out the latency, and fails it before it is handled if it is chosen to fail then.
+     * @param bytes the size of the request
+     * @return true if the call is to fail after it is handled, losing the answer
+     * @throws IOException if the call is chosen to fail before it is handled
+     */
+    private boolean beginCall(int bytes) throws IOException {
+        boolean fails = random.nextDouble() < failureRate;
+        boolean failsBefore = fails && random.nextBoolean();
+        synchronized (this) {
+            requests++;
+            bytesReceived += bytes;
+            if (fails) {
+                failures++;
+            }
+        }
+        if (latencyMillis > 0) {
+            SystemClock.sleep(latencyMillis);
+        }
+        if (failsBefore) {
+            throw new IOException("Injected failure before the request was handled");
+        }
+        return fails;
+    }
+
+    /**
+     * Answers a handled call, or fails it if it is chosen to fail after it was handled.
+     * @param failAfter whether the answer is lost
+     * @param answer    the answer
+     * @return the answer
+     * @throws IOException if the answer is lost
+     */
+    private byte[] endCall(boolean failAfter, byte[] answer) throws IOException {
+        if (failAfter) {
+            throw new IOException("Injected failure after the request was handled");
+        }
+        synchronized (this) {
+            bytesSent += answer.length;
+        }
+        return answer;
+    }
+}
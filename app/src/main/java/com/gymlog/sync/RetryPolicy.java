@@ -0,0 +1,60 @@
+package com.gymlog.sync;
+
+import java.util.Random;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * RetryPolicy decides how often and after how long the {@link SyncEngine} retries a failed call to the backend.
+ * The delay doubles after every failure up to a maximum, and a random half of it is dropped, so many clients
+ * that lost the server at the same time do not all come back at the same time.
+ */
+public final class RetryPolicy {
+
+//  Five attempts over about 15 seconds, enough to ride out a dropped connection without holding the sync thread long.
+    public static final RetryPolicy DEFAULT = new RetryPolicy(5, 1_000, 8_000);
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * Constructs a new RetryPolicy.
+     * @param maxAttempts        the number of attempts of a call, including the first one
+     * @param initialDelayMillis the delay before the first retry, before jitter
+     * @param maxDelayMillis     the longest delay before any retry, before jitter
+     */
+    public RetryPolicy(int maxAttempts, long initialDelayMillis, long maxDelayMillis) {
+        if (maxAttempts < 1 || initialDelayMillis < 0 || maxDelayMillis < initialDelayMillis) {
+            throw new IllegalArgumentException("Invalid retry policy: " + maxAttempts + " attempts, " +
+                    initialDelayMillis + " to " + maxDelayMillis + " ms");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Returns the number of attempts of a call.
+     * @return the maximum number of attempts, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay before retrying a call that failed.
+     * @param failedAttempts the number of attempts that failed so far, at least 1
+     * @param random         the source of jitter
+     * @return the delay in milliseconds, between half and all of the backed-off delay
+     */
+    public long delayMillis(int failedAttempts, Random random) {
+        long delay = initialDelayMillis;
+        for (int i = 1; i < failedAttempts && delay < maxDelayMillis; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, maxDelayMillis);
+        return delay / 2 + (long) (random.nextDouble() * (delay - delay / 2));
+    }
+}
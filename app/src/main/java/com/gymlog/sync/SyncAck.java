@@ -0,0 +1,40 @@
+package com.gymlog.sync;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncAck is the server's answer to an upload: the remote ID of every uploaded change, in upload order.
+ * A change is acknowledged only once the server has stored it, so a change without an answer is uploaded again.
+ */
+public final class SyncAck {
+
+    private final long[] userRemoteIds;
+    private final long[] logRemoteIds;
+
+    /**
+     * Constructs a new SyncAck.
+     * @param userRemoteIds the remote ID of every uploaded user change
+     * @param logRemoteIds  the remote ID of every uploaded GymLog change
+     */
+    public SyncAck(long[] userRemoteIds, long[] logRemoteIds) {
+        this.userRemoteIds = userRemoteIds;
+        this.logRemoteIds = logRemoteIds;
+    }
+
+    /**
+     * Returns the remote IDs of the uploaded user changes.
+     * @return the remote IDs, in upload order
+     */
+    public long[] getUserRemoteIds() {
+        return userRemoteIds;
+    }
+
+    /**
+     * Returns the remote IDs of the uploaded GymLog changes.
+     * @return the remote IDs, in upload order
+     */
+    public long[] getLogRemoteIds() {
+        return logRemoteIds;
+    }
+}
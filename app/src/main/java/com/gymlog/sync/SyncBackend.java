@@ -0,0 +1,41 @@
+package com.gymlog.sync;
+
+import java.io.IOException;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncBackend is the server side of sync as the {@link SyncEngine} sees it: two calls that exchange messages
+ * in the {@link SyncCodec} format. An implementation carries them over whatever transport it likes;
+ * {@link MockSyncServer} answers them in-process.
+ * Calls are made on the sync thread and may block. An IOException means the call may or may not have reached
+ * the server, and the engine retries it, so both calls must be idempotent: an upload that is repeated after
+ * the server stored it must not create the same record twice.
+ */
+public interface SyncBackend {
+
+    /**
+     * Uploads a batch of changes made on a client. A change without a remote ID creates a record, which the
+     * server identifies by the client ID and the change's local ID, and for a user by its username, so a repeated
+     * upload gets the same remote ID. Every other change replaces or deletes the record with its remote ID.
+     * @param clientId the ID of the uploading client
+     * @param batch    the encoded {@link SyncBatch}
+     * @return the encoded {@link SyncAck}, with the remote ID of every change in upload order
+     * @throws IOException if the upload failed
+     */
+    byte[] push(long clientId, byte[] batch) throws IOException;
+
+    /**
+     * Downloads the changes of one table made after a position on the server, oldest first, leaving out the
+     * changes uploaded by the client itself. Only the latest change of each record is returned.
+     * @param clientId the ID of the downloading client
+     * @param table    the synced table, {@link com.gymlog.database.GymLogDatabase#USER_TABLE} or
+     *                 {@link com.gymlog.database.GymLogDatabase#GYM_LOG_TABLE}
+     * @param cursor   the cursor of the last download that was applied, or 0 for everything
+     * @param limit    the maximum number of changes to return
+     * @return the encoded {@link SyncBatch}, with the cursor to download from next
+     * @throws IOException if the download failed
+     */
+    byte[] pull(long clientId, String table, long cursor, int limit) throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.gymlog.sync;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncBatch is one upload or download of changes. An upload carries the pending changes of a client; a download
+ * carries the changes of one table made on the server since the client's cursor, and the cursor to ask from next.
+ * Users come before GymLogs, so a GymLog in the same batch as its new user can be resolved.
+ */
+public final class SyncBatch {
+
+    private final List<UserChange> users;
+    private final List<GymLogChange> logs;
+    private final long cursor;
+    private final boolean hasMore;
+
+    /**
+     * Constructs a new SyncBatch.
+     * @param users   the user changes
+     * @param logs    the GymLog changes
+     * @param cursor  the position on the server up to which a download is complete, or 0 for an upload
+     * @param hasMore whether the server has more changes after the cursor
+     */
+    public SyncBatch(List<UserChange> users, List<GymLogChange> logs, long cursor, boolean hasMore) {
+        this.users = Collections.unmodifiableList(users);
+        this.logs = Collections.unmodifiableList(logs);
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Returns the user changes.
+     * @return the user changes, in server order for a download
+     */
+    public List<UserChange> getUsers() {
+        return users;
+    }
+
+    /**
+     * Returns the GymLog changes.
+     * @return the GymLog changes, in server order for a download
+     */
+    public List<GymLogChange> getLogs() {
+        return logs;
+    }
+
+    /**
+     * Returns the position on the server up to which a download is complete. It may be past the last change in
+     * the batch, when the changes after it were made by the client that downloads.
+     * @return the cursor, or 0 for an upload
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns whether the server has more changes after the cursor.
+     * @return true if another download would return more changes
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Returns the number of changes in the batch.
+     * @return the number of user and GymLog changes
+     */
+    public int size() {
+        return users.size() + logs.size();
+    }
+}
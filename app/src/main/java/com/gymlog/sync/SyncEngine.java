@@ -0,0 +1,347 @@
+package com.gymlog.sync;
+
+import android.os.SystemClock;
+
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.SyncDAO;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.entities.SyncPending;
+import com.gymlog.database.entities.User;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncEngine exchanges the changes of the GymLog and User tables with a {@link SyncBackend}.
+ * The database is the source of truth and works offline: every write is queued for upload by a trigger, in
+ * the same transaction, so logging a set never waits for the network. Nothing is queued until the first run
+ * registers this client, which queues every existing record. A run of {@link #sync()} uploads the
+ * queue in batches, users before GymLogs so every GymLog can name its user's remote ID, then downloads what
+ * other clients changed, users first again, from a cursor per table that is saved with every applied batch.
+ * A run that fails part way keeps what it acknowledged and applied, and the next run carries on from there.
+ * Network calls and encoding run on a dedicated sync thread. The database is read there too, but every
+ * write is a separate task on the database writer executor, one transaction per batch, so a set logged
+ * during a sync waits for at most one batch.
+ * Failed calls are retried as the {@link RetryPolicy} says; the backend makes retries safe, see {@link SyncBackend}.
+ */
+public final class SyncEngine {
+
+//  Large enough that the per-call latency of a real network is paid rarely, small enough that a batch
+//  transaction holds up a set logged during a sync for a few milliseconds only.
+    public static final int DEFAULT_BATCH_SIZE = 250;
+//  The name of the thread every sync runs on.
+    public static final String THREAD_NAME = "gymlog-sync";
+    private static final ExecutorService syncExecutor =
+            Executors.newSingleThreadExecutor(task -> new Thread(task, THREAD_NAME));
+//  The synced tables in the order they are uploaded and downloaded.
+    private static final String[] TABLES = {GymLogDatabase.USER_TABLE, GymLogDatabase.GYM_LOG_TABLE};
+
+    private final SyncDAO syncDAO;
+    private final Executor writeExecutor;
+    private final SyncBackend backend;
+    private final int batchSize;
+    private final RetryPolicy retryPolicy;
+//  The jitter of retry delays. Only used on the sync thread.
+    private final Random random = new Random();
+
+    /**
+     * A call to the backend.
+     */
+    private interface Call {
+        byte[] run() throws IOException;
+    }
+
+    /**
+     * The running totals of one sync. Only used on the sync thread.
+     */
+    private static final class Totals {
+        int usersUploaded;
+        int logsUploaded;
+        int usersDownloaded;
+        int logsDownloaded;
+        int requests;
+        int retries;
+        long bytesUploaded;
+        long bytesDownloaded;
+    }
+
+    /**
+     * Constructs a new SyncEngine.
+     * @param syncDAO       the DAO of the database to sync
+     * @param writeExecutor the executor that runs every write to the database
+     * @param backend       the server to sync with
+     * @param batchSize     the maximum number of changes per upload and per download
+     * @param retryPolicy   how failed calls to the backend are retried
+     */
+    public SyncEngine(SyncDAO syncDAO, Executor writeExecutor, SyncBackend backend, int batchSize, RetryPolicy retryPolicy) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.syncDAO = syncDAO;
+        this.writeExecutor = writeExecutor;
+        this.backend = backend;
+        this.batchSize = batchSize;
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Uploads every pending change and downloads every change made by other clients, on the sync thread.
+     * Runs of all engines are queued on that thread, so they never overlap.
+     * @return a future completed with what the run did, or exceptionally with the IOException of a call that
+     * failed on every attempt
+     */
+    public CompletableFuture<SyncReport> sync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return run();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, syncExecutor);
+    }
+
+    /**
+     * Runs one sync on the sync thread.
+     * @return what the run did
+     * @throws IOException          if a call to the backend failed on every attempt or got a malformed answer
+     * @throws InterruptedException if the sync thread was interrupted while waiting to retry
+     */
+    private SyncReport run() throws IOException, InterruptedException {
+        long start = SystemClock.elapsedRealtimeNanos();
+        Totals totals = new Totals();
+        long clientId = clientId();
+        for (String table : TABLES) {
+            upload(clientId, table, totals);
+        }
+        for (String table : TABLES) {
+            download(clientId, table, totals);
+        }
+        return new SyncReport(totals.usersUploaded, totals.logsUploaded, totals.usersDownloaded, totals.logsDownloaded,
+                totals.requests, totals.retries, totals.bytesUploaded, totals.bytesDownloaded,
+                SystemClock.elapsedRealtimeNanos() - start);
+    }
+
+    /**
+     * Uploads the pending changes of one table in batches, oldest first, until the queue has been read to its end.
+     * A GymLog whose user has no remote ID yet is left queued for the next run.
+     * @param clientId the ID of this client
+     * @param table    the synced table
+     * @param totals   the totals of the run
+     * @throws IOException          if a call failed on every attempt or got a malformed answer
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    private void upload(long clientId, String table, Totals totals) throws IOException, InterruptedException {
+        boolean isUserTable = GymLogDatabase.USER_TABLE.equals(table);
+        long afterSeq = 0;
+        while (true) {
+            List<SyncPending> pending = syncDAO.getPending(table, afterSeq, batchSize);
+            if (pending.isEmpty()) {
+                return;
+            }
+            afterSeq = pending.get(pending.size() - 1).getSeq();
+
+            List<SyncPending> sent = new ArrayList<>();
+            List<UserChange> users = new ArrayList<>();
+            List<GymLogChange> logs = new ArrayList<>();
+            if (isUserTable) {
+                collectUsers(pending, sent, users);
+            } else {
+                collectGymLogs(pending, sent, logs);
+            }
+
+            long[] remoteIds = new long[sent.size()];
+            if (!users.isEmpty() || !logs.isEmpty()) {
+                byte[] batch = SyncCodec.encode(new SyncBatch(users, logs, 0, false));
+                byte[] answer = call(() -> backend.push(clientId, batch), totals);
+                totals.bytesUploaded += batch.length;
+                totals.bytesDownloaded += answer.length;
+                SyncAck ack = SyncCodec.decodeAck(answer);
+                long[] acknowledged = isUserTable ? ack.getUserRemoteIds() : ack.getLogRemoteIds();
+                if (acknowledged.length != users.size() + logs.size()) {
+                    throw new IOException("The server acknowledged " + acknowledged.length + " of " +
+                            (users.size() + logs.size()) + " changes");
+                }
+//              Changes the server did not need, deletions of rows it never had, come first and stay 0.
+                System.arraycopy(acknowledged, 0, remoteIds, remoteIds.length - acknowledged.length, acknowledged.length);
+                totals.usersUploaded += users.size();
+                totals.logsUploaded += logs.size();
+            }
+            if (!sent.isEmpty()) {
+                CompletableFuture.runAsync(() -> syncDAO.acknowledge(sent, remoteIds), writeExecutor).join();
+            }
+        }
+    }
+
+    /**
+     * Builds the user changes of a batch of pending changes.
+     * @param pending the pending changes
+     * @param sent    receives the pending changes the batch settles, those without an upload first
+     * @param users   receives the user changes to upload, in the order of the rest of sent
+     */
+    private void collectUsers(List<SyncPending> pending, List<SyncPending> sent, List<UserChange> users) {
+        Map<Integer, User> rows = new HashMap<>();
+        for (User user : syncDAO.getUsers(changedRowIds(pending))) {
+            rows.put(user.getId(), user);
+        }
+        List<SyncPending> uploaded = new ArrayList<>();
+        for (SyncPending change : pending) {
+            if (change.isDeleted()) {
+                if (change.getRemoteId() == 0) {
+                    sent.add(change);
+                } else {
+                    uploaded.add(change);
+                    users.add(UserChange.deletion(change.getRowId(), change.getRemoteId(), 0));
+                }
+                continue;
+            }
+            User user = rows.get(change.getRowId());
+//          A row deleted since the queue was read has been queued again as a deletion, further on.
+            if (user != null) {
+                uploaded.add(change);
+                users.add(new UserChange(user.getId(), user.getRemoteId(), 0, user.getUsername(),
+                        user.getPasswordHash(), user.isAdmin()));
+            }
+        }
+        sent.addAll(uploaded);
+    }
+
+    /**
+     * Builds the GymLog changes of a batch of pending changes.
+     * @param pending the pending changes
+     * @param sent    receives the pending changes the batch settles, those without an upload first
+     * @param logs    receives the GymLog changes to upload, in the order of the rest of sent
+     */
+    private void collectGymLogs(List<SyncPending> pending, List<SyncPending> sent, List<GymLogChange> logs) {
+        Map<Integer, GymLog> rows = new HashMap<>();
+        List<Integer> userIds = new ArrayList<>();
+        for (GymLog gymLog : syncDAO.getGymLogs(changedRowIds(pending))) {
+            rows.put(gymLog.getId(), gymLog);
+            userIds.add(gymLog.getUserId());
+        }
+        Map<Integer, Long> userRemoteIds = new HashMap<>();
+        for (User user : syncDAO.getUsers(userIds)) {
+            userRemoteIds.put(user.getId(), user.getRemoteId());
+        }
+        List<SyncPending> uploaded = new ArrayList<>();
+        for (SyncPending change : pending) {
+            if (change.isDeleted()) {
+                if (change.getRemoteId() == 0) {
+                    sent.add(change);
+                } else {
+                    uploaded.add(change);
+                    logs.add(GymLogChange.deletion(change.getRowId(), change.getRemoteId(), 0));
+                }
+                continue;
+            }
+            GymLog gymLog = rows.get(change.getRowId());
+            Long userRemoteId = gymLog == null ? null : userRemoteIds.get(gymLog.getUserId());
+//          Left queued: a deleted row comes again as a deletion, a GymLog of a user not uploaded yet waits for them.
+            if (userRemoteId != null && userRemoteId != 0) {
+                uploaded.add(change);
+                logs.add(new GymLogChange(gymLog.getId(), gymLog.getRemoteId(), 0, userRemoteId, gymLog.getExercise(),
+                        gymLog.getWeight(), gymLog.getReps(), gymLog.getDateMillis(), gymLog.getZoneOffset(),
+                        gymLog.getVersion()));
+            }
+        }
+        sent.addAll(uploaded);
+    }
+
+    /**
+     * Downloads the changes of one table in batches until the server has no more, applying each batch in
+     * its own transaction. Stops early at a GymLog of a user this client does not know yet.
+     * @param clientId the ID of this client
+     * @param table    the synced table
+     * @param totals   the totals of the run
+     * @throws IOException          if a call failed on every attempt or got a malformed answer
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    private void download(long clientId, String table, Totals totals) throws IOException, InterruptedException {
+        while (true) {
+            long cursor = syncDAO.getState(SyncDAO.cursorOf(table), 0);
+            byte[] answer = call(() -> backend.pull(clientId, table, cursor, batchSize), totals);
+            totals.bytesDownloaded += answer.length;
+            SyncBatch batch = SyncCodec.decodeBatch(answer);
+            if (batch.hasMore() && batch.getCursor() <= cursor) {
+                throw new IOException("The server did not advance the cursor of " + table + " past " + cursor);
+            }
+            boolean complete = CompletableFuture.supplyAsync(() -> syncDAO.applyDownload(table, batch), writeExecutor).join();
+            totals.usersDownloaded += batch.getUsers().size();
+            totals.logsDownloaded += batch.getLogs().size();
+            if (!complete || !batch.hasMore()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Calls the backend, retrying a failed call as the retry policy says.
+     * @param call   the call
+     * @param totals the totals of the run
+     * @return the answer
+     * @throws IOException          if the last attempt failed
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    private byte[] call(Call call, Totals totals) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            totals.requests++;
+            try {
+                return call.run();
+            } catch (IOException e) {
+                if (attempt >= retryPolicy.getMaxAttempts()) {
+                    throw e;
+                }
+                totals.retries++;
+                Thread.sleep(retryPolicy.delayMillis(attempt, random));
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of this client on the sync server, registering it on the first sync, which queues every
+     * existing record for upload.
+     * @return the client ID, never 0
+     */
+    private long clientId() {
+        long clientId = syncDAO.getState(SyncDAO.CLIENT_ID, 0);
+        if (clientId == 0) {
+            SecureRandom random = new SecureRandom();
+            while (clientId == 0) {
+                clientId = random.nextLong();
+            }
+            long newId = clientId;
+            CompletableFuture.runAsync(() -> syncDAO.register(newId), writeExecutor).join();
+        }
+        return clientId;
+    }
+
+    /**
+     * Returns the IDs of the rows changed and not deleted.
+     * @param pending the pending changes
+     * @return the row IDs
+     */
+    private static List<Integer> changedRowIds(List<SyncPending> pending) {
+        List<Integer> ids = new ArrayList<>(pending.size());
+        for (SyncPending change : pending) {
+            if (!change.isDeleted()) {
+                ids.add(change.getRowId());
+            }
+        }
+        return ids;
+    }
+}
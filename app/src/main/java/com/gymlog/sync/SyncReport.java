@@ -0,0 +1,145 @@
+package com.gymlog.sync;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncReport is what one run of the {@link SyncEngine} did: the changes uploaded and downloaded, the calls and
+ * retries it took, the bytes on the wire and how long it ran. It is the basis for tuning the batch size.
+ */
+public final class SyncReport {
+
+    private final int usersUploaded;
+    private final int logsUploaded;
+    private final int usersDownloaded;
+    private final int logsDownloaded;
+    private final int requests;
+    private final int retries;
+    private final long bytesUploaded;
+    private final long bytesDownloaded;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new SyncReport.
+     * @param usersUploaded   the number of user changes uploaded
+     * @param logsUploaded    the number of GymLog changes uploaded
+     * @param usersDownloaded the number of user changes downloaded
+     * @param logsDownloaded  the number of GymLog changes downloaded
+     * @param requests        the number of calls to the backend, retries included
+     * @param retries         the number of calls that were retries of a failed one
+     * @param bytesUploaded   the size of every upload and download request sent
+     * @param bytesDownloaded the size of every answer received
+     * @param elapsedNanos    how long the run took
+     */
+    SyncReport(int usersUploaded, int logsUploaded, int usersDownloaded, int logsDownloaded, int requests,
+               int retries, long bytesUploaded, long bytesDownloaded, long elapsedNanos) {
+        this.usersUploaded = usersUploaded;
+        this.logsUploaded = logsUploaded;
+        this.usersDownloaded = usersDownloaded;
+        this.logsDownloaded = logsDownloaded;
+        this.requests = requests;
+        this.retries = retries;
+        this.bytesUploaded = bytesUploaded;
+        this.bytesDownloaded = bytesDownloaded;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of user changes uploaded.
+     * @return the uploaded user changes
+     */
+    public int getUsersUploaded() {
+        return usersUploaded;
+    }
+
+    /**
+     * Returns the number of GymLog changes uploaded.
+     * @return the uploaded GymLog changes
+     */
+    public int getLogsUploaded() {
+        return logsUploaded;
+    }
+
+    /**
+     * Returns the number of user changes downloaded.
+     * @return the downloaded user changes
+     */
+    public int getUsersDownloaded() {
+        return usersDownloaded;
+    }
+
+    /**
+     * Returns the number of GymLog changes downloaded.
+     * @return the downloaded GymLog changes
+     */
+    public int getLogsDownloaded() {
+        return logsDownloaded;
+    }
+
+    /**
+     * Returns the number of calls to the backend.
+     * @return the number of calls, retries included
+     */
+    public int getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns the number of retried calls.
+     * @return the number of calls that repeated a failed one
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Returns the number of bytes sent to the backend.
+     * @return the bytes uploaded
+     */
+    public long getBytesUploaded() {
+        return bytesUploaded;
+    }
+
+    /**
+     * Returns the number of bytes received from the backend.
+     * @return the bytes downloaded
+     */
+    public long getBytesDownloaded() {
+        return bytesDownloaded;
+    }
+
+    /**
+     * Returns how long the run took.
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Returns the number of changes moved per second of the run.
+     * @return the uploaded and downloaded changes per second
+     */
+    public double getChangesPerSecond() {
+        int changes = usersUploaded + logsUploaded + usersDownloaded + logsDownloaded;
+        return elapsedNanos == 0 ? 0 : changes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns a one-line summary of the run.
+     * @return the summary
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "up users=%d logs=%d, down users=%d logs=%d, requests=%d retries=%d," +
+                        " bytes up=%d down=%d, %d ms, %.0f changes/s",
+                usersUploaded, logsUploaded, usersDownloaded, logsDownloaded, requests, retries,
+                bytesUploaded, bytesDownloaded, getElapsedMillis(), getChangesPerSecond());
+    }
+}
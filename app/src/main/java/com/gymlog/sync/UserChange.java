@@ -0,0 +1,162 @@
+package com.gymlog.sync;
+
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * UserChange is an added, edited or deleted User as it travels between a client and the sync server.
+ * The server knows a user by its remote ID, and by its username before the client has learned that ID.
+ * The password travels as the hash stored by {@link com.gymlog.credentials.Credentials}, never as plain text.
+ */
+public final class UserChange {
+
+    private final int localId;
+    private final long remoteId;
+    private final long seq;
+    private final boolean deleted;
+    @Nullable
+    private final String username;
+    @Nullable
+    private final String passwordHash;
+    private final boolean admin;
+
+    /**
+     * Constructs a new UserChange of an added or edited user.
+     * @param localId      the ID of the user on the client that uploads it, or 0 in a download
+     * @param remoteId     the ID of the user on the server, or 0 if it has none yet
+     * @param seq          the position of the change on the server, or 0 in an upload
+     * @param username     the username
+     * @param passwordHash the encoded password hash
+     * @param admin        whether the user is an admin
+     */
+    public UserChange(int localId, long remoteId, long seq, @Nullable String username, @Nullable String passwordHash,
+                      boolean admin) {
+        this(localId, remoteId, seq, false, username, passwordHash, admin);
+    }
+
+    /**
+     * Constructs a new UserChange.
+     * @param localId      the ID of the user on the client that uploads it, or 0 in a download
+     * @param remoteId     the ID of the user on the server, or 0 if it has none yet
+     * @param seq          the position of the change on the server, or 0 in an upload
+     * @param deleted      whether the user was deleted
+     * @param username     the username, or null for a deletion
+     * @param passwordHash the encoded password hash, or null for a deletion
+     * @param admin        whether the user is an admin
+     */
+    private UserChange(int localId, long remoteId, long seq, boolean deleted, @Nullable String username,
+                       @Nullable String passwordHash, boolean admin) {
+        this.localId = localId;
+        this.remoteId = remoteId;
+        this.seq = seq;
+        this.deleted = deleted;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.admin = admin;
+    }
+
+    /**
+     * Creates the change of a deleted user.
+     * @param localId  the ID of the user on the client that uploads it, or 0 in a download
+     * @param remoteId the ID of the user on the server
+     * @param seq      the position of the change on the server, or 0 in an upload
+     * @return the deletion
+     */
+    public static UserChange deletion(int localId, long remoteId, long seq) {
+        return new UserChange(localId, remoteId, seq, true, null, null, false);
+    }
+
+    /**
+     * Returns a copy of this change with the IDs the server gave it.
+     * @param remoteId the ID of the user on the server
+     * @param seq      the position of the change on the server
+     * @return the copy
+     */
+    public UserChange withServerIds(long remoteId, long seq) {
+        return new UserChange(localId, remoteId, seq, deleted, username, passwordHash, admin);
+    }
+
+    /**
+     * Returns the ID of the user on the client that uploads it.
+     * @return the local ID, or 0 in a download
+     */
+    public int getLocalId() {
+        return localId;
+    }
+
+    /**
+     * Returns the ID of the user on the server.
+     * @return the remote ID, or 0 if the user has not been uploaded before
+     */
+    public long getRemoteId() {
+        return remoteId;
+    }
+
+    /**
+     * Returns the position of the change on the server.
+     * @return the sequence number, or 0 in an upload
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Returns whether the user was deleted.
+     * @return true if the change is a deletion
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Returns the username.
+     * @return the username, or null for a deletion
+     */
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Returns the encoded password hash.
+     * @return the password hash, or null for a deletion
+     */
+    @Nullable
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    /**
+     * Returns whether the user is an admin.
+     * @return true if the user is an admin
+     */
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    /**
+     * Compares this UserChange to the specified object.
+     * @param o the object to compare this UserChange against
+     * @return true if the given object is a UserChange with the same values
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserChange that = (UserChange) o;
+        return localId == that.localId && remoteId == that.remoteId && seq == that.seq && deleted == that.deleted && admin == that.admin && Objects.equals(username, that.username) && Objects.equals(passwordHash, that.passwordHash);
+    }
+
+    /**
+     * Returns a hash code value for the UserChange.
+     * @return a hash code value for this UserChange
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(localId, remoteId, seq, deleted, username, passwordHash, admin);
+    }
+}
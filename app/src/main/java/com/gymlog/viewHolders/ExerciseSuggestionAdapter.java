@@ -0,0 +1,66 @@
+package com.gymlog.viewHolders;
+
+import android.content.Context;
+import android.widget.ArrayAdapter;
+import android.widget.Filter;
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseSuggestionAdapter shows the exercise suggestions under the exercise field.
+ * The suggestions are searched and ranked by the repository, so its filter passes them through unchanged
+ * instead of filtering them again by the prefix of the whole text, which would hide "Bench Press" for "pre".
+ */
+public class ExerciseSuggestionAdapter extends ArrayAdapter<String> {
+
+//  The number of suggestions, read by the filter on its worker thread.
+    private volatile int suggestionCount;
+
+    private final Filter passThrough = new Filter() {
+        @Override
+        protected FilterResults performFiltering(CharSequence constraint) {
+            FilterResults results = new FilterResults();
+            results.count = suggestionCount;
+            return results;
+        }
+
+        @Override
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            notifyDataSetChanged();
+        }
+    };
+
+    /**
+     * Constructs a new ExerciseSuggestionAdapter with no suggestions.
+     * @param context the context of the exercise field
+     */
+    public ExerciseSuggestionAdapter(@NonNull Context context) {
+        super(context, android.R.layout.simple_dropdown_item_1line);
+    }
+
+    /**
+     * Replaces the suggestions shown.
+     * @param suggestions the suggested exercise names, best first
+     */
+    public void setSuggestions(List<String> suggestions) {
+        setNotifyOnChange(false);
+        clear();
+        addAll(suggestions);
+        suggestionCount = suggestions.size();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Returns the filter of the adapter, which keeps the suggestions as they are.
+     * @return a filter that passes every suggestion through
+     */
+    @NonNull
+    @Override
+    public Filter getFilter() {
+        return passThrough;
+    }
+}
@@ -1,27 +1,56 @@
 package com.gymlog.viewHolders;
 
+import android.os.Process;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 
-import com.gymlog.database.entities.GymLog;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import kotlinx.coroutines.CoroutineDispatcher;
+import kotlinx.coroutines.Dispatchers;
+import kotlinx.coroutines.ExecutorsKt;
 
 /**
  * Author: Rahim Siddiq
  * GymLog
  * 08/04/2024
- * GymLogAdapter is a ListAdapter that manages GymLog items in a RecyclerView.
+ * GymLogAdapter is a PagingDataAdapter that manages GymLog items in a RecyclerView.
+ * Items arrive one page at a time, so only the loaded pages are diffed when the history changes.
+ * Rows are identified by GymLog ID, so a reloaded page only rebinds the rows whose record changed,
+ * and an edited row only rebinds the views of the fields that changed.
+ * Lists are diffed on a dedicated background thread instead of the shared default dispatcher.
  * It utilizes the GymLogViewHolder for binding data to views.
  */
-public class GymLogAdapter extends ListAdapter<GymLog, GymLogViewHolder> {
+public class GymLogAdapter extends PagingDataAdapter<GymLogItem, GymLogViewHolder> {
+
+//  Change payload flags, combined in an Integer when several fields of a row changed.
+    static final int CHANGED_EXERCISE = 1;
+    static final int CHANGED_SET = 1 << 1;
+    static final int CHANGED_DATE = 1 << 2;
+
+//  One thread diffs the lists of every adapter. A diff of a long history can take tens of milliseconds,
+//  and running it here keeps it from delaying page loads and other work on the shared dispatchers.
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "GymLogDiff");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final CoroutineDispatcher DIFF_DISPATCHER = ExecutorsKt.from(DIFF_EXECUTOR);
 
     /**
      * Constructs a new GymLogAdapter with the specified DiffUtil.ItemCallback.
      * @param diffCallback the callback to determine item differences
      */
-    public GymLogAdapter(@NonNull DiffUtil.ItemCallback<GymLog> diffCallback) {
-        super(diffCallback);
+    public GymLogAdapter(@NonNull DiffUtil.ItemCallback<GymLogItem> diffCallback) {
+        super(diffCallback, Dispatchers.getMain(), DIFF_DISPATCHER);
     }
 
     /**
@@ -44,35 +73,95 @@ public class GymLogAdapter extends ListAdapter<GymLog, GymLogViewHolder> {
      */
     @Override
     public void onBindViewHolder(@NonNull GymLogViewHolder holder, int position) {
-        GymLog current = getItem(position);
-        holder.bind(current.toString());
+        GymLogItem current = getItem(position);
+        if (current != null) {
+            holder.bind(current);
+        }
+    }
+
+    /**
+     * Called by RecyclerView to display the data at the specified position with change payloads.
+     * If the row only changed in some fields, only the views of those fields are rebound.
+     * @param holder the GymLogViewHolder which should be updated to represent the contents of the item
+     * @param position the position of the item within the adapter's data set
+     * @param payloads the change payloads of the item, empty for a full bind
+     */
+    @Override
+    public void onBindViewHolder(@NonNull GymLogViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        GymLogItem current = getItem(position);
+        if (current == null) {
+            return;
+        }
+        int changes = 0;
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (!(payload instanceof Integer)) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+            changes |= (Integer) payload;
+        }
+        holder.bind(current, changes);
     }
 
     /**
      * GymLogDiff is a DiffUtil.ItemCallback implementation for comparing GymLog items.
+     * PagingDataAdapter does not support RecyclerView stable IDs, so the GymLog ID gives rows their identity here.
      */
-    public static class GymLogDiff extends DiffUtil.ItemCallback<GymLog> {
+    public static class GymLogDiff extends DiffUtil.ItemCallback<GymLogItem> {
         /**
          * Called to check whether two objects represent the same item.
+         * Records loaded by different queries are different objects, so items are matched by GymLog ID.
          * @param oldItem the old item
          * @param newItem the new item
-         * @return true if the two items represent the same object
+         * @return true if the two items represent the same GymLog record
          */
         @Override
-        public boolean areItemsTheSame(@NonNull GymLog oldItem, @NonNull GymLog newItem) {
-            return oldItem == newItem;
+        public boolean areItemsTheSame(@NonNull GymLogItem oldItem, @NonNull GymLogItem newItem) {
+            return oldItem.getId() == newItem.getId();
         }
 
         /**
          * Called to check whether two items have the same data.
          * This information is used to detect if the contents of an item have changed.
+         * Every edit of a GymLog increments its version, so for two copies of the same record comparing
+         * the versions is enough and no field is compared. Copies formatted in different locales differ too,
+         * so the rows drawn before the user changed the language are redrawn.
          * @param oldItem the old item
          * @param newItem the new item
          * @return true if the contents of the items are the same
          */
         @Override
-        public boolean areContentsTheSame(@NonNull GymLog oldItem, @NonNull GymLog newItem) {
-            return oldItem.equals(newItem);
+        public boolean areContentsTheSame(@NonNull GymLogItem oldItem, @NonNull GymLogItem newItem) {
+            return oldItem.getVersion() == newItem.getVersion() && oldItem.getLocale().equals(newItem.getLocale());
+        }
+
+        /**
+         * Called when an item changed to find out which of its displayed fields changed.
+         * Only the display text is compared, so a change that does not show, such as a weight of 100 becoming 100.0,
+         * rebinds nothing.
+         * @param oldItem the old item
+         * @param newItem the new item
+         * @return the CHANGED_ flags of the changed fields, or null to rebind the whole row
+         */
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull GymLogItem oldItem, @NonNull GymLogItem newItem) {
+            int changes = 0;
+            if (!oldItem.getExerciseText().equals(newItem.getExerciseText())) {
+                changes |= CHANGED_EXERCISE;
+            }
+            if (!oldItem.getSetText().equals(newItem.getSetText())) {
+                changes |= CHANGED_SET;
+            }
+            if (!oldItem.getDateText().equals(newItem.getDateText())) {
+                changes |= CHANGED_DATE;
+            }
+            return changes;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.gymlog.viewHolders;
+
+import androidx.annotation.NonNull;
+
+import com.gymlog.database.entities.GymLog;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Locale;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogItem is a GymLog together with the text its row displays.
+ * The text is built once, off the main thread, when a page of records is loaded, so binding a row
+ * while scrolling only hands existing Strings to the row's TextViews.
+ * The date is formatted in the locale of the formatter passed in, which is resolved for every load, so a load
+ * after the user changes the language formats its dates in the new one.
+ */
+public final class GymLogItem {
+
+    private final GymLog log;
+    private final String exerciseText;
+    private final String setText;
+    private final String dateText;
+//  The locale the date text was formatted in, so an item formatted in another locale is redrawn.
+    private final Locale locale;
+
+    /**
+     * Returns the formatter of the date of a row in a locale. Formatters are immutable and thread-safe,
+     * so one instance serves every item of a load.
+     * @param locale the locale to format dates in
+     * @return a medium date and short time formatter for the locale
+     */
+    public static DateTimeFormatter dateFormat(@NonNull Locale locale) {
+        return DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT).withLocale(locale);
+    }
+
+    /**
+     * Constructs a new GymLogItem and builds its display text.
+     * @param log        the GymLog record shown by the row
+     * @param dateFormat the formatter of the date, from {@link #dateFormat}
+     */
+    public GymLogItem(@NonNull GymLog log, @NonNull DateTimeFormatter dateFormat) {
+        this.log = log;
+        this.exerciseText = log.getExercise() == null ? "" : log.getExercise();
+        this.setText = new StringBuilder(24)
+                .append(log.getWeight())
+                .append(" × ")
+                .append(log.getReps())
+                .toString();
+        this.dateText = dateFormat.format(log.getDate());
+        this.locale = dateFormat.getLocale();
+    }
+
+    /**
+     * Returns the ID of the GymLog, which identifies the row across reloads.
+     * @return the ID of the GymLog
+     */
+    public int getId() {
+        return log.getId();
+    }
+
+    /**
+     * Returns the version of the GymLog, which changes with every edit of the record.
+     * @return the version of the GymLog
+     */
+    public int getVersion() {
+        return log.getVersion();
+    }
+
+    /**
+     * Returns the GymLog record shown by the row.
+     * @return the GymLog record
+     */
+    public GymLog getLog() {
+        return log;
+    }
+
+    /**
+     * Returns the exercise name to display.
+     * @return the exercise text
+     */
+    public String getExerciseText() {
+        return exerciseText;
+    }
+
+    /**
+     * Returns the weight and repetitions to display, e.g. "100.0 × 5".
+     * @return the set text
+     */
+    public String getSetText() {
+        return setText;
+    }
+
+    /**
+     * Returns the date to display, formatted for the locale of the item.
+     * @return the date text
+     */
+    public String getDateText() {
+        return dateText;
+    }
+
+    /**
+     * Returns the locale the date text was formatted in.
+     * @return the locale of the item
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+}
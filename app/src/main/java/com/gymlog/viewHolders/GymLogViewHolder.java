@@ -12,11 +12,13 @@ import com.gymlog.R;
  * GymLog
  * 08/04/2024
  * GymLogViewHolder is a ViewHolder for displaying GymLog items in a RecyclerView.
- * It binds data to a TextView to display each GymLog entry.
+ * It binds the precomputed text of a {@link GymLogItem} to the exercise, set and date TextViews of the row.
  */
 public class GymLogViewHolder extends RecyclerView.ViewHolder {
 
-    private final TextView gymLogViewItem;
+    private final TextView exerciseView;
+    private final TextView setView;
+    private final TextView dateView;
 
     /**
      * Constructs a new GymLogViewHolder with the specified View.
@@ -24,15 +26,36 @@ public class GymLogViewHolder extends RecyclerView.ViewHolder {
      */
     private GymLogViewHolder(View gymLogView) {
         super(gymLogView);
-        gymLogViewItem = gymLogView.findViewById(R.id.recyclerItemTextView);
+        exerciseView = gymLogView.findViewById(R.id.recyclerItemExerciseTextView);
+        setView = gymLogView.findViewById(R.id.recyclerItemSetTextView);
+        dateView = gymLogView.findViewById(R.id.recyclerItemDateTextView);
     }
 
     /**
-     * Binds the provided text to the TextView in the ViewHolder.
-     * @param text the text to display in the TextView
+     * Binds the display text of a GymLogItem to the row. No text is built here.
+     * @param item the item to display
      */
-    public void bind(String text) {
-        gymLogViewItem.setText(text);
+    public void bind(GymLogItem item) {
+        exerciseView.setText(item.getExerciseText());
+        setView.setText(item.getSetText());
+        dateView.setText(item.getDateText());
+    }
+
+    /**
+     * Binds only the changed fields of a GymLogItem to the row.
+     * @param item    the item to display
+     * @param changes the GymLogAdapter CHANGED_ flags of the fields to rebind
+     */
+    void bind(GymLogItem item, int changes) {
+        if ((changes & GymLogAdapter.CHANGED_EXERCISE) != 0) {
+            exerciseView.setText(item.getExerciseText());
+        }
+        if ((changes & GymLogAdapter.CHANGED_SET) != 0) {
+            setView.setText(item.getSetText());
+        }
+        if ((changes & GymLogAdapter.CHANGED_DATE) != 0) {
+            dateView.setText(item.getDateText());
+        }
     }
 
     /**
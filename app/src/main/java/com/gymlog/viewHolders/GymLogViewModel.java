@@ -3,11 +3,24 @@ package com.gymlog.viewHolders;
 import android.app.Application;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
 
 import com.gymlog.database.GymLogRepository;
 import com.gymlog.database.entities.GymLog;
 
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import kotlin.jvm.functions.Function1;
 
 /**
  * Author: Rahim Siddiq
@@ -20,6 +33,15 @@ import java.util.List;
 public class GymLogViewModel extends AndroidViewModel {
 
     private final GymLogRepository repository;
+//  Builds the display text of loaded pages, so the main thread never formats a row.
+    private final ExecutorService itemExecutor = Executors.newSingleThreadExecutor();
+//  The text of the exercise field, followed by the exercise suggestions.
+    private final MutableLiveData<String> exerciseText = new MutableLiveData<>();
+//  The paged history of pagedLogsUserId, built once so every observer shares one Pager and its cached pages.
+    private LiveData<PagingData<GymLogItem>> pagedLogs;
+    private int pagedLogsUserId;
+//  The default locale when pagedLogs was built; its cached pages hold dates formatted in it.
+    private Locale pagedLogsLocale;
 
     /**
      * Constructs a new GymLogViewModel with the specified Application context.
@@ -32,13 +54,91 @@ public class GymLogViewModel extends AndroidViewModel {
     }
 
     /**
-     * Retrieves all GymLog records for a specific user as LiveData.
-     * This allows the UI to observe changes to the data in real-time.
+     * Retrieves the GymLog records for a specific user as paged LiveData of display items.
+     * The display text of every record is built on a background thread as its page loads, with dates formatted
+     * in the default locale of the time of the load.
+     * The LiveData is built once per user and kept in the ViewModel, and its pages are cached in the
+     * ViewModel's scope, so an Activity recreated by a configuration change observes the same pages
+     * instead of starting a new Pager. A change of the default locale starts a new Pager instead, so the
+     * dates are shown in the new language. Must be called on the main thread.
+     * @param userId the ID of the user whose logs are to be retrieved
+     * @return a LiveData stream of PagingData of GymLogItems for the specified user
+     */
+    public LiveData<PagingData<GymLogItem>> getPagedLogsById(int userId) {
+        Locale locale = Locale.getDefault();
+        if (pagedLogs == null || pagedLogsUserId != userId || !locale.equals(pagedLogsLocale)) {
+            LiveData<PagingData<GymLog>> logs = PagingLiveData.getLiveData(repository.getLogsPagerByUserId(userId));
+            Function1<PagingData<GymLog>, PagingData<GymLogItem>> toItems = page -> {
+                DateTimeFormatter dateFormat = GymLogItem.dateFormat(Locale.getDefault());
+                return PagingDataTransforms.map(page, itemExecutor, log -> new GymLogItem(log, dateFormat));
+            };
+            pagedLogs = PagingLiveData.cachedIn(Transformations.map(logs, toItems), ViewModelKt.getViewModelScope(this));
+            pagedLogsUserId = userId;
+            pagedLogsLocale = locale;
+        }
+        return pagedLogs;
+    }
+
+    /**
+     * Retrieves the GymLog records a user logged within a time window ending now, newest first.
+     * The window is fixed when this is called; records logged later only appear while they fall inside it.
      * @param userId the ID of the user whose logs are to be retrieved
-     * @return a LiveData list of GymLog records for the specified user
+     * @param window the length of the window, such as seven days
+     * @return a LiveData list of the user's GymLog records in the window
+     */
+    public LiveData<List<GymLog>> getRecentLogsById(int userId, Duration window) {
+        long now = System.currentTimeMillis();
+        return repository.getLogsByUserIdBetweenLiveData(userId, now - window.toMillis(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves the GymLog records of a user in a date range, newest first.
+     * @param userId     the ID of the user whose logs are to be retrieved
+     * @param fromMillis the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis   the end of the range in UTC epoch milliseconds, exclusive
+     * @return a LiveData list of the user's GymLog records in the range
+     */
+    public LiveData<List<GymLog>> getLogsByIdBetween(int userId, long fromMillis, long toMillis) {
+        return repository.getLogsByUserIdBetweenLiveData(userId, fromMillis, toMillis);
+    }
+
+    /**
+     * Retrieves the GymLog records of one exercise of a user, newest first.
+     * @param userId   the ID of the user whose logs are to be retrieved
+     * @param exercise the exercise name
+     * @return a LiveData list of the user's GymLog records of the exercise
+     */
+    public LiveData<List<GymLog>> getLogsByIdAndExercise(int userId, String exercise) {
+        return repository.getLogsByUserIdAndExerciseLiveData(userId, exercise);
+    }
+
+    /**
+     * Retrieves the GymLog records of one exercise of a user in a date range, newest first.
+     * @param userId     the ID of the user whose logs are to be retrieved
+     * @param exercise   the exercise name
+     * @param fromMillis the start of the range in UTC epoch milliseconds, inclusive
+     * @param toMillis   the end of the range in UTC epoch milliseconds, exclusive
+     * @return a LiveData list of the user's GymLog records of the exercise in the range
+     */
+    public LiveData<List<GymLog>> getLogsByIdAndExerciseBetween(int userId, String exercise, long fromMillis, long toMillis) {
+        return repository.getLogsByUserIdAndExerciseBetweenLiveData(userId, exercise, fromMillis, toMillis);
+    }
+
+    /**
+     * Retrieves exercise suggestions for the text of the exercise field, updated once typing pauses.
+     * @param userId the ID of the user whose most logged exercises rank first
+     * @return a LiveData of suggested exercise names
      */
-    public LiveData<List<GymLog>> getAllLogsById(int userId) {
-        return repository.getAllLogsByUserIdLiveData(userId);
+    public LiveData<List<String>> getExerciseSuggestions(int userId) {
+        return repository.getExerciseSuggestions(userId, exerciseText);
+    }
+
+    /**
+     * Sets the text of the exercise field, which updates the exercise suggestions.
+     * @param text the text typed so far
+     */
+    public void setExerciseText(String text) {
+        exerciseText.setValue(text);
     }
 
     /**
@@ -49,4 +149,13 @@ public class GymLogViewModel extends AndroidViewModel {
     public void insert(GymLog log) {
         repository.insertGymLog(log);
     }
+
+    /**
+     * Called when the ViewModel is no longer used. Stops the display text executor.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        itemExecutor.shutdown();
+    }
 }
\ No newline at end of file
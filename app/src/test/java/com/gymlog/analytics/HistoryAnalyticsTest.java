@@ -0,0 +1,210 @@
+package com.gymlog.analytics;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * HistoryAnalyticsTest checks that the fork-join analytics of a snapshot equal a plain pass over the same sets,
+ * whatever the number of threads and wherever the ranges of the tasks split a streak.
+ */
+public class HistoryAnalyticsTest {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final long START = 1_760_000_000_000L;
+    private static final int[] OFFSETS = {-18 * 3600, -5 * 3600, 0, 3600, 14 * 3600};
+
+    private final Random random = new Random(25);
+
+    @Test
+    public void analyze_matchesAPlainPassOnAnyNumberOfThreads() {
+        HistorySnapshot snapshot = randomSnapshot(5 * HistoryAnalytics.THRESHOLD + 123);
+
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                assertMatchesPlainPass(snapshot, new HistoryAnalytics(pool).analyze(snapshot));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void streaks_areJoinedAcrossTaskBoundaries() {
+//      Two sets a day for 40,000 days, with day 20,000 missed: the ranges of the tasks split both runs.
+        HistorySnapshot.Builder builder = new HistorySnapshot.Builder(80_000);
+        for (int day = 0; day < 40_000; day++) {
+            if (day != 20_000) {
+                builder.add(day * DAY_MILLIS, 0, 1, 100, 5).add(day * DAY_MILLIS + 3_600_000L, 0, 2, 60, 8);
+            }
+        }
+
+        AnalyticsReport report = new HistoryAnalytics(ForkJoinPool.commonPool()).analyze(builder.build());
+
+        assertEquals(39_999, report.getTrainingDays());
+        assertEquals(20_000, report.getLongestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(19_999), report.getLongestStreakEnd());
+        assertEquals(19_999, report.getLatestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(39_999), report.getLatestStreakEnd());
+    }
+
+    @Test
+    public void trend_isTheSlopeOfTheEstimatePerWeek() {
+        HistorySnapshot.Builder builder = new HistorySnapshot.Builder(100);
+        for (int week = 0; week < 100; week++) {
+            builder.add(START + week * 7 * DAY_MILLIS, 0, 3, 100 + 2.5 * week, 1);
+        }
+
+        ExerciseAnalytics squat = new HistoryAnalytics(ForkJoinPool.commonPool()).analyze(builder.build()).getExercises().get(0);
+
+        assertEquals(2.5, squat.getTrendPerWeek(), 1e-9);
+        assertEquals(100 + 2.5 * 99, squat.getBestEstimatedOneRepMax(), 0);
+        assertEquals(START + 99 * 7 * DAY_MILLIS, squat.getBestDateMillis());
+    }
+
+    @Test
+    public void emptySnapshot_hasNoExercisesOrStreaks() {
+        AnalyticsReport report = new HistoryAnalytics(ForkJoinPool.commonPool()).analyze(new HistorySnapshot.Builder(0).build());
+
+        assertEquals(0, report.getSetCount());
+        assertEquals(0, report.getExercises().size());
+        assertEquals(0, report.getLongestStreakDays());
+        assertNull(report.getLongestStreakEnd());
+        assertNull(report.getLatestStreakEnd());
+    }
+
+    @Test
+    public void builder_growsClampsRepsAndRejectsOlderSets() {
+        HistorySnapshot.Builder builder = new HistorySnapshot.Builder(1);
+        for (int i = 0; i < 1000; i++) {
+            builder.add(START + i, 0, i % 7, 50, i == 999 ? 100_000 : 5);
+        }
+
+        HistorySnapshot snapshot = builder.build();
+
+        assertEquals(1000, snapshot.size());
+        assertEquals(7, snapshot.getExerciseIdBound());
+        assertEquals(Short.MAX_VALUE, snapshot.repsAt(999));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(START - 1, 0, 1, 50, 5));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(START + 1000, 0, -1, 50, 5));
+    }
+
+    /**
+     * Checks a report against a plain sequential pass over the snapshot, with two-pass means for the trend
+     * and a sorted set of days for the streaks.
+     * @param snapshot the snapshot
+     * @param report   the report of the snapshot
+     */
+    private static void assertMatchesPlainPass(HistorySnapshot snapshot, AnalyticsReport report) {
+        int bound = snapshot.getExerciseIdBound();
+        int[] sets = new int[bound];
+        long[] reps = new long[bound];
+        double[] volume = new double[bound];
+        double[] best = new double[bound];
+        long[] bestDate = new long[bound];
+        double[] sumDay = new double[bound];
+        double[] sumEstimate = new double[bound];
+        TreeSet<Integer> days = new TreeSet<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            int id = snapshot.exerciseIdAt(i);
+            double estimate = HistoryAnalytics.estimatedOneRepMax(snapshot.weightAt(i), snapshot.repsAt(i));
+            sets[id]++;
+            reps[id] += snapshot.repsAt(i);
+            volume[id] += snapshot.weightAt(i) * (double) snapshot.repsAt(i);
+            if (estimate > best[id]) {
+                best[id] = estimate;
+                bestDate[id] = snapshot.dateAt(i);
+            }
+            sumDay[id] += day(snapshot, i);
+            sumEstimate[id] += estimate;
+            days.add(snapshot.dayAt(i));
+        }
+        double[] dateMoment = new double[bound];
+        double[] coMoment = new double[bound];
+        for (int i = 0; i < snapshot.size(); i++) {
+            int id = snapshot.exerciseIdAt(i);
+            double dx = day(snapshot, i) - sumDay[id] / sets[id];
+            dateMoment[id] += dx * dx;
+            coMoment[id] += dx * (HistoryAnalytics.estimatedOneRepMax(snapshot.weightAt(i), snapshot.repsAt(i))
+                    - sumEstimate[id] / sets[id]);
+        }
+
+        List<ExerciseAnalytics> exercises = report.getExercises();
+        int index = 0;
+        for (int id = 0; id < bound; id++) {
+            if (sets[id] == 0) {
+                continue;
+            }
+            ExerciseAnalytics exercise = exercises.get(index++);
+            assertEquals(id, exercise.getExerciseId());
+            assertEquals(sets[id], exercise.getSetCount());
+            assertEquals(reps[id], exercise.getTotalReps());
+            assertEquals(volume[id], exercise.getTotalVolume(), 1e-9 * volume[id]);
+            assertEquals(best[id], exercise.getBestEstimatedOneRepMax(), 0);
+            assertEquals(bestDate[id], exercise.getBestDateMillis());
+            double trend = coMoment[id] / dateMoment[id] * 7;
+            assertEquals(trend, exercise.getTrendPerWeek(), 1e-9 * Math.max(1, Math.abs(trend)));
+        }
+        assertEquals(index, exercises.size());
+        assertEquals(snapshot.size(), report.getSetCount());
+
+        int longest = 0;
+        int longestEnd = 0;
+        int run = 0;
+        Integer previous = null;
+        for (int day : days) {
+            run = previous != null && day == previous + 1 ? run + 1 : 1;
+            if (run >= longest) {
+                longest = run;
+                longestEnd = day;
+            }
+            previous = day;
+        }
+        assertEquals(days.size(), report.getTrainingDays());
+        assertEquals(longest, report.getLongestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(longestEnd), report.getLongestStreakEnd());
+        assertEquals(run, report.getLatestStreakDays());
+        assertEquals(LocalDate.ofEpochDay(days.last()), report.getLatestStreakEnd());
+    }
+
+    /**
+     * Returns the date of a set in days since the first set, as the trend is fitted.
+     * @param snapshot the snapshot
+     * @param i        the index of the set
+     * @return the days since the first set
+     */
+    private static double day(HistorySnapshot snapshot, int i) {
+        return (snapshot.dateAt(i) - snapshot.dateAt(0)) / (double) DAY_MILLIS;
+    }
+
+    /**
+     * Creates a snapshot of random sets of eight exercises, mostly one or two training days apart with the odd
+     * week off, logged in changing time zones so local days are not always in order.
+     * @param size the number of sets
+     * @return the snapshot
+     */
+    private HistorySnapshot randomSnapshot(int size) {
+        HistorySnapshot.Builder builder = new HistorySnapshot.Builder(size);
+        long date = START;
+        for (int i = 0; i < size; i++) {
+            double gap = random.nextDouble();
+            date += gap < 0.8 ? random.nextInt(600_000) : gap < 0.99 ? DAY_MILLIS + random.nextInt((int) DAY_MILLIS)
+                    : 7 * DAY_MILLIS;
+            builder.add(date, OFFSETS[random.nextInt(OFFSETS.length)], 1 + random.nextInt(8), 20 + 2.5 * random.nextInt(80),
+                    1 + random.nextInt(12));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.gymlog.credentials;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * PasswordHasherTest checks the encoding, verification, cost bounds, rehash rule and calibration bounds of
+ * {@link PasswordHasher}.
+ * The tests hash at the minimum cost, which is what calibration picks on a fast machine anyway.
+ */
+public class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(PasswordHasher.MIN_ITERATIONS);
+
+    @Test
+    public void hash_verifiesOnlyTheSamePassword() {
+        String stored = hasher.hash("hunter2".toCharArray());
+
+        assertTrue(stored.startsWith(PasswordHasher.PREFIX + PasswordHasher.MIN_ITERATIONS + "$"));
+        assertTrue(hasher.verify("hunter2".toCharArray(), stored));
+        assertFalse(hasher.verify("hunter3".toCharArray(), stored));
+        assertFalse(hasher.verify("".toCharArray(), stored));
+    }
+
+    @Test
+    public void hash_isSaltedPerPassword() {
+        assertNotEquals(hasher.hash("hunter2".toCharArray()), hasher.hash("hunter2".toCharArray()));
+    }
+
+    @Test
+    public void hash_verifiesAtTheCostItWasMadeWith() {
+        String stored = hasher.hash("hunter2".toCharArray());
+        PasswordHasher costlier = new PasswordHasher(PasswordHasher.MIN_ITERATIONS * 2);
+
+        assertTrue(costlier.verify("hunter2".toCharArray(), stored));
+        assertTrue(costlier.needsRehash(stored));
+        assertFalse(hasher.needsRehash(stored));
+        assertFalse(new PasswordHasher(PasswordHasher.MIN_ITERATIONS * 5 / 4).needsRehash(stored));
+    }
+
+    @Test
+    public void plainText_neverVerifies() {
+        assertFalse(PasswordHasher.isHash("admin1"));
+        assertFalse(PasswordHasher.isValid("admin1"));
+        assertFalse(hasher.verify("admin1".toCharArray(), "admin1"));
+        assertTrue(hasher.needsRehash("admin1"));
+    }
+
+    @Test
+    public void malformedHash_neverVerifies() {
+        assertFalse(hasher.verify("x".toCharArray(), null));
+        assertFalse(hasher.verify("x".toCharArray(), PasswordHasher.PREFIX + "abc"));
+        assertFalse(hasher.verify("x".toCharArray(), PasswordHasher.PREFIX + PasswordHasher.MIN_ITERATIONS + "$!!$!!"));
+        assertFalse(PasswordHasher.isValid(PasswordHasher.PREFIX + PasswordHasher.MIN_ITERATIONS + "$c2FsdA$aGFzaA"));
+        assertTrue(hasher.needsRehash(PasswordHasher.PREFIX + "many$salt$hash"));
+        assertTrue(PasswordHasher.isValid(hasher.hash("x".toCharArray())));
+    }
+
+    @Test
+    public void costOutOfBounds_neverVerifies() {
+        String stored = hasher.hash("hunter2".toCharArray());
+        String body = stored.substring(stored.indexOf('$', PasswordHasher.PREFIX.length()));
+        String tooCheap = PasswordHasher.PREFIX + (PasswordHasher.MIN_ITERATIONS - 1) + body;
+        String tooCostly = PasswordHasher.PREFIX + (PasswordHasher.MAX_ITERATIONS + 1) + body;
+
+        assertFalse(PasswordHasher.isValid(tooCheap));
+        assertFalse(PasswordHasher.isValid(tooCostly));
+        assertFalse(hasher.verify("hunter2".toCharArray(), tooCheap));
+        assertFalse(hasher.verify("hunter2".toCharArray(), tooCostly));
+        assertFalse(hasher.verify("hunter2".toCharArray(), PasswordHasher.PREFIX + Long.MAX_VALUE + body));
+        assertTrue(hasher.needsRehash(tooCheap));
+    }
+
+    @Test
+    public void calibrate_staysWithinBounds() {
+        assertEquals(PasswordHasher.MIN_ITERATIONS, PasswordHasher.calibrate(0).getIterations());
+        int iterations = PasswordHasher.calibrate(50).getIterations();
+        assertTrue(iterations >= PasswordHasher.MIN_ITERATIONS && iterations <= PasswordHasher.MAX_ITERATIONS);
+    }
+}
@@ -0,0 +1,90 @@
+package com.gymlog.dataTransfer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * CsvReaderTest checks that {@link CsvReader} splits records on commas and line breaks of any platform, and that
+ * quoted fields keep their separators, doubled quotes and line breaks.
+ */
+public class CsvReaderTest {
+
+    @Test
+    public void readRecord_splitsFieldsAndRecords() throws IOException {
+        List<String[]> records = readAll("a,b,c\n1,,3\n,\nlast,");
+
+        assertEquals(4, records.size());
+        assertArrayEquals(new String[]{"a", "b", "c"}, records.get(0));
+        assertArrayEquals(new String[]{"1", "", "3"}, records.get(1));
+        assertArrayEquals(new String[]{"", ""}, records.get(2));
+        assertArrayEquals(new String[]{"last", ""}, records.get(3));
+    }
+
+    @Test
+    public void readRecord_keepsSeparatorsQuotesAndLineBreaksInQuotedFields() throws IOException {
+        List<String[]> records = readAll("\"Bench, incline\",\"say \"\"hi\"\"\",\"two\nlines\"\n\"\",\"\"\"\"\n");
+
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[]{"Bench, incline", "say \"hi\"", "two\nlines"}, records.get(0));
+        assertArrayEquals(new String[]{"", "\""}, records.get(1));
+    }
+
+    @Test
+    public void readRecord_acceptsCrLfAndBareCrLineBreaks() throws IOException {
+        List<String[]> records = readAll("a,b\r\nc,d\re,f\r\n\"g\r\nh\",i\r\n");
+
+        assertEquals(4, records.size());
+        assertArrayEquals(new String[]{"a", "b"}, records.get(0));
+        assertArrayEquals(new String[]{"c", "d"}, records.get(1));
+        assertArrayEquals(new String[]{"e", "f"}, records.get(2));
+        assertArrayEquals(new String[]{"g\r\nh", "i"}, records.get(3));
+    }
+
+    @Test
+    public void readRecord_skipsBlankLines() throws IOException {
+        List<String[]> records = readAll("\n\r\na\n\n\r\nb\n\n");
+
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[]{"a"}, records.get(0));
+        assertArrayEquals(new String[]{"b"}, records.get(1));
+    }
+
+    @Test
+    public void readRecord_rejectsAnUnterminatedQuotedField() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("a,\"b\nc"))) {
+            assertThrows(IOException.class, csv::readRecord);
+        }
+        try (CsvReader csv = new CsvReader(new StringReader(""))) {
+            assertNull(csv.readRecord());
+        }
+    }
+
+    /**
+     * Reads every record of a text.
+     * @param text the CSV text
+     * @return its records in order
+     * @throws IOException if the text is not valid CSV
+     */
+    private static List<String[]> readAll(String text) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(new StringReader(text))) {
+            String[] record;
+            while ((record = csv.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,158 @@
+package com.gymlog.dataTransfer;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.typeConverters.LocalDateTypeConverter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogCsvImporterTest imports CSV files into an in-memory database and checks that invalid rows are rejected,
+ * duplicates within a file, within a batch and against the stored history are skipped and counted, columns are
+ * found by name, and an exported record comes back at the instant and offset it was logged at.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GymLogCsvImporterTest {
+
+    private static final int USER_ID = 1;
+    private static final int OTHER_USER_ID = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GymLogDatabase database;
+    private GymLogCsvImporter importer;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        importer = new GymLogCsvImporter(database, Runnable::run);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void importCsv_skipsInvalidAndDuplicateRows() throws IOException {
+        String file = "Date,Reps,Exercise,Weight\n" +
+                "2024-08-04T18:30:00,5,Squat,100.0\n" +
+                "2024-08-04T18:30:00,5,squat,100.0\n" +
+                "2024-08-04,8,\"Bench, incline\",60\n" +
+                "2024-08-05T10:00:00,-1,Deadlift,140\n" +
+                "not a date,5,Row,50\n" +
+                "2024-08-05T10:00:00,5,,50\n" +
+                "2024-08-06T10:00:00,5\n";
+
+        GymLogCsvImporter.Result first = importString(USER_ID, file);
+        assertEquals(7, first.getRead());
+        assertEquals(2, first.getImported());
+        assertEquals(1, first.getDuplicates());
+        assertEquals(4, first.getRejected());
+
+        GymLogCsvImporter.Result second = importString(USER_ID, file);
+        assertEquals(0, second.getImported());
+        assertEquals(3, second.getDuplicates());
+        assertEquals(2, database.gymLogDAO().getRecordsByUserId(USER_ID).size());
+        assertEquals("Bench, incline", database.gymLogDAO().getRecordsByUserId(USER_ID).get(1).getExercise());
+    }
+
+    @Test
+    public void importCsv_keepsTheRecordsOfOtherUsers() throws IOException {
+        String file = "exercise,weight,reps,date\nSquat,100,5,2024-08-04T18:30:00Z\n";
+
+        assertEquals(1, importString(USER_ID, file).getImported());
+        assertEquals(1, importString(OTHER_USER_ID, file).getImported());
+        assertEquals(1, database.gymLogDAO().getRecordsByUserId(OTHER_USER_ID).size());
+    }
+
+    @Test
+    public void importCsv_countsDuplicatesAcrossBatches() throws IOException {
+        int rows = 2 * GymLogCsvImporter.BATCH_SIZE + 10;
+        StringBuilder file = new StringBuilder(" EXERCISE , Weight,REPS,date\r\n");
+        LocalDateTime first = LocalDateTime.of(2020, 1, 1, 6, 0);
+        for (int i = 0; i < rows; i++) {
+            file.append("Squat,").append(60 + i % 40).append(",5,").append(first.plusMinutes(i % 1_500)).append("\r\n");
+        }
+        List<Integer> progress = new ArrayList<>();
+
+        GymLogCsvImporter.Result result = importer.importCsv(USER_ID,
+                new ByteArrayInputStream(file.toString().getBytes(StandardCharsets.UTF_8)), (done, total) -> progress.add(done));
+
+        assertEquals(rows, result.getRead());
+        assertEquals(1_500, result.getImported());
+        assertEquals(rows - 1_500, result.getDuplicates());
+        assertEquals(0, result.getRejected());
+        assertEquals(1_500, database.gymLogDAO().getRecordsByUserId(USER_ID).size());
+        assertEquals(3, progress.size());
+        assertEquals(1_500, (int) progress.get(2));
+    }
+
+    @Test
+    public void importCsv_withoutARequiredColumn_fails() throws IOException {
+        assertThrows(IOException.class, () -> importString(USER_ID, "exercise,weight,date\nSquat,100,2024-08-04\n"));
+        assertEquals(0, importer.importCsv(USER_ID, new ByteArrayInputStream(new byte[0]), null).getRead());
+    }
+
+    @Test
+    public void exportThenImport_keepsInstantAndOffset() throws IOException {
+        GymLog logged = new GymLog("Squat", 100, 5, USER_ID);
+        logged.setDateMillis(1_722_810_600_000L);
+        logged.setZoneOffset(LocalDateTypeConverter.offsetSecondsAt(logged.getDateMillis()) + 3 * 3600);
+        database.gymLogDAO().insert(logged);
+        File csv = folder.newFile("export.csv");
+        new GymLogExporter(database.gymLogDAO(), database.archiveDAO()).export(USER_ID, GymLogExporter.Format.CSV, csv);
+
+        GymLogCsvImporter.Result result;
+        try (InputStream input = new FileInputStream(csv)) {
+            result = importer.importCsv(OTHER_USER_ID, input, null);
+        }
+
+        assertEquals(1, result.getImported());
+        GymLog imported = database.gymLogDAO().getRecordsByUserId(OTHER_USER_ID).get(0);
+        assertEquals(logged.getDateMillis(), imported.getDateMillis());
+        assertEquals(logged.getZoneOffset(), imported.getZoneOffset());
+    }
+
+    /**
+     * Imports CSV text for a user.
+     * @param userId the ID of the user
+     * @param file   the CSV text
+     * @return the import counts
+     * @throws IOException if the file has no valid header
+     */
+    private GymLogCsvImporter.Result importString(int userId, String file) throws IOException {
+        return importer.importCsv(userId, new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
@@ -0,0 +1,157 @@
+package com.gymlog.dataTransfer;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.GymLogDatabase;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogExporterTest exports exercise names that need escaping in both formats and checks every line written,
+ * and that a failed export leaves neither its temporary file nor a partial destination behind.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GymLogExporterTest {
+
+    private static final int USER_ID = 1;
+//  2024-08-04T22:30:00Z, written at an offset of -04:00 as 18:30 local time.
+    private static final long FIRST_DATE = 1_722_810_600_000L;
+    private static final int OFFSET_SECONDS = -4 * 3600;
+    private static final long ONE_DAY = 24 * 3600 * 1000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GymLogDatabase database;
+    private GymLogExporter exporter;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        exporter = new GymLogExporter(database.gymLogDAO(), database.archiveDAO());
+        insert("Bench, incline", 0);
+        insert("Curl \"21s\"", 1);
+        insert("Row\nwide grip", 2);
+        insert("Press\\single\tarm\r", 3);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void exportCsv_quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        File csv = new File(folder.getRoot(), "export.csv");
+
+        assertEquals(4, exporter.export(USER_ID, GymLogExporter.Format.CSV, csv));
+
+        assertEquals("id,exercise,weight,reps,date,userId\n" +
+                "1,\"Bench, incline\",100.0,5,2024-08-04T18:30:00-04:00,1\n" +
+                "2,\"Curl \"\"21s\"\"\",100.0,5,2024-08-05T18:30:00-04:00,1\n" +
+                "3,\"Row\nwide grip\",100.0,5,2024-08-06T18:30:00-04:00,1\n" +
+                "4,\"Press\\single\tarm\r\",100.0,5,2024-08-07T18:30:00-04:00,1\n", read(csv));
+        assertFalse(new File(csv.getPath() + ".partial").exists());
+    }
+
+    @Test
+    public void exportJsonLines_escapesQuotesBackslashesAndControlCharacters() throws IOException {
+        File json = new File(folder.getRoot(), "export.jsonl");
+
+        assertEquals(4, exporter.export(USER_ID, GymLogExporter.Format.JSON_LINES, json));
+
+        assertEquals("{\"id\":1,\"exercise\":\"Bench, incline\",\"weight\":100.0,\"reps\":5," +
+                        "\"date\":\"2024-08-04T18:30:00-04:00\",\"userId\":1}\n" +
+                "{\"id\":2,\"exercise\":\"Curl \\\"21s\\\"\",\"weight\":100.0,\"reps\":5," +
+                        "\"date\":\"2024-08-05T18:30:00-04:00\",\"userId\":1}\n" +
+                "{\"id\":3,\"exercise\":\"Row\\u000awide grip\",\"weight\":100.0,\"reps\":5," +
+                        "\"date\":\"2024-08-06T18:30:00-04:00\",\"userId\":1}\n" +
+                "{\"id\":4,\"exercise\":\"Press\\\\single\\u0009arm\\u000d\",\"weight\":100.0,\"reps\":5," +
+                        "\"date\":\"2024-08-07T18:30:00-04:00\",\"userId\":1}\n", read(json));
+    }
+
+    @Test
+    public void exportCsv_thenRead_restoresTheEscapedNames() throws IOException {
+        File csv = new File(folder.getRoot(), "export.csv");
+        exporter.export(USER_ID, GymLogExporter.Format.CSV, csv);
+
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(csv.toPath(), StandardCharsets.UTF_8))) {
+            reader.readRecord();
+            assertEquals("Bench, incline", reader.readRecord()[1]);
+            assertEquals("Curl \"21s\"", reader.readRecord()[1]);
+            assertEquals("Row\nwide grip", reader.readRecord()[1]);
+            assertEquals("Press\\single\tarm\r", reader.readRecord()[1]);
+        }
+    }
+
+    @Test
+    public void export_thatCannotReplaceTheDestination_leavesNoPartialFile() throws IOException {
+        File destination = folder.newFolder("export.csv");
+        File kept = new File(destination, "kept");
+        assertTrue(kept.createNewFile());
+
+        assertThrows(IOException.class, () -> exporter.export(USER_ID, GymLogExporter.Format.CSV, destination));
+
+        assertFalse(new File(destination.getPath() + ".partial").exists());
+        assertTrue(destination.isDirectory());
+        assertTrue(kept.exists());
+    }
+
+    @Test
+    public void export_thatCannotOpenTheFile_leavesNoPartialFile() {
+        File destination = new File(new File(folder.getRoot(), "missing"), "export.jsonl");
+
+        assertThrows(IOException.class, () -> exporter.export(USER_ID, GymLogExporter.Format.JSON_LINES, destination));
+
+        assertFalse(new File(destination.getPath() + ".partial").exists());
+        assertFalse(destination.exists());
+    }
+
+    /**
+     * Inserts a record of the user one day after the previous one, at the same local time and offset.
+     * @param exercise the exercise name
+     * @param day      the number of days after the first record
+     */
+    private void insert(String exercise, int day) {
+        GymLog gymLog = new GymLog(exercise, 100, 5, USER_ID);
+        gymLog.setDateMillis(FIRST_DATE + day * ONE_DAY);
+        gymLog.setZoneOffset(OFFSET_SECONDS);
+        database.gymLogDAO().insert(gymLog);
+    }
+
+    /**
+     * Reads a whole exported file.
+     * @param file the file
+     * @return its text
+     * @throws IOException if the file cannot be read
+     */
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,55 @@
+package com.gymlog.dataTransfer;
+
+import com.gymlog.database.typeConverters.LocalDateTypeConverter;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogFieldsTest checks that dates written by {@link GymLogExporter} are read back at the instant and offset
+ * they were logged at, and that the local dates of earlier exports are still read in the device's time zone.
+ */
+public class GymLogFieldsTest {
+
+    @Test
+    public void parseDate_keepsTheOffsetOfAnExportedDate() {
+        long dateMillis = 1_722_810_600_123L;
+        ZoneOffset offset = ZoneOffset.ofHoursMinutes(5, 30);
+        String exported = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(Instant.ofEpochMilli(dateMillis).atOffset(offset));
+
+        OffsetDateTime parsed = GymLogFields.parseDate(exported);
+
+        assertEquals(dateMillis, parsed.toInstant().toEpochMilli());
+        assertEquals(offset, parsed.getOffset());
+        assertEquals(ZoneOffset.UTC, GymLogFields.parseDate("2024-08-04T18:30:00Z").getOffset());
+    }
+
+    @Test
+    public void parseDate_readsLocalDatesInTheDeviceTimeZone() {
+        LocalDateTime local = LocalDateTime.of(2024, 8, 4, 18, 30);
+        ZoneOffset deviceOffset = ZoneOffset.ofTotalSeconds(LocalDateTypeConverter.offsetSecondsOf(local));
+
+        assertEquals(local.atOffset(deviceOffset), GymLogFields.parseDate("2024-08-04T18:30:00"));
+        assertEquals(local.toLocalDate().atStartOfDay().atOffset(
+                ZoneOffset.ofTotalSeconds(LocalDateTypeConverter.offsetSecondsOf(local.toLocalDate().atStartOfDay()))),
+                GymLogFields.parseDate(" 2024-08-04 "));
+    }
+
+    @Test
+    public void parseDate_rejectsInvalidDates() {
+        assertThrows(IllegalArgumentException.class, () -> GymLogFields.parseDate("not a date"));
+        assertThrows(IllegalArgumentException.class, () -> GymLogFields.parseDate("2024-08-04T18:30:00+19:00"));
+        assertThrows(IllegalArgumentException.class, () -> GymLogFields.parseDate(null));
+    }
+}
@@ -0,0 +1,474 @@
+package com.gymlog.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.analytics.HistorySnapshot;
+import com.gymlog.analytics.HistorySnapshotLoader;
+import com.gymlog.dataTransfer.GymLogCsvImporter;
+import com.gymlog.dataTransfer.GymLogExporter;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.entities.SyncPending;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ArchiveTest checks that archiving old months is invisible to readers: merged reads, pages and exports return
+ * the same records before and after, the stats and rollups do not change, a new record in an archived month is
+ * appended to its block, a CSV import skips archived duplicates without restoring their months, an edit finds
+ * its month back in the GymLog table, months with changes waiting for upload are left alone, and registering a
+ * sync client brings every archived month back for its first upload. The analytics
+ * snapshot loader is checked here too, as it merges archived months the way the exporter does.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ArchiveTest {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final String[] EXERCISES = {"Squat", "Bench Press", "Deadlift"};
+    private static final int[] OFFSETS = {-18 * 3600, -5 * 3600, 0, 3600, 14 * 3600};
+//  Midnight UTC on 2026-01-01; records span about 150 days either side, and months ending before it are archived.
+    private static final long START = LocalDate.of(2026, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    private static final int[] USERS = {1, 2};
+
+    private GymLogDatabase database;
+    private GymLogDAO gymLogDAO;
+    private ArchiveDAO archiveDAO;
+    private final Random random = new Random(24);
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        GymLogTriggers.create(db);
+                    }
+                })
+                .allowMainThreadQueries()
+                .build();
+        gymLogDAO = database.gymLogDAO();
+        archiveDAO = database.archiveDAO();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void codec_roundTripsEveryColumn() throws IOException {
+        List<GymLog> gymLogs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            GymLog gymLog = randomGymLog();
+            gymLog.setId(1 + random.nextInt(100_000));
+            gymLog.setUserId(1);
+            gymLog.setExerciseId(1 + random.nextInt(50));
+            gymLog.setVersion(1 + random.nextInt(5));
+            gymLog.setRemoteId(random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(1_000_000));
+            gymLogs.add(gymLog);
+        }
+        gymLogs.sort(Comparator.comparingLong(GymLog::getDateMillis));
+        gymLogs.get(7).setWeight(62.3);
+
+        List<GymLog> decoded = GymLogBlockCodec.decode(1, GymLogBlockCodec.encode(gymLogs));
+
+        for (GymLog gymLog : gymLogs) {
+            gymLog.setExercise(null);
+        }
+        assertEquals(gymLogs, decoded);
+        assertTrue(GymLogBlockCodec.decode(1, GymLogBlockCodec.encode(new ArrayList<>())).isEmpty());
+    }
+
+    @Test
+    public void codec_rejectsCorruptAndTruncatedBlocks() {
+        List<GymLog> gymLogs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            gymLogs.add(randomGymLog());
+        }
+        byte[] data = GymLogBlockCodec.encode(gymLogs);
+        byte[] corrupt = data.clone();
+        corrupt[corrupt.length / 2] ^= 0x5A;
+
+        assertThrows(IOException.class, () -> GymLogBlockCodec.decode(1, corrupt));
+        assertThrows(IOException.class, () -> GymLogBlockCodec.decode(1, Arrays.copyOf(data, data.length - 3)));
+        assertThrows(IOException.class, () -> GymLogBlockCodec.decode(1, new byte[]{'G', 'L', 'A', 9}));
+    }
+
+    @Test
+    public void archive_keepsReadsStatsAndRollups() {
+        insertHistory(400);
+        List<GymLog> all = gymLogDAO.getAllRecords();
+        List<GymLog> user1 = gymLogDAO.getRecordsByUserId(1);
+        List<GymLog> between = gymLogDAO.getRecordsByUserIdBetween(1, START - 90 * DAY_MILLIS, START + 30 * DAY_MILLIS);
+        Map<String, List<Double>> stats = readTable(GymLogDatabase.EXERCISE_STATS_TABLE);
+        Map<String, List<Double>> rollups = readTable(GymLogDatabase.EXERCISE_ROLLUP_TABLE);
+
+        int archived = archiveBefore(START);
+
+        assertTrue(archived > 0);
+        assertEquals(archived, archiveDAO.getArchivedRowCount());
+        assertEquals(all.size() - archived, countRows());
+        assertEquals(all, gymLogDAO.getAllRecords());
+        assertEquals(user1, gymLogDAO.getRecordsByUserId(1));
+        assertEquals(between, gymLogDAO.getRecordsByUserIdBetween(1, START - 90 * DAY_MILLIS, START + 30 * DAY_MILLIS));
+        assertEquals(stats, readTable(GymLogDatabase.EXERCISE_STATS_TABLE));
+        assertEquals(rollups, readTable(GymLogDatabase.EXERCISE_ROLLUP_TABLE));
+
+        for (int userId : USERS) {
+            for (int month : archiveDAO.getArchivedMonths(userId)) {
+                assertTrue(archiveDAO.restoreMonth(userId, month) > 0);
+            }
+        }
+
+        assertFalse(archiveDAO.hasAnyArchive());
+        assertEquals(all.size(), countRows());
+        assertEquals(all, gymLogDAO.getAllRecords());
+        assertEquals(stats, readTable(GymLogDatabase.EXERCISE_STATS_TABLE));
+        assertEquals(rollups, readTable(GymLogDatabase.EXERCISE_ROLLUP_TABLE));
+    }
+
+    @Test
+    public void writes_keepNewRecordsBesideTheArchiveAndRestoreEditedOnes() {
+        insertHistory(300);
+        archiveBefore(START);
+        List<Integer> archivedMonths = archiveDAO.getArchivedMonths(1);
+        int archivedRows = archiveDAO.getArchivedRowCount();
+
+        GymLog inserted = gymLog("Squat", 500, START - 100 * DAY_MILLIS);
+        inserted.setId((int) gymLogDAO.insert(inserted));
+
+        assertEquals(archivedMonths, archiveDAO.getArchivedMonths(1));
+        assertTrue(gymLogDAO.getRecordsByUserId(1).contains(inserted));
+        assertEquals(recomputeStats(), readTable(GymLogDatabase.EXERCISE_STATS_TABLE));
+        Map<String, List<Double>> rollups = readTable(GymLogDatabase.EXERCISE_ROLLUP_TABLE);
+
+        int month = ArchiveDAO.monthOf(inserted.getDateMillis(), inserted.getZoneOffset());
+        assertEquals(1, archiveDAO.archiveMonth(1, month));
+        assertEquals(archivedRows + 1, archiveDAO.getArchivedRowCount());
+        assertTrue(archiveDAO.getArchivedMonth(1, month).contains(inserted));
+        assertEquals(recomputeStats(), readTable(GymLogDatabase.EXERCISE_STATS_TABLE));
+        assertEquals(rollups, readTable(GymLogDatabase.EXERCISE_ROLLUP_TABLE));
+
+        GymLog edited = archiveDAO.getArchivedRecords(2, Long.MIN_VALUE, Long.MAX_VALUE).get(0);
+        edited.setWeight(777);
+        gymLogDAO.update(edited);
+        inserted.setWeight(400);
+        gymLogDAO.update(inserted);
+
+        assertTrue(gymLogDAO.getRecordsByUserId(2).stream().anyMatch(g -> g.getId() == edited.getId() && g.getWeight() == 777));
+        assertFalse(archiveDAO.getArchivedMonths(1).contains(month));
+        assertEquals(recomputeStats(), readTable(GymLogDatabase.EXERCISE_STATS_TABLE));
+        assertTrue(archiveDAO.getAllArchivedRecords(Long.MIN_VALUE, Long.MAX_VALUE).stream().noneMatch(g -> g.getWeight() >= 400));
+    }
+
+    @Test
+    public void csvImport_dedupsAgainstArchivedMonthsWithoutRestoringThem() throws IOException {
+        insertHistory(300);
+        List<GymLog> user1 = gymLogDAO.getRecordsByUserId(1);
+        archiveBefore(START);
+        List<Integer> archivedMonths = archiveDAO.getArchivedMonths(1);
+        File file = File.createTempFile("archive", ".csv");
+        file.deleteOnExit();
+        new GymLogExporter(gymLogDAO, archiveDAO).export(1, GymLogExporter.Format.CSV, file);
+        List<String> lines = new ArrayList<>(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        GymLog old = gymLog("Deadlift", 300, START - 120 * DAY_MILLIS);
+        lines.add("0,Deadlift,300.0,5," + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                Instant.ofEpochMilli(old.getDateMillis()).atOffset(ZoneOffset.UTC)) + ",1");
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+
+        GymLogCsvImporter.Result result;
+        try (InputStream input = new FileInputStream(file)) {
+            result = new GymLogCsvImporter(database, Runnable::run).importCsv(1, input, null);
+        }
+
+        assertEquals(1, result.getImported());
+        assertEquals(user1.size(), result.getDuplicates());
+        assertEquals(archivedMonths, archiveDAO.getArchivedMonths(1));
+        assertTrue(archiveDAO.getArchivedMonth(1, ArchiveDAO.monthOf(old.getDateMillis(), 0)).stream()
+                .anyMatch(g -> g.getWeight() == 300 && g.getDateMillis() == old.getDateMillis()));
+        assertEquals(user1.size() + 1, gymLogDAO.getRecordsByUserId(1).size());
+        assertEquals(recomputeStats(), readTable(GymLogDatabase.EXERCISE_STATS_TABLE));
+    }
+
+    @Test
+    public void archive_leavesTheSyncQueueAlone() {
+        insertHistory(300);
+        List<GymLog> all = gymLogDAO.getAllRecords();
+        SyncDAO syncDAO = database.syncDAO();
+        assertTrue(syncDAO.getPending(GymLogDatabase.GYM_LOG_TABLE, 0, Integer.MAX_VALUE).isEmpty());
+
+        int archived = archiveBefore(START);
+        assertTrue(archived > 0);
+
+        syncDAO.register(7);
+        List<SyncPending> pending = syncDAO.getPending(GymLogDatabase.GYM_LOG_TABLE, 0, Integer.MAX_VALUE);
+        assertEquals(all.size(), pending.size());
+        for (int userId : USERS) {
+            for (int month : archiveDAO.getColdMonths(userId, START)) {
+                assertTrue(archiveDAO.archiveMonth(userId, month) <= 0);
+            }
+        }
+        assertFalse(archiveDAO.hasAnyArchive());
+
+        long[] remoteIds = new long[pending.size()];
+        for (int i = 0; i < remoteIds.length; i++) {
+            remoteIds[i] = 1_000 + i;
+        }
+        syncDAO.acknowledge(pending, remoteIds);
+
+        assertEquals(archived, archiveBefore(START));
+        assertEquals(all.size(), gymLogDAO.getAllRecords().size());
+    }
+
+    @Test
+    public void archiveMonth_skipsMonthsWithPendingUploads() {
+        database.syncDAO().register(7);
+        GymLog gymLog = gymLog("Squat", 100, START - 60 * DAY_MILLIS);
+        gymLogDAO.insert(gymLog);
+        int month = archiveDAO.getColdMonths(1, START).get(0);
+
+        assertEquals(-1, archiveDAO.archiveMonth(1, month));
+        assertFalse(archiveDAO.hasArchive(1));
+
+        List<SyncPending> pending = database.syncDAO().getPending(GymLogDatabase.GYM_LOG_TABLE, 0, 10);
+        database.syncDAO().acknowledge(pending, new long[]{99});
+
+        assertEquals(1, archiveDAO.archiveMonth(1, month));
+        assertEquals(0, archiveDAO.archiveMonth(1, month));
+    }
+
+    @Test
+    public void register_restoresArchivedMonthsAndQueuesEveryRecord() {
+        insertHistory(300);
+        List<GymLog> all = gymLogDAO.getAllRecords();
+        archiveBefore(START);
+        assertTrue(archiveDAO.hasAnyArchive());
+        assertTrue(database.syncDAO().getPending(GymLogDatabase.GYM_LOG_TABLE, 0, Integer.MAX_VALUE).isEmpty());
+
+        database.syncDAO().register(7);
+
+        assertFalse(archiveDAO.hasAnyArchive());
+        assertEquals(all.size(), countRows());
+        assertEquals(all.size(), database.syncDAO().getPending(GymLogDatabase.GYM_LOG_TABLE, 0, Integer.MAX_VALUE).size());
+        assertEquals(all, gymLogDAO.getAllRecords());
+    }
+
+    @Test
+    public void pages_matchTheFullHistoryDownAndUp() {
+        insertHistory(400);
+        List<GymLog> expected = gymLogDAO.getRecordsByUserId(1);
+        List<Integer> months = archiveDAO.getColdMonths(1, START);
+        for (int i = 0; i < months.size(); i += 2) {
+            archiveDAO.archiveMonth(1, months.get(i));
+        }
+
+        List<GymLog> paged = new ArrayList<>(gymLogDAO.getPageByUserId(1, 17));
+        List<GymLog> page = paged;
+        while (page.size() == 17) {
+            GymLog last = page.get(page.size() - 1);
+            page = gymLogDAO.getPageByUserIdBefore(1, last.getDateMillis(), last.getId(), 17);
+            paged.addAll(page);
+        }
+        List<GymLog> pagedUp = new ArrayList<>(paged.subList(paged.size() - 1, paged.size()));
+        do {
+            GymLog first = pagedUp.get(0);
+            page = gymLogDAO.getPageByUserIdAfter(1, first.getDateMillis(), first.getId(), 17);
+            pagedUp.addAll(0, page);
+        } while (page.size() == 17);
+
+        assertTrue(archiveDAO.hasArchive(1));
+        assertEquals(expected, paged);
+        assertEquals(expected, pagedUp);
+    }
+
+    @Test
+    public void export_includesArchivedRecordsInOrder() throws IOException {
+        insertHistory(300);
+        List<GymLog> expected = gymLogDAO.getRecordsByUserId(2);
+        archiveBefore(START);
+        File file = File.createTempFile("archive", ".csv");
+        file.deleteOnExit();
+
+        long rows = new GymLogExporter(gymLogDAO, archiveDAO).export(2, GymLogExporter.Format.CSV, file);
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(expected.size(), rows);
+        assertEquals(expected.size() + 1, lines.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GymLog gymLog = expected.get(expected.size() - 1 - i);
+            assertTrue(lines.get(i + 1).startsWith(gymLog.getId() + "," + gymLog.getExercise() + ","));
+        }
+    }
+
+    @Test
+    public void snapshot_includesArchivedRecordsInOrder() {
+        insertHistory(300);
+        List<GymLog> expected = gymLogDAO.getRecordsByUserId(1);
+        archiveBefore(START);
+
+        HistorySnapshot snapshot = new HistorySnapshotLoader(gymLogDAO, archiveDAO).load(1);
+
+        assertEquals(expected.size(), snapshot.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GymLog gymLog = expected.get(expected.size() - 1 - i);
+            assertEquals(gymLog.getDateMillis(), snapshot.dateAt(i));
+            assertEquals(gymLog.getExerciseId(), snapshot.exerciseIdAt(i));
+            assertEquals(gymLog.getWeight(), snapshot.weightAt(i), 0);
+            assertEquals(gymLog.getReps(), snapshot.repsAt(i));
+        }
+    }
+
+    /**
+     * Inserts random records of users 1 and 2. No sync client is registered, so none waits for upload.
+     * @param count the number of records
+     */
+    private void insertHistory(int count) {
+        for (int i = 0; i < count; i++) {
+            gymLogDAO.insert(randomGymLog());
+        }
+    }
+
+    /**
+     * Archives every month of users 1 and 2 that ends before a cutoff.
+     * @param cutoffMillis the cutoff in UTC epoch milliseconds
+     * @return the number of records archived
+     */
+    private int archiveBefore(long cutoffMillis) {
+        int archived = 0;
+        for (int userId : USERS) {
+            for (int month : archiveDAO.getColdMonths(userId, cutoffMillis)) {
+                int rows = archiveDAO.archiveMonth(userId, month);
+                assertTrue(rows >= 0);
+                archived += rows;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Creates a GymLog of user 1 at a given instant in UTC.
+     * @param exercise   the exercise name
+     * @param weight     the weight
+     * @param dateMillis the instant of the set in UTC epoch milliseconds
+     * @return the GymLog
+     */
+    private static GymLog gymLog(String exercise, double weight, long dateMillis) {
+        GymLog gymLog = new GymLog(exercise, weight, 5, 1);
+        gymLog.setDateMillis(dateMillis);
+        gymLog.setZoneOffset(0);
+        return gymLog;
+    }
+
+    /**
+     * Creates a GymLog of user 1 or 2 with a random exercise, weight, reps, zone offset and date within
+     * about 150 days of {@link #START}.
+     * @return the GymLog
+     */
+    private GymLog randomGymLog() {
+        GymLog gymLog = new GymLog(EXERCISES[random.nextInt(EXERCISES.length)], 40 + 2.5 * random.nextInt(40),
+                1 + random.nextInt(10), USERS[random.nextInt(USERS.length)]);
+        gymLog.setDateMillis(START + (random.nextInt(300) - 150) * DAY_MILLIS + random.nextInt((int) DAY_MILLIS));
+        gymLog.setZoneOffset(OFFSETS[random.nextInt(OFFSETS.length)]);
+        return gymLog;
+    }
+
+    /**
+     * Recomputes the stats of every user and exercise in Java from the merged history.
+     * @return the stats, keyed and ordered as {@link #readTable} reads them
+     */
+    private Map<String, List<Double>> recomputeStats() {
+        Map<String, List<Double>> stats = new HashMap<>();
+        for (GymLog gymLog : gymLogDAO.getAllRecords()) {
+            double estimated = gymLog.getReps() <= 1 ? gymLog.getWeight() * gymLog.getReps()
+                    : gymLog.getWeight() * (1 + gymLog.getReps() / 30.0);
+            List<Double> totals = stats.computeIfAbsent(gymLog.getUserId() + "/" + gymLog.getExerciseId(),
+                    k -> Arrays.asList(0.0, 0.0, 0.0, 0.0, 0.0));
+            totals.set(0, Math.max(totals.get(0), gymLog.getWeight()));
+            totals.set(1, Math.max(totals.get(1), estimated));
+            totals.set(2, totals.get(2) + gymLog.getWeight() * gymLog.getReps());
+            totals.set(3, totals.get(3) + 1);
+            totals.set(4, totals.get(4) + gymLog.getReps());
+        }
+        return stats;
+    }
+
+    /**
+     * Reads the stats or the rollup table.
+     * @param table the name of the table
+     * @return the numbers of each row, keyed by its user, exercise and, for rollups, period and bucket
+     */
+    private Map<String, List<Double>> readTable(String table) {
+        boolean rollups = table.equals(GymLogDatabase.EXERCISE_ROLLUP_TABLE);
+        String sql = rollups
+                ? "SELECT userId || '/' || exerciseId || '/' || period || '/' || bucket," +
+                " totalVolume, maxWeight, setCount, totalReps FROM " + table
+                : "SELECT userId || '/' || exerciseId, maxWeight, bestEstimatedOneRepMax, totalVolume, setCount, totalReps FROM " + table;
+        Map<String, List<Double>> rows = new HashMap<>();
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query(sql)) {
+            while (cursor.moveToNext()) {
+                List<Double> values = new ArrayList<>();
+                for (int i = 1; i < cursor.getColumnCount(); i++) {
+                    values.add(cursor.getDouble(i));
+                }
+                rows.put(cursor.getString(0), values);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Counts the rows of the GymLog table.
+     * @return the number of records not archived
+     */
+    private int countRows() {
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query("SELECT COUNT(*) FROM " + GymLogDatabase.GYM_LOG_TABLE)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    /**
+     * Runs a statement on the database.
+     * @param sql the statement
+     */
+    private void execSQL(String sql) {
+        database.getOpenHelper().getWritableDatabase().execSQL(sql);
+    }
+}
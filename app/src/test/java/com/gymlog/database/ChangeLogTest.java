@@ -0,0 +1,174 @@
+package com.gymlog.database;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.entities.ChangeLogEntry;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ChangeLogTest checks that every committed GymLog write, and no rolled back one, is appended to the change log
+ * in order, that each consumer reads from its own cursor, and that compaction keeps exactly the entries some
+ * consumer has not acknowledged.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ChangeLogTest {
+
+    private GymLogDatabase database;
+    private GymLogDAO gymLogDAO;
+    private ChangeLogDAO changeLogDAO;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        GymLogTriggers.create(db);
+                    }
+                })
+                .allowMainThreadQueries()
+                .build();
+        gymLogDAO = database.gymLogDAO();
+        changeLogDAO = database.changeLogDAO();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void noConsumer_logsNothing() {
+        gymLogDAO.insert(new GymLog("Squat", 100, 5, 1));
+
+        assertEquals(0, changeLogDAO.getSize());
+    }
+
+    @Test
+    public void writes_areLoggedInOrder() {
+        changeLogDAO.register("stats");
+        int id = (int) gymLogDAO.insert(new GymLog("Squat", 100, 5, 1));
+        gymLogDAO.insert(new GymLog("Bench Press", 80, 5, 2));
+        GymLog edited = gymLogDAO.getRecordsByUserId(1).get(0);
+        edited.setWeight(105);
+        gymLogDAO.update(edited);
+        GymLog replaced = gymLogDAO.getRecordsByUserId(2).get(0);
+        replaced.setReps(8);
+        gymLogDAO.insert(replaced);
+        deleteGymLog(id);
+
+        List<ChangeLogEntry> changes = changeLogDAO.getChanges("stats", 10);
+
+        assertEquals(5, changes.size());
+        int[] operations = {ChangeLogEntry.INSERT, ChangeLogEntry.INSERT, ChangeLogEntry.UPDATE, ChangeLogEntry.UPDATE,
+                ChangeLogEntry.DELETE};
+        int[] userIds = {1, 2, 1, 2, 1};
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(operations[i], changes.get(i).getOperation());
+            assertEquals(userIds[i], changes.get(i).getUserId());
+            assertTrue(changes.get(i).getChangedAt() > 0);
+            if (i > 0) {
+                assertTrue(changes.get(i).getSeq() > changes.get(i - 1).getSeq());
+            }
+        }
+        assertEquals(replaced.getId(), changes.get(3).getRowId());
+        assertEquals(id, changes.get(4).getRowId());
+    }
+
+    @Test
+    public void rolledBackWrite_isNotLogged() {
+        changeLogDAO.register("stats");
+
+        assertThrows(IllegalStateException.class, () -> database.runInTransaction(() -> {
+            gymLogDAO.insert(new GymLog("Squat", 100, 5, 1));
+            throw new IllegalStateException("Rolled back");
+        }));
+
+        assertEquals(0, changeLogDAO.getSize());
+        assertEquals(0, gymLogDAO.getRecordsByUserId(1).size());
+    }
+
+    @Test
+    public void consumers_readFromTheirOwnCursor() {
+        changeLogDAO.register("stats");
+        gymLogDAO.insert(new GymLog("Squat", 100, 5, 1));
+        long registered = changeLogDAO.register("widget");
+        gymLogDAO.insert(new GymLog("Deadlift", 140, 3, 1));
+
+        assertEquals(2, changeLogDAO.getChanges("stats", 10).size());
+        List<ChangeLogEntry> widgetChanges = changeLogDAO.getChanges("widget", 10);
+        assertEquals(1, widgetChanges.size());
+        assertTrue(widgetChanges.get(0).getSeq() > registered);
+        assertEquals(registered, changeLogDAO.register("widget"));
+        assertThrows(IllegalArgumentException.class, () -> changeLogDAO.getChanges("nobody", 10));
+    }
+
+    @Test
+    public void acknowledged_areCompactedOnceEveryConsumerHasThem() {
+        changeLogDAO.register("stats");
+        changeLogDAO.register("widget");
+        for (int i = 0; i < 5; i++) {
+            gymLogDAO.insert(new GymLog("Squat", 100 + i, 5, 1));
+        }
+        List<ChangeLogEntry> changes = changeLogDAO.getChanges("stats", 3);
+        long third = changes.get(2).getSeq();
+
+        changeLogDAO.acknowledge("stats", third);
+        assertEquals(5, changeLogDAO.getSize());
+        assertEquals(2, changeLogDAO.getChanges("stats", 10).size());
+
+        changeLogDAO.acknowledge("widget", third);
+        assertEquals(2, changeLogDAO.getSize());
+
+        changeLogDAO.acknowledge("widget", changes.get(0).getSeq());
+        assertEquals(third, changeLogDAO.getCursor("widget"));
+
+        changeLogDAO.unregister("stats");
+        changeLogDAO.unregister("widget");
+        assertEquals(0, changeLogDAO.getSize());
+    }
+
+    @Test
+    public void sequenceNumbers_areNotReusedAfterCompaction() {
+        changeLogDAO.register("stats");
+        gymLogDAO.insert(new GymLog("Squat", 100, 5, 1));
+        long last = changeLogDAO.getChanges("stats", 10).get(0).getSeq();
+        changeLogDAO.acknowledge("stats", last);
+        assertEquals(0, changeLogDAO.getSize());
+
+        gymLogDAO.insert(new GymLog("Squat", 110, 5, 1));
+
+        assertTrue(changeLogDAO.getChanges("stats", 10).get(0).getSeq() > last);
+    }
+
+    /**
+     * Deletes a GymLog with SQL, as no DAO deletes single records.
+     * @param id the ID of the GymLog
+     */
+    private void deleteGymLog(int id) {
+        database.getOpenHelper().getWritableDatabase()
+                .execSQL("DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id = ?", new Object[]{id});
+    }
+}
@@ -0,0 +1,171 @@
+package com.gymlog.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * DatabaseDiagnosticsTest checks that {@link DatabaseDiagnostics} records the statements Room runs through the
+ * {@link InstrumentedOpenHelperFactory}, flags slow queries, measures executor queues and prints them in its report.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DatabaseDiagnosticsTest {
+
+    private static final String GET_ROWS_BY_USER_ID =
+            "SELECT * FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE userId = ? ORDER BY date DESC";
+
+    private final DatabaseDiagnostics diagnostics = new DatabaseDiagnostics();
+    private GymLogDatabase database;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .openHelperFactory(new InstrumentedOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory(), diagnostics))
+                .allowMainThreadQueries()
+                .build();
+        database.gymLogDAO().insertAll(Arrays.asList(
+                new GymLog("Bench Press", 100, 5, 1),
+                new GymLog("Squat", 140, 5, 1),
+                new GymLog("Deadlift", 180, 3, 1),
+                new GymLog("Squat", 60, 10, 2)));
+        diagnostics.reset();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void query_recordsCallsAndRows() {
+        database.gymLogDAO().getRecordsByUserId(1);
+        database.gymLogDAO().getRecordsByUserId(2);
+
+        QueryStats stats = diagnostics.getQueryStats(GET_ROWS_BY_USER_ID);
+        assertNotNull(diagnostics.dump(), stats);
+        assertEquals(2, stats.getCount());
+        assertEquals(4, stats.getRows());
+        long recorded = 0;
+        for (long bucket : stats.getHistogram()) {
+            recorded += bucket;
+        }
+        assertEquals(2, recorded);
+    }
+
+    @Test
+    public void write_recordsChangedRows() {
+        GymLog gymLog = database.gymLogDAO().getRecordsByUserId(2).get(0);
+        gymLog.setReps(12);
+        database.gymLogDAO().update(gymLog);
+
+        boolean found = false;
+        for (QueryStats stats : diagnostics.getQueryStats()) {
+            if (stats.getSql().startsWith("UPDATE") && stats.getSql().contains(GymLogDatabase.GYM_LOG_TABLE)) {
+                assertEquals(1, stats.getRows());
+                found = true;
+            }
+        }
+        assertTrue(diagnostics.dump(), found);
+    }
+
+    @Test
+    public void slowQuery_isFlaggedAndReported() {
+        diagnostics.setSlowQueryThresholdMillis(0);
+        database.gymLogDAO().getRecordsByUserId(1);
+
+        DatabaseDiagnostics.SlowQuery flagged = null;
+        for (DatabaseDiagnostics.SlowQuery slow : diagnostics.getSlowQueries()) {
+            if (slow.getSql().equals(GET_ROWS_BY_USER_ID)) {
+                flagged = slow;
+            }
+        }
+        assertNotNull(diagnostics.dump(), flagged);
+        assertEquals(3, flagged.getRows());
+        String report = diagnostics.dump();
+        assertTrue(report, report.contains("slow query threshold 0 ms"));
+        assertTrue(report, report.substring(report.indexOf("Slow queries:")).contains(GET_ROWS_BY_USER_ID));
+    }
+
+    @Test
+    public void reset_forgetsStatements() {
+        database.gymLogDAO().getRecordsByUserId(1);
+        diagnostics.reset();
+
+        assertNull(diagnostics.getQueryStats(GET_ROWS_BY_USER_ID));
+        assertTrue(diagnostics.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    public void percentiles_useBucketBounds() {
+        QueryStats stats = new QueryStats("SELECT 1");
+        for (int i = 0; i < 99; i++) {
+            stats.record(TimeUnit.MICROSECONDS.toNanos(100), 1);
+        }
+        stats.record(TimeUnit.MILLISECONDS.toNanos(50), 1);
+
+        assertEquals(0.25, stats.getPercentileMillis(50), 1e-9);
+        assertEquals(0.25, stats.getPercentileMillis(99), 1e-9);
+        assertEquals(50, stats.getPercentileMillis(100), 1e-9);
+        assertEquals(50, stats.getMaxMillis(), 1e-9);
+        assertEquals(100, stats.getRows());
+    }
+
+    @Test
+    public void executor_measuresQueueDepth() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        MonitoredExecutorService executor = diagnostics.monitor("write", single);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> { });
+        }
+
+        assertEquals(3, executor.getQueueDepth());
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(3, executor.getMaxQueueDepth());
+        assertEquals(4, executor.getStartedTaskCount());
+        assertTrue(diagnostics.dump().contains("write: queued=0 maxQueued=3 started=4"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.gymlog.database;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * ExerciseTypeaheadTest checks the FTS queries built from typed text and the ranking of {@link ExerciseTypeahead}.
+ */
+public class ExerciseTypeaheadTest {
+
+    @Test
+    public void typedWords_becomeLowerCasePrefixTerms() {
+        assertEquals("ben* pr*", ExerciseTypeahead.toMatchQuery("  Ben PR"));
+        assertEquals("pull* up*", ExerciseTypeahead.toMatchQuery("pull-up"));
+    }
+
+    @Test
+    public void ftsSyntax_isStripped() {
+        assertEquals("bench* or* squat*", ExerciseTypeahead.toMatchQuery("\"bench\" OR squat*"));
+        assertNull(ExerciseTypeahead.toMatchQuery(" *\"- "));
+        assertNull(ExerciseTypeahead.toMatchQuery(null));
+    }
+
+    @Test
+    public void namePrefix_thenSetCount_thenName() {
+        List<ExerciseSuggestion> matches = Arrays.asList(
+                new ExerciseSuggestion(1, "Overhead Press", 40),
+                new ExerciseSuggestion(2, "Press Around", 0),
+                new ExerciseSuggestion(3, "Bench Press", 90),
+                new ExerciseSuggestion(4, "Leg Press", 90),
+                new ExerciseSuggestion(5, "press-up", 3));
+
+        assertEquals(Arrays.asList("press-up", "Press Around", "Bench Press", "Leg Press"),
+                ExerciseTypeahead.rank(matches, " pre", 4));
+    }
+}
@@ -0,0 +1,145 @@
+package com.gymlog.database;
+
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogCacheTest checks the eviction order, write-through, staleness after writes and metrics of {@link GymLogCache}.
+ */
+public class GymLogCacheTest {
+
+    @Test
+    public void leastRecentlyViewedUser_isEvicted() {
+        GymLogCache cache = new GymLogCache(2, 3);
+        cache.put(1, logs(1, 3), 3, cache.generation());
+        cache.put(2, logs(2, 3), 3, cache.generation());
+        assertNotNull(cache.get(1, 3));
+
+        cache.put(3, logs(3, 3), 3, cache.generation());
+
+        assertNotNull(cache.get(1, 3));
+        assertNull(cache.get(2, 3));
+        assertNotNull(cache.get(3, 3));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shortHistory_answersLargerRequests() {
+        GymLogCache cache = new GymLogCache(2, 5);
+        cache.put(1, logs(1, 2), 5, cache.generation());
+        cache.put(2, logs(2, 5), 5, cache.generation());
+
+        assertEquals(2, cache.get(1, 5).size());
+        assertNull(cache.get(2, 6));
+    }
+
+    @Test
+    public void writeThrough_keepsNewestFirstAndTrims() {
+        GymLogCache cache = new GymLogCache(1, 3);
+        cache.put(1, logs(1, 3), 3, cache.generation());
+
+        GymLog inserted = log(10, 1, LocalDateTime.of(2024, 8, 4, 12, 0).plusDays(1));
+        cache.writeThrough(inserted);
+        cache.writeThrough(log(11, 2, LocalDateTime.of(2024, 8, 10, 12, 0)));
+
+        List<GymLog> cached = cache.get(1, 3);
+        assertEquals(3, cached.size());
+        assertEquals(3, cached.get(0).getId());
+        assertEquals(10, cached.get(1).getId());
+        assertEquals(2, cached.get(2).getId());
+        assertNull(cache.get(2, 1));
+    }
+
+    @Test
+    public void write_marksChangedUsersStaleAndDropsRacingLoad() {
+        GymLogCache cache = new GymLogCache(2, 3);
+        cache.put(1, logs(1, 3), 3, cache.generation());
+        cache.put(2, logs(2, 3), 3, cache.generation());
+
+        long racingLoad = cache.generation();
+        cache.beginWrite();
+        assertNull(cache.get(2, 3));
+        cache.put(1, logs(1, 3), 3, cache.generation());
+        cache.endWrite(Collections.singleton(1));
+
+        assertNull(cache.get(1, 3));
+        assertNotNull(cache.get(2, 3));
+
+        cache.put(1, logs(1, 3), 3, racingLoad);
+        assertNull(cache.get(1, 3));
+
+        cache.put(1, logs(1, 3), 3, cache.generation());
+        assertNotNull(cache.get(1, 3));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void writeOfAnyUser_marksEveryUserStale() {
+        GymLogCache cache = new GymLogCache(2, 3);
+        cache.put(1, logs(1, 3), 3, cache.generation());
+        cache.put(2, logs(2, 3), 3, cache.generation());
+
+        cache.beginWrite();
+        cache.endWrite(null);
+
+        assertNull(cache.get(1, 3));
+        assertNull(cache.get(2, 3));
+    }
+
+    @Test
+    public void insertWrittenThrough_staysFresh() {
+        GymLogCache cache = new GymLogCache(1, 3);
+        cache.put(1, logs(1, 2), 3, cache.generation());
+
+        cache.beginWrite();
+        cache.writeThrough(log(3, 1, LocalDateTime.of(2024, 8, 10, 12, 0)));
+        cache.endWrite(Collections.emptySet());
+
+        List<GymLog> cached = cache.get(1, 3);
+        assertNotNull(cached);
+        assertEquals(3, cached.get(0).getId());
+    }
+
+    /**
+     * Creates the history of a user, one record per day from 08/04/2024, returned newest first.
+     * @param userId the ID of the user
+     * @param count  the number of records, whose IDs are 1 to count
+     * @return the records, newest first
+     */
+    private static List<GymLog> logs(int userId, int count) {
+        List<GymLog> logs = new ArrayList<>();
+        for (int id = count; id >= 1; id--) {
+            logs.add(log(id, userId, LocalDateTime.of(2024, 8, 4, 12, 0).plusDays(id - 1)));
+        }
+        return logs;
+    }
+
+    /**
+     * Creates a GymLog with a fixed ID and date.
+     * @param id     the ID of the record
+     * @param userId the ID of the user
+     * @param date   the date of the record
+     * @return a new GymLog
+     */
+    private static GymLog log(int id, int userId, LocalDateTime date) {
+        GymLog log = new GymLog("Squat", 100, 5, userId);
+        log.setId(id);
+        log.setDate(date);
+        return log;
+    }
+}
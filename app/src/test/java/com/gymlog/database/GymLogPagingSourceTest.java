@@ -0,0 +1,255 @@
+package com.gymlog.database;
+
+import android.content.Context;
+
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingSource.LoadResult;
+import androidx.paging.PagingState;
+import androidx.paging.testing.TestPager;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import kotlin.coroutines.Continuation;
+import kotlin.coroutines.EmptyCoroutineContext;
+import kotlin.jvm.functions.Function2;
+import kotlinx.coroutines.BuildersKt;
+import kotlinx.coroutines.CoroutineScope;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogPagingSourceTest drives {@link GymLogPagingSource} with a TestPager over a history where most records
+ * share one date, so only the ID orders them, and checks that appends, prepends and refreshes around
+ * {@link GymLogPageKey#at} neither skip nor repeat a row, and that a refresh key whose records were deleted
+ * starts from the top again.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GymLogPagingSourceTest {
+
+    private static final int USER_ID = 1;
+    private static final int OTHER_USER_ID = 2;
+    private static final int PAGE_SIZE = 3;
+    private static final int INITIAL_LOAD_SIZE = PAGE_SIZE * 2;
+//  Small enough that pages are dropped from the far end while paging, so prepends reload them.
+    private static final int MAX_SIZE = PAGE_SIZE * 3;
+    private static final PagingConfig CONFIG = new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, INITIAL_LOAD_SIZE, MAX_SIZE);
+    private static final long SHARED_DATE = 1_722_810_600_000L;
+    private static final long ONE_DAY = 86_400_000L;
+
+    private GymLogDatabase database;
+//  The records of the user in the order of the list: date, then ID, both descending.
+    private final List<GymLog> expected = new ArrayList<>();
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+//      Two older and two newer records around twelve that share a date, with the other user's records
+//      interleaved so the IDs of the user's records at the shared date are not contiguous.
+        insert(USER_ID, SHARED_DATE - 2 * ONE_DAY);
+        insert(USER_ID, SHARED_DATE - ONE_DAY);
+        for (int i = 0; i < 12; i++) {
+            insert(USER_ID, SHARED_DATE);
+            if (i % 3 == 0) {
+                insert(OTHER_USER_ID, SHARED_DATE);
+            }
+        }
+        insert(USER_ID, SHARED_DATE + ONE_DAY);
+        insert(USER_ID, SHARED_DATE + 2 * ONE_DAY);
+        expected.sort(Comparator.comparingLong(GymLog::getDateMillis).thenComparingInt(GymLog::getId).reversed());
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void refreshFromTheTop_thenAppendAndPrependBack_visitsEveryRowOnce() throws InterruptedException {
+        TestPager<GymLogPageKey, GymLog> pager = pager();
+        List<Integer> appended = new ArrayList<>();
+
+        LoadResult.Page<GymLogPageKey, GymLog> page = load((scope, c) -> pager.refresh(null, c));
+        assertNull(page.getPrevKey());
+        appended.addAll(ids(page.getData()));
+        while ((page = load((scope, c) -> pager.append(c))) != null) {
+            appended.addAll(ids(page.getData()));
+        }
+        assertEquals(ids(expected), appended);
+
+//      The top pages were dropped while appending; paging back up loads them again in front of those still held.
+        List<LoadResult.Page<GymLogPageKey, GymLog>> held = await((scope, c) -> pager.getPages(c));
+        List<Integer> prepended = new ArrayList<>();
+        for (LoadResult.Page<GymLogPageKey, GymLog> heldPage : held) {
+            prepended.addAll(ids(heldPage.getData()));
+        }
+        assertTrue(prepended.size() < expected.size());
+        while ((page = load((scope, c) -> pager.prepend(c))) != null) {
+            prepended.addAll(0, ids(page.getData()));
+        }
+        assertEquals(ids(expected), prepended);
+    }
+
+    @Test
+    public void refreshAtASharedDate_thenPrependOrAppend_visitsEveryRowOnce() throws InterruptedException {
+        for (int start = 0; start < expected.size(); start++) {
+            GymLogPageKey key = GymLogPageKey.at(expected.get(start));
+            int end = Math.min(start + INITIAL_LOAD_SIZE, expected.size());
+
+            TestPager<GymLogPageKey, GymLog> up = pager();
+            LoadResult.Page<GymLogPageKey, GymLog> page = load((scope, c) -> up.refresh(key, c));
+            assertEquals("refreshed at " + key, ids(expected.subList(start, end)), ids(page.getData()));
+            List<Integer> prepended = new ArrayList<>(ids(page.getData()));
+            while ((page = load((scope, c) -> up.prepend(c))) != null) {
+                prepended.addAll(0, ids(page.getData()));
+            }
+            assertEquals("prepended from " + key, ids(expected.subList(0, end)), prepended);
+
+            TestPager<GymLogPageKey, GymLog> down = pager();
+            page = load((scope, c) -> down.refresh(key, c));
+            List<Integer> appended = new ArrayList<>(ids(page.getData()));
+            while ((page = load((scope, c) -> down.append(c))) != null) {
+                appended.addAll(ids(page.getData()));
+            }
+            assertEquals("appended from " + key, ids(expected.subList(start, expected.size())), appended);
+        }
+    }
+
+    @Test
+    public void getRefreshKey_reloadsTheRowsAroundTheAnchor() throws InterruptedException {
+        GymLogPagingSource source = source();
+        TestPager<GymLogPageKey, GymLog> scrolled = new TestPager<>(CONFIG, source);
+        await((scope, c) -> scrolled.refresh(null, c));
+        await((scope, c) -> scrolled.append(c));
+
+        PagingState<GymLogPageKey, GymLog> top = await((scope, c) -> scrolled.getPagingState(INITIAL_LOAD_SIZE / 2, c));
+        assertNull(source.getRefreshKey(top));
+
+        int anchor = INITIAL_LOAD_SIZE + 1;
+        PagingState<GymLogPageKey, GymLog> state = await((scope, c) -> scrolled.getPagingState(anchor, c));
+        GymLogPageKey key = source.getRefreshKey(state);
+        assertNotNull(key);
+        TestPager<GymLogPageKey, GymLog> pager = pager();
+        LoadResult.Page<GymLogPageKey, GymLog> page = load((scope, c) -> pager.refresh(key, c));
+
+        int first = anchor - INITIAL_LOAD_SIZE / 2;
+        assertEquals(ids(expected.subList(first, first + INITIAL_LOAD_SIZE)), ids(page.getData()));
+        assertEquals(expected.get(first - 1).getId(),
+                (load((scope, c) -> pager.prepend(c))).getData().get(PAGE_SIZE - 1).getId());
+    }
+
+    @Test
+    public void getRefreshKey_afterItsRecordsAreDeleted_startsFromTheTop() throws InterruptedException {
+        GymLogPagingSource source = source();
+        TestPager<GymLogPageKey, GymLog> scrolled = new TestPager<>(CONFIG, source);
+        await((scope, c) -> scrolled.refresh(null, c));
+        while (await((scope, c) -> scrolled.append(c)) != null) {
+            continue;
+        }
+        List<LoadResult.Page<GymLogPageKey, GymLog>> held = await((scope, c) -> scrolled.getPages(c));
+        List<GymLog> loaded = new ArrayList<>();
+        for (LoadResult.Page<GymLogPageKey, GymLog> page : held) {
+            loaded.addAll(page.getData());
+        }
+        int anchor = loaded.size() - 1;
+        GymLogPageKey key = source.getRefreshKey(await((scope, c) -> scrolled.getPagingState(anchor, c)));
+        GymLog keyRecord = loaded.get(anchor - INITIAL_LOAD_SIZE / 2);
+        assertEquals(GymLogPageKey.at(keyRecord), key);
+
+//      Deletes the record the key points at and every older one, so nothing is left at or after the key.
+        for (GymLog gymLog : expected.subList(ids(expected).indexOf(keyRecord.getId()), expected.size())) {
+            database.getOpenHelper().getWritableDatabase().execSQL(
+                    "DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id = ?", new Object[]{gymLog.getId()});
+        }
+        TestPager<GymLogPageKey, GymLog> pager = pager();
+        LoadResult.Page<GymLogPageKey, GymLog> page = load((scope, c) -> pager.refresh(key, c));
+
+        assertNull(page.getPrevKey());
+        assertEquals(ids(expected.subList(0, INITIAL_LOAD_SIZE)), ids(page.getData()));
+    }
+
+    /**
+     * Inserts a record and, if it is the user's, adds it to the expected list.
+     * @param userId     the ID of the user the record belongs to
+     * @param dateMillis the date of the record in epoch milliseconds
+     */
+    private void insert(int userId, long dateMillis) {
+        GymLog gymLog = new GymLog("Squat", 100, 5, userId);
+        gymLog.setDateMillis(dateMillis);
+        gymLog.setId((int) database.gymLogDAO().insert(gymLog));
+        if (userId == USER_ID) {
+            expected.add(gymLog);
+        }
+    }
+
+    /**
+     * Creates a paging source of the user with an empty cache of its own.
+     * @return a new GymLogPagingSource
+     */
+    private GymLogPagingSource source() {
+        return new GymLogPagingSource(database, database.gymLogDAO(), new GymLogCache(1, INITIAL_LOAD_SIZE), USER_ID);
+    }
+
+    /**
+     * Creates a TestPager over a new paging source. A TestPager refreshes only once, as a Pager does per source.
+     * @return a new TestPager
+     */
+    private TestPager<GymLogPageKey, GymLog> pager() {
+        return new TestPager<>(CONFIG, source());
+    }
+
+    /**
+     * Runs a suspending call of the TestPager and waits for its result.
+     * @param call the call, given the continuation to complete
+     * @param <T>  the type of the result
+     * @return the result of the call
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    private static <T> T await(Function2<CoroutineScope, Continuation<? super T>, Object> call) throws InterruptedException {
+        return BuildersKt.runBlocking(EmptyCoroutineContext.INSTANCE, call);
+    }
+
+    /**
+     * Runs a load of the TestPager and waits for the page it loaded.
+     * @param call the load, given the continuation to complete
+     * @return the page loaded, or null if there was nothing left to load in that direction
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    private static LoadResult.Page<GymLogPageKey, GymLog> load(
+            Function2<CoroutineScope, Continuation<? super LoadResult<GymLogPageKey, GymLog>>, Object> call) throws InterruptedException {
+        return (LoadResult.Page<GymLogPageKey, GymLog>) await(call);
+    }
+
+    /**
+     * Returns the IDs of GymLog records in order.
+     * @param gymLogs the records
+     * @return their IDs
+     */
+    private static List<Integer> ids(List<GymLog> gymLogs) {
+        List<Integer> ids = new ArrayList<>();
+        for (GymLog gymLog : gymLogs) {
+            ids.add(gymLog.getId());
+        }
+        return ids;
+    }
+}
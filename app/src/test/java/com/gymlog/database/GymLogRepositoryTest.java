@@ -0,0 +1,110 @@
+package com.gymlog.database;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.dataTransfer.GymLogExporter;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogRepositoryTest checks that the CompletableFuture API of {@link GymLogRepository} never queries the
+ * database on the calling thread, and that results and failures both arrive through the returned future.
+ * The test runs on the main thread against a database that does not allow main-thread queries, so any query
+ * made by the caller fails the test.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GymLogRepositoryTest {
+
+    private static final int USER_ID = 1;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GymLogDatabase database;
+    private GymLogRepository repository;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        GymLogTriggers.create(db);
+                    }
+                })
+                .build();
+        repository = new GymLogRepository(database);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void importThenGetAllLogs_completeOnTheExecutors() throws Exception {
+        int count = GymLogRepository.IMPORT_CHUNK_SIZE + 5;
+        List<GymLog> gymLogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            gymLogs.add(new GymLog("Squat", 60 + i % 40, 5, USER_ID));
+        }
+        List<Integer> progress = new ArrayList<>();
+
+        CompletableFuture<Integer> imported = repository.importGymLogs(gymLogs, (done, total) -> progress.add(done));
+
+        assertEquals(count, (int) imported.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, progress.size());
+        assertEquals(count, (int) progress.get(1));
+        assertEquals(count, repository.getAllLogs().get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void suggestExercises_withoutWords_completesAtOnce() {
+        CompletableFuture<List<String>> suggestions = repository.suggestExercises(USER_ID, " - ", 5);
+
+        assertTrue(suggestions.isDone());
+        assertTrue(suggestions.join().isEmpty());
+    }
+
+    @Test
+    public void exportLogs_thatFails_completesExceptionally() {
+        File destination = new File(new File(folder.getRoot(), "missing"), "export.csv");
+
+        CompletableFuture<Long> exported = repository.exportLogs(USER_ID, GymLogExporter.Format.CSV, destination);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> exported.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertFalse(destination.exists());
+    }
+}
@@ -0,0 +1,333 @@
+package com.gymlog.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.entities.ExerciseRollup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * QueryPlanTest runs EXPLAIN QUERY PLAN on every read query of {@link GymLogDAO}, {@link ExerciseStatsDAO},
+ * {@link ExerciseDAO}, {@link UserDAO}, {@link SyncDAO}, {@link ChangeLogDAO}, {@link RollupDAO} and {@link ArchiveDAO} against the schema Room generates, and fails if a query falls back to a full table scan or a temp B-tree sort.
+ * Each test calls the query methods themselves with a Room query callback recording the statements they run,
+ * so the plans are those of the SQL Room generates from the @Query annotations, with its own bound arguments.
+ * A query method added to a DAO needs a test here; a query changed in a DAO is checked as it is.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class QueryPlanTest {
+
+//  A plan step that reads every row of a table without an index, e.g. "SCAN gymLogTable" or "SCAN TABLE gymLogTable".
+    private static final Pattern FULL_TABLE_SCAN = Pattern.compile("^SCAN (TABLE )?\\w+$");
+    private static final String TEMP_SORT = "USE TEMP B-TREE";
+//  The table Room's invalidation tracker polls after writes; its query is not one of the DAOs'.
+    private static final String MODIFICATION_LOG = "room_table_modification_log";
+
+    private GymLogDatabase database;
+//  The statements run since the last call to assertIndexed, with their bound arguments.
+    private final List<String> statements = new ArrayList<>();
+    private final List<Object[]> arguments = new ArrayList<>();
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .setQueryExecutor(Runnable::run)
+                .setQueryCallback((sql, args) -> {
+                    synchronized (statements) {
+                        statements.add(sql);
+                        arguments.add(args.toArray());
+                    }
+                }, Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void getAllRecords_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getAllRows());
+    }
+
+    @Test
+    public void getRecordsByUserId_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getRowsByUserId(1));
+        assertIndexed(() -> observe(database.gymLogDAO().getRowsByUserIdLiveData(1)));
+    }
+
+    @Test
+    public void getPageByUserId_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getPageRowsByUserId(1, 50));
+    }
+
+    @Test
+    public void getPageByUserIdBefore_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getPageRowsByUserIdBefore(1, 0L, 1, 50));
+    }
+
+    @Test
+    public void getPageByUserIdAfter_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getPageRowsByUserIdAfter(1, 0L, 1, 50));
+    }
+
+    @Test
+    public void getRecordsByUserIdCursor_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getRecordsByUserIdCursor(1).close());
+    }
+
+    @Test
+    public void getColumnsByUserIdCursor_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getColumnsByUserIdCursor(1).close());
+    }
+
+    @Test
+    public void getRecordsByUserIdBetween_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().getRowsByUserIdBetween(1, 0L, 1L));
+        assertIndexed(() -> observe(database.gymLogDAO().getRowsByUserIdBetweenLiveData(1, 0L, 1L)));
+    }
+
+    @Test
+    public void getRecordsByUserIdAndExercise_usesIndex() {
+        assertIndexed(() -> observe(database.gymLogDAO().getRowsByUserIdAndExerciseLiveData(1, "Squat")));
+    }
+
+    @Test
+    public void getRecordsByUserIdAndExerciseBetween_usesIndex() {
+        assertIndexed(() -> observe(database.gymLogDAO().getRowsByUserIdAndExerciseBetweenLiveData(1, "Squat", 0L, 1L)));
+    }
+
+    @Test
+    public void getRecordsBetween_usesIndex() {
+        assertIndexed(() -> observe(database.gymLogDAO().getRowsBetweenLiveData(0L, 1L)));
+    }
+
+    @Test
+    public void exists_usesIndex() {
+        assertIndexed(() -> database.gymLogDAO().exists(1, "Squat", 0L));
+    }
+
+    @Test
+    public void getStatsByUserId_usesIndex() {
+        assertIndexed(() -> database.exerciseStatsDAO().getRowsByUserId(1));
+        assertIndexed(() -> observe(database.exerciseStatsDAO().getRowsByUserIdLiveData(1)));
+    }
+
+    @Test
+    public void getStats_usesIndex() {
+        assertIndexed(() -> database.exerciseStatsDAO().getRow(1, "Squat"));
+    }
+
+    @Test
+    public void getExerciseByName_usesIndex() {
+        assertIndexed(() -> database.exerciseDAO().getByName("Squat"));
+    }
+
+    @Test
+    public void getAllExercises_usesIndex() {
+        assertIndexed(() -> database.exerciseDAO().getAll());
+        assertIndexed(() -> observe(database.exerciseDAO().getAllLiveData()));
+    }
+
+    @Test
+    public void searchExercises_usesIndex() {
+        assertIndexed(() -> database.exerciseDAO().search(1, "ben* pr*"));
+    }
+
+    @Test
+    public void getAllUsers_usesIndex() {
+        assertIndexed(() -> observe(database.userDAO().getAllUsers()));
+    }
+
+    @Test
+    public void getUserByUserName_usesIndex() {
+        assertIndexed(() -> database.userDAO().findUserByUserName("admin1"));
+        assertIndexed(() -> observe(database.userDAO().getUserByUserName("admin1")));
+    }
+
+    @Test
+    public void getUserByUserId_usesIndex() {
+        assertIndexed(() -> observe(database.userDAO().getUserByUserId(1)));
+    }
+
+    @Test
+    public void getPending_usesIndex() {
+        assertIndexed(() -> database.syncDAO().getPending(GymLogDatabase.GYM_LOG_TABLE, 0L, 250));
+    }
+
+    @Test
+    public void isPending_usesIndex() {
+        assertIndexed(() -> database.syncDAO().isPending(GymLogDatabase.GYM_LOG_TABLE, 1));
+    }
+
+    @Test
+    public void getSyncRowsByIds_useIndex() {
+        assertIndexed(() -> database.syncDAO().getGymLogRows(Arrays.asList(1, 2)));
+        assertIndexed(() -> database.syncDAO().getUsers(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void findIdByRemoteId_usesIndex() {
+        assertIndexed(() -> database.syncDAO().findGymLogId(1L));
+        assertIndexed(() -> database.syncDAO().findUserId(1L));
+    }
+
+    @Test
+    public void getStateValue_usesIndex() {
+        assertIndexed(() -> database.syncDAO().getStateValue(SyncDAO.CLIENT_ID));
+    }
+
+    @Test
+    public void getChangesAfter_usesIndex() {
+        assertIndexed(() -> database.changeLogDAO().getChangesAfter(0L, 100));
+    }
+
+    @Test
+    public void getCursorSeq_usesIndex() {
+        assertIndexed(() -> database.changeLogDAO().getCursorSeq("stats"));
+    }
+
+    @Test
+    public void getRollups_usesIndex() {
+        assertIndexed(() -> database.rollupDAO().getRollups(1, "Squat", ExerciseRollup.MONTH, 0, 30));
+    }
+
+    @Test
+    public void getLastDate_usesIndex() {
+        assertIndexed(() -> database.rollupDAO().getLastDate(1));
+    }
+
+    @Test
+    public void getMonthRows_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getMonthRows(1, 20_454, 20_485));
+    }
+
+    @Test
+    public void hasPendingUploads_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().hasPendingUploads(1, 20_454, 20_485));
+    }
+
+    @Test
+    public void getBlocksHoldingId_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getBlocksHoldingId(1));
+        assertIndexed(() -> database.archiveDAO().getBlocksHoldingRemoteId(1L));
+    }
+
+    @Test
+    public void getBlocksBetween_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getBlocksBetween(1, 0L, 1L));
+        assertIndexed(() -> database.archiveDAO().getAllBlocksBetween(0L, 1L));
+    }
+
+    @Test
+    public void getMonthsBefore_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getMonthsBefore(1, 1L, 0L));
+        assertIndexed(() -> database.archiveDAO().getMonthsAfter(1, 0L, 1L));
+    }
+
+    @Test
+    public void getMonthsOfExercise_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getMonthsOfExercise(1, 1));
+    }
+
+    @Test
+    public void getArchivedMonths_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getArchivedMonths(1));
+    }
+
+    @Test
+    public void getRow_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getRow(1));
+        assertIndexed(() -> database.archiveDAO().getRowByRemoteId(1L));
+    }
+
+    @Test
+    public void getArchivedUserIds_usesIndex() {
+        assertIndexed(() -> database.archiveDAO().getArchivedUserIds());
+    }
+
+    /**
+     * Runs a read, explains every query it ran, and fails if any step of a plan is a full table scan or a
+     * temp B-tree sort.
+     * @param read the read, which calls one query method of a DAO
+     */
+    private void assertIndexed(Runnable read) {
+        List<String> sqls;
+        List<Object[]> args;
+        synchronized (statements) {
+            statements.clear();
+            arguments.clear();
+            read.run();
+            sqls = new ArrayList<>(statements);
+            args = new ArrayList<>(arguments);
+        }
+        int explained = 0;
+        for (int i = 0; i < sqls.size(); i++) {
+            String sql = sqls.get(i);
+            if (!sql.trim().toUpperCase().startsWith("SELECT") || sql.contains(MODIFICATION_LOG)) {
+                continue;
+            }
+            List<String> plan = explain(sql, args.get(i));
+            assertFalse("Empty query plan for " + sql, plan.isEmpty());
+            for (String step : plan) {
+                if (FULL_TABLE_SCAN.matcher(step).matches() || step.contains(TEMP_SORT)) {
+                    fail("Query is not served by an index.\nQuery: " + sql + "\nPlan: " + plan);
+                }
+            }
+            explained++;
+        }
+        if (explained == 0) {
+            fail("The read ran no query: " + sqls);
+        }
+    }
+
+    /**
+     * Runs EXPLAIN QUERY PLAN for the given query.
+     * @param sql  the query to explain
+     * @param args the arguments bound to the query's parameters
+     * @return the detail column of every step of the plan
+     */
+    private List<String> explain(String sql, Object[] args) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getReadableDatabase();
+        List<String> plan = new ArrayList<>();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detail));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Observes a LiveData query, which runs it on the query executor: the calling thread, in this test.
+     * @param query the LiveData query
+     */
+    private static void observe(LiveData<?> query) {
+        query.observeForever(value -> {
+        });
+    }
+}
@@ -0,0 +1,291 @@
+package com.gymlog.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.database.entities.ExerciseRollup;
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * RollupTest checks that the day, week and month rollups always equal the totals recomputed from the GymLog
+ * table, whether they are kept by the triggers through inserts, edits, replaces and deletes or rebuilt by
+ * the backfill, and that a progression series has the requested number of points and counts every set once.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RollupTest {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final String[] EXERCISES = {"Squat", "Bench Press", "Deadlift"};
+    private static final int[] OFFSETS = {-18 * 3600, -5 * 3600, 0, 3600, 14 * 3600};
+//  Midnight UTC on 2026-01-01.
+    private static final long START = LocalDate.of(2026, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    private GymLogDatabase database;
+    private GymLogDAO gymLogDAO;
+    private RollupDAO rollupDAO;
+    private final Random random = new Random(23);
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        GymLogTriggers.create(db);
+                    }
+                })
+                .allowMainThreadQueries()
+                .build();
+        gymLogDAO = database.gymLogDAO();
+        rollupDAO = database.rollupDAO();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void writes_keepRollupsEqualToRawRows() {
+        for (int i = 0; i < 400; i++) {
+            List<GymLog> logs = gymLogDAO.getAllRecords();
+            double operation = random.nextDouble();
+            if (operation < 0.5 || logs.isEmpty()) {
+                gymLogDAO.insert(randomGymLog());
+            } else if (operation < 0.65) {
+                deleteGymLog(logs.get(random.nextInt(logs.size())).getId());
+            } else if (operation < 0.85) {
+                GymLog edited = logs.get(random.nextInt(logs.size()));
+                GymLog values = randomGymLog();
+                edited.setWeight(values.getWeight());
+                edited.setDateMillis(values.getDateMillis());
+                edited.setZoneOffset(values.getZoneOffset());
+                edited.setExercise(values.getExercise());
+                gymLogDAO.update(edited);
+            } else {
+                GymLog replacement = randomGymLog();
+                replacement.setId(logs.get(random.nextInt(logs.size())).getId());
+                gymLogDAO.insert(replacement);
+            }
+        }
+
+        assertEquals(recompute(), readRollups());
+    }
+
+    @Test
+    public void heaviestSetDeleted_maxWeightFallsBackToTheNextHeaviest() {
+        gymLogDAO.insert(gymLog("Squat", 100, START));
+        int heaviest = (int) gymLogDAO.insert(gymLog("Squat", 140, START + 3_600_000L));
+        gymLogDAO.insert(gymLog("Squat", 120, START + 30 * DAY_MILLIS));
+
+        deleteGymLog(heaviest);
+
+        List<ProgressPoint> month = rollupDAO.getSeries(1, "Squat", START, START + 31 * DAY_MILLIS, 1);
+        assertEquals(120, month.get(0).getMaxWeight(), 0);
+        assertEquals(2, month.get(0).getSetCount());
+        List<ProgressPoint> firstDay = rollupDAO.getSeries(1, "Squat", START, START + DAY_MILLIS, 1);
+        assertEquals(100, firstDay.get(0).getMaxWeight(), 0);
+    }
+
+    @Test
+    public void backfill_rebuildsRollupsOfExistingHistory() {
+        for (int i = 0; i < 300; i++) {
+            gymLogDAO.insert(randomGymLog());
+        }
+        Map<String, List<Double>> expected = recompute();
+        execSQL("DELETE FROM " + GymLogDatabase.EXERCISE_ROLLUP_TABLE);
+
+        rollupDAO.scheduleBackfill();
+        assertEquals(2, rollupDAO.getPendingBackfills());
+        int steps = 0;
+        while (rollupDAO.backfillStep()) {
+            steps++;
+            if (steps == 3) {
+                gymLogDAO.insert(randomGymLog());
+                expected = recompute();
+            }
+        }
+
+        assertTrue(steps > 2);
+        assertEquals(0, rollupDAO.getPendingBackfills());
+        assertEquals(expected, readRollups());
+    }
+
+    @Test
+    public void getSeries_returnsFixedSizeSeriesCountingEverySetOnce() {
+        for (int i = 0; i < 300; i++) {
+            GymLog gymLog = randomGymLog();
+            gymLog.setExercise("Squat");
+            gymLog.setUserId(1);
+            gymLog.setZoneOffset(0);
+            gymLogDAO.insert(gymLog);
+        }
+        long from = START - 200 * DAY_MILLIS;
+        long to = START + 200 * DAY_MILLIS;
+
+        for (int points : new int[]{1, 7, 12, 52, 400, 1000}) {
+            List<ProgressPoint> series = rollupDAO.getSeries(1, "Squat", from, to, points);
+            assertEquals(points, series.size());
+            assertEquals(from, series.get(0).getStartMillis());
+            assertEquals(to, series.get(points - 1).getEndMillis());
+            int sets = 0;
+            for (int i = 0; i < points; i++) {
+                sets += series.get(i).getSetCount();
+                if (i > 0) {
+                    assertEquals(series.get(i - 1).getEndMillis(), series.get(i).getStartMillis());
+                }
+            }
+            assertEquals(300, sets);
+        }
+    }
+
+    @Test
+    public void getSeries_unknownExerciseIsAllZero() {
+        gymLogDAO.insert(gymLog("Squat", 100, START));
+
+        List<ProgressPoint> series = rollupDAO.getSeries(1, "Curl", START, START + DAY_MILLIS, 24);
+
+        assertEquals(24, series.size());
+        for (ProgressPoint point : series) {
+            assertEquals(0, point.getSetCount());
+            assertEquals(0, point.getTotalVolume(), 0);
+        }
+    }
+
+    @Test
+    public void getSeries_rejectsEmptyRangesAndPoints() {
+        assertThrows(IllegalArgumentException.class, () -> rollupDAO.getSeries(1, "Squat", START, START, 10));
+        assertThrows(IllegalArgumentException.class, () -> rollupDAO.getSeries(1, "Squat", START, START + DAY_MILLIS, 0));
+    }
+
+    @Test
+    public void bucketOf_startsWeeksOnMondayAndMonthsOnTheFirst() {
+        long wednesday = LocalDate.of(2026, 10, 14).toEpochDay();
+
+        assertEquals(LocalDate.of(2026, 10, 12).toEpochDay(), ExerciseRollup.bucketOf(ExerciseRollup.WEEK, wednesday));
+        assertEquals(LocalDate.of(2026, 10, 1).toEpochDay(), ExerciseRollup.bucketOf(ExerciseRollup.MONTH, wednesday));
+        assertEquals(LocalDate.of(2026, 11, 1).toEpochDay(),
+                ExerciseRollup.nextBucket(ExerciseRollup.MONTH, ExerciseRollup.bucketOf(ExerciseRollup.MONTH, wednesday)));
+        assertEquals(wednesday, ExerciseRollup.bucketOf(ExerciseRollup.DAY, wednesday));
+    }
+
+    /**
+     * Creates a GymLog of user 1 at a given instant in UTC.
+     * @param exercise   the exercise name
+     * @param weight     the weight
+     * @param dateMillis the instant of the set in UTC epoch milliseconds
+     * @return the GymLog
+     */
+    private static GymLog gymLog(String exercise, double weight, long dateMillis) {
+        GymLog gymLog = new GymLog(exercise, weight, 5, 1);
+        gymLog.setDateMillis(dateMillis);
+        gymLog.setZoneOffset(0);
+        return gymLog;
+    }
+
+    /**
+     * Creates a GymLog of user 1 or 2 with a random exercise, weight, reps, zone offset and date within
+     * about 150 days of {@link #START}.
+     * @return the GymLog
+     */
+    private GymLog randomGymLog() {
+        GymLog gymLog = new GymLog(EXERCISES[random.nextInt(EXERCISES.length)], 40 + 10 * random.nextInt(10),
+                1 + random.nextInt(10), 1 + random.nextInt(2));
+        gymLog.setDateMillis(START + (random.nextInt(300) - 150) * DAY_MILLIS + random.nextInt((int) DAY_MILLIS));
+        gymLog.setZoneOffset(OFFSETS[random.nextInt(OFFSETS.length)]);
+        return gymLog;
+    }
+
+    /**
+     * Recomputes every rollup from the GymLog table in Java.
+     * @return the totals, maximum weight, set count and reps of each rollup, keyed as in {@link #key}
+     */
+    private Map<String, List<Double>> recompute() {
+        Map<String, List<Double>> rollups = new HashMap<>();
+        for (GymLog gymLog : gymLogDAO.getAllRecords()) {
+            long localDay = Math.floorDiv(gymLog.getDateMillis() + gymLog.getZoneOffset() * 1000L, DAY_MILLIS);
+            for (int period = ExerciseRollup.DAY; period <= ExerciseRollup.MONTH; period++) {
+                List<Double> totals = rollups.computeIfAbsent(key(gymLog.getUserId(), gymLog.getExerciseId(), period,
+                        ExerciseRollup.bucketOf(period, localDay)), k -> Arrays.asList(0.0, 0.0, 0.0, 0.0));
+                totals.set(0, totals.get(0) + gymLog.getWeight() * gymLog.getReps());
+                totals.set(1, Math.max(totals.get(1), gymLog.getWeight()));
+                totals.set(2, totals.get(2) + 1);
+                totals.set(3, totals.get(3) + gymLog.getReps());
+            }
+        }
+        return rollups;
+    }
+
+    /**
+     * Reads every row of the rollup table.
+     * @return the totals, maximum weight, set count and reps of each rollup, keyed as in {@link #key}
+     */
+    private Map<String, List<Double>> readRollups() {
+        Map<String, List<Double>> rollups = new HashMap<>();
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query(
+                "SELECT userId, exerciseId, period, bucket, totalVolume, maxWeight, setCount, totalReps FROM "
+                        + GymLogDatabase.EXERCISE_ROLLUP_TABLE)) {
+            while (cursor.moveToNext()) {
+                rollups.put(key(cursor.getInt(0), cursor.getInt(1), cursor.getInt(2), cursor.getInt(3)),
+                        Arrays.asList(cursor.getDouble(4), cursor.getDouble(5), (double) cursor.getInt(6), (double) cursor.getInt(7)));
+            }
+        }
+        return rollups;
+    }
+
+    /**
+     * Builds the key of a rollup.
+     * @param userId     the ID of the user
+     * @param exerciseId the ID of the exercise
+     * @param period     DAY, WEEK or MONTH
+     * @param bucket     the epoch day the bucket starts on
+     * @return the key
+     */
+    private static String key(int userId, int exerciseId, int period, int bucket) {
+        return userId + "/" + exerciseId + "/" + period + "/" + bucket;
+    }
+
+    /**
+     * Deletes a GymLog with SQL, as no DAO deletes single records.
+     * @param id the ID of the GymLog
+     */
+    private void deleteGymLog(int id) {
+        execSQL("DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id = " + id);
+    }
+
+    /**
+     * Runs a statement on the database.
+     * @param sql the statement
+     */
+    private void execSQL(String sql) {
+        database.getOpenHelper().getWritableDatabase().execSQL(sql);
+    }
+}
@@ -0,0 +1,311 @@
+package com.gymlog.database;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gymlog.credentials.PasswordHasher;
+import com.gymlog.database.entities.GymLog;
+import com.gymlog.database.entities.User;
+import com.gymlog.sync.MockSyncServer;
+import com.gymlog.sync.RetryPolicy;
+import com.gymlog.sync.SyncEngine;
+import com.gymlog.sync.SyncReport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncEngineTest syncs two in-memory databases through a {@link MockSyncServer} with {@link SyncEngine} and checks
+ * that changes made on one device reach the other, queued from the first sync on, that a pending local change
+ * wins over a download, that downloads are not uploaded again, that downloaded password hashes and admin flags
+ * are not trusted, and that failed calls are retried without duplicating records.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SyncEngineTest {
+
+    private static final long START = 1_760_000_000_000L;
+    private static final RetryPolicy NO_DELAY = new RetryPolicy(10, 0, 0);
+
+    private final MockSyncServer server = new MockSyncServer(42);
+    private GymLogDatabase phone;
+    private GymLogDatabase tablet;
+
+    @Before
+    public void createDatabases() {
+        phone = createDatabase();
+        tablet = createDatabase();
+    }
+
+    @After
+    public void closeDatabases() {
+        phone.close();
+        tablet.close();
+    }
+
+    @Test
+    public void upload_thenDownloadOnAnotherDevice() throws Exception {
+        int alice = addUser(phone, "alice");
+        addGymLog(phone, alice, "Bench Press", 100, 0);
+        addGymLog(phone, alice, "Squat", 140, 1);
+        addGymLog(phone, alice, "Deadlift", 180, 2);
+        assertEquals(0, pendingCount(phone));
+
+        SyncReport upload = sync(phone, 250);
+        SyncReport download = sync(tablet, 250);
+
+        assertEquals(1, upload.getUsersUploaded());
+        assertEquals(3, upload.getLogsUploaded());
+        assertEquals(0, pendingCount(phone));
+        assertEquals(1, server.getUserCount());
+        assertEquals(3, server.getLogCount());
+        assertEquals(1, download.getUsersDownloaded());
+        assertEquals(3, download.getLogsDownloaded());
+        assertEquals(0, pendingCount(tablet));
+        assertEquals(exercises(phone, "alice"), exercises(tablet, "alice"));
+
+        SyncReport again = sync(tablet, 250);
+        assertEquals(0, again.getUsersUploaded() + again.getLogsUploaded());
+        assertEquals(0, again.getUsersDownloaded() + again.getLogsDownloaded());
+    }
+
+    @Test
+    public void editsAndDeletions_propagate() throws Exception {
+        int alice = addUser(phone, "alice");
+        addGymLog(phone, alice, "Bench Press", 100, 0);
+        addGymLog(phone, alice, "Squat", 140, 1);
+        sync(phone, 250);
+        sync(tablet, 250);
+
+        List<GymLog> logs = phone.gymLogDAO().getRecordsByUserId(alice);
+        GymLog edited = byExercise(logs, "Bench Press");
+        edited.setWeight(105);
+        phone.gymLogDAO().update(edited);
+        deleteGymLog(phone, byExercise(logs, "Squat").getId());
+        sync(phone, 250);
+        sync(tablet, 250);
+
+        List<GymLog> synced = tablet.gymLogDAO().getRecordsByUserId(userId(tablet, "alice"));
+        assertEquals(1, synced.size());
+        assertEquals(105, synced.get(0).getWeight(), 0);
+        assertEquals(edited.getRemoteId(), synced.get(0).getRemoteId());
+        assertEquals(1, server.getLogCount());
+    }
+
+    @Test
+    public void pendingLocalChange_winsOverDownload() throws Exception {
+        int alice = addUser(phone, "alice");
+        addGymLog(phone, alice, "Bench Press", 100, 0);
+        sync(phone, 250);
+        sync(tablet, 250);
+
+        GymLog onPhone = phone.gymLogDAO().getRecordsByUserId(alice).get(0);
+        onPhone.setWeight(150);
+        phone.gymLogDAO().update(onPhone);
+        GymLog onTablet = tablet.gymLogDAO().getRecordsByUserId(userId(tablet, "alice")).get(0);
+        onTablet.setWeight(200);
+        tablet.gymLogDAO().update(onTablet);
+        sync(phone, 250);
+        sync(tablet, 250);
+        sync(phone, 250);
+
+        assertEquals(200, tablet.gymLogDAO().getRecordsByUserId(userId(tablet, "alice")).get(0).getWeight(), 0);
+        assertEquals(200, phone.gymLogDAO().getRecordsByUserId(alice).get(0).getWeight(), 0);
+        assertEquals(200, server.getLog(onPhone.getRemoteId()).getWeight(), 0);
+    }
+
+    @Test
+    public void sameUsername_mergesIntoOneUser() throws Exception {
+        addGymLog(phone, addUser(phone, "bob"), "Row", 60, 0);
+        addGymLog(tablet, addUser(tablet, "bob"), "Curl", 20, 1);
+
+        sync(phone, 250);
+        sync(tablet, 250);
+        sync(phone, 250);
+
+        assertEquals(1, server.getUserCount());
+        assertEquals(2, phone.gymLogDAO().getRecordsByUserId(userId(phone, "bob")).size());
+        assertEquals(2, tablet.gymLogDAO().getRecordsByUserId(userId(tablet, "bob")).size());
+    }
+
+    @Test
+    public void downloadedCredentials_areNotTrusted() throws Exception {
+        String aliceHash = new PasswordHasher(PasswordHasher.MIN_ITERATIONS).hash("hunter2".toCharArray());
+        int alice = addUser(phone, "alice");
+        phone.userDAO().updatePasswordHash(alice, aliceHash);
+        sync(phone, 250);
+        sync(tablet, 250);
+        assertEquals(aliceHash, tablet.userDAO().findUserByUserName("alice").getPasswordHash());
+
+        String cheapHash = aliceHash.replace("$" + PasswordHasher.MIN_ITERATIONS + "$", "$1$");
+        phone.userDAO().updatePasswordHash(alice, cheapHash);
+        phone.getOpenHelper().getWritableDatabase()
+                .execSQL("UPDATE " + GymLogDatabase.USER_TABLE + " SET isAdmin = 1 WHERE id = ?", new Object[]{alice});
+        User eve = new User("eve", "eve");
+        eve.setAdmin(true);
+        phone.userDAO().insert(eve);
+        sync(phone, 250);
+        sync(tablet, 250);
+
+        User aliceOnTablet = tablet.userDAO().findUserByUserName("alice");
+        assertEquals(aliceHash, aliceOnTablet.getPasswordHash());
+        assertFalse(aliceOnTablet.isAdmin());
+        User eveOnTablet = tablet.userDAO().findUserByUserName("eve");
+        assertNull(eveOnTablet.getPasswordHash());
+        assertFalse(eveOnTablet.isAdmin());
+        assertEquals(0, pendingCount(tablet));
+    }
+
+    @Test
+    public void failedCalls_areRetriedWithoutDuplicates() throws Exception {
+        int alice = addUser(phone, "alice");
+        for (int i = 0; i < 200; i++) {
+            addGymLog(phone, alice, i % 2 == 0 ? "Bench Press" : "Squat", 60 + i % 10, i);
+        }
+        server.setFailureRate(0.3);
+
+        SyncReport upload = sync(phone, 25);
+        SyncReport download = sync(tablet, 25);
+
+        assertTrue(upload.getRetries() + download.getRetries() > 0);
+        assertEquals(server.getFailureCount(), upload.getRetries() + download.getRetries());
+        assertEquals(200, server.getLogCount());
+        assertEquals(0, pendingCount(phone));
+        assertEquals(200, tablet.gymLogDAO().getRecordsByUserId(userId(tablet, "alice")).size());
+    }
+
+    /**
+     * Creates an empty in-memory database with the triggers of the app database.
+     * @return the database
+     */
+    private static GymLogDatabase createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        return Room.inMemoryDatabaseBuilder(context, GymLogDatabase.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        GymLogTriggers.create(db);
+                    }
+                })
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    /**
+     * Runs one sync of a database against the server and waits for it.
+     * @param database  the database
+     * @param batchSize the number of changes per call
+     * @return what the sync did
+     * @throws Exception if the sync failed
+     */
+    private SyncReport sync(GymLogDatabase database, int batchSize) throws Exception {
+        return new SyncEngine(database.syncDAO(), database.getTransactionExecutor(), server, batchSize, NO_DELAY)
+                .sync()
+                .get();
+    }
+
+    /**
+     * Adds a user to a database.
+     * @param database the database
+     * @param username the username
+     * @return the local ID of the user
+     */
+    private static int addUser(GymLogDatabase database, String username) {
+        database.userDAO().insert(new User(username, "password"));
+        return userId(database, username);
+    }
+
+    /**
+     * Returns the local ID of a user.
+     * @param database the database
+     * @param username the username
+     * @return the ID of the user
+     */
+    private static int userId(GymLogDatabase database, String username) {
+        User user = database.userDAO().findUserByUserName(username);
+        assertNotNull("No user " + username, user);
+        return user.getId();
+    }
+
+    /**
+     * Adds a GymLog to a database.
+     * @param database the database
+     * @param userId   the local ID of the user
+     * @param exercise the exercise name
+     * @param weight   the weight
+     * @param minute   the minute after START the set was logged at
+     */
+    private static void addGymLog(GymLogDatabase database, int userId, String exercise, double weight, int minute) {
+        GymLog gymLog = new GymLog(exercise, weight, 5, userId);
+        gymLog.setDateMillis(START + minute * 60_000L);
+        database.gymLogDAO().insert(gymLog);
+    }
+
+    /**
+     * Deletes a GymLog from a database.
+     * @param database the database
+     * @param id       the local ID of the GymLog
+     */
+    private static void deleteGymLog(GymLogDatabase database, int id) {
+        database.getOpenHelper().getWritableDatabase()
+                .execSQL("DELETE FROM " + GymLogDatabase.GYM_LOG_TABLE + " WHERE id = ?", new Object[]{id});
+    }
+
+    /**
+     * Returns the exercises of a user's GymLogs, newest first.
+     * @param database the database
+     * @param username the username
+     * @return the exercise names
+     */
+    private static List<String> exercises(GymLogDatabase database, String username) {
+        List<String> exercises = new ArrayList<>();
+        for (GymLog gymLog : database.gymLogDAO().getRecordsByUserId(userId(database, username))) {
+            exercises.add(gymLog.getExercise());
+        }
+        return exercises;
+    }
+
+    /**
+     * Returns the GymLog of an exercise.
+     * @param gymLogs  the GymLogs to search
+     * @param exercise the exercise name
+     * @return the first GymLog of the exercise
+     */
+    private static GymLog byExercise(List<GymLog> gymLogs, String exercise) {
+        for (GymLog gymLog : gymLogs) {
+            if (exercise.equals(gymLog.getExercise())) {
+                return gymLog;
+            }
+        }
+        throw new AssertionError("No " + exercise + " in " + gymLogs);
+    }
+
+    /**
+     * Returns the number of changes of a database waiting for upload.
+     * @param database the database
+     * @return the number of pending changes of both synced tables
+     */
+    private static int pendingCount(GymLogDatabase database) {
+        return database.syncDAO().getPending(GymLogDatabase.USER_TABLE, 0, Integer.MAX_VALUE).size() +
+                database.syncDAO().getPending(GymLogDatabase.GYM_LOG_TABLE, 0, Integer.MAX_VALUE).size();
+    }
+}
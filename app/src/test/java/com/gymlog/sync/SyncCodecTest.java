@@ -0,0 +1,95 @@
+package com.gymlog.sync;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * SyncCodecTest checks that {@link SyncCodec} decodes exactly what it encoded, that a batch of similar sets stays
+ * small on the wire, and that truncated or foreign input is rejected instead of misread.
+ */
+public class SyncCodecTest {
+
+    private static final long START = 1_760_000_000_000L;
+
+    @Test
+    public void batch_roundTrips() throws IOException {
+        List<UserChange> users = Arrays.asList(
+                new UserChange(1, 0, 0, "alice", "pbkdf2$1000$c2FsdA$aGFzaA", true),
+                new UserChange(2, 17, 0, "bob", null, false),
+                UserChange.deletion(3, 18, 0));
+        List<GymLogChange> logs = Arrays.asList(
+                new GymLogChange(1, 0, 0, 17, "Bench Press", 102.5, 5, START, -18_000, 0),
+                new GymLogChange(2, 40, 0, 17, "Squat", 61.3, 8, START - 60_000, 3_600, 2),
+                GymLogChange.deletion(3, 41, 0),
+                new GymLogChange(4, 0, 0, 17, "Bench Press", -2.5, 0, START + 90_000, -18_000, 0));
+        SyncBatch batch = new SyncBatch(users, logs, 12_345, true);
+
+        SyncBatch decoded = SyncCodec.decodeBatch(SyncCodec.encode(batch));
+
+        assertEquals(users, decoded.getUsers());
+        assertEquals(logs, decoded.getLogs());
+        assertEquals(12_345, decoded.getCursor());
+        assertTrue(decoded.hasMore());
+    }
+
+    @Test
+    public void emptyBatch_roundTrips() throws IOException {
+        SyncBatch decoded = SyncCodec.decodeBatch(SyncCodec.encode(
+                new SyncBatch(Collections.emptyList(), Collections.emptyList(), 0, false)));
+
+        assertEquals(0, decoded.size());
+        assertEquals(0, decoded.getCursor());
+        assertFalse(decoded.hasMore());
+    }
+
+    @Test
+    public void similarSets_encodeCompactly() {
+        List<GymLogChange> logs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            logs.add(new GymLogChange(i + 1, 0, 0, 1, i % 2 == 0 ? "Bench Press" : "Deadlift",
+                    60 + (i % 8) * 2.5, 5 + i % 3, START + i * 90_000L, -18_000, 0));
+        }
+
+        byte[] encoded = SyncCodec.encode(new SyncBatch(Collections.emptyList(), logs, 0, false));
+
+        assertTrue("Encoded " + encoded.length + " bytes", encoded.length < logs.size() * 16);
+    }
+
+    @Test
+    public void ack_roundTrips() throws IOException {
+        long[] users = {5, 0, 9};
+        long[] logs = {100, 101, 0, 250, 99};
+
+        SyncAck decoded = SyncCodec.decodeAck(SyncCodec.encode(new SyncAck(users, logs)));
+
+        assertArrayEquals(users, decoded.getUserRemoteIds());
+        assertArrayEquals(logs, decoded.getLogRemoteIds());
+    }
+
+    @Test
+    public void malformedInput_isRejected() {
+        byte[] encoded = SyncCodec.encode(new SyncBatch(Collections.emptyList(), Collections.singletonList(
+                new GymLogChange(1, 0, 0, 1, "Row", 40, 10, START, 0, 0)), 7, false));
+        byte[] foreign = encoded.clone();
+        foreign[0] = 'X';
+
+        assertThrows(IOException.class, () -> SyncCodec.decodeBatch(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(IOException.class, () -> SyncCodec.decodeBatch(foreign));
+        assertThrows(IOException.class, () -> SyncCodec.decodeBatch(new byte[0]));
+        assertThrows(IOException.class, () -> SyncCodec.decodeAck(encoded));
+    }
+}
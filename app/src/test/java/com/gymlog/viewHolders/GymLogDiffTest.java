@@ -0,0 +1,87 @@
+package com.gymlog.viewHolders;
+
+import com.gymlog.database.entities.GymLog;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogDiffTest checks that {@link GymLogAdapter.GymLogDiff} matches rows by ID, compares contents by version
+ * and locale, and reports only the changed fields as the change payload.
+ */
+public class GymLogDiffTest {
+
+    private static final DateTimeFormatter US_DATES = GymLogItem.dateFormat(Locale.US);
+
+    private final GymLogAdapter.GymLogDiff diff = new GymLogAdapter.GymLogDiff();
+
+    @Test
+    public void reloadedRecord_isSameItemWithSameContents() {
+        GymLogItem loaded = item(log(7, "Squat", 100, 5, 0));
+        GymLogItem reloaded = item(log(7, "Squat", 100, 5, 0));
+
+        assertTrue(diff.areItemsTheSame(loaded, reloaded));
+        assertTrue(diff.areContentsTheSame(loaded, reloaded));
+        assertFalse(diff.areItemsTheSame(loaded, item(log(8, "Squat", 100, 5, 0))));
+    }
+
+    @Test
+    public void editedRecord_reportsChangedFieldsOnly() {
+        GymLogItem loaded = item(log(7, "Squat", 100, 5, 0));
+        GymLogItem edited = item(log(7, "Squat", 100, 6, 1));
+
+        assertFalse(diff.areContentsTheSame(loaded, edited));
+        assertEquals(GymLogAdapter.CHANGED_SET, diff.getChangePayload(loaded, edited));
+
+        GymLogItem renamed = item(log(7, "Front Squat", 110, 6, 2));
+        assertEquals(GymLogAdapter.CHANGED_EXERCISE | GymLogAdapter.CHANGED_SET, diff.getChangePayload(edited, renamed));
+    }
+
+    @Test
+    public void recordFormattedInAnotherLocale_redrawsItsDateOnly() {
+        GymLogItem loaded = item(log(7, "Squat", 100, 5, 0));
+        GymLogItem reloaded = new GymLogItem(log(7, "Squat", 100, 5, 0), GymLogItem.dateFormat(Locale.GERMANY));
+
+        assertTrue(diff.areItemsTheSame(loaded, reloaded));
+        assertFalse(diff.areContentsTheSame(loaded, reloaded));
+        assertNotEquals(loaded.getDateText(), reloaded.getDateText());
+        assertEquals(GymLogAdapter.CHANGED_DATE, diff.getChangePayload(loaded, reloaded));
+    }
+
+    /**
+     * Creates the display item of a GymLog with its date formatted in US English.
+     * @param log the GymLog record
+     * @return a new GymLogItem
+     */
+    private static GymLogItem item(GymLog log) {
+        return new GymLogItem(log, US_DATES);
+    }
+
+    /**
+     * Creates a GymLog with a fixed date.
+     * @param id       the ID of the record
+     * @param exercise the exercise name
+     * @param weight   the weight
+     * @param reps     the number of repetitions
+     * @param version  the version of the record
+     * @return a new GymLog
+     */
+    private static GymLog log(int id, String exercise, double weight, int reps, int version) {
+        GymLog log = new GymLog(exercise, weight, reps, 1);
+        log.setId(id);
+        log.setDate(LocalDateTime.of(2024, 8, 4, 18, 30));
+        log.setVersion(version);
+        return log;
+    }
+}
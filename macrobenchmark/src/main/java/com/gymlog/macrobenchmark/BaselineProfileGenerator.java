@@ -0,0 +1,37 @@
+package com.gymlog.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * BaselineProfileGenerator records the classes and methods used by a cold start onto the history and a scroll of it.
+ * The baseline profile plugin copies the result into app/src/main/generated/baselineProfiles, and the
+ * profile installer compiles that code ahead of time when the app is installed.
+ * Generate with: ./gradlew :app:generateBaselineProfile
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void startupAndScroll() {
+        baselineProfileRule.collect(GymLogJourneys.PACKAGE, scope -> {
+            GymLogJourneys.logInIfNeeded(scope);
+            scope.pressHome();
+            GymLogJourneys.startAndShowHistory(scope);
+            GymLogJourneys.scrollHistory(scope);
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.gymlog.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * GymLogJourneys drives the app through the UI for the startup benchmark and the baseline profile generator.
+ * Startup is measured for a returning user, so the app is first logged in as a default user with a few sets logged,
+ * and every measured launch opens straight onto that user's history.
+ */
+final class GymLogJourneys {
+
+    static final String PACKAGE = "com.gymlog";
+//  The default user added when the database is created.
+    private static final String USERNAME = "testUser1";
+    private static final String PASSWORD = "testUser1";
+//  The sets logged for a new user, so the history shown at startup is not empty.
+    private static final String[][] SETS = {{"Bench Press", "100", "5"}, {"Squat", "140", "5"}, {"Deadlift", "180", "3"}};
+    private static final long TIMEOUT_MILLIS = 5_000;
+//  How long the login screen is waited for; a logged-in user never sees it.
+    private static final long LOGIN_SCREEN_MILLIS = 2_000;
+
+    private GymLogJourneys() {
+    }
+
+    /**
+     * Starts the app and, if it shows the login screen, logs in the default user and logs a few sets.
+     * Leaves the app on the history of the user.
+     * @param scope the scope of the benchmark
+     */
+    static void logInIfNeeded(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait();
+        UiDevice device = scope.getDevice();
+        UiObject2 username = device.wait(Until.findObject(By.res(PACKAGE, "userNameLoginEditText")), LOGIN_SCREEN_MILLIS);
+        if (username == null) {
+            return;
+        }
+        username.setText(USERNAME);
+        device.findObject(By.res(PACKAGE, "passwordLoginEditText")).setText(PASSWORD);
+        device.findObject(By.res(PACKAGE, "loginButton")).click();
+        waitForHistory(device);
+        for (String[] set : SETS) {
+            device.findObject(By.res(PACKAGE, "exerciseInputEditText")).setText(set[0]);
+            device.findObject(By.res(PACKAGE, "weightInputEditText")).setText(set[1]);
+            device.findObject(By.res(PACKAGE, "repInputEditText")).setText(set[2]);
+            device.findObject(By.res(PACKAGE, "logButton")).click();
+        }
+        device.wait(Until.hasObject(By.res(PACKAGE, "recyclerItemExerciseTextView")), TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Starts the app and waits until the first page of the history is shown.
+     * @param scope the scope of the benchmark
+     */
+    static void startAndShowHistory(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait();
+        waitForHistory(scope.getDevice());
+    }
+
+    /**
+     * Scrolls the history down and back up, so the code that binds rows and loads pages runs.
+     * @param scope the scope of the benchmark
+     */
+    static void scrollHistory(MacrobenchmarkScope scope) {
+        UiObject2 list = scope.getDevice().findObject(By.res(PACKAGE, "logDisplayRecyclerView"));
+        if (list != null) {
+            list.fling(Direction.DOWN);
+            list.fling(Direction.UP);
+        }
+    }
+
+    /**
+     * Waits for the history list of the main screen.
+     * @param device the device the app runs on
+     */
+    private static void waitForHistory(UiDevice device) {
+        if (!device.wait(Until.hasObject(By.res(PACKAGE, "logDisplayRecyclerView")), TIMEOUT_MILLIS)) {
+            throw new AssertionError("The history was not shown within " + TIMEOUT_MILLIS + " ms");
+        }
+    }
+}
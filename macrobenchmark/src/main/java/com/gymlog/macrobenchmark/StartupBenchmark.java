@@ -0,0 +1,70 @@
+package com.gymlog.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Author: Rahim Siddiq
+ * GymLog
+ * 10/18/2026
+ * StartupBenchmark measures the cold start of a returning user, from launch to the first frame (timeToInitialDisplayMs)
+ * and to the first page of the history being shown, which MainActivity reports as fully drawn (timeToFullDisplayMs).
+ * It runs once without ahead-of-time compilation and once with the baseline profile, so the gain of the profile shows.
+ * Run on a device with: ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private boolean loggedIn;
+
+    @Test
+    public void startupWithoutCompilation() {
+        startup(new CompilationMode.None());
+    }
+
+    @Test
+    public void startupWithBaselineProfile() {
+        startup(new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    /**
+     * Measures cold starts compiled in the given mode. The first setup logs in, so every start is a returning user.
+     * @param compilationMode how the app is compiled before the starts
+     */
+    private void startup(CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(GymLogJourneys.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    if (!loggedIn) {
+                        GymLogJourneys.logInIfNeeded(scope);
+                        loggedIn = true;
+                    }
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    GymLogJourneys.startAndShowHistory(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}